@@ -4,6 +4,8 @@ plugins {
 	alias(libs.plugins.spring.boot)
 	alias(libs.plugins.spring.dependency.management)
 	alias(libs.plugins.owasp.dependencycheck)
+	alias(libs.plugins.jmh)
+	alias(libs.plugins.graalvm.native) apply false
 }
 
 group = "app.luqma"
@@ -103,6 +105,230 @@ tasks.jacocoTestCoverageVerification {
 	}
 }
 
+// JMH Benchmark Configuration
+// Benchmarks live in src/jmh/java and run with: ./gradlew jmh
+// Narrow the run with a regex, e.g. ./gradlew jmh -PjmhIncludes=NutrientExtractor
+// Results are written as JSON so runs can be compared across commits.
+jmh {
+	jmhVersion.set(libs.versions.jmh.get())
+	includes.set(listOf(providers.gradleProperty("jmhIncludes").getOrElse(".*")))
+	profilers.set(listOf("gc"))
+	resultFormat.set("JSON")
+	resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
+
+// Load Test Configuration
+// HTTP load generator lives in src/perf/java and starts the app in the mock profile
+// on a random port unless --target is given. Reports go to build/reports/loadtest.
+// Example: ./gradlew loadTest -PloadTestArgs="--mode=open --rate=200 --duration=30s"
+//          ./gradlew loadTest -PloadTestArgs="--sweep=100,200,400,800"
+val perf: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output
+	runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[perf.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[perf.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+	"perfImplementation"(libs.hdrhistogram)
+}
+
+tasks.register<JavaExec>("loadTest") {
+	group = "verification"
+	description = "Runs the HTTP load generator and writes HdrHistogram latency reports."
+	classpath = perf.runtimeClasspath
+	mainClass.set("app.luqma.backend.loadtest.LoadTestMain")
+	javaLauncher.set(javaToolchains.launcherFor(java.toolchain))
+	args("--output=${layout.buildDirectory.dir("reports/loadtest").get().asFile}")
+	args(providers.gradleProperty("loadTestArgs")
+		.map { it.split(" ").filter(String::isNotBlank) }
+		.getOrElse(emptyList()))
+}
+
+// OpenAPI Generation
+// The OpenAPI documents are generated rather than rendered by springdoc on the first
+// /v3/api-docs request: src/openapi/java starts the app in the mock profile and writes every
+// group as JSON plus a gzip copy. They are committed under src/main/resources/openapi, so
+// every run (bootRun, IDE, tests, boot jar, native image) serves them via StaticOpenApiFilter.
+//   ./gradlew generateOpenApi  -> regenerate after changing API annotations, then commit
+//   ./gradlew verifyOpenApi    -> part of check; fails if the committed documents differ from
+//                                 the annotations as rendered now
+val committedOpenApiDir = layout.projectDirectory.dir("src/main/resources").asFile
+
+val openapi: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output
+	runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[openapi.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[openapi.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+val generateOpenApi by tasks.registering(JavaExec::class) {
+	group = "documentation"
+	description = "Regenerates the committed OpenAPI documents from the controller annotations."
+	classpath = openapi.runtimeClasspath
+	mainClass.set("app.luqma.backend.openapi.OpenApiGeneratorMain")
+	javaLauncher.set(javaToolchains.launcherFor(java.toolchain))
+	args("--output=$committedOpenApiDir", "--profile=mock")
+	// Drop documents of groups that no longer exist
+	doFirst { committedOpenApiDir.resolve("openapi").deleteRecursively() }
+}
+
+val verifyOpenApi by tasks.registering(JavaExec::class) {
+	group = "verification"
+	description = "Fails if the committed OpenAPI documents differ from the controller annotations."
+	classpath = openapi.runtimeClasspath
+	mainClass.set("app.luqma.backend.openapi.OpenApiGeneratorMain")
+	javaLauncher.set(javaToolchains.launcherFor(java.toolchain))
+	args("--output=$committedOpenApiDir", "--profile=mock", "--verify")
+}
+
+tasks.check {
+	dependsOn(verifyOpenApi)
+}
+
+// AOT and CDS Configuration (enabled with -Paot, implied by -Pnative)
+// Adds Spring AOT processing to the boot jar, extracts it and records a CDS archive
+// from a training run that stops after context refresh. AOT fixes profiles and bean
+// conditions at build time, so the archive is built for one profile: -PaotProfile (default prod).
+//   ./gradlew -Paot cdsArchive        -> start with build/cds/luqma-backend.sh
+//   ./gradlew -Paot startupBenchmark  -> time-to-ready for jit, aot and aot-cds in build/reports/startup
+val aotEnabled = providers.gradleProperty("aot").isPresent
+val nativeEnabled = providers.gradleProperty("native").isPresent
+
+if (aotEnabled || nativeEnabled) {
+	apply(plugin = "org.springframework.boot.aot")
+
+	val aotProfile = providers.gradleProperty("aotProfile").getOrElse("prod")
+	val javaExecutable = javaToolchains.launcherFor(java.toolchain).get().executablePath.asFile.absolutePath
+	val bootJarFile = tasks.bootJar.flatMap { it.archiveFile }
+	val appJarName = tasks.bootJar.get().archiveFileName.get()
+	val cdsDir = layout.buildDirectory.dir("cds").get().asFile
+	val appDir = cdsDir.resolve("app")
+	val archiveFile = cdsDir.resolve("application.jsa")
+	val launcherFile = cdsDir.resolve("luqma-backend.sh")
+
+	tasks.named<org.springframework.boot.gradle.tasks.aot.ProcessAot>("processAot") {
+		args("--spring.profiles.active=$aotProfile")
+	}
+
+	val extractBootJar by tasks.registering(Exec::class) {
+		group = "build"
+		description = "Extracts the boot jar into the plain classpath layout that CDS requires."
+		inputs.file(bootJarFile)
+		outputs.dir(appDir)
+		executable(javaExecutable)
+		args("-Djarmode=tools", "-jar", bootJarFile.get().asFile.absolutePath,
+			"extract", "--force", "--destination", appDir.absolutePath)
+	}
+
+	val cdsArchive by tasks.registering(Exec::class) {
+		group = "build"
+		description = "Records a CDS archive from a training run and writes the launcher script."
+		dependsOn(extractBootJar)
+		inputs.file(bootJarFile)
+		outputs.files(archiveFile, launcherFile)
+		workingDir(appDir)
+		executable(javaExecutable)
+		args("-XX:ArchiveClassesAtExit=${archiveFile.absolutePath}",
+			"-Dspring.aot.enabled=true",
+			"-Dspring.context.exit=onRefresh",
+			"-jar", appJarName,
+			"--spring.profiles.active=$aotProfile")
+		// The training run only refreshes the context, so no real API key or cursor secret is needed
+		environment("SPOONACULAR_API_KEY", System.getenv("SPOONACULAR_API_KEY") ?: "cds-training")
+		environment("RECIPE_SEARCH_CURSOR_SECRET", System.getenv("RECIPE_SEARCH_CURSOR_SECRET") ?: "cds-training")
+
+		// CDS only accepts the archive on the JDK that recorded it, with the same classpath
+		val launcher = """
+			|#!/bin/sh
+			|# Starts the backend with Spring AOT initializers and the CDS archive built by
+			|# ./gradlew -Paot cdsArchive. Use the JDK that built the archive (JAVA_HOME);
+			|# extra JVM options can be passed in JAVA_OPTS.
+			|cd "${'$'}(dirname "${'$'}0")/app" || exit 1
+			|export SPRING_PROFILES_ACTIVE="$aotProfile"
+			|exec "${'$'}{JAVA_HOME:+${'$'}JAVA_HOME/bin/}java" -XX:SharedArchiveFile=../application.jsa \
+			|    -Dspring.aot.enabled=true ${'$'}JAVA_OPTS -jar $appJarName "${'$'}@"
+			|""".trimMargin()
+		doLast {
+			launcherFile.writeText(launcher)
+			launcherFile.setExecutable(true)
+		}
+	}
+
+	tasks.register<JavaExec>("startupBenchmark") {
+		group = "verification"
+		description = "Reports time-to-ready for JIT-only, AOT and AOT+CDS startup of the extracted app."
+		dependsOn(cdsArchive)
+		classpath = perf.runtimeClasspath
+		mainClass.set("app.luqma.backend.startup.StartupBenchmarkMain")
+		javaLauncher.set(javaToolchains.launcherFor(java.toolchain))
+		args("--app-dir=${appDir.absolutePath}",
+			"--jar=$appJarName",
+			"--archive=${archiveFile.absolutePath}",
+			"--java=$javaExecutable",
+			"--profile=$aotProfile",
+			"--output=${layout.buildDirectory.dir("reports/startup").get().asFile}")
+		args(providers.gradleProperty("startupArgs")
+			.map { it.split(" ").filter(String::isNotBlank) }
+			.getOrElse(emptyList()))
+	}
+
+	// Native Image Configuration (enabled with -Pnative)
+	// Compiles the AOT-processed application with GraalVM for JDK 25, taken from GRAALVM_HOME.
+	// Library reachability metadata (Caffeine, Tomcat, Jackson...) comes from the GraalVM
+	// metadata repository, which Gradle caches like a dependency, so after one online build
+	// everything also runs with --offline. Tests using Mockito are @DisabledInAotMode.
+	//   ./gradlew -Pnative nativeCompile    -> build/native/nativeCompile/luqma-backend
+	//   ./gradlew -Pnative nativeTest       -> the test suite compiled and run as a native executable
+	//   ./gradlew -Pnative -PaotProfile=mock nativeBenchmark
+	//                                       -> startup, RSS and throughput vs the JVM in build/reports/native
+	if (nativeEnabled) {
+		apply(plugin = "org.graalvm.buildtools.native")
+
+		configure<org.graalvm.buildtools.gradle.dsl.GraalVMExtension> {
+			toolchainDetection.set(false)
+			metadataRepository {
+				enabled.set(true)
+			}
+			binaries.all {
+				// The luqma.* events and the flightrecorder endpoint need JFR in the image
+				buildArgs.add("--enable-monitoring=jfr")
+			}
+			binaries.named("main") {
+				imageName.set("luqma-backend")
+			}
+		}
+
+		val nativeExecutable = layout.buildDirectory.file("native/nativeCompile/luqma-backend").get().asFile
+
+		tasks.register<JavaExec>("nativeBenchmark") {
+			group = "verification"
+			description = "Compares startup time, RSS and steady-state throughput of the native executable and the JVM."
+			dependsOn("nativeCompile", cdsArchive)
+			classpath = perf.runtimeClasspath
+			mainClass.set("app.luqma.backend.startup.StartupBenchmarkMain")
+			javaLauncher.set(javaToolchains.launcherFor(java.toolchain))
+			args("--app-dir=${appDir.absolutePath}",
+				"--jar=$appJarName",
+				"--archive=${archiveFile.absolutePath}",
+				"--java=$javaExecutable",
+				"--native=${nativeExecutable.absolutePath}",
+				"--profile=$aotProfile",
+				"--variants=jit,aot-cds,native",
+				"--runs=3",
+				"--output=${layout.buildDirectory.dir("reports/native").get().asFile}")
+			if (aotProfile == "mock") {
+				args("--throughput=20s")
+			}
+			args(providers.gradleProperty("startupArgs")
+				.map { it.split(" ").filter(String::isNotBlank) }
+				.getOrElse(emptyList()))
+		}
+	}
+}
+
 // OWASP Dependency-Check Configuration
 configure<org.owasp.dependencycheck.gradle.extension.DependencyCheckExtension> {
 	formats = listOf("HTML", "JSON")
@@ -0,0 +1,117 @@
+package app.luqma.backend.benchmark;
+
+import app.luqma.backend.model.domain.ExtendedIngredient;
+import app.luqma.backend.model.domain.Nutrient;
+import app.luqma.backend.model.domain.NutritionInfo;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.util.MockDataLoader;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shared fixtures for JMH benchmarks.
+ * Loads the bundled mock payloads so benchmarks exercise realistic recipe shapes
+ * without starting the Spring context.
+ */
+public final class BenchmarkFixtures {
+    
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    
+    private BenchmarkFixtures() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+    
+    /**
+     * Returns the ObjectMapper used to decode mock payloads.
+     * Mirrors Spring Boot's default of ignoring unknown properties.
+     */
+    public static ObjectMapper objectMapper() {
+        return OBJECT_MAPPER;
+    }
+    
+    /**
+     * Loads a mock recipe from {@code mocks/recipe-{id}.json}.
+     */
+    public static RecipeDetail loadRecipe(long recipeId) {
+        return MockDataLoader.loadMockData("recipe-" + recipeId + ".json", OBJECT_MAPPER, RecipeDetail.class);
+    }
+    
+    /**
+     * Reads the raw bytes of a mock payload, used by decoding benchmarks.
+     */
+    public static byte[] readMockBytes(String fileName) {
+        try {
+            return new ClassPathResource("mocks/" + fileName).getContentAsByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read mock payload: " + fileName, e);
+        }
+    }
+    
+    /**
+     * Returns the ids of the first {@code count} ingredients of a recipe.
+     */
+    public static Set<Long> firstIngredientIds(RecipeDetail recipe, int count) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (ExtendedIngredient ingredient : recipe.getExtendedIngredients()) {
+            if (ids.size() == count) {
+                break;
+            }
+            if (ingredient.getId() != null) {
+                ids.add(ingredient.getId());
+            }
+        }
+        return ids;
+    }
+    
+    /**
+     * Copies a recipe and attaches per-ingredient nutrient data to every ingredient,
+     * splitting the recipe totals evenly. This forces the ingredient-level
+     * recalculation path instead of the proportional fallback.
+     */
+    public static RecipeDetail withIngredientNutrition(RecipeDetail recipe) {
+        List<ExtendedIngredient> ingredients = recipe.getExtendedIngredients();
+        List<Nutrient> totals = recipe.getNutrition().getNutrients();
+        int ingredientCount = Math.max(1, ingredients.size());
+        
+        List<Nutrient> share = totals.stream()
+                .map(nutrient -> new Nutrient(
+                        nutrient.name(),
+                        nutrient.amount() / ingredientCount,
+                        nutrient.unit()))
+                .toList();
+        
+        List<ExtendedIngredient> enriched = ingredients.stream()
+                .map(ingredient -> ingredient.toBuilder()
+                        .nutrition(new ExtendedIngredient.IngredientNutrition(share))
+                        .build())
+                .toList();
+        
+        return recipe.toBuilder()
+                .extendedIngredients(enriched)
+                .nutrition(NutritionInfo.builder()
+                        .nutrients(totals)
+                        .caloricBreakdown(recipe.getNutrition().getCaloricBreakdown())
+                        .build())
+                .build();
+    }
+    
+    /**
+     * Copies a recipe without the upstream per-ingredient breakdown, forcing the
+     * proportional estimation path.
+     */
+    public static RecipeDetail withoutIngredientBreakdown(RecipeDetail recipe) {
+        return recipe.toBuilder()
+                .nutrition(recipe.getNutrition().toBuilder()
+                        .ingredients(List.of())
+                        .build())
+                .build();
+    }
+}
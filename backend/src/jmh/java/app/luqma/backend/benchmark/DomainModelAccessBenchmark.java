@@ -0,0 +1,83 @@
+package app.luqma.backend.benchmark;
+
+import app.luqma.backend.model.domain.AnalyzedInstruction;
+import app.luqma.backend.model.domain.ExtendedIngredient;
+import app.luqma.backend.model.domain.Nutrient;
+import app.luqma.backend.model.domain.RecipeDetail;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a cached recipe through its accessors, the access pattern of
+ * mapping, validation and exclusion.
+ *
+ * <p>{@code copyOnRead} reproduces the former accessors, which returned a fresh
+ * {@code ArrayList} on every call; {@code sharedRead} reads the immutable lists
+ * directly. Run with {@code -prof gc} (enabled by default in the {@code jmh} task)
+ * and compare {@code gc.alloc.rate.norm} for the allocation difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainModelAccessBenchmark {
+
+    @Param({"642539", "782601"})
+    long recipeId;
+
+    private RecipeDetail recipe;
+
+    @Setup
+    public void setUp() {
+        recipe = BenchmarkFixtures.loadRecipe(recipeId);
+    }
+
+    @Benchmark
+    public double sharedRead() {
+        double checksum = 0.0;
+        for (ExtendedIngredient ingredient : recipe.getExtendedIngredients()) {
+            checksum += ingredient.getAmount();
+        }
+        for (Nutrient nutrient : recipe.getNutrition().getNutrients()) {
+            checksum += nutrient.amount();
+        }
+        for (AnalyzedInstruction instruction : recipe.getAnalyzedInstructions()) {
+            checksum += instruction.getSteps().size();
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public double copyOnRead() {
+        double checksum = 0.0;
+        for (ExtendedIngredient ingredient : copy(recipe.getExtendedIngredients())) {
+            checksum += ingredient.getAmount();
+        }
+        for (Nutrient nutrient : copy(recipe.getNutrition().getNutrients())) {
+            checksum += nutrient.amount();
+        }
+        for (AnalyzedInstruction instruction : copy(recipe.getAnalyzedInstructions())) {
+            checksum += copy(instruction.getSteps()).size();
+        }
+        return checksum;
+    }
+
+    private static <T> List<T> copy(List<T> list) {
+        return new ArrayList<>(list);
+    }
+}
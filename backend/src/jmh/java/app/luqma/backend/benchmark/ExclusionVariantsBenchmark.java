@@ -0,0 +1,134 @@
+package app.luqma.backend.benchmark;
+
+import app.luqma.backend.client.RecipeApiClient;
+import app.luqma.backend.config.ExclusionCacheProperties;
+import app.luqma.backend.config.ResponseCacheProperties;
+import app.luqma.backend.constants.CacheNames;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.spoonacular.SpoonacularSearchResponse;
+import app.luqma.backend.repository.RecipeRepository;
+import app.luqma.backend.service.ExclusionResultCache;
+import app.luqma.backend.service.IngredientValidationService;
+import app.luqma.backend.service.NutritionCalculationService;
+import app.luqma.backend.service.RecipeDetailService;
+import app.luqma.backend.service.RecipeResponseCache;
+import app.luqma.backend.service.UnitConversionEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares evaluating N exclusion sets through N single exclude-ingredients calls
+ * against one batch exclusion-variants call, including JSON serialization.
+ *
+ * <p>The exclusion result cache is disabled so every invocation does the full work.
+ * The {@code responseBytes} counter reports serialized bytes per iteration; divide by
+ * {@code invocations} for bytes per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExclusionVariantsBenchmark {
+    
+    @Param({"642539", "782601"})
+    long recipeId;
+    
+    @Param({"4", "16"})
+    int setCount;
+    
+    private RecipeDetailService service;
+    private ObjectMapper objectMapper;
+    private List<Set<Long>> exclusionSets;
+    
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class ResponseSize {
+        public long responseBytes;
+        public long invocations;
+        
+        @Setup(Level.Iteration)
+        public void reset() {
+            responseBytes = 0;
+            invocations = 0;
+        }
+    }
+    
+    @Setup
+    public void setUp() {
+        RecipeDetail recipe = BenchmarkFixtures.withIngredientNutrition(BenchmarkFixtures.loadRecipe(recipeId));
+        RecipeApiClient client = new RecipeApiClient() {
+            @Override
+            public SpoonacularSearchResponse searchRecipes(String query, int number, int offset) {
+                throw new UnsupportedOperationException("Search is not used by this benchmark");
+            }
+            
+            @Override
+            public RecipeDetail getRecipeInformation(Long id) {
+                return recipe;
+            }
+        };
+        
+        ExclusionCacheProperties cacheProperties = new ExclusionCacheProperties();
+        cacheProperties.setEnabled(false);
+        
+        service = new RecipeDetailService(
+                new RecipeRepository(client, new ConcurrentMapCacheManager(CacheNames.RECIPES)),
+                new NutritionCalculationService(new UnitConversionEngine()),
+                new IngredientValidationService(),
+                new ExclusionResultCache(cacheProperties, BenchmarkFixtures.objectMapper(),
+                        new SimpleMeterRegistry()),
+                new RecipeResponseCache(new ResponseCacheProperties(), BenchmarkFixtures.objectMapper(),
+                        new SimpleMeterRegistry()));
+        objectMapper = BenchmarkFixtures.objectMapper();
+        
+        List<Long> ingredientIds = List.copyOf(BenchmarkFixtures.firstIngredientIds(recipe, Integer.MAX_VALUE));
+        exclusionSets = new ArrayList<>(setCount);
+        for (int i = 0; i < setCount; i++) {
+            Long first = ingredientIds.get(i % ingredientIds.size());
+            Long second = ingredientIds.get((i + 1) % ingredientIds.size());
+            // Alternate single-ingredient and pairwise exclusions
+            exclusionSets.add(i % 2 == 0 ? Set.of(first) : Set.of(first, second));
+        }
+    }
+    
+    @Benchmark
+    public long singleCalls(ResponseSize size) throws JsonProcessingException {
+        long bytes = 0;
+        for (Set<Long> exclusionSet : exclusionSets) {
+            bytes += objectMapper.writeValueAsBytes(service.excludeIngredients(recipeId, exclusionSet)).length;
+        }
+        size.responseBytes += bytes;
+        size.invocations++;
+        return bytes;
+    }
+    
+    @Benchmark
+    public long batchCall(ResponseSize size) throws JsonProcessingException {
+        long bytes = objectMapper.writeValueAsBytes(service.evaluateExclusionVariants(recipeId, exclusionSets)).length;
+        size.responseBytes += bytes;
+        size.invocations++;
+        return bytes;
+    }
+}
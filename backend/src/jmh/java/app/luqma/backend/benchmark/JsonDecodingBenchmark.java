@@ -0,0 +1,58 @@
+package app.luqma.backend.benchmark;
+
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.spoonacular.SpoonacularSearchResponse;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding of upstream payloads into domain objects.
+ * Uses the bundled mock responses as representative payload sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonDecodingBenchmark {
+    
+    @Param({"642539", "715497", "782601"})
+    long recipeId;
+    
+    private ObjectReader recipeReader;
+    private ObjectReader searchReader;
+    private byte[] recipeBytes;
+    private byte[] searchBytes;
+    
+    @Setup
+    public void setUp() {
+        recipeReader = BenchmarkFixtures.objectMapper().readerFor(RecipeDetail.class);
+        searchReader = BenchmarkFixtures.objectMapper().readerFor(SpoonacularSearchResponse.class);
+        recipeBytes = BenchmarkFixtures.readMockBytes("recipe-" + recipeId + ".json");
+        searchBytes = BenchmarkFixtures.readMockBytes("recipe-search-results.json");
+    }
+    
+    @Benchmark
+    public RecipeDetail decodeRecipe() throws IOException {
+        return recipeReader.readValue(recipeBytes);
+    }
+    
+    @Benchmark
+    public SpoonacularSearchResponse decodeSearchResults() throws IOException {
+        return searchReader.readValue(searchBytes);
+    }
+}
@@ -0,0 +1,70 @@
+package app.luqma.backend.benchmark;
+
+import app.luqma.backend.constants.NutrientNames;
+import app.luqma.backend.mapper.NutrientExtractor;
+import app.luqma.backend.model.domain.Nutrient;
+import app.luqma.backend.model.domain.NutritionInfo;
+import app.luqma.backend.model.dto.NutritionDTO;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Copy of the stream-per-nutrient extraction that {@link NutrientExtractor} used
+ * before the single-pass version, kept as the baseline in
+ * {@link NutrientExtractorBenchmark}.
+ */
+final class LegacyNutrientExtractor {
+    
+    private LegacyNutrientExtractor() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+    
+    static NutritionDTO extractNutritionDTO(NutritionInfo nutritionInfo) {
+        if (nutritionInfo == null || nutritionInfo.getNutrients() == null) {
+            return NutrientExtractor.createEmptyNutritionDTO();
+        }
+        
+        var nutrients = nutritionInfo.getNutrients();
+        var breakdown = nutritionInfo.getCaloricBreakdown();
+        
+        return new NutritionDTO(
+                findNutrientAmount(nutrients, NutrientNames.CALORIES),
+                findNutrientAmount(nutrients, NutrientNames.PROTEIN),
+                findNutrientAmount(nutrients, NutrientNames.FAT),
+                findNutrientAmount(nutrients, NutrientNames.CARBOHYDRATES),
+                findNutrientAmount(nutrients, NutrientNames.FIBER),
+                getBreakdownValue(breakdown, b -> b.percentProtein()),
+                getBreakdownValue(breakdown, b -> b.percentFat()),
+                getBreakdownValue(breakdown, b -> b.percentCarbs())
+        );
+    }
+    
+    static NutritionInfo.CaloricBreakdown recalculateCaloricBreakdown(List<Nutrient> nutrients) {
+        return NutrientExtractor.caloricBreakdown(
+                findNutrientAmount(nutrients, NutrientNames.PROTEIN),
+                findNutrientAmount(nutrients, NutrientNames.FAT),
+                findNutrientAmount(nutrients, NutrientNames.CARBOHYDRATES));
+    }
+    
+    private static Double findNutrientAmount(List<Nutrient> nutrients, String name) {
+        if (nutrients == null || name == null) {
+            return 0.0;
+        }
+        
+        return nutrients.stream()
+                .filter(n -> name.equalsIgnoreCase(n.name()))
+                .findFirst()
+                .map(Nutrient::amount)
+                .orElse(0.0);
+    }
+    
+    private static Double getBreakdownValue(
+            NutritionInfo.CaloricBreakdown breakdown,
+            Function<NutritionInfo.CaloricBreakdown, Double> extractor) {
+        return Optional.ofNullable(breakdown)
+                .map(extractor)
+                .orElse(0.0);
+    }
+}
@@ -0,0 +1,147 @@
+package app.luqma.backend.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures request-path logging throughput from 8 threads into a real file, with the
+ * appenders and encoders configured in logback-spring.xml.
+ *
+ * <p>{@code scatteredInfoLines} logs the three INFO lines a search request used to
+ * produce; {@code accessLogLine} logs the single key-value access line that replaces
+ * them. {@code appender}: {@code sync} writes on the calling thread;
+ * {@code async} is the production setting (bounded queue, INFO discarded when over
+ * 80% full, never blocks), so under sustained overload part of its throughput is
+ * discarded events; {@code async-blocking} keeps every event and blocks when the
+ * queue is full, isolating the cost of the hand-off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class LoggingBenchmark {
+
+    private static final String QUERY = "pasta";
+    private static final int QUEUE_SIZE = 8192;
+
+    @Param({"sync", "async", "async-blocking"})
+    String appender;
+
+    @Param({"pattern", "json"})
+    String encoding;
+
+    private LoggerContext context;
+    private Logger logger;
+    private Path logFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("luqma-logging-", ".log");
+        context = new LoggerContext();
+        // The structured encoder reads its settings from the Spring environment
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile(logFile.toString());
+        file.setEncoder("json".equals(encoding) ? jsonEncoder() : patternEncoder());
+        file.start();
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(switch (appender) {
+            case "async" -> async(file, QUEUE_SIZE / 5, true);
+            case "async-blocking" -> async(file, 0, false);
+            default -> file;
+        });
+        logger = context.getLogger("app.luqma.backend.access");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void scatteredInfoLines() {
+        logger.info("Received search request: query='{}', page={}, pageSize={}, cursor={}", QUERY, 1, 9, null);
+        logger.info("Recipe search successful: query='{}', total={}, returned={}", QUERY, 120, 9);
+        logger.info("Search completed: query='{}', total={}, returned={}, page={}", QUERY, 120, 9, 1);
+    }
+
+    @Benchmark
+    public void accessLogLine() {
+        logger.atInfo()
+                .addKeyValue("method", "GET")
+                .addKeyValue("endpoint", "/api/v1/recipes/search")
+                .addKeyValue("status", 200)
+                .addKeyValue("duration_ms", 42L)
+                .addKeyValue("cache", "none")
+                .addKeyValue("upstream_ms", 38L)
+                .log("request");
+    }
+
+    private Appender<ILoggingEvent> async(Appender<ILoggingEvent> delegate, int discardingThreshold,
+                                          boolean neverBlock) {
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setName("ASYNC");
+        async.setQueueSize(QUEUE_SIZE);
+        async.setDiscardingThreshold(discardingThreshold);
+        async.setNeverBlock(neverBlock);
+        async.setIncludeCallerData(false);
+        async.addAppender(delegate);
+        async.start();
+        return async;
+    }
+
+    private Encoder<ILoggingEvent> patternEncoder() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg %kvp%n");
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> jsonEncoder() {
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("ecs");
+        encoder.setCharset(StandardCharsets.UTF_8);
+        encoder.start();
+        return encoder;
+    }
+}
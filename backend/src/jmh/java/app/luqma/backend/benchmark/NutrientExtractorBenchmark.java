@@ -0,0 +1,65 @@
+package app.luqma.backend.benchmark;
+
+import app.luqma.backend.mapper.NutrientExtractor;
+import app.luqma.backend.model.domain.Nutrient;
+import app.luqma.backend.model.domain.NutritionInfo;
+import app.luqma.backend.model.dto.NutritionDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures key nutrient lookup and caloric breakdown derivation, comparing the
+ * single-pass extractor against the previous stream-per-nutrient implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NutrientExtractorBenchmark {
+    
+    @Param({"642539", "782601"})
+    long recipeId;
+    
+    private NutritionInfo nutritionInfo;
+    private List<Nutrient> nutrients;
+    
+    @Setup
+    public void setUp() {
+        nutritionInfo = BenchmarkFixtures.loadRecipe(recipeId).getNutrition();
+        nutrients = nutritionInfo.getNutrients();
+    }
+    
+    @Benchmark
+    public NutritionDTO extractNutritionDTO() {
+        return NutrientExtractor.extractNutritionDTO(nutritionInfo);
+    }
+    
+    @Benchmark
+    public NutritionInfo.CaloricBreakdown recalculateCaloricBreakdown() {
+        return NutrientExtractor.recalculateCaloricBreakdown(nutrients);
+    }
+    
+    @Benchmark
+    public NutritionDTO legacyExtractNutritionDTO() {
+        return LegacyNutrientExtractor.extractNutritionDTO(nutritionInfo);
+    }
+    
+    @Benchmark
+    public NutritionInfo.CaloricBreakdown legacyRecalculateCaloricBreakdown() {
+        return LegacyNutrientExtractor.recalculateCaloricBreakdown(nutrients);
+    }
+}
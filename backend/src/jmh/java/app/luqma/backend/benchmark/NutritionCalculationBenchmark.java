@@ -0,0 +1,86 @@
+package app.luqma.backend.benchmark;
+
+import app.luqma.backend.mapper.NutrientExtractor;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.NutritionDTO;
+import app.luqma.backend.service.NutritionCalculationService;
+import app.luqma.backend.service.NutritionRecalculation;
+import app.luqma.backend.service.UnitConversionEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures nutrition recalculation when ingredients are excluded.
+ * Covers the proportional fallback (no per-ingredient data), exact subtraction of
+ * the upstream breakdown shipped in the mock payloads (absent for 715497, which
+ * falls back to proportional) and the ingredient-level path. The summary variants
+ * compare deriving the nutrition summary from the nutrient vector against scanning
+ * the recalculated list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NutritionCalculationBenchmark {
+    
+    @Param({"642539", "715497", "782601"})
+    long recipeId;
+    
+    @Param({"1", "3"})
+    int excludedCount;
+    
+    private NutritionCalculationService service;
+    private RecipeDetail upstreamRecipe;
+    private RecipeDetail proportionalRecipe;
+    private RecipeDetail ingredientLevelRecipe;
+    private Set<Long> excludedIds;
+    
+    @Setup
+    public void setUp() {
+        service = new NutritionCalculationService(new UnitConversionEngine());
+        upstreamRecipe = BenchmarkFixtures.loadRecipe(recipeId);
+        proportionalRecipe = BenchmarkFixtures.withoutIngredientBreakdown(upstreamRecipe);
+        ingredientLevelRecipe = BenchmarkFixtures.withIngredientNutrition(upstreamRecipe);
+        excludedIds = BenchmarkFixtures.firstIngredientIds(upstreamRecipe, excludedCount);
+    }
+    
+    @Benchmark
+    public RecipeDetail proportional() {
+        return service.recalculateNutrition(proportionalRecipe, excludedIds);
+    }
+    
+    @Benchmark
+    public RecipeDetail upstreamBreakdown() {
+        return service.recalculateNutrition(upstreamRecipe, excludedIds);
+    }
+    
+    @Benchmark
+    public RecipeDetail ingredientLevel() {
+        return service.recalculateNutrition(ingredientLevelRecipe, excludedIds);
+    }
+    
+    @Benchmark
+    public NutritionRecalculation ingredientLevelWithSummary() {
+        return service.recalculate(ingredientLevelRecipe, excludedIds);
+    }
+    
+    @Benchmark
+    public NutritionDTO ingredientLevelThenExtract() {
+        RecipeDetail updated = service.recalculateNutrition(ingredientLevelRecipe, excludedIds);
+        return NutrientExtractor.extractNutritionDTO(updated.getNutrition());
+    }
+}
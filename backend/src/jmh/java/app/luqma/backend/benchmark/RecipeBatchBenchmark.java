@@ -0,0 +1,117 @@
+package app.luqma.backend.benchmark;
+
+import app.luqma.backend.client.RecipeApiClient;
+import app.luqma.backend.config.ExclusionCacheProperties;
+import app.luqma.backend.config.RecipeBatchProperties;
+import app.luqma.backend.config.ResponseCacheProperties;
+import app.luqma.backend.constants.CacheNames;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.spoonacular.SpoonacularSearchResponse;
+import app.luqma.backend.repository.RecipeRepository;
+import app.luqma.backend.service.ExclusionResultCache;
+import app.luqma.backend.service.IngredientValidationService;
+import app.luqma.backend.service.NutritionCalculationService;
+import app.luqma.backend.service.RecipeBatchService;
+import app.luqma.backend.service.RecipeDetailService;
+import app.luqma.backend.service.RecipeResponseCache;
+import app.luqma.backend.service.UnitConversionEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Compares loading N uncached recipes through N single detail calls against one
+ * batch call, with a simulated upstream latency of {@code upstreamMillis} per fetch.
+ *
+ * <p>The recipe cache is cleared before every invocation so each call pays the
+ * upstream cost; the batch call overlaps those waits up to the configured
+ * concurrency bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeBatchBenchmark {
+
+    @Param({"4", "16"})
+    int recipeCount;
+
+    @Param({"5"})
+    long upstreamMillis;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private RecipeDetailService detailService;
+    private RecipeBatchService batchService;
+    private List<Long> ids;
+
+    @Setup
+    public void setUp() {
+        RecipeDetail recipe = BenchmarkFixtures.loadRecipe(715497L);
+        RecipeApiClient client = new RecipeApiClient() {
+            @Override
+            public SpoonacularSearchResponse searchRecipes(String query, int number, int offset) {
+                throw new UnsupportedOperationException("Search is not used by this benchmark");
+            }
+
+            @Override
+            public RecipeDetail getRecipeInformation(Long id) {
+                try {
+                    Thread.sleep(upstreamMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return recipe;
+            }
+        };
+
+        cacheManager = new ConcurrentMapCacheManager(CacheNames.RECIPES);
+        RecipeRepository repository = new RecipeRepository(client, cacheManager);
+        RecipeResponseCache responseCache = new RecipeResponseCache(
+                new ResponseCacheProperties(), BenchmarkFixtures.objectMapper(), new SimpleMeterRegistry());
+        detailService = new RecipeDetailService(
+                repository,
+                new NutritionCalculationService(new UnitConversionEngine()),
+                new IngredientValidationService(),
+                new ExclusionResultCache(new ExclusionCacheProperties(), BenchmarkFixtures.objectMapper(),
+                        new SimpleMeterRegistry()),
+                responseCache);
+        batchService = new RecipeBatchService(repository, responseCache, new RecipeBatchProperties());
+        ids = LongStream.rangeClosed(1, recipeCount).boxed().toList();
+    }
+
+    @Setup(Level.Invocation)
+    public void clearRecipeCache() {
+        cacheManager.getCache(CacheNames.RECIPES).clear();
+    }
+
+    @Benchmark
+    public long singleCalls() {
+        long bytes = 0;
+        for (Long id : ids) {
+            bytes += detailService.getRenderedRecipeById(id).json().length;
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public int batchCall() {
+        return batchService.getRecipes(ids).recipes().size();
+    }
+}
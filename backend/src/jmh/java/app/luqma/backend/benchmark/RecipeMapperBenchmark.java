@@ -0,0 +1,57 @@
+package app.luqma.backend.benchmark;
+
+import app.luqma.backend.mapper.RecipeMapper;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.RecipeDetailResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures domain-to-response mapping for recipe details.
+ * The plain-instructions variant drops analyzed instructions to exercise the
+ * regex sentence split fallback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeMapperBenchmark {
+    
+    @Param({"642539", "715497", "782601"})
+    long recipeId;
+    
+    private RecipeDetail recipe;
+    private RecipeDetail plainInstructionsRecipe;
+    
+    @Setup
+    public void setUp() {
+        recipe = BenchmarkFixtures.loadRecipe(recipeId);
+        plainInstructionsRecipe = recipe.toBuilder()
+                .analyzedInstructions(List.of())
+                .build();
+    }
+    
+    @Benchmark
+    public RecipeDetailResponse analyzedInstructions() {
+        return RecipeMapper.toRecipeDetailResponse(recipe);
+    }
+    
+    @Benchmark
+    public RecipeDetailResponse plainInstructions() {
+        return RecipeMapper.toRecipeDetailResponse(plainInstructionsRecipe);
+    }
+}
@@ -0,0 +1,60 @@
+package app.luqma.backend.benchmark;
+
+import app.luqma.backend.config.ResponseCacheProperties;
+import app.luqma.backend.mapper.RecipeMapper;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.service.RecipeResponseCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures producing the recipe detail body: mapping and serializing on every
+ * request ({@code renderPerRequest}) versus reusing the cached bytes
+ * ({@code cachedBytes}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeResponseBenchmark {
+
+    @Param({"642539", "715497", "782601"})
+    long recipeId;
+
+    private ObjectMapper objectMapper;
+    private RecipeResponseCache cache;
+    private RecipeDetail recipe;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        cache = new RecipeResponseCache(new ResponseCacheProperties(), objectMapper, new SimpleMeterRegistry());
+        recipe = BenchmarkFixtures.loadRecipe(recipeId);
+    }
+
+    @Benchmark
+    public byte[] renderPerRequest() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(RecipeMapper.toRecipeDetailResponse(recipe));
+    }
+
+    @Benchmark
+    public byte[] cachedBytes() {
+        return cache.get(recipe).json();
+    }
+}
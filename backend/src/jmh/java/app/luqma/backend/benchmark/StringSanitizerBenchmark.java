@@ -0,0 +1,49 @@
+package app.luqma.backend.benchmark;
+
+import app.luqma.backend.util.StringSanitizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request string sanitization used for logging and queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringSanitizerBenchmark {
+    
+    @Param({
+        "chicken pasta",
+        "  creamy\ttomato\r\nsoup with basil and garlic bread  ",
+        "query=pasta&page=2&pageSize=9"
+    })
+    String input;
+    
+    @Benchmark
+    public String sanitizeForLogging() {
+        return StringSanitizer.sanitizeForLogging(input, 100);
+    }
+    
+    @Benchmark
+    public String sanitizeForQuery() {
+        return StringSanitizer.sanitizeForQuery(input);
+    }
+    
+    @Benchmark
+    public String sanitizeQueryString() {
+        return StringSanitizer.sanitizeQueryString(input);
+    }
+}
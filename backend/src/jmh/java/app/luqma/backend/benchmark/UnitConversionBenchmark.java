@@ -0,0 +1,62 @@
+package app.luqma.backend.benchmark;
+
+import app.luqma.backend.model.domain.ExtendedIngredient;
+import app.luqma.backend.service.CanonicalUnit;
+import app.luqma.backend.service.UnitConversionEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures converting every ingredient of a mock recipe to grams, and unit
+ * string parsing on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnitConversionBenchmark {
+
+    @Param({"642539", "782601"})
+    long recipeId;
+
+    private UnitConversionEngine engine;
+    private List<ExtendedIngredient> ingredients;
+
+    @Setup
+    public void setUp() {
+        engine = new UnitConversionEngine();
+        ingredients = BenchmarkFixtures.loadRecipe(recipeId).getExtendedIngredients();
+    }
+
+    @Benchmark
+    public double recipeWeight() {
+        double total = 0.0;
+        for (ExtendedIngredient ingredient : ingredients) {
+            total += engine.toGrams(ingredient);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public void parseUnits(Blackhole blackhole) {
+        for (ExtendedIngredient ingredient : ingredients) {
+            CanonicalUnit unit = UnitConversionEngine.parseUnit(ingredient.getUnit());
+            blackhole.consume(unit);
+        }
+    }
+}
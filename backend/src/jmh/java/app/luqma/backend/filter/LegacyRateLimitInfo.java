@@ -0,0 +1,32 @@
+package app.luqma.backend.filter;
+
+/**
+ * Copy of the synchronized fixed-window counter that {@link RateLimitFilter} used
+ * before {@link LocalRateLimitStore}, kept as the baseline in {@link RateLimiterBenchmark}.
+ */
+final class LegacyRateLimitInfo {
+
+    private final int maxRequests;
+    private final long windowSize;
+    private volatile long windowStart;
+    private volatile int requestCount;
+
+    LegacyRateLimitInfo(int maxRequests, long windowSize) {
+        this.maxRequests = maxRequests;
+        this.windowSize = windowSize;
+        this.windowStart = System.currentTimeMillis();
+        this.requestCount = 0;
+    }
+
+    synchronized boolean allowRequest() {
+        long now = System.currentTimeMillis();
+
+        if (now - windowStart > windowSize) {
+            windowStart = now;
+            requestCount = 0;
+        }
+
+        requestCount++;
+        return requestCount <= maxRequests;
+    }
+}
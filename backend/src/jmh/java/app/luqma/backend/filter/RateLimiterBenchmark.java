@@ -0,0 +1,105 @@
+package app.luqma.backend.filter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request rate limit check, including the client lookup, under
+ * contention from 64 threads.
+ * Lives in the filter package to reach the legacy baseline.
+ *
+ * <p>{@code legacy*} use the former map of synchronized fixed-window counters;
+ * {@code local*} use {@link LocalRateLimitStore} and {@code shared*} the request
+ * path of {@link SharedRateLimitStore} (backend sync runs off that path and is not
+ * measured). {@code *SharedClient} models many concurrent requests from one
+ * address; {@code *DistinctClients} spreads requests over 1024 addresses.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class RateLimiterBenchmark {
+
+    private static final long WINDOW_MS = 60_000L;
+    private static final int CLIENTS = 1024;
+    private static final String[] CLIENT_IPS = new String[CLIENTS];
+
+    static {
+        for (int i = 0; i < CLIENTS; i++) {
+            CLIENT_IPS[i] = "10.0." + (i >> 8) + "." + (i & 0xFF);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Limiters {
+        Map<String, LegacyRateLimitInfo> legacy;
+        LocalRateLimitStore local;
+        SharedRateLimitStore shared;
+
+        @Setup
+        public void setUp() {
+            legacy = new ConcurrentHashMap<>();
+            Duration window = Duration.ofMillis(WINDOW_MS);
+            local = new LocalRateLimitStore(Integer.MAX_VALUE, window, 10_000, System::nanoTime);
+            shared = new SharedRateLimitStore(Integer.MAX_VALUE, window, 10_000,
+                    new InMemoryRateLimitBackend(window), System::nanoTime);
+        }
+    }
+
+    @Benchmark
+    public boolean legacySharedClient(Limiters limiters) {
+        return legacyCheck(limiters, CLIENT_IPS[0]);
+    }
+
+    @Benchmark
+    public boolean legacyDistinctClients(Limiters limiters) {
+        return legacyCheck(limiters, randomClient());
+    }
+
+    @Benchmark
+    public boolean localSharedClient(Limiters limiters) {
+        return limiters.local.tryAcquire(CLIENT_IPS[0]).allowed();
+    }
+
+    @Benchmark
+    public boolean localDistinctClients(Limiters limiters) {
+        return limiters.local.tryAcquire(randomClient()).allowed();
+    }
+
+    @Benchmark
+    public boolean sharedSharedClient(Limiters limiters) {
+        return limiters.shared.tryAcquire(CLIENT_IPS[0]).allowed();
+    }
+
+    @Benchmark
+    public boolean sharedDistinctClients(Limiters limiters) {
+        return limiters.shared.tryAcquire(randomClient()).allowed();
+    }
+
+    private static boolean legacyCheck(Limiters limiters, String clientIp) {
+        return limiters.legacy
+                .computeIfAbsent(clientIp, _ -> new LegacyRateLimitInfo(Integer.MAX_VALUE, WINDOW_MS))
+                .allowRequest();
+    }
+
+    private static String randomClient() {
+        return CLIENT_IPS[ThreadLocalRandom.current().nextInt(CLIENTS)];
+    }
+}
@@ -3,11 +3,14 @@ package app.luqma.backend.client;
 import app.luqma.backend.config.MockProperties;
 import app.luqma.backend.exception.ExternalApiException;
 import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.spoonacular.SpoonacularEnrichedSearchResponse;
 import app.luqma.backend.model.dto.spoonacular.SpoonacularSearchResponse;
 import app.luqma.backend.model.dto.spoonacular.SpoonacularSearchResponse.SpoonacularRecipeSummary;
 import app.luqma.backend.util.MockDataLoader;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
@@ -15,6 +18,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +34,9 @@ import java.util.stream.Collectors;
  *   <li>Same validation and error handling as real client</li>
  * </ul>
  * 
+ * <p>Every simulated call is recorded on the {@value UpstreamCallInterceptor#UPSTREAM_TIMER}
+ * timer like a real one, so upstream call counts can be compared in mock runs.
+ * 
  * <p><strong>Active Profile:</strong> Only active when "mock" profile is enabled.
  * 
  * @see SpoonacularClient
@@ -44,13 +51,16 @@ public class MockSpoonacularClient implements RecipeApiClient {
     
     private final ObjectMapper objectMapper;
     private final MockProperties mockProperties;
+    private final MeterRegistry meterRegistry;
     private final Random random;
     
     private SpoonacularSearchResponse allRecipes;
     
-    public MockSpoonacularClient(ObjectMapper objectMapper, MockProperties mockProperties) {
+    public MockSpoonacularClient(ObjectMapper objectMapper, MockProperties mockProperties,
+                                 MeterRegistry meterRegistry) {
         this.objectMapper = objectMapper;
         this.mockProperties = mockProperties;
+        this.meterRegistry = meterRegistry;
         this.random = new Random();
         log.info("MockSpoonacularClient initialized - API calls will use local mock data");
     }
@@ -91,36 +101,45 @@ public class MockSpoonacularClient implements RecipeApiClient {
         
         log.debug("Searching recipes: query='{}', number={}, offset={}", query, number, offset);
         
-        // Simulate errors if configured
-        simulateErrorIfConfigured();
-        
-        // Simulate latency if configured
-        simulateLatencyIfConfigured();
-        
-        // Filter recipes by title
-        String lowerQuery = query.toLowerCase();
-        List<SpoonacularRecipeSummary> filteredResults = allRecipes.getResults().stream()
-                .filter(recipe -> recipe.getTitle().toLowerCase().contains(lowerQuery))
-                .collect(Collectors.toList());
-        
-        int totalResults = filteredResults.size();
-        
-        // Apply pagination
-        List<SpoonacularRecipeSummary> paginatedResults = filteredResults.stream()
-                .skip(offset)
-                .limit(number)
-                .collect(Collectors.toList());
-        
-        SpoonacularSearchResponse response = new SpoonacularSearchResponse();
-        response.setResults(paginatedResults);
-        response.setTotalResults(totalResults);
-        response.setOffset(offset);
-        response.setNumber(paginatedResults.size());
-        
-        log.info("Recipe search successful: query='{}', total={}, returned={}", 
-                query, totalResults, paginatedResults.size());
-        
-        return response;
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            // Simulate errors if configured
+            simulateErrorIfConfigured();
+            
+            // Simulate latency if configured
+            simulateLatencyIfConfigured();
+            
+            // Filter recipes by title
+            String lowerQuery = query.toLowerCase();
+            List<SpoonacularRecipeSummary> filteredResults = allRecipes.getResults().stream()
+                    .filter(recipe -> recipe.getTitle().toLowerCase().contains(lowerQuery))
+                    .collect(Collectors.toList());
+            
+            int totalResults = filteredResults.size();
+            
+            // Apply pagination
+            List<SpoonacularRecipeSummary> paginatedResults = filteredResults.stream()
+                    .skip(offset)
+                    .limit(number)
+                    .collect(Collectors.toList());
+            
+            SpoonacularSearchResponse response = new SpoonacularSearchResponse();
+            response.setResults(paginatedResults);
+            response.setTotalResults(totalResults);
+            response.setOffset(offset);
+            response.setNumber(paginatedResults.size());
+            
+            log.debug("Recipe search successful: query='{}', total={}, returned={}", 
+                    query, totalResults, paginatedResults.size());
+            
+            return response;
+        } catch (ExternalApiException e) {
+            outcome = UpstreamCallInterceptor.outcome(e.getStatusCode());
+            throw e;
+        } finally {
+            recordCall("search", start, outcome);
+        }
     }
     
     /**
@@ -138,13 +157,15 @@ public class MockSpoonacularClient implements RecipeApiClient {
         
         log.debug("Fetching recipe information: id={}", id);
         
-        // Simulate errors if configured
-        simulateErrorIfConfigured();
-        
-        // Simulate latency if configured
-        simulateLatencyIfConfigured();
-        
+        long start = System.nanoTime();
+        String outcome = "success";
         try {
+            // Simulate errors if configured
+            simulateErrorIfConfigured();
+            
+            // Simulate latency if configured
+            simulateLatencyIfConfigured();
+            
             String fileName = "recipe-" + id + ".json";
             RecipeDetail recipe = MockDataLoader.loadMockDataOrNull(
                     fileName,
@@ -159,21 +180,63 @@ public class MockSpoonacularClient implements RecipeApiClient {
                         404, SERVICE_NAME);
             }
             
-            log.info("Recipe information retrieved successfully: id={}, title='{}'", 
+            log.debug("Recipe information retrieved successfully: id={}, title='{}'", 
                     id, recipe.getTitle());
             
             return recipe;
             
         } catch (ExternalApiException e) {
+            outcome = UpstreamCallInterceptor.outcome(e.getStatusCode());
             throw e;
         } catch (Exception e) {
+            outcome = "server_error";
             log.error("Unexpected error fetching mock recipe {}", id, e);
             throw new ExternalApiException(
                     "Unexpected error while fetching recipe: " + e.getMessage(),
                     0, SERVICE_NAME, e);
+        } finally {
+            recordCall("information", start, outcome);
         }
     }
     
+    /**
+     * Searches for recipes using mock data, returning each result's recipe details
+     * as an enriched complexSearch call would.
+     * 
+     * <p>Counts as a single search call. Results without a {@code recipe-{id}.json}
+     * file carry only ID, title and image.
+     * 
+     * @param query search query (recipe title or keywords)
+     * @param number number of results to return (page size)
+     * @param offset starting position in result set (pagination offset)
+     * @return search response with a recipe detail per result and pagination info
+     * @throws ExternalApiException if error simulation is triggered
+     * @throws IllegalArgumentException if query is null or blank, or if number/offset are negative
+     */
+    @Override
+    public SpoonacularEnrichedSearchResponse searchRecipesEnriched(String query, int number, int offset) {
+        SpoonacularSearchResponse response = searchRecipes(query, number, offset);
+        
+        List<RecipeDetail> results = response.getResults().stream()
+                .map(result -> {
+                    RecipeDetail recipe = MockDataLoader.loadMockDataOrNull(
+                            "recipe-" + result.getId() + ".json", objectMapper, RecipeDetail.class);
+                    return recipe != null ? recipe : RecipeDetail.builder()
+                            .id(result.getId())
+                            .title(result.getTitle())
+                            .image(result.getImage())
+                            .build();
+                })
+                .toList();
+        
+        return SpoonacularEnrichedSearchResponse.builder()
+                .results(results)
+                .offset(response.getOffset())
+                .number(response.getNumber())
+                .totalResults(response.getTotalResults())
+                .build();
+    }
+    
     /**
      * Validates search parameters.
      */
@@ -201,6 +264,19 @@ public class MockSpoonacularClient implements RecipeApiClient {
         }
     }
     
+    /**
+     * Records a simulated call on the upstream timer, tagged like a real one.
+     */
+    private void recordCall(String endpoint, long start, String outcome) {
+        Timer.builder(UpstreamCallInterceptor.UPSTREAM_TIMER)
+                .description("Spoonacular API call latency until response headers")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+    
     /**
      * Simulates network latency if configured.
      * Adds random delay between min and max milliseconds.
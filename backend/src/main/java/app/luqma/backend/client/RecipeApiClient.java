@@ -1,7 +1,11 @@
 package app.luqma.backend.client;
 
 import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.spoonacular.SpoonacularEnrichedSearchResponse;
 import app.luqma.backend.model.dto.spoonacular.SpoonacularSearchResponse;
+import app.luqma.backend.model.dto.spoonacular.SpoonacularSearchResponse.SpoonacularRecipeSummary;
+
+import java.util.function.Consumer;
 
 /**
  * Interface for recipe API clients.
@@ -29,6 +33,59 @@ public interface RecipeApiClient {
      */
     SpoonacularSearchResponse searchRecipes(String query, int number, int offset);
     
+    /**
+     * Searches for recipes, handing each result to a consumer as it is read.
+     * 
+     * <p>The default implementation runs {@link #searchRecipes} and replays its
+     * results. Implementations reading from a network stream override it to emit
+     * results as they are decoded instead of after the whole response is buffered.
+     * 
+     * @param query search query (recipe title or keywords)
+     * @param number number of results to return (page size)
+     * @param offset starting position in result set (pagination offset)
+     * @param resultConsumer receives each result in response order
+     * @return total number of recipes matching the query
+     * @throws app.luqma.backend.exception.ExternalApiException if API call fails
+     * @throws IllegalArgumentException if query is null or blank, or if number/offset are negative
+     */
+    default int streamSearchRecipes(String query, int number, int offset,
+                                    Consumer<SpoonacularRecipeSummary> resultConsumer) {
+        SpoonacularSearchResponse response = searchRecipes(query, number, offset);
+        response.getResults().forEach(resultConsumer);
+        return response.getTotalResults() != null ? response.getTotalResults() : 0;
+    }
+    
+    /**
+     * Searches for recipes, asking for recipe information and nutrition with each
+     * result in the same call.
+     * 
+     * <p>The default implementation runs {@link #searchRecipes} and returns results
+     * carrying only ID, title and image, which are never complete enough to stand
+     * in for {@link #getRecipeInformation}.
+     * 
+     * @param query search query (recipe title or keywords)
+     * @param number number of results to return (page size)
+     * @param offset starting position in result set (pagination offset)
+     * @return search response with a recipe detail per result and pagination info
+     * @throws app.luqma.backend.exception.ExternalApiException if API call fails
+     * @throws IllegalArgumentException if query is null or blank, or if number/offset are negative
+     */
+    default SpoonacularEnrichedSearchResponse searchRecipesEnriched(String query, int number, int offset) {
+        SpoonacularSearchResponse response = searchRecipes(query, number, offset);
+        return SpoonacularEnrichedSearchResponse.builder()
+                .results(response.getResults().stream()
+                        .map(result -> RecipeDetail.builder()
+                                .id(result.getId())
+                                .title(result.getTitle())
+                                .image(result.getImage())
+                                .build())
+                        .toList())
+                .offset(response.getOffset())
+                .number(response.getNumber())
+                .totalResults(response.getTotalResults())
+                .build();
+    }
+    
     /**
      * Retrieves detailed information for a specific recipe.
      * 
@@ -1,8 +1,15 @@
 package app.luqma.backend.client;
 
 import app.luqma.backend.exception.ExternalApiException;
+import app.luqma.backend.metrics.Stage;
+import app.luqma.backend.metrics.StageTimings;
 import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.spoonacular.SpoonacularEnrichedSearchResponse;
 import app.luqma.backend.model.dto.spoonacular.SpoonacularSearchResponse;
+import app.luqma.backend.model.dto.spoonacular.SpoonacularSearchResponse.SpoonacularRecipeSummary;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatusCode;
@@ -12,14 +19,19 @@ import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * HTTP client for Spoonacular API integration.
  * 
  * <p>Handles all communication with the Spoonacular API including:
  * <ul>
- *   <li>Recipe search via complexSearch endpoint</li>
+ *   <li>Recipe search via complexSearch endpoint, buffered or streamed</li>
+ *   <li>Enriched recipe search returning recipe details with each result</li>
  *   <li>Recipe details via information endpoint</li>
  *   <li>Error handling and mapping to application exceptions</li>
  *   <li>Request logging for debugging</li>
@@ -47,10 +59,13 @@ public class SpoonacularClient implements RecipeApiClient {
     private static final String RECIPE_INFO_ENDPOINT = "/recipes/{id}/information";
     
     private final RestClient restClient;
+    private final ObjectMapper objectMapper;
     
-    public SpoonacularClient(RestClient spoonacularRestClient) {
+    public SpoonacularClient(RestClient spoonacularRestClient, ObjectMapper objectMapper) {
         this.restClient = Objects.requireNonNull(spoonacularRestClient, 
                 "RestClient cannot be null");
+        this.objectMapper = Objects.requireNonNull(objectMapper, 
+                "ObjectMapper cannot be null");
         log.info("SpoonacularClient initialized");
     }
     
@@ -71,20 +86,86 @@ public class SpoonacularClient implements RecipeApiClient {
         
         log.debug("Searching recipes: query='{}', number={}, offset={}", query, number, offset);
         
+        SpoonacularSearchResponse response = search(query, number, offset, false, SpoonacularSearchResponse.class);
+        
+        validateSearchResponse(response);
+        
+        log.debug("Recipe search successful: query='{}', total={}, returned={}", 
+                query, response.getTotalResults(), response.getResults().size());
+        
+        return response;
+    }
+    
+    /**
+     * Searches for recipes using the complexSearch endpoint with
+     * {@code addRecipeInformation} and {@code addRecipeNutrition}, so every result
+     * carries the recipe details of the information endpoint.
+     * 
+     * <p>Costs more quota points than a plain search and returns a much larger body,
+     * but saves one information call for each result that is opened later.
+     * 
+     * @param query search query (recipe title or keywords)
+     * @param number number of results to return (page size)
+     * @param offset starting position in result set (pagination offset)
+     * @return search response with a recipe detail per result and pagination info
+     * @throws ExternalApiException if API call fails
+     * @throws IllegalArgumentException if query is null or blank, or if number/offset are negative
+     */
+    @Override
+    public SpoonacularEnrichedSearchResponse searchRecipesEnriched(String query, int number, int offset) {
+        validateSearchParams(query, number, offset);
+        
+        log.debug("Searching recipes with details: query='{}', number={}, offset={}", query, number, offset);
+        
+        SpoonacularEnrichedSearchResponse response = search(query, number, offset, true,
+                SpoonacularEnrichedSearchResponse.class);
+        
+        if (response.getResults() == null) {
+            log.warn("Enriched search response has null results array, treating as empty");
+            response.setResults(java.util.List.of());
+        }
+        if (response.getTotalResults() == null) {
+            log.warn("Enriched search response has null totalResults, defaulting to 0");
+            response.setTotalResults(0);
+        }
+        
+        log.debug("Enriched recipe search successful: query='{}', total={}, returned={}", 
+                query, response.getTotalResults(), response.getResults().size());
+        
+        return response;
+    }
+    
+    /**
+     * Calls the complexSearch endpoint and decodes the buffered response.
+     * 
+     * @param enriched whether to ask for recipe information and nutrition per result
+     * @return the decoded response, never null
+     * @throws ExternalApiException if API call fails or returns no body
+     */
+    private <T> T search(String query, int number, int offset, boolean enriched, Class<T> type) {
         try {
-            SpoonacularSearchResponse response = restClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path(SEARCH_ENDPOINT)
-                            .queryParam("titleMatch", query)
-                            .queryParam("number", number)
-                            .queryParam("offset", offset)
-                            .build())
+            long upstreamStart = StageTimings.start();
+            byte[] body = restClient.get()
+                    .uri(uriBuilder -> {
+                        uriBuilder.path(SEARCH_ENDPOINT)
+                                .queryParam("titleMatch", query)
+                                .queryParam("number", number)
+                                .queryParam("offset", offset);
+                        if (enriched) {
+                            uriBuilder.queryParam("addRecipeInformation", "true")
+                                    .queryParam("addRecipeNutrition", "true");
+                        }
+                        return uriBuilder.build();
+                    })
                     .retrieve()
                     .onStatus(HttpStatusCode::isError, (_, clientResponse) -> {
                         throw mapHttpError(clientResponse.getStatusCode(), 
                                 "Failed to search recipes");
                     })
-                    .body(SpoonacularSearchResponse.class);
+                    .body(byte[].class);
+            StageTimings.record(Stage.UPSTREAM, upstreamStart);
+            
+            T response = decode(body, type);
             
             if (response == null) {
                 throw new ExternalApiException(
@@ -92,11 +173,6 @@ public class SpoonacularClient implements RecipeApiClient {
                         0, SERVICE_NAME);
             }
             
-            validateSearchResponse(response);
-            
-            log.info("Recipe search successful: query='{}', total={}, returned={}", 
-                    query, response.getTotalResults(), response.getResults().size());
-            
             return response;
             
         } catch (HttpClientErrorException | HttpServerErrorException e) {
@@ -115,6 +191,108 @@ public class SpoonacularClient implements RecipeApiClient {
         }
     }
     
+    /**
+     * Searches for recipes using the complexSearch endpoint, decoding the response
+     * incrementally.
+     * 
+     * <p>Each result is handed to the consumer as soon as it is parsed from the
+     * response stream; the response is never held in memory as a whole.
+     * Exceptions thrown by the consumer propagate unchanged.
+     * 
+     * @param query search query (recipe title or keywords)
+     * @param number number of results to return (page size)
+     * @param offset starting position in result set (pagination offset)
+     * @param resultConsumer receives each result in response order
+     * @return total number of recipes matching the query
+     * @throws ExternalApiException if API call fails
+     * @throws IllegalArgumentException if query is null or blank, or if number/offset are negative
+     */
+    @Override
+    public int streamSearchRecipes(String query, int number, int offset,
+                                   Consumer<SpoonacularRecipeSummary> resultConsumer) {
+        validateSearchParams(query, number, offset);
+        
+        log.debug("Streaming recipe search: query='{}', number={}, offset={}", query, number, offset);
+        
+        long upstreamStart = StageTimings.start();
+        try {
+            Integer totalResults = restClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path(SEARCH_ENDPOINT)
+                            .queryParam("titleMatch", query)
+                            .queryParam("number", number)
+                            .queryParam("offset", offset)
+                            .build())
+                    .exchange((_, clientResponse) -> {
+                        if (clientResponse.getStatusCode().isError()) {
+                            throw mapHttpError(clientResponse.getStatusCode(), 
+                                    "Failed to search recipes");
+                        }
+                        return readSearchResults(clientResponse.getBody(), objectMapper, resultConsumer);
+                    });
+            StageTimings.record(Stage.UPSTREAM, upstreamStart);
+            
+            log.debug("Streamed recipe search successful: query='{}', total={}", query, totalResults);
+            
+            return totalResults != null ? totalResults : 0;
+            
+        } catch (HttpClientErrorException | HttpServerErrorException e) {
+            throw mapHttpError(e.getStatusCode(), "Failed to search recipes", e);
+        } catch (ResourceAccessException e) {
+            throw new ExternalApiException(
+                    "Network error while searching recipes: " + e.getMessage(),
+                    0, SERVICE_NAME, e);
+        } catch (ExternalApiException | UncheckedIOException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error during streamed recipe search", e);
+            throw new ExternalApiException(
+                    "Unexpected error while searching recipes: " + e.getMessage(),
+                    0, SERVICE_NAME, e);
+        }
+    }
+    
+    /**
+     * Reads a complexSearch response body token by token, emitting each element of
+     * {@code results} as it completes and skipping fields other than {@code totalResults}.
+     * 
+     * @return the {@code totalResults} value, or 0 if absent
+     * @throws IOException if the body cannot be read or is not valid JSON
+     */
+    static int readSearchResults(InputStream body, ObjectMapper objectMapper,
+                                 Consumer<SpoonacularRecipeSummary> resultConsumer) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ExternalApiException(
+                        "Search response is not a JSON object", 0, SERVICE_NAME);
+            }
+            int totalResults = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("results".equals(field) && value == JsonToken.START_ARRAY) {
+                    JsonToken element;
+                    while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+                        if (element == null) {
+                            throw new ExternalApiException(
+                                    "Search response ended inside results", 0, SERVICE_NAME);
+                        }
+                        if (element == JsonToken.START_OBJECT) {
+                            resultConsumer.accept(objectMapper.readValue(parser, SpoonacularRecipeSummary.class));
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else if ("totalResults".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    totalResults = parser.getIntValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return totalResults;
+        }
+    }
+    
     /**
      * Retrieves detailed information for a specific recipe.
      * 
@@ -131,7 +309,8 @@ public class SpoonacularClient implements RecipeApiClient {
         log.debug("Fetching recipe information: id={}", id);
         
         try {
-            RecipeDetail recipe = restClient.get()
+            long upstreamStart = StageTimings.start();
+            byte[] body = restClient.get()
                     .uri(uriBuilder -> uriBuilder
                             .path(RECIPE_INFO_ENDPOINT)
                             .queryParam("includeNutrition", "true")
@@ -146,7 +325,10 @@ public class SpoonacularClient implements RecipeApiClient {
                         throw mapHttpError(clientResponse.getStatusCode(), 
                                 "Failed to fetch recipe information");
                     })
-                    .body(RecipeDetail.class);
+                    .body(byte[].class);
+            StageTimings.record(Stage.UPSTREAM, upstreamStart);
+            
+            RecipeDetail recipe = decode(body, RecipeDetail.class);
             
             if (recipe == null) {
                 throw new ExternalApiException(
@@ -156,7 +338,7 @@ public class SpoonacularClient implements RecipeApiClient {
             
             validateRecipeDetail(recipe, id);
             
-            log.info("Recipe information retrieved successfully: id={}, title='{}'", 
+            log.debug("Recipe information retrieved successfully: id={}, title='{}'", 
                     id, recipe.getTitle());
             
             return recipe;
@@ -182,6 +364,23 @@ public class SpoonacularClient implements RecipeApiClient {
         }
     }
     
+    /**
+     * Decodes a buffered response body, timing the decode separately from the call.
+     * 
+     * @return the decoded value, or null if there was no body
+     */
+    private <T> T decode(byte[] body, Class<T> type) throws IOException {
+        if (body == null) {
+            return null;
+        }
+        long start = StageTimings.start();
+        try {
+            return objectMapper.readValue(body, type);
+        } finally {
+            StageTimings.record(Stage.JSON_DECODE, start);
+        }
+    }
+    
     /**
      * Validates search parameters.
      */
@@ -0,0 +1,84 @@
+package app.luqma.backend.client;
+
+import app.luqma.backend.config.UpstreamHealthProperties;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reports Spoonacular health from the outcomes of real calls, without calling it.
+ *
+ * <p>Evaluated from the {@link UpstreamCallStats} window, in order:
+ * <ul>
+ *   <li>{@code DEGRADED} with {@code outage: true} - breaker open
+ *       ({@code open-after-consecutive-failures} failed calls in a row) or error rate
+ *       at or above {@code outage-error-rate}</li>
+ *   <li>{@code DEGRADED} - error rate at or above {@code degraded-error-rate} or p95
+ *       latency above {@code slow-latency-millis}</li>
+ *   <li>{@code UNKNOWN} - fewer than {@code minimum-calls} calls in the window</li>
+ *   <li>{@code UP} - otherwise</li>
+ * </ul>
+ * Shown under {@code spoonacular} in {@code /actuator/health}. An outage is never
+ * reported as {@code DOWN}: it would turn the root health DOWN with HTTP 503 for
+ * every replica, while restarting or unrouting them would not bring the upstream
+ * back and cached recipes can still be served. For the same reason it is not part
+ * of the liveness or readiness groups.
+ */
+@Component
+@Profile("!mock")
+public class SpoonacularHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "Spoonacular is slow or failing intermittently");
+
+    private final UpstreamCallStats stats;
+    private final UpstreamHealthProperties properties;
+
+    public SpoonacularHealthIndicator(UpstreamCallStats stats, UpstreamHealthProperties properties) {
+        this.stats = stats;
+        this.properties = properties;
+    }
+
+    @Override
+    public Health health() {
+        UpstreamCallStats.Snapshot snapshot = stats.snapshot();
+        boolean breakerOpen = snapshot.consecutiveFailures() >= properties.getOpenAfterConsecutiveFailures();
+        boolean outage = breakerOpen
+                || (snapshot.calls() >= properties.getMinimumCalls()
+                        && snapshot.errorRate() >= properties.getOutageErrorRate());
+
+        Health.Builder builder = new Health.Builder(status(snapshot, outage))
+                .withDetail("breaker", breakerOpen ? "open" : "closed")
+                .withDetail("outage", outage)
+                .withDetail("calls", snapshot.calls())
+                .withDetail("errorRate", String.format(Locale.ROOT, "%.3f", snapshot.errorRate()))
+                .withDetail("latencyMillis", Map.of(
+                        "p50", snapshot.p50Millis(),
+                        "p95", snapshot.p95Millis(),
+                        "p99", snapshot.p99Millis()))
+                .withDetail("consecutiveFailures", snapshot.consecutiveFailures())
+                .withDetail("windowSeconds", properties.getWindowSeconds());
+        if (snapshot.lastFailure() != null) {
+            builder.withDetail("lastFailure", snapshot.lastFailure());
+        }
+        return builder.build();
+    }
+
+    private Status status(UpstreamCallStats.Snapshot snapshot, boolean outage) {
+        if (outage) {
+            return DEGRADED;
+        }
+        if (snapshot.calls() < properties.getMinimumCalls()) {
+            return Status.UNKNOWN;
+        }
+        if (snapshot.errorRate() >= properties.getDegradedErrorRate()
+                || snapshot.p95Millis() > properties.getSlowLatencyMillis()) {
+            return DEGRADED;
+        }
+        return Status.UP;
+    }
+}
@@ -0,0 +1,175 @@
+package app.luqma.backend.client;
+
+import app.luqma.backend.jfr.UpstreamCallEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every Spoonacular API call.
+ *
+ * <p>Publishes {@value #UPSTREAM_TIMER} until the response status and headers arrive,
+ * tagged {@code endpoint} ({@code search}, {@code information} or {@code other}) and
+ * {@code outcome} ({@code success}, {@code not_found}, {@code rate_limited},
+ * {@code client_error}, {@code server_error} or {@code network_error}). Reading and
+ * decoding the body is timed by {@link SpoonacularClient}.
+ *
+ * <p>While a flight recording is running, also emits an {@link UpstreamCallEvent}
+ * that lasts until the response is closed and counts the body bytes read. Every
+ * outcome and latency is also fed to {@link UpstreamCallStats} for the passive
+ * health indicator.
+ */
+public class UpstreamCallInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final String UPSTREAM_TIMER = "luqma.upstream.requests";
+
+    private final MeterRegistry meterRegistry;
+    private final UpstreamCallStats stats;
+
+    public UpstreamCallInterceptor(MeterRegistry meterRegistry, UpstreamCallStats stats) {
+        this.meterRegistry = meterRegistry;
+        this.stats = stats;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String endpoint = endpoint(request.getURI().getPath());
+        UpstreamCallEvent event = new UpstreamCallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String outcome = "network_error";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int status = response.getStatusCode().value();
+            outcome = outcome(status);
+            if (event.isEnabled()) {
+                event.endpoint = endpoint;
+                event.status = status;
+                return new RecordedResponse(response, event);
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            if (event.isEnabled()) {
+                event.endpoint = endpoint;
+                event.commit();
+            }
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            stats.record(outcome, elapsed);
+            Timer.builder(UPSTREAM_TIMER)
+                    .description("Spoonacular API call latency until response headers")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static String endpoint(String path) {
+        if (path.endsWith("/complexSearch")) {
+            return "search";
+        }
+        if (path.endsWith("/information")) {
+            return "information";
+        }
+        return "other";
+    }
+
+    static String outcome(int status) {
+        if (status == 404) {
+            return "not_found";
+        }
+        if (status == 429) {
+            return "rate_limited";
+        }
+        if (status >= 500) {
+            return "server_error";
+        }
+        if (status >= 400) {
+            return "client_error";
+        }
+        return "success";
+    }
+
+    /**
+     * Response that counts body bytes and commits the call's event when closed.
+     */
+    private static final class RecordedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final UpstreamCallEvent event;
+        private InputStream body;
+        private boolean committed;
+
+        RecordedResponse(ClientHttpResponse delegate, UpstreamCallEvent event) {
+            this.delegate = delegate;
+            this.event = event;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(delegate.getBody()) {
+                    @Override
+                    public int read() throws IOException {
+                        int b = super.read();
+                        if (b >= 0) {
+                            event.bytes++;
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int n = super.read(buffer, offset, length);
+                        if (n > 0) {
+                            event.bytes += n;
+                        }
+                        return n;
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (!committed) {
+                    committed = true;
+                    event.commit();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package app.luqma.backend.client;
+
+import app.luqma.backend.config.UpstreamHealthProperties;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding window over the outcomes of recent Spoonacular calls.
+ *
+ * <p>Fed by {@link UpstreamCallInterceptor} with every real call, so upstream health
+ * can be judged without spending quota on probes. The window holds the last
+ * {@code upstream-health.window-size} calls; calls older than
+ * {@code upstream-health.window-seconds} are left out of snapshots. Upstream calls
+ * are infrequent compared with API requests, so a lock around the ring is cheap.
+ */
+public class UpstreamCallStats {
+
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final long[] timestamps;
+    private final long[] latencies;
+    private final boolean[] failures;
+    private int next;
+    private int size;
+    private long lastCallNanos;
+    private int consecutiveFailures;
+    private String lastFailure;
+
+    public UpstreamCallStats(UpstreamHealthProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    UpstreamCallStats(UpstreamHealthProperties properties, LongSupplier nanoClock) {
+        this.windowNanos = TimeUnit.SECONDS.toNanos(properties.getWindowSeconds());
+        this.nanoClock = nanoClock;
+        this.timestamps = new long[properties.getWindowSize()];
+        this.latencies = new long[properties.getWindowSize()];
+        this.failures = new boolean[properties.getWindowSize()];
+    }
+
+    /**
+     * Records a finished call.
+     *
+     * @param outcome the call's outcome as tagged on the upstream timer
+     * @param latencyNanos time until the response headers arrived, or the failure
+     */
+    public synchronized void record(String outcome, long latencyNanos) {
+        boolean failure = isFailure(outcome);
+        lastCallNanos = nanoClock.getAsLong();
+        timestamps[next] = lastCallNanos;
+        latencies[next] = latencyNanos;
+        failures[next] = failure;
+        next = (next + 1) % timestamps.length;
+        size = Math.min(size + 1, timestamps.length);
+
+        if (failure) {
+            consecutiveFailures++;
+            lastFailure = outcome;
+        } else {
+            consecutiveFailures = 0;
+        }
+    }
+
+    /**
+     * Summarizes the calls currently inside the window.
+     */
+    public synchronized Snapshot snapshot() {
+        long oldest = nanoClock.getAsLong() - windowNanos;
+        long[] recent = new long[size];
+        int calls = 0;
+        int errors = 0;
+        for (int i = 0; i < size; i++) {
+            if (timestamps[i] - oldest >= 0) {
+                recent[calls++] = latencies[i];
+                if (failures[i]) {
+                    errors++;
+                }
+            }
+        }
+        Arrays.sort(recent, 0, calls);
+        // A failure streak that has aged out of the window no longer counts
+        boolean streakInWindow = size > 0 && lastCallNanos - oldest >= 0;
+        return new Snapshot(calls, errors,
+                percentileMillis(recent, calls, 0.50),
+                percentileMillis(recent, calls, 0.95),
+                percentileMillis(recent, calls, 0.99),
+                streakInWindow ? consecutiveFailures : 0, lastFailure);
+    }
+
+    /**
+     * Responses that mean the upstream cannot serve us: network errors, 5xx, quota
+     * exhaustion and rejected requests (e.g. an invalid API key). A 404 is a normal
+     * answer for an unknown recipe.
+     */
+    static boolean isFailure(String outcome) {
+        return !"success".equals(outcome) && !"not_found".equals(outcome);
+    }
+
+    private static long percentileMillis(long[] sorted, int count, double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(index, 0)]);
+    }
+
+    /**
+     * Upstream call statistics at one point in time.
+     *
+     * @param calls calls inside the window
+     * @param errors failed calls inside the window
+     * @param p50Millis median latency
+     * @param p95Millis 95th percentile latency
+     * @param p99Millis 99th percentile latency
+     * @param consecutiveFailures failed calls since the last successful one
+     * @param lastFailure outcome of the most recent failure, or null if none
+     */
+    public record Snapshot(int calls, int errors, long p50Millis, long p95Millis, long p99Millis,
+                           int consecutiveFailures, String lastFailure) {
+
+        public double errorRate() {
+            return calls == 0 ? 0 : (double) errors / calls;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package app.luqma.backend.config;
+
+import app.luqma.backend.filter.AccessLogFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the per-request access log.
+ * The log is switched off by raising the {@code app.luqma.backend.access} logger
+ * above INFO.
+ */
+@Configuration
+public class AccessLogConfig {
+    
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter() {
+        FilterRegistrationBean<AccessLogFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new AccessLogFilter());
+        registrationBean.addUrlPatterns("/api/v1/*");
+        // Order 6 runs inside the request metrics filter (order 5), so stage timings are
+        // still bound, and outside the rate limit filter (order 10), so 429s are logged.
+        // Initial dispatch only: asynchronous requests are logged when they complete
+        registrationBean.setOrder(6);
+        return registrationBean;
+    }
+}
@@ -0,0 +1,39 @@
+package app.luqma.backend.config;
+
+import app.luqma.backend.constants.CacheNames;
+import app.luqma.backend.jfr.CacheOperationEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Enables Spring Cache for all profiles.
+ * 
+ * <p>The cache manager itself is auto-configured from {@code spring.cache.*}
+ * (Caffeine in application.yaml). Kept separate from profile-specific client
+ * configuration so the mock profile caches recipes the same way as production.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    /**
+     * Rebuilds the Caffeine caches from the configured spec with an eviction listener,
+     * so recipe cache evictions show up as flight recorder events. The recipes cache
+     * is the only one managed by Spring Cache.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> cacheEvictionEvents(CacheProperties cacheProperties) {
+        return cacheManager -> {
+            String spec = cacheProperties.getCaffeine().getSpec();
+            Caffeine<Object, Object> builder = StringUtils.hasText(spec) ? Caffeine.from(spec) : Caffeine.newBuilder();
+            cacheManager.setCaffeine(builder.evictionListener((key, _, _) ->
+                    CacheOperationEvent.emit(CacheNames.RECIPES, CacheOperationEvent.EVICTION, key)));
+        };
+    }
+}
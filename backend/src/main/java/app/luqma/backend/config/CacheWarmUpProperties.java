@@ -0,0 +1,31 @@
+package app.luqma.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for warming the recipe cache at startup.
+ * Binds to cache-warm-up.* properties in application.yaml.
+ */
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = "cache-warm-up")
+public class CacheWarmUpProperties {
+    
+    /**
+     * Recipe IDs loaded into the recipe cache once the application has started.
+     * Each costs one upstream call per instance start.
+     */
+    private List<Long> recipeIds = new ArrayList<>();
+    
+    /**
+     * Whether the instance reports not ready until the warm-up has finished.
+     */
+    private boolean gateReadiness = false;
+}
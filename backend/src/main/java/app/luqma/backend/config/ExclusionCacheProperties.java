@@ -0,0 +1,35 @@
+package app.luqma.backend.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the ingredient exclusion result cache.
+ * Binds to exclusion-cache.* properties in application.yaml.
+ */
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = "exclusion-cache")
+public class ExclusionCacheProperties {
+    
+    /**
+     * Whether exclusion results are cached.
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Maximum number of cached exclusion results across all recipes.
+     */
+    @Min(value = 1, message = "Maximum size must be at least 1")
+    private long maximumSize = 10_000;
+    
+    /**
+     * Time in milliseconds after which an unused result is evicted.
+     */
+    @Min(value = 1000, message = "Expire after access must be at least 1000ms")
+    private long expireAfterAccessMillis = 1_800_000; // 30 minutes
+}
@@ -0,0 +1,42 @@
+package app.luqma.backend.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the continuous flight recording.
+ * Binds to flight-recorder.* properties in application.yaml.
+ */
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = "flight-recorder")
+public class FlightRecorderProperties {
+    
+    /**
+     * Whether to start the continuous recording when the application starts.
+     */
+    private boolean startOnStartup = false;
+    
+    /**
+     * JFR settings the recording uses: "default" (about 1% overhead) or "profile".
+     */
+    @NotBlank(message = "Settings must not be blank")
+    private String settings = "default";
+    
+    /**
+     * Oldest data kept in the recording's ring buffer, in seconds.
+     */
+    @Min(value = 1, message = "Max age must be at least 1 second")
+    private long maxAgeSeconds = 900;
+    
+    /**
+     * Upper bound on the recording's ring buffer, in megabytes.
+     */
+    @Min(value = 1, message = "Max size must be at least 1 megabyte")
+    private long maxSizeMegabytes = 64;
+}
@@ -0,0 +1,38 @@
+package app.luqma.backend.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for HTTP caching headers on recipe GET endpoints.
+ * Binds to http-cache.* properties in application.yaml.
+ */
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = "http-cache")
+public class HttpCacheProperties {
+    
+    /**
+     * Whether ETag and Cache-Control headers are sent.
+     * Conditional requests are not answered with 304 when disabled.
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Cache-Control max-age for recipe details, in seconds.
+     * Matches the recipe cache expireAfterWrite (3600s) by default.
+     */
+    @Min(value = 0, message = "Recipe max-age cannot be negative")
+    private long recipeMaxAgeSeconds = 3600;
+    
+    /**
+     * Cache-Control max-age for search results, in seconds.
+     * Matches the search response cache expireAfterWrite (300s) by default.
+     */
+    @Min(value = 0, message = "Search max-age cannot be negative")
+    private long searchMaxAgeSeconds = 300;
+}
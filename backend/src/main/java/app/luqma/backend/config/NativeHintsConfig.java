@@ -0,0 +1,58 @@
+package app.luqma.backend.config;
+
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.ExclusionVariantsResponse;
+import app.luqma.backend.model.dto.RecipeBatchResponse;
+import app.luqma.backend.model.dto.RecipeDetailResponse;
+import app.luqma.backend.model.dto.RecipeSearchResponse;
+import app.luqma.backend.model.dto.RecipeSearchTrailer;
+import app.luqma.backend.model.dto.RecipeSummary;
+import app.luqma.backend.model.dto.spoonacular.SpoonacularEnrichedSearchResponse;
+import app.luqma.backend.model.dto.spoonacular.SpoonacularSearchResponse;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reachability hints for the GraalVM native image.
+ *
+ * <p>Spring AOT derives hints for controller signatures on its own, but these types
+ * are also read or written directly through the {@code ObjectMapper} (Spoonacular
+ * responses, mock data, pre-rendered and streamed responses), so their Jackson
+ * binding is registered explicitly. Field types are included transitively.
+ * The mock data, nutrition tables, committed OpenAPI documents and the Swagger UI
+ * webjar are loaded from the classpath at runtime and registered as resources; springdoc ships its own
+ * reflection hints.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.ResourceHints.class)
+@RegisterReflectionForBinding({
+        SpoonacularSearchResponse.class,
+        SpoonacularSearchResponse.SpoonacularRecipeSummary.class,
+        SpoonacularEnrichedSearchResponse.class,
+        RecipeDetail.class,
+        RecipeSummary.class,
+        RecipeSearchResponse.class,
+        RecipeSearchTrailer.class,
+        RecipeDetailResponse.class,
+        RecipeBatchResponse.class,
+        ExclusionVariantsResponse.class
+})
+public class NativeHintsConfig {
+    
+    static class ResourceHints implements RuntimeHintsRegistrar {
+        
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources()
+                    .registerPattern("mocks/*.json")
+                    .registerPattern("nutrition/*.csv")
+                    .registerPattern("openapi/*.json")
+                    .registerPattern("openapi/*.json.gz")
+                    .registerPattern("META-INF/resources/webjars/swagger-ui/**")
+                    .registerPattern("META-INF/maven/org.webjars/swagger-ui/pom.properties");
+        }
+    }
+}
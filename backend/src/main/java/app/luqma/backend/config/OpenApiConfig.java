@@ -1,11 +1,15 @@
 package app.luqma.backend.config;
 
+import app.luqma.backend.filter.StaticOpenApiFilter;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
 import io.swagger.v3.oas.models.servers.Server;
 import org.springdoc.core.models.GroupedOpenApi;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -15,6 +19,8 @@ import java.util.List;
  * OpenAPI/Swagger configuration.
  * Limits API documentation to only expose REST API classes (DTOs and controllers).
  * Internal domain models are excluded from documentation.
+ * The documents themselves are generated at build time and served by
+ * {@link StaticOpenApiFilter}.
  */
 @Configuration
 public class OpenApiConfig {
@@ -88,5 +94,25 @@ public class OpenApiConfig {
                 .build();
     }
 
+    /**
+     * Serves the committed OpenAPI documents (./gradlew generateOpenApi), so springdoc
+     * does not scan the controllers on the first /v3/api-docs request. Only registered
+     * where the API docs are enabled; the generator turns it off with
+     * {@code openapi.static-documents.enabled=false} to render from the annotations.
+     *
+     * @param apiDocsPath path springdoc serves the documents under
+     * @return Filter registration for the committed documents
+     */
+    @Bean
+    @ConditionalOnExpression("${springdoc.api-docs.enabled:true} and ${openapi.static-documents.enabled:true}")
+    public FilterRegistrationBean<StaticOpenApiFilter> staticOpenApiFilter(
+            @Value("${springdoc.api-docs.path:/v3/api-docs}") String apiDocsPath) {
+        FilterRegistrationBean<StaticOpenApiFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new StaticOpenApiFilter(apiDocsPath, "openapi"));
+        registrationBean.addUrlPatterns(apiDocsPath, apiDocsPath + "/*");
+        registrationBean.setOrder(1);
+        return registrationBean;
+    }
+
 }
 
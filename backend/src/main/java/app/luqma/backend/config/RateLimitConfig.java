@@ -1,33 +1,76 @@
 package app.luqma.backend.config;
 
+import app.luqma.backend.filter.InMemoryRateLimitBackend;
+import app.luqma.backend.filter.LocalRateLimitStore;
+import app.luqma.backend.filter.RateLimitBackend;
 import app.luqma.backend.filter.RateLimitFilter;
+import app.luqma.backend.filter.RateLimitStore;
+import app.luqma.backend.filter.SharedRateLimitStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import java.time.Duration;
+
 /**
  * Configuration for rate limiting.
- * Registers the rate limit filter and schedules periodic cleanup.
+ * Registers the rate limit filter and its store, and schedules periodic expiry of
+ * idle clients and, for the shared store, syncing with the backend.
  */
+@Slf4j
 @Configuration
 @EnableScheduling
 public class RateLimitConfig {
     
     private final RateLimitProperties rateLimitProperties;
-    private RateLimitFilter rateLimitFilter;
+    private RateLimitStore rateLimitStore;
     
     public RateLimitConfig(RateLimitProperties rateLimitProperties) {
         this.rateLimitProperties = rateLimitProperties;
     }
     
+    /**
+     * Creates the rate limit store selected by {@code rate-limit.store}.
+     * The shared store uses the application's {@link RateLimitBackend} bean, or an
+     * in-process stand-in if there is none.
+     */
+    @Bean
+    public RateLimitStore rateLimitStore(ObjectProvider<RateLimitBackend> rateLimitBackend) {
+        Duration window = Duration.ofMillis(rateLimitProperties.getWindowSizeMillis());
+        if (rateLimitProperties.getStore() == RateLimitProperties.Store.SHARED) {
+            RateLimitBackend backend = rateLimitBackend.getIfAvailable(() -> {
+                log.warn("Shared rate limiting enabled without a RateLimitBackend bean; " +
+                        "using an in-process backend, so limits are not shared between instances");
+                return new InMemoryRateLimitBackend(window);
+            });
+            this.rateLimitStore = new SharedRateLimitStore(
+                    rateLimitProperties.getMaxRequestsPerMinute(),
+                    window,
+                    rateLimitProperties.getMaxEntries(),
+                    backend,
+                    System::nanoTime);
+        } else {
+            this.rateLimitStore = new LocalRateLimitStore(
+                    rateLimitProperties.getMaxRequestsPerMinute(),
+                    window,
+                    rateLimitProperties.getMaxEntries(),
+                    System::nanoTime);
+        }
+        log.info("Rate limit store: {}", rateLimitProperties.getStore());
+        return rateLimitStore;
+    }
+    
     @Bean
-    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter() {
-        this.rateLimitFilter = new RateLimitFilter(rateLimitProperties);
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitStore rateLimitStore) {
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(rateLimitProperties, rateLimitStore);
         FilterRegistrationBean<RateLimitFilter> registrationBean = new FilterRegistrationBean<>();
         registrationBean.setFilter(rateLimitFilter);
-        registrationBean.addUrlPatterns("/api/v1/**");
+        // Servlet patterns match subpaths with a single trailing "*"; "/**" would match nothing
+        registrationBean.addUrlPatterns("/api/v1/*");
         // Order 10 ensures this runs AFTER Spring Security's CORS filter (order ~0)
         registrationBean.setOrder(10);
         return registrationBean;
@@ -35,8 +78,15 @@ public class RateLimitConfig {
     
     @Scheduled(fixedDelayString = "#{@rateLimitProperties.cleanupIntervalMillis}")
     public void scheduleRateLimitCleanup() {
-        if (rateLimitFilter != null) {
-            rateLimitFilter.cleanUpOldEntries();
+        if (rateLimitStore != null) {
+            rateLimitStore.cleanUp();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "#{@rateLimitProperties.syncIntervalMillis}")
+    public void scheduleRateLimitSync() {
+        if (rateLimitStore != null) {
+            rateLimitStore.sync();
         }
     }
 }
@@ -29,15 +29,39 @@ public class RateLimitProperties {
     private long windowSizeMillis = 60_000; // 1 minute
     
     /**
-     * Maximum number of IP entries to keep in memory before cleanup.
+     * Maximum number of client IP entries kept in memory.
+     * Beyond this, the least recently and frequently seen clients are evicted.
      */
     @Min(value = 100, message = "Max entries must be at least 100")
     private int maxEntries = 10_000;
     
     /**
-     * Interval in milliseconds for scheduled cleanup of old entries.
+     * Interval in milliseconds for scheduled expiry of idle client entries.
      */
     @Min(value = 10_000, message = "Cleanup interval must be at least 10000ms")
     private long cleanupIntervalMillis = 300_000; // 5 minutes
+    
+    /**
+     * Where client state is kept: per instance, or shared across instances
+     * through a RateLimitBackend.
+     */
+    private Store store = Store.LOCAL;
+    
+    /**
+     * Interval in milliseconds between exchanges with the shared backend.
+     * Bounds how far the cluster can overshoot the limit; ignored for the local store.
+     */
+    @Min(value = 100, message = "Sync interval must be at least 100ms")
+    private long syncIntervalMillis = 1_000;
+    
+    /**
+     * Rate limit store implementations.
+     */
+    public enum Store {
+        /** Each instance enforces the limit on its own traffic. */
+        LOCAL,
+        /** Instances share usage so each client gets one limit in total. */
+        SHARED
+    }
 }
 
@@ -0,0 +1,32 @@
+package app.luqma.backend.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for multi-recipe batch retrieval.
+ * Binds to recipe-batch.* properties in application.yaml.
+ */
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = "recipe-batch")
+public class RecipeBatchProperties {
+    
+    /**
+     * Maximum number of concurrent upstream fetches for cache misses,
+     * shared by all batch requests to protect the API quota.
+     */
+    @Min(value = 1, message = "Max concurrency must be at least 1")
+    private int maxConcurrency = 8;
+    
+    /**
+     * Time budget in milliseconds for fetching a batch's cache misses.
+     * Recipes not fetched in time are reported as per-ID errors.
+     */
+    @Min(value = 1, message = "Timeout must be at least 1 millisecond")
+    private long timeoutMillis = 10000;
+}
@@ -36,5 +36,33 @@ public class RecipeSearchProperties {
    */
   @Min(value = 1, message = "Max page number must be at least 1")
   private int maxPageNumber = 1000;
+  
+  /**
+   * Secret used to sign search continuation cursors.
+   * If blank, a random secret is generated at startup: cursors then stop working
+   * after a restart and are not accepted by other instances.
+   */
+  private String cursorSecret = "";
+  
+  /**
+   * Whether startup fails when {@link #cursorSecret} is blank instead of falling
+   * back to a random secret. Enabled in the prod profile.
+   */
+  private boolean cursorSecretRequired = false;
+  
+  /**
+   * Length of a cursor snapshot window in seconds. A cursor is accepted in the
+   * window it was issued in and the one after, so it lives between one and two windows.
+   */
+  @Min(value = 1, message = "Cursor TTL must be at least 1 second")
+  private long cursorTtlSeconds = 3600;
+  
+  /**
+   * Whether searches ask Spoonacular for recipe information and nutrition in the
+   * same complexSearch call. Results complete enough for a detail view are put into
+   * the recipes cache, so opening them needs no further upstream call. Search
+   * responses to clients are unchanged; each search costs more quota points.
+   */
+  private boolean enriched = false;
 }
 
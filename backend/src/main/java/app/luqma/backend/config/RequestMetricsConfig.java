@@ -0,0 +1,29 @@
+package app.luqma.backend.config;
+
+import app.luqma.backend.filter.RequestMetricsFilter;
+import app.luqma.backend.metrics.RequestMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for per-stage request latency metrics.
+ * Disabled with {@code request-metrics.enabled=false}; stage timing calls on the
+ * request path then find no bound request and do nothing.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "request-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestMetricsConfig {
+    
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(RequestMetrics requestMetrics) {
+        FilterRegistrationBean<RequestMetricsFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new RequestMetricsFilter(requestMetrics));
+        registrationBean.addUrlPatterns("/api/v1/*");
+        // Order 5 runs just before the rate limit filter (order 10) so its check is timed.
+        // Initial dispatch only: asynchronous requests are recorded when they complete
+        registrationBean.setOrder(5);
+        return registrationBean;
+    }
+}
@@ -0,0 +1,30 @@
+package app.luqma.backend.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for per-stage request latency metrics.
+ * Binds to request-metrics.* properties in application.yaml.
+ */
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = "request-metrics")
+public class RequestMetricsProperties {
+    
+    /**
+     * Whether to time API requests by stage.
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Requests taking longer than this many milliseconds are logged with their
+     * per-stage breakdown.
+     */
+    @Min(value = 1, message = "Slow request threshold must be at least 1 millisecond")
+    private long slowRequestThresholdMillis = 1000;
+}
@@ -0,0 +1,40 @@
+package app.luqma.backend.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the pre-rendered recipe detail response cache.
+ * Binds to response-cache.* properties in application.yaml.
+ */
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = "response-cache")
+public class ResponseCacheProperties {
+    
+    /**
+     * Whether rendered recipe detail responses are cached.
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Maximum number of cached responses. Matches the recipe cache size by default.
+     */
+    @Min(value = 1, message = "Maximum size must be at least 1")
+    private long maximumSize = 500;
+    
+    /**
+     * Whether a gzip-compressed copy is kept alongside the JSON bytes.
+     */
+    private boolean gzipEnabled = true;
+    
+    /**
+     * Minimum JSON size in bytes for keeping a gzip copy; smaller bodies are sent as-is.
+     */
+    @Min(value = 0, message = "Gzip minimum size cannot be negative")
+    private int gzipMinBytes = 1024;
+}
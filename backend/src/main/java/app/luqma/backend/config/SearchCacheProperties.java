@@ -0,0 +1,36 @@
+package app.luqma.backend.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the rendered search response cache.
+ * Binds to search-cache.* properties in application.yaml.
+ */
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = "search-cache")
+public class SearchCacheProperties {
+    
+    /**
+     * Whether rendered search result pages are cached.
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Maximum number of cached result pages.
+     */
+    @Min(value = 1, message = "Maximum size must be at least 1")
+    private long maximumSize = 1_000;
+    
+    /**
+     * Time in seconds after which a cached page is searched again.
+     * Matches the search Cache-Control max-age (300s) by default.
+     */
+    @Min(value = 1, message = "Expire after write must be at least 1 second")
+    private long expireAfterWriteSeconds = 300;
+}
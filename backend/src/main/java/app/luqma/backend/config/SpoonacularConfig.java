@@ -1,8 +1,10 @@
 package app.luqma.backend.config;
 
+import app.luqma.backend.client.UpstreamCallInterceptor;
+import app.luqma.backend.client.UpstreamCallStats;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
-import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -17,10 +19,10 @@ import org.springframework.web.client.RestClient;
  *   <li>Base URL and timeouts from configuration properties</li>
  *   <li>API key authentication via x-api-key header</li>
  *   <li>Request/response logging for debugging</li>
+ *   <li>Call latency metrics, flight recorder events and health statistics via
+ *       {@link UpstreamCallInterceptor}</li>
  * </ul>
  * 
- * <p>Also enables Spring Cache for recipe data caching.
- * 
  * <p><strong>Active Profile:</strong> Not active when "mock" profile is enabled.
  * This prevents API key validation errors in mock mode.
  * 
@@ -28,15 +30,16 @@ import org.springframework.web.client.RestClient;
  */
 @Slf4j
 @Configuration
-@EnableCaching
 @EnableConfigurationProperties(SpoonacularProperties.class)
 @Profile("!mock")
 public class SpoonacularConfig {
     
     private final SpoonacularProperties properties;
+    private final MeterRegistry meterRegistry;
     
-    public SpoonacularConfig(SpoonacularProperties properties) {
+    public SpoonacularConfig(SpoonacularProperties properties, MeterRegistry meterRegistry) {
         this.properties = properties;
+        this.meterRegistry = meterRegistry;
         log.info("Spoonacular API configured: URL={}, ConnectionTimeout={}ms, ReadTimeout={}ms",
                 properties.getApiUrl(), properties.getConnectionTimeout(), properties.getReadTimeout());
     }
@@ -49,14 +52,15 @@ public class SpoonacularConfig {
      *   <li>Base URL pointing to Spoonacular API</li>
      *   <li>Connection and read timeouts</li>
      *   <li>x-api-key header with API key for authentication</li>
-     *   <li>Request interceptor for logging</li>
+     *   <li>Request interceptors for logging and latency metrics</li>
      * </ul>
      * 
+     * @param upstreamCallStats window of call outcomes read by the health indicator
      * @return configured RestClient bean
      */
     @Bean
     @SuppressWarnings("null")
-    public RestClient spoonacularRestClient() {
+    public RestClient spoonacularRestClient(UpstreamCallStats upstreamCallStats) {
         String apiKey = properties.getApiKey();
         if (apiKey == null || apiKey.isBlank()) {
             throw new IllegalStateException("Spoonacular API key must not be blank");
@@ -66,9 +70,22 @@ public class SpoonacularConfig {
                 .baseUrl(properties.getApiUrl())
                 .defaultHeader("x-api-key", apiKey)
                 .requestInterceptor(loggingInterceptor())
+                .requestInterceptor(new UpstreamCallInterceptor(meterRegistry, upstreamCallStats))
                 .build();
     }
     
+    /**
+     * Creates the window of recent call outcomes shared by the client interceptor
+     * and the Spoonacular health indicator.
+     * 
+     * @param upstreamHealthProperties window size and age
+     * @return upstream call statistics
+     */
+    @Bean
+    public UpstreamCallStats upstreamCallStats(UpstreamHealthProperties upstreamHealthProperties) {
+        return new UpstreamCallStats(upstreamHealthProperties);
+    }
+    
     /**
      * Creates a request interceptor for logging API calls.
      * Logs request method, URI, and response status at DEBUG level.
@@ -92,4 +109,3 @@ public class SpoonacularConfig {
         };
     }
 }
-
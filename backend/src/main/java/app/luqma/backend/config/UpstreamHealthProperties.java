@@ -0,0 +1,67 @@
+package app.luqma.backend.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the passive Spoonacular health indicator.
+ * Binds to upstream-health.* properties in application.yaml.
+ */
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = "upstream-health")
+public class UpstreamHealthProperties {
+    
+    /**
+     * Number of most recent upstream calls kept for health evaluation.
+     */
+    @Min(value = 10, message = "Window size must be at least 10 calls")
+    private int windowSize = 100;
+    
+    /**
+     * Calls older than this many seconds are ignored, so health recovers once
+     * failures age out even without new traffic.
+     */
+    @Min(value = 1, message = "Window must be at least 1 second")
+    private long windowSeconds = 300;
+    
+    /**
+     * Fewest calls in the window needed to judge error rate and latency.
+     */
+    @Min(value = 1, message = "Minimum calls must be at least 1")
+    private int minimumCalls = 5;
+    
+    /**
+     * Error rate (0-1) at or above which the upstream is reported DEGRADED.
+     */
+    @DecimalMin(value = "0.0", message = "Degraded error rate must be between 0 and 1")
+    @DecimalMax(value = "1.0", message = "Degraded error rate must be between 0 and 1")
+    private double degradedErrorRate = 0.1;
+    
+    /**
+     * Error rate (0-1) at or above which the upstream is reported as an outage
+     * (DEGRADED with {@code outage: true}).
+     */
+    @DecimalMin(value = "0.0", message = "Outage error rate must be between 0 and 1")
+    @DecimalMax(value = "1.0", message = "Outage error rate must be between 0 and 1")
+    private double outageErrorRate = 0.5;
+    
+    /**
+     * p95 latency in milliseconds above which the upstream is reported DEGRADED.
+     */
+    @Min(value = 1, message = "Slow latency threshold must be at least 1 millisecond")
+    private long slowLatencyMillis = 2000;
+    
+    /**
+     * Consecutive failed calls after which the breaker state is reported open and
+     * the upstream as an outage, regardless of the window's error rate.
+     */
+    @Min(value = 1, message = "Consecutive failure threshold must be at least 1")
+    private int openAfterConsecutiveFailures = 5;
+}
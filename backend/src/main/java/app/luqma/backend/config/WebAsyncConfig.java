@@ -0,0 +1,20 @@
+package app.luqma.backend.config;
+
+import app.luqma.backend.filter.AsyncRequestInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration for asynchronous request processing.
+ * Registers {@link AsyncRequestInterceptor} so streamed responses keep the request's
+ * stage timings and report failures to the request metrics and access log filters.
+ */
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+    
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new AsyncRequestInterceptor());
+    }
+}
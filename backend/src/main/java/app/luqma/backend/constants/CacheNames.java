@@ -0,0 +1,17 @@
+package app.luqma.backend.constants;
+
+/**
+ * Constants for cache names.
+ * Keeps cache names in one place for configuration, lookups and metrics tags.
+ */
+public final class CacheNames {
+    
+    private CacheNames() {
+        throw new UnsupportedOperationException("Utility class - do not instantiate");
+    }
+    
+    public static final String RECIPES = "recipes";
+    public static final String EXCLUSIONS = "exclusions";
+    public static final String RECIPE_RESPONSES = "recipe-responses";
+    public static final String SEARCH_RESPONSES = "search-responses";
+}
@@ -0,0 +1,54 @@
+package app.luqma.backend.constants;
+
+/**
+ * The nutrients shown in the nutrition summary.
+ *
+ * <p>Names resolve to constants without hashing or scanning: the five names have
+ * distinct lengths, so a switch on length selects the single candidate and one
+ * case-insensitive comparison confirms it.
+ */
+public enum KeyNutrient {
+
+    CALORIES(NutrientNames.CALORIES),
+    PROTEIN(NutrientNames.PROTEIN),
+    FAT(NutrientNames.FAT),
+    CARBOHYDRATES(NutrientNames.CARBOHYDRATES),
+    FIBER(NutrientNames.FIBER);
+
+    /** Number of key nutrients; size of accumulators indexed by {@link #ordinal()}. */
+    public static final int COUNT = values().length;
+
+    private final String displayName;
+
+    KeyNutrient(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String displayName() {
+        return displayName;
+    }
+
+    /**
+     * Resolves a nutrient name, ignoring case.
+     *
+     * @param name nutrient name as reported upstream (can be null)
+     * @return the key nutrient, or null if the name is not one of them
+     */
+    public static KeyNutrient resolve(String name) {
+        if (name == null) {
+            return null;
+        }
+        return switch (name.length()) {
+            case 3 -> matching(name, FAT);
+            case 5 -> matching(name, FIBER);
+            case 7 -> matching(name, PROTEIN);
+            case 8 -> matching(name, CALORIES);
+            case 13 -> matching(name, CARBOHYDRATES);
+            default -> null;
+        };
+    }
+
+    private static KeyNutrient matching(String name, KeyNutrient candidate) {
+        return candidate.displayName.equalsIgnoreCase(name) ? candidate : null;
+    }
+}
@@ -1,11 +1,23 @@
 package app.luqma.backend.controller;
 
+import app.luqma.backend.config.HttpCacheProperties;
 import app.luqma.backend.model.dto.ExcludeIngredientsRequest;
+import app.luqma.backend.model.dto.ExclusionVariantsRequest;
+import app.luqma.backend.model.dto.ExclusionVariantsResponse;
+import app.luqma.backend.model.dto.RecipeBatchResponse;
 import app.luqma.backend.model.dto.RecipeDetailResponse;
 import app.luqma.backend.model.dto.RecipeSearchResponse;
+import app.luqma.backend.model.dto.RecipeSearchTrailer;
+import app.luqma.backend.model.dto.RecipeSummary;
+import app.luqma.backend.service.RecipeBatchService;
 import app.luqma.backend.service.RecipeDetailService;
 import app.luqma.backend.service.RecipeSearchService;
+import app.luqma.backend.service.RenderedRecipe;
+import app.luqma.backend.service.RenderedSearch;
+import app.luqma.backend.util.ContentCodings;
+import app.luqma.backend.util.ETags;
 import app.luqma.backend.util.StringSanitizer;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,27 +25,47 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * REST controller for recipe-related operations.
  * Provides endpoints for searching recipes with pagination and retrieving recipe details.
+ * 
+ * <p>The GET endpoints send strong ETags and Cache-Control (see {@link HttpCacheProperties})
+ * and answer a matching {@code If-None-Match} with 304 Not Modified.
  */
 @Slf4j
 @Validated
@@ -42,12 +74,33 @@ import java.util.HashSet;
 @Tag(name = "Recipe API", description = "Endpoints for recipe search and retrieval")
 public class RecipeController {
     
+    private static final String EXCLUDE_PARAM = "exclude";
+    
     private final RecipeSearchService recipeSearchService;
     private final RecipeDetailService recipeDetailService;
+    private final RecipeBatchService recipeBatchService;
+    private final ObjectMapper objectMapper;
+    private final boolean httpCacheEnabled;
+    private final CacheControl recipeCacheControl;
+    private final CacheControl searchCacheControl;
     
-    public RecipeController(RecipeSearchService recipeSearchService, RecipeDetailService recipeDetailService) {
+    public RecipeController(
+            RecipeSearchService recipeSearchService,
+            RecipeDetailService recipeDetailService,
+            RecipeBatchService recipeBatchService,
+            ObjectMapper objectMapper,
+            HttpCacheProperties httpCacheProperties) {
         this.recipeSearchService = recipeSearchService;
         this.recipeDetailService = recipeDetailService;
+        this.recipeBatchService = recipeBatchService;
+        this.objectMapper = objectMapper;
+        this.httpCacheEnabled = httpCacheProperties.isEnabled();
+        this.recipeCacheControl = CacheControl
+                .maxAge(Duration.ofSeconds(httpCacheProperties.getRecipeMaxAgeSeconds()))
+                .cachePublic();
+        this.searchCacheControl = CacheControl
+                .maxAge(Duration.ofSeconds(httpCacheProperties.getSearchMaxAgeSeconds()))
+                .cachePublic();
     }
     
     /**
@@ -56,13 +109,17 @@ public class RecipeController {
      * @param query the search query (required, 1-200 characters)
      * @param page the page number (1-indexed, default: 1)
      * @param pageSize the number of results per page (default: 9, max: 100)
-     * @return paginated search results
+     * @param cursor continuation cursor from a previous page (optional)
+     * @param ifNoneMatch entity tags of the client's cached copy (optional)
+     * @return paginated search results, or 304 if the client's copy is current
      */
     @GetMapping("/search")
     @Operation(
         summary = "Search for recipes",
         description = "Search for recipes by title with pagination support. Query parameter is required. " +
-                     "Returns recipes that match the search term (case-insensitive substring match)."
+                     "Returns recipes that match the search term (case-insensitive substring match). " +
+                     "Pages that have a successor include nextCursor; pass it back as cursor to continue " +
+                     "past the page number limit."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -73,6 +130,10 @@ public class RecipeController {
                 schema = @Schema(implementation = RecipeSearchResponse.class)
             )
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Not modified - the If-None-Match entity tag matches the current results"
+        ),
         @ApiResponse(
             responseCode = "400",
             description = "Invalid request parameters (missing query, invalid pagination values)",
@@ -98,7 +159,7 @@ public class RecipeController {
             )
         )
     })
-    public ResponseEntity<RecipeSearchResponse> searchRecipes(
+    public ResponseEntity<byte[]> searchRecipes(
             @Parameter(
                 description = "Search query to filter recipes by title (required, 1-200 characters)",
                 required = true,
@@ -125,26 +186,135 @@ public class RecipeController {
             @RequestParam(defaultValue = "9")
             @Min(value = 1, message = "Page size must be at least 1")
             @Max(value = 100, message = "Page size must not exceed 100")
-            int pageSize
+            int pageSize,
+            
+            @Parameter(
+                description = "Continuation cursor from a previous page's nextCursor. " +
+                             "When given, page and pageSize are ignored and the query must match."
+            )
+            @RequestParam(required = false)
+            @Size(max = 1024, message = "Cursor must not exceed 1024 characters")
+            String cursor,
+            
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            String ifNoneMatch
     ) {
         String trimmedQuery = query.trim();
         
-        log.info("Received search request: query='{}', page={}, pageSize={}", 
-                StringSanitizer.sanitizeForLogging(trimmedQuery, 100), page, pageSize);
+        log.debug("Received search request: query='{}', page={}, pageSize={}, cursor={}", 
+                StringSanitizer.sanitizeForLogging(trimmedQuery, 100), page, pageSize, cursor != null);
         
-        RecipeSearchResponse response = recipeSearchService.searchRecipes(trimmedQuery, page, pageSize);
+        // Rendered pages are cached with their entity tag, so revalidation is a lookup
+        RenderedSearch rendered = cursor != null
+                ? recipeSearchService.searchRecipesAfterRendered(trimmedQuery, cursor)
+                : recipeSearchService.searchRecipesRendered(trimmedQuery, page, pageSize);
+        RecipeSearchResponse response = rendered.body();
         
         log.debug("Search request completed successfully: page {} with {} results of {} total", 
                 response.page(), response.results().size(), response.totalResults());
         
-        return ResponseEntity.ok(response);
+        return renderedJson(rendered.json(), rendered.etag(), ifNoneMatch, searchCacheControl);
+    }
+    
+    /**
+     * Streams search results as newline-delimited JSON.
+     * 
+     * <p>Each result is written as one JSON line as soon as it is decoded from the
+     * upstream response, followed by a {@link RecipeSearchTrailer} line. Errors
+     * before the first line are reported as usual; a stream that ends without a
+     * trailer was cut short.
+     * 
+     * @param query the search query (required, 1-200 characters)
+     * @param page the page number (1-indexed, default: 1)
+     * @param pageSize the number of results per page (default: 9, max: 100)
+     * @return NDJSON stream of results and a trailer
+     */
+    @GetMapping("/search/stream")
+    @Operation(
+        summary = "Stream recipe search results",
+        description = "Same search as /search, returned as application/x-ndjson: one RecipeSummary per line " +
+                     "as results arrive, then a trailer line with page, pageSize, totalResults and returned."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Search results streamed successfully",
+            content = @Content(
+                mediaType = "application/x-ndjson",
+                schema = @Schema(implementation = RecipeSummary.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid request parameters (missing query, invalid pagination values)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = app.luqma.backend.exception.ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Too many requests - rate limit exceeded",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = app.luqma.backend.exception.ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<StreamingResponseBody> streamSearchRecipes(
+            @Parameter(
+                description = "Search query to filter recipes by title (required, 1-200 characters)",
+                required = true,
+                example = "pasta"
+            )
+            @RequestParam
+            @NotBlank(message = "Search query is required. Please provide a search term.")
+            @Size(min = 1, max = 200, message = "Search query must be between 1 and 200 characters")
+            String query,
+            
+            @Parameter(
+                description = "Page number (1-indexed, 1-1000)",
+                example = "1"
+            )
+            @RequestParam(defaultValue = "1")
+            @Min(value = 1, message = "Page number must be 1 or greater")
+            @Max(value = 1000, message = "Page number must not exceed 1000")
+            int page,
+            
+            @Parameter(
+                description = "Number of results per page (1-100)",
+                example = "9"
+            )
+            @RequestParam(defaultValue = "9")
+            @Min(value = 1, message = "Page size must be at least 1")
+            @Max(value = 100, message = "Page size must not exceed 100")
+            int pageSize
+    ) {
+        String trimmedQuery = query.trim();
+        
+        log.debug("Received streaming search request: query='{}', page={}, pageSize={}", 
+                StringSanitizer.sanitizeForLogging(trimmedQuery, 100), page, pageSize);
+        
+        // Content type set here rather than via produces, so error responses can still be JSON
+        StreamingResponseBody body = out -> {
+            RecipeSearchTrailer trailer = recipeSearchService.streamSearchRecipes(
+                    trimmedQuery, page, pageSize, summary -> writeLine(out, summary));
+            writeLine(out, trailer);
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
     
     /**
      * Retrieves detailed information for a specific recipe by ID.
      * 
      * @param id the recipe ID (must be positive)
-     * @return detailed recipe information
+     * @param acceptEncoding content codings the client accepts (optional)
+     * @param ifNoneMatch entity tags of the client's cached copy (optional)
+     * @return detailed recipe information, or 304 if the client's copy is current
      */
     @GetMapping("/{id}")
     @Operation(
@@ -161,6 +331,10 @@ public class RecipeController {
                 schema = @Schema(implementation = RecipeDetailResponse.class)
             )
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Not modified - the If-None-Match entity tag matches the current recipe"
+        ),
         @ApiResponse(
             responseCode = "400",
             description = "Invalid recipe ID (must be positive integer)",
@@ -186,7 +360,7 @@ public class RecipeController {
             )
         )
     })
-    public ResponseEntity<RecipeDetailResponse> getRecipeById(
+    public ResponseEntity<byte[]> getRecipeById(
             @Parameter(
                 description = "Recipe ID (must be a positive integer)",
                 required = true,
@@ -194,14 +368,105 @@ public class RecipeController {
             )
             @PathVariable
             @Min(value = 1, message = "Recipe ID must be a positive integer")
-            Long id
+            Long id,
+            
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding,
+            
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            String ifNoneMatch
     ) {
-        log.info("Received request for recipe details: id={}", id);
+        log.debug("Received request for recipe details: id={}", id);
         
-        RecipeDetailResponse response = recipeDetailService.getRecipeById(id);
+        RenderedRecipe rendered = recipeDetailService.getRenderedRecipeById(id);
+        
+        // Pre-rendered bytes are written as-is; the JSON converter is bypassed
+        boolean gzip = rendered.hasGzip() && ContentCodings.acceptsGzip(acceptEncoding);
+        String etag = gzip ? rendered.gzipEtag() : rendered.etag();
+        if (httpCacheEnabled && ETags.matches(ifNoneMatch, etag)) {
+            log.debug("Recipe {} not modified", id);
+            return notModified(etag, recipeCacheControl)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        byte[] body = gzip ? rendered.gzip() : rendered.json();
         
         log.debug("Recipe details retrieved successfully for ID: {}", id);
         
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        if (httpCacheEnabled) {
+            response.eTag(etag).cacheControl(recipeCacheControl);
+        }
+        return response.body(body);
+    }
+    
+    /**
+     * Retrieves several recipes by ID in one request.
+     * 
+     * <p>Recipes that fail to load are reported in {@code errors} with the status the
+     * single-recipe endpoint would have returned; the others are still returned.
+     * 
+     * @param ids the recipe IDs (1-50, duplicates ignored)
+     * @return the loaded recipes in request order, and an error per failed ID
+     */
+    @GetMapping(params = "ids")
+    @Operation(
+        summary = "Get several recipes by ID",
+        description = "Retrieves up to 50 recipes in one request, e.g. ?ids=715497,642539. Cached recipes are " +
+                     "returned immediately and the rest are fetched in parallel. Partial results are returned " +
+                     "with 200; each failed ID is listed in errors with its status."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Batch completed; check errors for IDs that could not be loaded",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = RecipeBatchResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid ID list (empty, more than 50 IDs, or non-numeric values)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = app.luqma.backend.exception.ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = app.luqma.backend.exception.ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<RecipeBatchResponse> getRecipes(
+            @Parameter(
+                description = "Comma-separated recipe IDs (1-50)",
+                required = true,
+                example = "715497,642539"
+            )
+            @RequestParam
+            @Size(min = 1, max = 50, message = "Between 1 and 50 recipe IDs must be provided")
+            List<@NotNull(message = "Recipe ID cannot be null") Long> ids
+    ) {
+        log.debug("Received batch recipe request: {} ids", ids.size());
+        
+        RecipeBatchResponse response = recipeBatchService.getRecipes(ids);
+        
+        log.debug("Batch recipe request completed: {} loaded, {} failed", 
+                response.recipes().size(), response.errors().size());
+        
         return ResponseEntity.ok(response);
     }
     
@@ -270,7 +535,7 @@ public class RecipeController {
             @RequestBody
             ExcludeIngredientsRequest request
     ) {
-        log.info("Received request to exclude ingredients from recipe: id={}, ingredientCount={}", 
+        log.debug("Received request to exclude ingredients from recipe: id={}, ingredientCount={}", 
                 id, request.ingredientIds().size());
         
         RecipeDetailResponse response = recipeDetailService.excludeIngredients(
@@ -280,5 +545,258 @@ public class RecipeController {
         
         return ResponseEntity.ok(response);
     }
+    
+    /**
+     * Returns a recipe with ingredients excluded, as a cacheable GET.
+     * 
+     * <p>Equivalent to {@code POST /{id}/exclude-ingredients}. Excluded IDs are
+     * canonicalized (sorted, without duplicates) and any other spelling is
+     * permanently redirected to the canonical URL, so equivalent requests share one
+     * cache entry in browsers and shared caches.
+     * 
+     * @param id the recipe ID
+     * @param exclude ingredient IDs to exclude
+     * @param ifNoneMatch entity tags of the client's cached copy (optional)
+     * @param request the HTTP servlet request, for the raw parameter and redirect URL
+     * @return recipe details with recalculated nutrition, 304 if the client's copy
+     *         is current, or 308 to the canonical URL
+     */
+    @GetMapping("/{id}/nutrition")
+    @Operation(
+        summary = "Get recipe with ingredients excluded",
+        description = "Cacheable equivalent of POST /{id}/exclude-ingredients. Ingredient IDs are given as " +
+                     "a comma-separated list; requests not in canonical form (ascending, no duplicates) " +
+                     "are redirected with 308 to the canonical URL."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Ingredients excluded successfully, nutrition recalculated",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = RecipeDetailResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Not modified - the If-None-Match entity tag matches the current result"
+        ),
+        @ApiResponse(
+            responseCode = "308",
+            description = "Redirect to the canonical URL for this exclusion set"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid request (missing, malformed or too many ingredient IDs, or IDs not in recipe)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = app.luqma.backend.exception.ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Recipe not found with the specified ID",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = app.luqma.backend.exception.ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = app.luqma.backend.exception.ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<byte[]> getRecipeWithExclusions(
+            @Parameter(
+                description = "Recipe ID (must be a positive integer)",
+                required = true,
+                example = "715497"
+            )
+            @PathVariable
+            @Min(value = 1, message = "Recipe ID must be a positive integer")
+            Long id,
+            
+            @Parameter(
+                description = "Comma-separated ingredient IDs to exclude (1-100, canonical form is ascending)",
+                required = true,
+                example = "5006,20409"
+            )
+            @RequestParam(EXCLUDE_PARAM)
+            @Size(min = 1, max = 100, message = "Between 1 and 100 ingredient IDs must be provided")
+            List<@NotNull(message = "Ingredient IDs cannot be blank") Long> exclude,
+            
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            String ifNoneMatch,
+            
+            @Parameter(hidden = true)
+            HttpServletRequest request
+    ) {
+        List<Long> canonical = canonicalIds(exclude);
+        String canonicalParam = joinIds(canonical);
+        
+        String[] raw = request.getParameterValues(EXCLUDE_PARAM);
+        if (raw.length != 1 || !raw[0].equals(canonicalParam)) {
+            URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam(EXCLUDE_PARAM, canonicalParam)
+                    .build()
+                    .toUri();
+            log.debug("Redirecting exclusion request for recipe {} to canonical form: {}", id, canonicalParam);
+            
+            ResponseEntity.BodyBuilder redirect = ResponseEntity.status(HttpStatus.PERMANENT_REDIRECT)
+                    .location(location);
+            if (httpCacheEnabled) {
+                redirect.cacheControl(recipeCacheControl);
+            }
+            return redirect.build();
+        }
+        
+        log.debug("Received GET exclusion request: id={}, ingredientCount={}", id, canonical.size());
+        
+        // The rendering and its entity tag are cached with the exclusion result
+        RenderedRecipe rendered = recipeDetailService.excludeIngredientsRendered(id, new HashSet<>(canonical));
+        
+        return renderedJson(rendered.json(), rendered.etag(), ifNoneMatch, recipeCacheControl);
+    }
+    
+    /**
+     * Evaluates several ingredient exclusion sets against one recipe.
+     * 
+     * @param id the recipe ID
+     * @param request the exclusion sets to evaluate
+     * @return baseline nutrition and a nutrition delta per exclusion set
+     */
+    @PostMapping("/{id}/exclusion-variants")
+    @Operation(
+        summary = "Compare ingredient exclusion sets",
+        description = "Evaluates several exclusion sets against one recipe in a single call. " +
+                     "Returns the recipe's baseline nutrition and, for each set in request order, " +
+                     "the change in nutrition that excluding those ingredients would cause."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "All exclusion sets evaluated successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ExclusionVariantsResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid request (no sets, empty set, too many sets, or IDs not in recipe)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = app.luqma.backend.exception.ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Recipe not found with the specified ID",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = app.luqma.backend.exception.ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = app.luqma.backend.exception.ErrorResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ExclusionVariantsResponse> evaluateExclusionVariants(
+            @Parameter(
+                description = "Recipe ID (must be a positive integer)",
+                required = true,
+                example = "715497"
+            )
+            @PathVariable
+            @Min(value = 1, message = "Recipe ID must be a positive integer")
+            Long id,
+            
+            @Parameter(
+                description = "Request body containing the exclusion sets to evaluate",
+                required = true
+            )
+            @Valid
+            @RequestBody
+            ExclusionVariantsRequest request
+    ) {
+        log.debug("Received request to evaluate exclusion variants for recipe: id={}, setCount={}", 
+                id, request.exclusionSets().size());
+        
+        List<Set<Long>> exclusionSets = request.exclusionSets().stream()
+                .<Set<Long>>map(HashSet::new)
+                .toList();
+        
+        ExclusionVariantsResponse response = recipeDetailService.evaluateExclusionVariants(id, exclusionSets);
+        
+        log.debug("Exclusion variants evaluated successfully for recipe: {}", id);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Sends pre-rendered JSON with its entity tag, or 304 if the client's copy matches.
+     * The bytes are written as-is; the JSON converter is bypassed.
+     */
+    private ResponseEntity<byte[]> renderedJson(byte[] json, String etag, String ifNoneMatch,
+                                                CacheControl cacheControl) {
+        if (httpCacheEnabled && ETags.matches(ifNoneMatch, etag)) {
+            return notModified(etag, cacheControl).build();
+        }
+        
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(json.length);
+        if (httpCacheEnabled) {
+            builder.eTag(etag).cacheControl(cacheControl);
+        }
+        return builder.body(json);
+    }
+    
+    /**
+     * Writes one NDJSON line and flushes it to the client.
+     */
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Returns IDs in ascending order without duplicates.
+     */
+    private static List<Long> canonicalIds(List<Long> ids) {
+        return ids.stream()
+                .sorted()
+                .distinct()
+                .toList();
+    }
+    
+    private static String joinIds(List<Long> ids) {
+        return ids.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+    
+    /**
+     * Starts a 304 response carrying the validators a cache needs to refresh its copy.
+     */
+    private static ResponseEntity.BodyBuilder notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl);
+    }
 }
-
@@ -0,0 +1,83 @@
+package app.luqma.backend.filter;
+
+import app.luqma.backend.metrics.Stage;
+import app.luqma.backend.metrics.StageTimings;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes one access log line per API request to the {@value #LOGGER_NAME} logger.
+ *
+ * <p>Request details are attached as key-value pairs rather than formatted into the
+ * message, so structured encoders emit them as JSON fields: {@code method},
+ * {@code endpoint} (route pattern), {@code status} and {@code duration_ms}, plus
+ * {@code cache} and {@code upstream_ms} when stage timings are bound. Turning the
+ * logger off (level WARN or above) skips all of it.
+ *
+ * <p>A request that continues asynchronously, such as a streamed search, is logged
+ * when it completes, so the duration covers writing the body and the stage timings
+ * include work done on the writing thread.
+ */
+public class AccessLogFilter implements Filter {
+
+    public static final String LOGGER_NAME = "app.luqma.backend.access";
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger(LOGGER_NAME);
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!ACCESS_LOG.isInfoEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        StageTimings timings = StageTimings.current();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            HttpServletRequest httpRequest = (HttpServletRequest) request;
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            RequestCompletion.whenComplete(request, () ->
+                    log(httpRequest, httpResponse, timings, System.nanoTime() - start));
+        }
+    }
+
+    private static void log(HttpServletRequest request, HttpServletResponse response, StageTimings timings,
+                            long durationNanos) {
+        LoggingEventBuilder entry = ACCESS_LOG.atInfo()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("endpoint", RequestMetricsFilter.endpoint(request))
+                .addKeyValue("status", status(request, response))
+                .addKeyValue("duration_ms", TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        if (timings != null) {
+            entry = entry.addKeyValue("cache", timings.cacheOutcome())
+                    .addKeyValue("upstream_ms", TimeUnit.NANOSECONDS.toMillis(timings.nanos(Stage.UPSTREAM)));
+        }
+        entry.log("request");
+    }
+
+    /**
+     * Returns the response status, or 500 for a streamed response whose writer failed
+     * after the status was committed.
+     */
+    private static int status(HttpServletRequest request, HttpServletResponse response) {
+        int status = response.getStatus();
+        boolean failed = request.getAttribute(AsyncRequestInterceptor.ASYNC_FAILURE_ATTRIBUTE) != null;
+        return failed && status < HttpServletResponse.SC_BAD_REQUEST
+                ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR
+                : status;
+    }
+}
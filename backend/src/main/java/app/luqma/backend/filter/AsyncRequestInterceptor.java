@@ -0,0 +1,48 @@
+package app.luqma.backend.filter;
+
+import app.luqma.backend.metrics.StageTimings;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Carries request state into asynchronous request processing, such as a
+ * {@code StreamingResponseBody} written on the MVC task executor.
+ *
+ * <p>The request's {@link StageTimings} are bound on the executor thread while the
+ * task runs, so stages it records count toward the request. A task that throws marks
+ * the request with {@value #ASYNC_FAILURE_ATTRIBUTE}, since a streamed response is
+ * usually committed with status 200 before the failure.
+ */
+public class AsyncRequestInterceptor implements CallableProcessingInterceptor {
+
+    /** Request attribute set to {@code Boolean.TRUE} when the asynchronous task failed. */
+    public static final String ASYNC_FAILURE_ATTRIBUTE = AsyncRequestInterceptor.class.getName() + ".FAILURE";
+
+    private static final String TIMINGS_ATTRIBUTE = AsyncRequestInterceptor.class.getName() + ".TIMINGS";
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        StageTimings timings = StageTimings.current();
+        if (timings != null) {
+            request.setAttribute(TIMINGS_ATTRIBUTE, timings, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        if (request.getAttribute(TIMINGS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof StageTimings timings) {
+            StageTimings.bind(timings);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        StageTimings.end();
+        if (concurrentResult instanceof Throwable) {
+            request.setAttribute(ASYNC_FAILURE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
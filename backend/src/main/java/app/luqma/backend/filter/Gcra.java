@@ -0,0 +1,96 @@
+package app.luqma.backend.filter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * The generic cell rate algorithm (GCRA) over a per-client {@link AtomicLong}.
+ *
+ * <p>GCRA is a token bucket expressed as a single timestamp: each client's state is
+ * its theoretical arrival time (TAT), the instant at which its bucket would be full
+ * again. A request advances the TAT by one emission interval ({@code window / limit})
+ * and is allowed while the TAT stays within one window of now. This allows bursts of
+ * up to {@code limit} requests and then a steady {@code limit} per window, without
+ * the double bursts of a fixed window at its edges.
+ *
+ * <p>The TAT is updated by compare-and-set, so checks never lock; rejected requests
+ * read it without writing. A TAT that has fallen behind now is equivalent to a
+ * fresh state, so states idle for one window can be dropped.
+ */
+final class Gcra {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long windowNanos;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+
+    /**
+     * @param limit requests allowed per window
+     * @param window the rate limit window
+     * @param nanoClock monotonic time source in nanoseconds, e.g. {@code System::nanoTime}
+     */
+    Gcra(int limit, Duration window, LongSupplier nanoClock) {
+        this.windowNanos = window.toNanos();
+        this.intervalNanos = Math.max(1, windowNanos / limit);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns the initial state of a client that has made no requests.
+     */
+    static AtomicLong newState() {
+        return new AtomicLong(Long.MIN_VALUE);
+    }
+
+    /**
+     * Checks and records one request.
+     *
+     * @param tat the client's state
+     * @return the decision, with values for the rate limit headers
+     */
+    RateLimitDecision tryAcquire(AtomicLong tat) {
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long backlog = next - now;
+            if (backlog > windowNanos) {
+                return RateLimitDecision.reject(ceilSeconds(current - now), ceilSeconds(backlog - windowNanos));
+            }
+            if (tat.compareAndSet(current, next)) {
+                int remaining = (int) ((windowNanos - backlog) / intervalNanos);
+                return RateLimitDecision.allow(remaining, ceilSeconds(backlog));
+            }
+        }
+    }
+
+    /**
+     * Records requests admitted elsewhere, without checking them. The charge is
+     * capped at an empty bucket, so a client is never blocked for longer than a
+     * full refill.
+     *
+     * @param tat the client's state
+     * @param requests number of requests to record
+     */
+    void consume(AtomicLong tat, long requests) {
+        if (requests <= 0) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        long charge = requests >= windowNanos / intervalNanos ? windowNanos : requests * intervalNanos;
+        while (true) {
+            long current = tat.get();
+            long next = Math.min(Math.max(current, now) + charge, now + windowNanos);
+            if (next <= current || tat.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return nanos <= 0 ? 0 : (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+}
@@ -0,0 +1,38 @@
+package app.luqma.backend.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process {@link RateLimitBackend}, a stand-in for a real shared service.
+ *
+ * <p>Counters live in this JVM, so stores sharing one instance share limits but
+ * separate processes do not. Used in tests and as the fallback when shared
+ * rate limiting is enabled without a backend bean.
+ */
+public final class InMemoryRateLimitBackend implements RateLimitBackend {
+
+    private final Cache<String, AtomicLong> counters;
+
+    /**
+     * @param idleExpiry how long a counter is kept without updates
+     */
+    public InMemoryRateLimitBackend(Duration idleExpiry) {
+        this.counters = Caffeine.newBuilder()
+                .expireAfterAccess(idleExpiry)
+                .build();
+    }
+
+    @Override
+    public Map<String, Long> addAndGet(Map<String, Long> increments) {
+        Map<String, Long> totals = HashMap.newHashMap(increments.size());
+        increments.forEach((client, increment) ->
+                totals.put(client, counters.get(client, _ -> new AtomicLong()).addAndGet(increment)));
+        return totals;
+    }
+}
@@ -0,0 +1,53 @@
+package app.luqma.backend.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process rate limit store: one lock-free {@link Gcra} bucket per client.
+ *
+ * <p>States are kept in a size-bounded Caffeine cache that expires a client after
+ * one idle window, at which point its bucket has refilled and a fresh state is
+ * equivalent. Each instance enforces the limit independently.
+ */
+public final class LocalRateLimitStore implements RateLimitStore {
+
+    private static final Function<String, AtomicLong> NEW_STATE = _ -> Gcra.newState();
+
+    private final Gcra gcra;
+    private final Cache<String, AtomicLong> states;
+
+    /**
+     * @param limit requests allowed per window
+     * @param window the rate limit window
+     * @param maxClients maximum number of client states kept in memory
+     * @param nanoClock monotonic time source in nanoseconds, e.g. {@code System::nanoTime}
+     */
+    public LocalRateLimitStore(int limit, Duration window, int maxClients, LongSupplier nanoClock) {
+        this.gcra = new Gcra(limit, window, nanoClock);
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(window)
+                .build();
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String clientKey) {
+        return gcra.tryAcquire(states.get(clientKey, NEW_STATE));
+    }
+
+    @Override
+    public void cleanUp() {
+        states.cleanUp();
+    }
+
+    @Override
+    public long size() {
+        return states.estimatedSize();
+    }
+}
@@ -0,0 +1,23 @@
+package app.luqma.backend.filter;
+
+import java.util.Map;
+
+/**
+ * Shared counter service behind {@link SharedRateLimitStore}, such as a key-value
+ * store reachable by every instance.
+ *
+ * <p>Each client has a cumulative request counter. Counters may be dropped after
+ * a period without updates of at least one rate limit window; the store treats a
+ * counter that goes backwards as a reset. Calls may block and may throw; the store
+ * makes them off the request path and falls back to local limits on failure.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Adds increments to client counters in one round trip and returns their new values.
+     *
+     * @param increments requests per client since the caller's last exchange (zero to read)
+     * @return the counter of every client in {@code increments} after adding
+     */
+    Map<String, Long> addAndGet(Map<String, Long> increments);
+}
@@ -0,0 +1,20 @@
+package app.luqma.backend.filter;
+
+/**
+ * Outcome of one rate limit check.
+ *
+ * @param allowed whether the request may proceed
+ * @param remaining requests still allowed immediately after this one
+ * @param resetSeconds seconds until the client's full allowance is available again
+ * @param retryAfterSeconds seconds until a rejected request may be retried (0 when allowed)
+ */
+public record RateLimitDecision(boolean allowed, int remaining, long resetSeconds, long retryAfterSeconds) {
+
+    static RateLimitDecision allow(int remaining, long resetSeconds) {
+        return new RateLimitDecision(true, remaining, resetSeconds, 0);
+    }
+
+    static RateLimitDecision reject(long resetSeconds, long retryAfterSeconds) {
+        return new RateLimitDecision(false, 0, resetSeconds, retryAfterSeconds);
+    }
+}
@@ -1,6 +1,10 @@
 package app.luqma.backend.filter;
 
 import app.luqma.backend.config.RateLimitProperties;
+import app.luqma.backend.jfr.RateLimitEvent;
+import app.luqma.backend.metrics.Stage;
+import app.luqma.backend.metrics.StageTimings;
+import app.luqma.backend.util.IpAddresses;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,32 +13,50 @@ import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 import java.io.IOException;
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
+import java.time.Duration;
 
 /**
- * Rate limiting filter using sliding window algorithm.
- * Limits requests per IP address to prevent abuse.
- * Uses configurable properties and scheduled cleanup to prevent memory leaks.
+ * Rate limiting filter using a GCRA token bucket per client IP.
+ * Limits requests per IP address to prevent abuse; state is kept by a
+ * {@link RateLimitStore}, per instance or shared across instances.
+ *
+ * <p>Every response carries {@code RateLimit-Limit}, {@code RateLimit-Remaining} and
+ * {@code RateLimit-Reset} (seconds); rejections are 429 with {@code Retry-After} and
+ * a fixed JSON body built once at startup.
  */
 @Slf4j
 public class RateLimitFilter implements Filter {
     
-    private static final Pattern IP_PATTERN = Pattern.compile(
-        "^((25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}" +
-        "(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$"
-    );
+    static final String RATE_LIMIT_LIMIT = "RateLimit-Limit";
+    static final String RATE_LIMIT_REMAINING = "RateLimit-Remaining";
+    static final String RATE_LIMIT_RESET = "RateLimit-Reset";
     
-    private final RateLimitProperties properties;
-    private final Map<String, RateLimitInfo> rateLimitMap = new ConcurrentHashMap<>();
+    private static final String UNKNOWN_CLIENT = "unknown";
     
+    private final RateLimitStore rateLimitStore;
+    private final int maxRequests;
+    private final String rejectionBody;
+    
+    /**
+     * Creates a filter with a per-instance {@link LocalRateLimitStore}.
+     */
     public RateLimitFilter(RateLimitProperties properties) {
-        this.properties = properties;
+        this(properties, new LocalRateLimitStore(
+                properties.getMaxRequestsPerMinute(),
+                Duration.ofMillis(properties.getWindowSizeMillis()),
+                properties.getMaxEntries(),
+                System::nanoTime));
+    }
+    
+    public RateLimitFilter(RateLimitProperties properties, RateLimitStore rateLimitStore) {
+        this.maxRequests = properties.getMaxRequestsPerMinute();
+        this.rateLimitStore = rateLimitStore;
+        this.rejectionBody = "{\"status\":429,\"error\":\"Too Many Requests\"," +
+                "\"message\":\"Rate limit exceeded. Maximum " + maxRequests + " requests per minute allowed.\"}";
     }
     
     @Override
@@ -49,114 +71,80 @@ public class RateLimitFilter implements Filter {
             return;
         }
         
+        RateLimitEvent event = new RateLimitEvent();
+        event.begin();
+        long start = StageTimings.start();
         String clientIp = getClientIp(httpRequest);
-        
-        if (!isValidIp(clientIp)) {
-            log.warn("Invalid or missing client IP address, using default");
-            clientIp = "unknown";
-        }
-        
-        if (rateLimitMap.size() > properties.getMaxEntries()) {
-            cleanUpOldEntries();
+        RateLimitDecision decision = rateLimitStore.tryAcquire(clientIp);
+        StageTimings.record(Stage.RATE_LIMIT, start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.client = clientIp;
+            event.allowed = decision.allowed();
+            event.remaining = decision.remaining();
+            event.commit();
         }
         
-        RateLimitInfo rateLimitInfo = rateLimitMap.computeIfAbsent(
-            clientIp, 
-            _ -> new RateLimitInfo(properties.getMaxRequestsPerMinute(), properties.getWindowSizeMillis())
-        );
+        httpResponse.setIntHeader(RATE_LIMIT_LIMIT, maxRequests);
+        httpResponse.setIntHeader(RATE_LIMIT_REMAINING, decision.remaining());
+        httpResponse.setIntHeader(RATE_LIMIT_RESET, (int) decision.resetSeconds());
         
-        if (rateLimitInfo.allowRequest()) {
+        if (decision.allowed()) {
             chain.doFilter(request, response);
         } else {
             log.warn("Rate limit exceeded for IP: {}", clientIp);
             httpResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            httpResponse.setIntHeader(HttpHeaders.RETRY_AFTER, (int) decision.retryAfterSeconds());
             httpResponse.setContentType("application/json");
-            httpResponse.getWriter().write(
-                String.format("{\"timestamp\":\"%s\",\"status\":429,\"error\":\"Too Many Requests\"," +
-                             "\"message\":\"Rate limit exceeded. Maximum %d requests per minute allowed.\"," +
-                             "\"path\":\"%s\"}",
-                             Instant.now().toString(),
-                             properties.getMaxRequestsPerMinute(),
-                             httpRequest.getRequestURI())
-            );
+            httpResponse.getWriter().write(rejectionBody);
         }
     }
     
     private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            String firstIp = xForwardedFor.split(",")[0].trim();
-            if (isValidIp(firstIp)) {
-                return firstIp;
-            }
+        String forwarded = firstAddress(request.getHeader("X-Forwarded-For"));
+        if (forwarded != null) {
+            return forwarded;
         }
         
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty() && isValidIp(xRealIp.trim())) {
-            return xRealIp.trim();
+        String realIp = firstAddress(request.getHeader("X-Real-IP"));
+        if (realIp != null) {
+            return realIp;
         }
         
-        return request.getRemoteAddr();
-    }
-    
-    /**
-     * Validates if a string is a valid IPv4 address.
-     * 
-     * @param ip the IP address to validate
-     * @return true if valid IPv4, false otherwise
-     */
-    private boolean isValidIp(String ip) {
-        if (ip == null || ip.isEmpty()) {
-            return false;
+        String remoteAddr = request.getRemoteAddr();
+        if (!IpAddresses.isValid(remoteAddr)) {
+            log.warn("Invalid or missing client IP address, using default");
+            return UNKNOWN_CLIENT;
         }
-        return IP_PATTERN.matcher(ip).matches();
-    }
-    
-    /**
-     * Cleans up old rate limit entries that have expired.
-     * Public to allow scheduled cleanup from RateLimitConfig.
-     */
-    public void cleanUpOldEntries() {
-        long now = System.currentTimeMillis();
-        int sizeBefore = rateLimitMap.size();
-        rateLimitMap.entrySet().removeIf(entry -> 
-            now - entry.getValue().getWindowStart() > properties.getWindowSizeMillis()
-        );
-        int sizeAfter = rateLimitMap.size();
-        log.debug("Cleaned up {} old rate limit entries. Current size: {}", sizeBefore - sizeAfter, sizeAfter);
+        return remoteAddr;
     }
     
     /**
-     * Stores rate limiting information for a single IP address.
+     * Returns the first entry of a comma-separated address header if it is a valid
+     * IP address. Trims and validates in place; allocates only when the entry is
+     * a proper substring of the header.
+     *
+     * @param header the header value (can be null)
+     * @return the address, or null if absent or invalid
      */
-    static class RateLimitInfo {
-        private final int maxRequests;
-        private final long windowSize;
-        private volatile long windowStart;
-        private volatile int requestCount;
-        
-        RateLimitInfo(int maxRequests, long windowSize) {
-            this.maxRequests = maxRequests;
-            this.windowSize = windowSize;
-            this.windowStart = System.currentTimeMillis();
-            this.requestCount = 0;
+    private static String firstAddress(String header) {
+        if (header == null) {
+            return null;
         }
-        
-        synchronized boolean allowRequest() {
-            long now = System.currentTimeMillis();
-            
-            if (now - windowStart > windowSize) {
-                windowStart = now;
-                requestCount = 0;
-            }
-            
-            requestCount++;
-            return requestCount <= maxRequests;
+        int end = header.indexOf(',');
+        if (end < 0) {
+            end = header.length();
         }
-        
-        long getWindowStart() {
-            return windowStart;
+        int start = 0;
+        while (start < end && Character.isWhitespace(header.charAt(start))) {
+            start++;
         }
+        while (end > start && Character.isWhitespace(header.charAt(end - 1))) {
+            end--;
+        }
+        if (!IpAddresses.isValid(header, start, end)) {
+            return null;
+        }
+        return start == 0 && end == header.length() ? header : header.substring(start, end);
     }
 }
-
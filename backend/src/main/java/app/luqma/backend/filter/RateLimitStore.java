@@ -0,0 +1,38 @@
+package app.luqma.backend.filter;
+
+/**
+ * Keeps per-client rate limit state and decides whether a request may proceed.
+ *
+ * <p>{@link LocalRateLimitStore} limits each instance on its own;
+ * {@link SharedRateLimitStore} shares usage between instances through a
+ * {@link RateLimitBackend} so a client spread across replicas gets one limit.
+ * Implementations must be thread-safe and should not block on I/O in
+ * {@link #tryAcquire(String)}.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Checks and records a request from a client.
+     *
+     * @param clientKey the client identity, e.g. its IP address
+     * @return the decision, with values for the rate limit headers
+     */
+    RateLimitDecision tryAcquire(String clientKey);
+
+    /**
+     * Runs pending expiry and eviction of idle clients.
+     */
+    void cleanUp();
+
+    /**
+     * Exchanges usage with other instances, if the store is shared.
+     * Called periodically off the request path.
+     */
+    default void sync() {
+    }
+
+    /**
+     * Returns the approximate number of tracked clients.
+     */
+    long size();
+}
@@ -0,0 +1,52 @@
+package app.luqma.backend.filter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletRequest;
+
+/**
+ * Runs work when a request has finished, including requests that continue
+ * asynchronously after the filter chain returns.
+ */
+final class RequestCompletion {
+
+    private RequestCompletion() {
+    }
+
+    /**
+     * Runs an action now, or when asynchronous processing of the request completes
+     * if it was started. Filters are registered for the initial dispatch only, so
+     * this is where they see the final status and duration of a streamed response.
+     *
+     * @param request the request, after the filter chain returned
+     * @param action the action to run once
+     */
+    static void whenComplete(ServletRequest request, Runnable action) {
+        if (!request.isAsyncStarted()) {
+            action.run();
+            return;
+        }
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                action.run();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                // onComplete follows
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                // onComplete follows
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                // Restarting asynchronous processing drops listeners; stay for the final completion
+                event.getAsyncContext().addListener(this);
+            }
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package app.luqma.backend.filter;
+
+import app.luqma.backend.metrics.RequestMetrics;
+import app.luqma.backend.metrics.StageTimings;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Binds {@link StageTimings} to each request and hands them to {@link RequestMetrics}
+ * when it completes. Registered ahead of the rate limit filter so that its check is
+ * timed too.
+ *
+ * <p>The endpoint tag is the route pattern Spring MVC matched, so path variables do
+ * not multiply time series; requests that never reach a handler, such as rate limit
+ * rejections, are tagged {@value #UNKNOWN_ENDPOINT}.
+ *
+ * <p>A request that continues asynchronously, such as a streamed search, is recorded
+ * when it completes; {@link AsyncRequestInterceptor} binds its timings on the thread
+ * writing the response.
+ */
+public class RequestMetricsFilter implements Filter {
+
+    static final String UNKNOWN_ENDPOINT = "UNKNOWN";
+
+    private final RequestMetrics requestMetrics;
+
+    public RequestMetricsFilter(RequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        long start = System.nanoTime();
+        StageTimings timings = StageTimings.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            StageTimings.end();
+            RequestCompletion.whenComplete(request, () ->
+                    requestMetrics.record(endpoint(request), timings, System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Returns the route pattern Spring MVC matched for a request, or {@value #UNKNOWN_ENDPOINT}.
+     */
+    static String endpoint(ServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN_ENDPOINT;
+    }
+}
@@ -0,0 +1,149 @@
+package app.luqma.backend.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limit store that applies one limit per client across all instances.
+ *
+ * <p>Requests are decided locally against a {@link Gcra} bucket, exactly as in
+ * {@link LocalRateLimitStore}, and admitted requests are counted per client.
+ * {@link #sync()} sends the counts accumulated since the last sync to the
+ * {@link RateLimitBackend} in one batch and gets back each client's cluster-wide
+ * total; requests admitted by other instances in between are then charged to the
+ * local bucket. The request path never waits on the backend.
+ *
+ * <p>Limits are approximate: between syncs, each instance can admit what is left
+ * of the client's bucket, so the cluster may overshoot by up to one sync interval
+ * of traffic. If the backend fails, counts are kept for the next attempt and each
+ * instance keeps enforcing the limit on its own traffic until it recovers.
+ */
+@Slf4j
+public final class SharedRateLimitStore implements RateLimitStore {
+
+    private static final Function<String, ClientState> NEW_STATE = _ -> new ClientState();
+
+    private final Gcra gcra;
+    private final RateLimitBackend backend;
+    private final Cache<String, ClientState> states;
+    private volatile boolean degraded;
+
+    /**
+     * @param limit requests allowed per window, per client, across all instances
+     * @param window the rate limit window
+     * @param maxClients maximum number of client states kept in memory
+     * @param backend the shared counter service
+     * @param nanoClock monotonic time source in nanoseconds, e.g. {@code System::nanoTime}
+     */
+    public SharedRateLimitStore(int limit, Duration window, int maxClients,
+                                RateLimitBackend backend, LongSupplier nanoClock) {
+        this.gcra = new Gcra(limit, window, nanoClock);
+        this.backend = backend;
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(window)
+                .build();
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String clientKey) {
+        ClientState state = states.get(clientKey, NEW_STATE);
+        RateLimitDecision decision = gcra.tryAcquire(state.tat);
+        if (decision.allowed()) {
+            state.unsynced.incrementAndGet();
+        }
+        return decision;
+    }
+
+    /**
+     * Exchanges counts with the backend for every tracked client.
+     * Not run concurrently with itself.
+     */
+    @Override
+    public synchronized void sync() {
+        List<PendingSync> batch = new ArrayList<>((int) states.estimatedSize());
+        states.asMap().forEach((client, state) ->
+                batch.add(new PendingSync(client, state, state.unsynced.getAndSet(0))));
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> increments = HashMap.newHashMap(batch.size());
+        for (PendingSync pending : batch) {
+            increments.put(pending.client(), pending.increment());
+        }
+
+        Map<String, Long> totals;
+        try {
+            totals = backend.addAndGet(increments);
+        } catch (RuntimeException e) {
+            // Keep the counts for the next attempt; buckets keep limiting local traffic
+            for (PendingSync pending : batch) {
+                pending.state().unsynced.addAndGet(pending.increment());
+            }
+            if (!degraded) {
+                degraded = true;
+                log.warn("Rate limit backend unavailable, enforcing per-instance limits: {}", e.getMessage());
+            }
+            return;
+        }
+        if (degraded) {
+            degraded = false;
+            log.info("Rate limit backend available again, resuming shared limits");
+        }
+
+        for (PendingSync pending : batch) {
+            Long total = totals.get(pending.client());
+            if (total != null) {
+                chargeRemoteRequests(pending.state(), total, pending.increment());
+            }
+        }
+        log.debug("Synced rate limits for {} clients", batch.size());
+    }
+
+    /**
+     * Returns whether the last sync failed and limits are currently per instance.
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    @Override
+    public void cleanUp() {
+        states.cleanUp();
+    }
+
+    @Override
+    public long size() {
+        return states.estimatedSize();
+    }
+
+    private void chargeRemoteRequests(ClientState state, long total, long increment) {
+        long previous = state.lastSeenTotal;
+        state.lastSeenTotal = total;
+        // First exchange or a counter reset in the backend: record the baseline only
+        if (previous < 0 || total < previous + increment) {
+            return;
+        }
+        gcra.consume(state.tat, total - previous - increment);
+    }
+
+    private static final class ClientState {
+        final AtomicLong tat = Gcra.newState();
+        final AtomicLong unsynced = new AtomicLong();
+        /** Backend total at the last successful sync; only accessed by {@link SharedRateLimitStore#sync()}. */
+        long lastSeenTotal = -1;
+    }
+
+    private record PendingSync(String client, ClientState state, long increment) {}
+}
@@ -0,0 +1,127 @@
+package app.luqma.backend.filter;
+
+import app.luqma.backend.util.ContentCodings;
+import app.luqma.backend.util.ETags;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Serves the committed OpenAPI documents in place of springdoc.
+ *
+ * <p>{@code ./gradlew generateOpenApi} writes one document per API group to
+ * {@code src/main/resources/openapi/<group>.json}, read from the classpath as
+ * {@code openapi/<group>.json}, plus {@code openapi/default.json}
+ * for the ungrouped {@code /v3/api-docs}, each with a pre-compressed
+ * {@code .json.gz} copy. Requests for a document that exists are answered from
+ * those bytes, so springdoc never scans the controllers; anything else, such as
+ * {@code swagger-config} or a run without generated documents, falls through to
+ * springdoc.
+ */
+public class StaticOpenApiFilter implements Filter {
+
+    static final String DEFAULT_DOCUMENT = "default";
+
+    private static final Pattern DOCUMENT_NAME = Pattern.compile("[a-z0-9-]+");
+
+    private final String apiDocsPath;
+    private final String location;
+    private final Map<String, Optional<Document>> documents = new ConcurrentHashMap<>();
+
+    /**
+     * @param apiDocsPath springdoc's {@code springdoc.api-docs.path}, e.g. {@code /v3/api-docs}
+     * @param location classpath directory holding the generated documents
+     */
+    public StaticOpenApiFilter(String apiDocsPath, String location) {
+        this.apiDocsPath = apiDocsPath;
+        this.location = location;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        String name = documentName(httpRequest);
+        Optional<Document> document = name != null && "GET".equals(httpRequest.getMethod())
+                ? documents.computeIfAbsent(name, this::load)
+                : Optional.empty();
+        if (document.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        write(httpRequest, (HttpServletResponse) response, document.get());
+    }
+
+    private String documentName(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals(apiDocsPath)) {
+            return DEFAULT_DOCUMENT;
+        }
+        if (!path.startsWith(apiDocsPath + "/")) {
+            return null;
+        }
+        String name = path.substring(apiDocsPath.length() + 1);
+        return DOCUMENT_NAME.matcher(name).matches() ? name : null;
+    }
+
+    private static void write(HttpServletRequest request, HttpServletResponse response, Document document)
+            throws IOException {
+        boolean gzip = ContentCodings.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? document.gzipEtag() : document.etag();
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        // The document only changes with a deployment; clients revalidate with the tag
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (ETags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = gzip ? document.gzip() : document.json();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.getOutputStream().write(body);
+    }
+
+    private Optional<Document> load(String name) {
+        ClassPathResource json = new ClassPathResource(location + "/" + name + ".json");
+        ClassPathResource gzip = new ClassPathResource(location + "/" + name + ".json.gz");
+        if (!json.exists() || !gzip.exists()) {
+            return Optional.empty();
+        }
+        byte[] jsonBytes = read(json);
+        byte[] gzipBytes = read(gzip);
+        String etag = ETags.strong(jsonBytes);
+        return Optional.of(new Document(jsonBytes, etag, gzipBytes, ETags.forCoding(etag, "gzip")));
+    }
+
+    private static byte[] read(ClassPathResource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + resource.getPath(), e);
+        }
+    }
+
+    private record Document(byte[] json, String etag, byte[] gzip, String gzipEtag) {
+    }
+}
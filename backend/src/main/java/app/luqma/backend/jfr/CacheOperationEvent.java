@@ -0,0 +1,78 @@
+package app.luqma.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A hit, miss, load or eviction in one of the application caches. Loads span
+ * the time taken to compute the value; the other operations are instants.
+ */
+@Name("luqma.CacheOperation")
+@Label("Cache Operation")
+@Category({"Luqma", "Cache"})
+@Description("Hit, miss, load or eviction in an application cache")
+@StackTrace(false)
+public class CacheOperationEvent extends Event {
+
+    public static final String HIT = "hit";
+    public static final String MISS = "miss";
+    public static final String LOAD = "load";
+    public static final String EVICTION = "eviction";
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Key")
+    public String key;
+
+    /**
+     * Emits an instant event if cache events are being recorded.
+     *
+     * @param cache the cache name
+     * @param operation {@link #HIT}, {@link #MISS} or {@link #EVICTION}
+     * @param key the entry key
+     */
+    public static void emit(String cache, String operation, Object key) {
+        CacheOperationEvent event = new CacheOperationEvent();
+        if (event.isEnabled()) {
+            event.cache = cache;
+            event.operation = operation;
+            event.key = String.valueOf(key);
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts timing a load; call {@link #commitLoad(Object)} when it completes.
+     *
+     * @param cache the cache name
+     * @return the started event
+     */
+    public static CacheOperationEvent beginLoad(String cache) {
+        CacheOperationEvent event = new CacheOperationEvent();
+        event.cache = cache;
+        event.operation = LOAD;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Completes a load started with {@link #beginLoad(String)}.
+     *
+     * @param loadedKey the key that was loaded
+     */
+    public void commitLoad(Object loadedKey) {
+        end();
+        if (shouldCommit()) {
+            key = String.valueOf(loadedKey);
+            commit();
+        }
+    }
+}
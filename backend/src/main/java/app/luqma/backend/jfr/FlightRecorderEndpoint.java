@@ -0,0 +1,197 @@
+package app.luqma.backend.jfr;
+
+import app.luqma.backend.config.FlightRecorderProperties;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Actuator endpoint controlling a continuous JDK Flight Recorder recording.
+ *
+ * <p>The recording keeps a ring buffer bounded by {@code flight-recorder.max-age-seconds}
+ * and {@code flight-recorder.max-size-megabytes}, holding the JDK's GC, thread and I/O
+ * events alongside the application's {@code luqma.*} events, so a latency spike can
+ * be investigated after the fact.
+ * <ul>
+ *   <li>{@code GET /actuator/flightrecorder} - recording status</li>
+ *   <li>{@code POST /actuator/flightrecorder} - start the recording</li>
+ *   <li>{@code DELETE /actuator/flightrecorder} - stop and discard it</li>
+ *   <li>{@code GET /actuator/flightrecorder/dump} - download the buffer as a .jfr file</li>
+ * </ul>
+ * The recording is named {@value #RECORDING_NAME}, so it can also be dumped with
+ * {@code jcmd <pid> JFR.dump name=luqma} where the endpoint is not exposed.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "flightrecorder")
+public class FlightRecorderEndpoint {
+
+    static final String RECORDING_NAME = "luqma";
+    private static final String DUMP = "dump";
+
+    private final FlightRecorderProperties properties;
+    private Recording recording;
+
+    public FlightRecorderEndpoint(FlightRecorderProperties properties) {
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnStartup() {
+        if (properties.isStartOnStartup()) {
+            start();
+        }
+    }
+
+    @ReadOperation
+    public synchronized RecordingStatus status() {
+        return RecordingStatus.of(recording, properties);
+    }
+
+    /**
+     * Starts the recording if it is not already running.
+     */
+    @WriteOperation
+    public synchronized RecordingStatus start() {
+        if (recording == null) {
+            Recording started = new Recording(configuration());
+            started.setName(RECORDING_NAME);
+            started.setToDisk(true);
+            started.setMaxAge(Duration.ofSeconds(properties.getMaxAgeSeconds()));
+            started.setMaxSize(properties.getMaxSizeMegabytes() * 1024 * 1024);
+            started.start();
+            recording = started;
+            log.info("Flight recording started: settings={}, maxAge={}s, maxSize={}MB",
+                    properties.getSettings(), properties.getMaxAgeSeconds(), properties.getMaxSizeMegabytes());
+        }
+        return status();
+    }
+
+    /**
+     * Stops the recording and discards its data.
+     */
+    @DeleteOperation
+    public synchronized RecordingStatus stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            log.info("Flight recording stopped");
+        }
+        return status();
+    }
+
+    /**
+     * Writes the recording's current buffer to a temporary file and streams it.
+     * The file is deleted once the response has been sent.
+     *
+     * @param action must be {@code dump}
+     * @return the recording as {@code application/octet-stream}, or 404 if none is running
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump(@Selector String action) {
+        if (!DUMP.equals(action) || recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = null;
+        try {
+            file = Files.createTempFile("luqma-", ".jfr");
+            recording.dump(file);
+            return new WebEndpointResponse<>(new TemporaryFileResource(file), WebEndpointResponse.STATUS_OK);
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new UncheckedIOException("Failed to dump flight recording", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        stop();
+    }
+
+    private Configuration configuration() {
+        try {
+            return Configuration.getConfiguration(properties.getSettings());
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Unknown flight recorder settings: " + properties.getSettings(), e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete temporary recording {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * Recording state as reported by the endpoint.
+     *
+     * @param running whether the recording is running
+     * @param settings JFR settings in use
+     * @param maxAgeSeconds ring buffer age bound
+     * @param maxSizeMegabytes ring buffer size bound
+     * @param startTime when the recording started, or null if not running
+     * @param sizeBytes bytes currently held by the recording
+     */
+    public record RecordingStatus(boolean running, String settings, long maxAgeSeconds,
+                                  long maxSizeMegabytes, Instant startTime, long sizeBytes) {
+
+        static RecordingStatus of(Recording recording, FlightRecorderProperties properties) {
+            boolean running = recording != null && recording.getState() == RecordingState.RUNNING;
+            return new RecordingStatus(running, properties.getSettings(),
+                    properties.getMaxAgeSeconds(), properties.getMaxSizeMegabytes(),
+                    running ? recording.getStartTime() : null,
+                    running ? recording.getSize() : 0);
+        }
+    }
+
+    /**
+     * File resource that deletes the file once its content has been read.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        deleteQuietly(getFilePath());
+                    }
+                }
+            };
+        }
+    }
+}
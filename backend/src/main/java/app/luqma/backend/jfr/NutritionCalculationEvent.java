@@ -0,0 +1,43 @@
+package app.luqma.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One nutrition recalculation for an ingredient exclusion.
+ */
+@Name("luqma.NutritionCalculation")
+@Label("Nutrition Calculation")
+@Category({"Luqma", "Nutrition"})
+@Description("Recalculation of a recipe's nutrition after excluding ingredients")
+@StackTrace(false)
+public class NutritionCalculationEvent extends Event {
+
+    /** Excluded ingredients' own nutrients were subtracted. */
+    public static final String INGREDIENT_BREAKDOWN = "ingredient_breakdown";
+    /** Nutrients were scaled by the excluded share of recipe weight. */
+    public static final String PROPORTIONAL = "proportional";
+    /** Nutrition was left as it was. */
+    public static final String UNCHANGED = "unchanged";
+
+    @Label("Recipe ID")
+    public long recipeId;
+
+    @Label("Operation")
+    @Description("recalculate for a full recipe, summary for a nutrition delta only")
+    public String operation;
+
+    @Label("Method")
+    @Description("How the nutrients were derived")
+    public String method;
+
+    @Label("Ingredients")
+    public int ingredientCount;
+
+    @Label("Excluded Ingredients")
+    public int excludedCount;
+}
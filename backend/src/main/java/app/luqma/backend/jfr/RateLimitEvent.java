@@ -0,0 +1,28 @@
+package app.luqma.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One rate limit decision for an API request, spanning the client lookup and check.
+ */
+@Name("luqma.RateLimit")
+@Label("Rate Limit Decision")
+@Category({"Luqma", "HTTP"})
+@Description("Rate limit check for an API request")
+@StackTrace(false)
+public class RateLimitEvent extends Event {
+
+    @Label("Client")
+    public String client;
+
+    @Label("Allowed")
+    public boolean allowed;
+
+    @Label("Remaining")
+    public int remaining;
+}
@@ -0,0 +1,32 @@
+package app.luqma.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call to the Spoonacular API, from sending the request until the response
+ * body is closed.
+ */
+@Name("luqma.UpstreamCall")
+@Label("Upstream Call")
+@Category({"Luqma", "Upstream"})
+@Description("Call to the Spoonacular API, until the response body is closed")
+@StackTrace(false)
+public class UpstreamCallEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Status")
+    @Description("HTTP status, or 0 if no response was received")
+    public int status;
+
+    @Label("Response Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -1,13 +1,11 @@
 package app.luqma.backend.mapper;
 
-import app.luqma.backend.constants.NutrientNames;
+import app.luqma.backend.constants.KeyNutrient;
 import app.luqma.backend.model.domain.Nutrient;
 import app.luqma.backend.model.domain.NutritionInfo;
 import app.luqma.backend.model.dto.NutritionDTO;
 
 import java.util.List;
-import java.util.Optional;
-import java.util.function.Function;
 
 /**
  * Utility class for extracting and processing nutrient information.
@@ -32,37 +30,65 @@ public final class NutrientExtractor {
             return 0.0;
         }
         
-        return nutrients.stream()
-                .filter(n -> name.equalsIgnoreCase(n.name()))
-                .findFirst()
-                .map(Nutrient::amount)
-                .orElse(0.0);
+        for (Nutrient nutrient : nutrients) {
+            if (name.equalsIgnoreCase(nutrient.name())) {
+                return nutrient.amount();
+            }
+        }
+        return 0.0;
+    }
+    
+    /**
+     * Collects the amounts of all {@link KeyNutrient key nutrients} in a single pass.
+     * Like {@link #findNutrientAmount}, the first entry with a matching name wins and
+     * missing nutrients are 0.0.
+     * 
+     * @param nutrients list of nutrients to scan (can be null)
+     * @return amounts indexed by {@link KeyNutrient#ordinal()}
+     */
+    public static double[] keyNutrientAmounts(List<Nutrient> nutrients) {
+        double[] amounts = new double[KeyNutrient.COUNT];
+        if (nutrients == null) {
+            return amounts;
+        }
+        
+        int found = 0;
+        int all = (1 << KeyNutrient.COUNT) - 1;
+        for (int i = 0, size = nutrients.size(); i < size && found != all; i++) {
+            Nutrient nutrient = nutrients.get(i);
+            KeyNutrient key = KeyNutrient.resolve(nutrient.name());
+            if (key != null && (found & (1 << key.ordinal())) == 0) {
+                found |= 1 << key.ordinal();
+                amounts[key.ordinal()] = nutrient.amount();
+            }
+        }
+        return amounts;
     }
     
     /**
      * Extracts nutrition information from a NutritionInfo object and converts to DTO.
-     * Returns empty DTO if nutrition info is null or has no nutrients.
+     * Returns empty DTO if nutrition info is null.
      * 
      * @param nutritionInfo the nutrition info object from domain model
      * @return NutritionDTO with extracted nutrient values
      */
     public static NutritionDTO extractNutritionDTO(NutritionInfo nutritionInfo) {
-        if (nutritionInfo == null || nutritionInfo.getNutrients() == null) {
+        if (nutritionInfo == null) {
             return createEmptyNutritionDTO();
         }
         
-        var nutrients = nutritionInfo.getNutrients();
+        double[] amounts = keyNutrientAmounts(nutritionInfo.getNutrients());
         var breakdown = nutritionInfo.getCaloricBreakdown();
         
         return new NutritionDTO(
-                findNutrientAmount(nutrients, NutrientNames.CALORIES),
-                findNutrientAmount(nutrients, NutrientNames.PROTEIN),
-                findNutrientAmount(nutrients, NutrientNames.FAT),
-                findNutrientAmount(nutrients, NutrientNames.CARBOHYDRATES),
-                findNutrientAmount(nutrients, NutrientNames.FIBER),
-                getBreakdownValue(breakdown, b -> b.percentProtein()),
-                getBreakdownValue(breakdown, b -> b.percentFat()),
-                getBreakdownValue(breakdown, b -> b.percentCarbs())
+                amounts[KeyNutrient.CALORIES.ordinal()],
+                amounts[KeyNutrient.PROTEIN.ordinal()],
+                amounts[KeyNutrient.FAT.ordinal()],
+                amounts[KeyNutrient.CARBOHYDRATES.ordinal()],
+                amounts[KeyNutrient.FIBER.ordinal()],
+                breakdown != null ? breakdown.percentProtein() : 0.0,
+                breakdown != null ? breakdown.percentFat() : 0.0,
+                breakdown != null ? breakdown.percentCarbs() : 0.0
         );
     }
     
@@ -76,19 +102,23 @@ public final class NutrientExtractor {
     }
     
     /**
-     * Safely extracts a value from caloric breakdown.
-     * Returns 0.0 if breakdown is null.
+     * Computes the field-wise difference {@code variant - baseline}.
      * 
-     * @param breakdown the caloric breakdown object
-     * @param extractor function to extract the desired value
-     * @return the extracted value or 0.0 if breakdown is null
+     * @param baseline the reference nutrition
+     * @param variant the changed nutrition
+     * @return nutrition delta; negative values are reductions
      */
-    private static Double getBreakdownValue(
-            NutritionInfo.CaloricBreakdown breakdown,
-            Function<NutritionInfo.CaloricBreakdown, Double> extractor) {
-        return Optional.ofNullable(breakdown)
-                .map(extractor)
-                .orElse(0.0);
+    public static NutritionDTO nutritionDelta(NutritionDTO baseline, NutritionDTO variant) {
+        return new NutritionDTO(
+                variant.calories() - baseline.calories(),
+                variant.protein() - baseline.protein(),
+                variant.fat() - baseline.fat(),
+                variant.carbohydrates() - baseline.carbohydrates(),
+                variant.fiber() - baseline.fiber(),
+                variant.percentProtein() - baseline.percentProtein(),
+                variant.percentFat() - baseline.percentFat(),
+                variant.percentCarbs() - baseline.percentCarbs()
+        );
     }
     
     /**
@@ -99,10 +129,23 @@ public final class NutrientExtractor {
      * @return recalculated caloric breakdown
      */
     public static NutritionInfo.CaloricBreakdown recalculateCaloricBreakdown(List<Nutrient> nutrients) {
-        Double protein = findNutrientAmount(nutrients, NutrientNames.PROTEIN);
-        Double fat = findNutrientAmount(nutrients, NutrientNames.FAT);
-        Double carbs = findNutrientAmount(nutrients, NutrientNames.CARBOHYDRATES);
-        
+        double[] amounts = keyNutrientAmounts(nutrients);
+        return caloricBreakdown(
+                amounts[KeyNutrient.PROTEIN.ordinal()],
+                amounts[KeyNutrient.FAT.ordinal()],
+                amounts[KeyNutrient.CARBOHYDRATES.ordinal()]);
+    }
+    
+    /**
+     * Calculates caloric breakdown percentages from macronutrient amounts in grams.
+     * Uses the 4-4-9 rule: protein and carbs = 4 cal/g, fat = 9 cal/g.
+     * 
+     * @param protein protein in grams
+     * @param fat fat in grams
+     * @param carbs carbohydrates in grams
+     * @return caloric breakdown, all zeros if there are no macronutrient calories
+     */
+    public static NutritionInfo.CaloricBreakdown caloricBreakdown(double protein, double fat, double carbs) {
         double proteinCalories = protein * 4;
         double fatCalories = fat * 9;
         double carbCalories = carbs * 4;
@@ -115,4 +158,3 @@ public final class NutrientExtractor {
         return new NutritionInfo.CaloricBreakdown(percentProtein, percentFat, percentCarbs);
     }
 }
-
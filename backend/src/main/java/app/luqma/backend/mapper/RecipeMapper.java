@@ -1,15 +1,19 @@
 package app.luqma.backend.mapper;
 
+import app.luqma.backend.model.domain.AnalyzedInstruction;
 import app.luqma.backend.model.domain.ExtendedIngredient;
 import app.luqma.backend.model.domain.InstructionStep;
 import app.luqma.backend.model.domain.RecipeDetail;
 import app.luqma.backend.model.dto.IngredientDTO;
+import app.luqma.backend.model.dto.NutritionDTO;
 import app.luqma.backend.model.dto.RecipeDetailResponse;
 import app.luqma.backend.model.dto.RecipeSearchResponse;
 import app.luqma.backend.model.dto.RecipeSummary;
+import app.luqma.backend.model.dto.spoonacular.SpoonacularEnrichedSearchResponse;
 import app.luqma.backend.model.dto.spoonacular.SpoonacularSearchResponse;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -53,13 +57,36 @@ public final class RecipeMapper {
         return new RecipeSearchResponse(recipes, page, pageSize, totalResults);
     }
     
+    /**
+     * Maps an enriched Spoonacular search response to the API response DTO.
+     * Results are reduced to the same summary fields as a plain search.
+     * 
+     * @param spoonacularResponse Spoonacular search response with recipe details
+     * @param page current page number (1-indexed)
+     * @param pageSize number of results per page
+     * @return RecipeSearchResponse DTO
+     */
+    public static RecipeSearchResponse toRecipeSearchResponse(
+            SpoonacularEnrichedSearchResponse spoonacularResponse, int page, int pageSize) {
+        
+        List<RecipeSummary> recipes = Optional.ofNullable(spoonacularResponse.getResults())
+                .orElse(List.of())
+                .stream()
+                .map(RecipeMapper::toRecipeSummary)
+                .collect(Collectors.toList());
+        
+        int totalResults = Optional.ofNullable(spoonacularResponse.getTotalResults()).orElse(0);
+        
+        return new RecipeSearchResponse(recipes, page, pageSize, totalResults);
+    }
+    
     /**
      * Maps SpoonacularRecipeSummary to RecipeSummary DTO.
      * 
      * @param spoonacularRecipe Spoonacular recipe summary
      * @return RecipeSummary DTO
      */
-    private static RecipeSummary toRecipeSummary(
+    public static RecipeSummary toRecipeSummary(
             SpoonacularSearchResponse.SpoonacularRecipeSummary spoonacularRecipe) {
         return new RecipeSummary(
                 spoonacularRecipe.getId(),
@@ -68,6 +95,20 @@ public final class RecipeMapper {
         );
     }
     
+    /**
+     * Maps a RecipeDetail from an enriched search to RecipeSummary DTO.
+     * 
+     * @param recipe the recipe domain model
+     * @return RecipeSummary DTO
+     */
+    public static RecipeSummary toRecipeSummary(RecipeDetail recipe) {
+        return new RecipeSummary(
+                recipe.getId(),
+                recipe.getTitle(),
+                recipe.getImage()
+        );
+    }
+    
     /**
      * Maps a RecipeDetail domain model to RecipeDetailResponse DTO.
      * 
@@ -75,15 +116,26 @@ public final class RecipeMapper {
      * @return RecipeDetailResponse DTO
      */
     public static RecipeDetailResponse toRecipeDetailResponse(RecipeDetail recipe) {
+        return toRecipeDetailResponse(recipe, NutrientExtractor.extractNutritionDTO(recipe.getNutrition()));
+    }
+    
+    /**
+     * Maps a RecipeDetail domain model to RecipeDetailResponse DTO using an
+     * already computed nutrition summary.
+     * 
+     * @param recipe the recipe domain model
+     * @param nutritionDTO nutrition summary for the recipe
+     * @return RecipeDetailResponse DTO
+     */
+    public static RecipeDetailResponse toRecipeDetailResponse(RecipeDetail recipe, NutritionDTO nutritionDTO) {
         log.debug("Mapping recipe to response DTO: {}", recipe.getId());
         
-        var ingredients = Optional.ofNullable(recipe.getExtendedIngredients())
-                .orElse(List.of())
-                .stream()
-                .map(RecipeMapper::toIngredientDTO)
-                .collect(Collectors.toList());
+        List<ExtendedIngredient> extendedIngredients = recipe.getExtendedIngredients();
+        List<IngredientDTO> ingredients = new ArrayList<>(extendedIngredients.size());
+        for (ExtendedIngredient ingredient : extendedIngredients) {
+            ingredients.add(toIngredientDTO(ingredient));
+        }
         
-        var nutritionDTO = NutrientExtractor.extractNutritionDTO(recipe.getNutrition());
         var instructions = extractInstructions(recipe);
         
         return new RecipeDetailResponse(
@@ -123,11 +175,14 @@ public final class RecipeMapper {
      */
     private static List<String> extractInstructions(RecipeDetail recipe) {
         var analyzedInstructions = recipe.getAnalyzedInstructions();
-        if (analyzedInstructions != null && !analyzedInstructions.isEmpty()) {
-            return analyzedInstructions.stream()
-                    .flatMap(ai -> ai.getSteps().stream())
-                    .map(InstructionStep::step)
-                    .collect(Collectors.toList());
+        if (!analyzedInstructions.isEmpty()) {
+            List<String> steps = new ArrayList<>();
+            for (AnalyzedInstruction instruction : analyzedInstructions) {
+                for (InstructionStep step : instruction.getSteps()) {
+                    steps.add(step.step());
+                }
+            }
+            return steps;
         }
         
         var simpleInstructions = recipe.getInstructions();
@@ -0,0 +1,137 @@
+package app.luqma.backend.metrics;
+
+import app.luqma.backend.config.RequestMetricsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes per-stage request latencies and logs slow requests.
+ *
+ * <p>Each request's {@link StageTimings} become samples of {@value #STAGE_TIMER}
+ * tagged {@code stage}, {@code endpoint} (the matched route pattern) and
+ * {@code cache} ({@code hit}, {@code miss} or {@code none}), and its total of
+ * {@value #REQUEST_TIMER}. Only stages the request entered are recorded. All timers
+ * publish percentile histograms so p99 can be aggregated across instances.
+ */
+@Slf4j
+@Component
+public class RequestMetrics {
+
+    static final String STAGE_TIMER = "luqma.request.stage";
+    static final String REQUEST_TIMER = "luqma.request";
+
+    private static final String[] CACHE_OUTCOMES = {
+            StageTimings.CACHE_NONE, StageTimings.CACHE_HIT, StageTimings.CACHE_MISS
+    };
+
+    private final MeterRegistry meterRegistry;
+    private final long slowRequestThresholdNanos;
+    private final Map<String, EndpointTimers> timers = new ConcurrentHashMap<>();
+
+    public RequestMetrics(MeterRegistry meterRegistry, RequestMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestThresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowRequestThresholdMillis());
+    }
+
+    /**
+     * Records a finished request.
+     *
+     * @param endpoint the matched route pattern, e.g. {@code /api/v1/recipes/{id}}
+     * @param timings the request's stage timings
+     * @param totalNanos the request's wall time in nanoseconds
+     */
+    public void record(String endpoint, StageTimings timings, long totalNanos) {
+        String cache = timings.cacheOutcome();
+        EndpointTimers endpointTimers = timers.computeIfAbsent(endpoint, EndpointTimers::new);
+        int cacheIndex = cacheIndex(cache);
+
+        endpointTimers.request(cacheIndex).record(totalNanos, TimeUnit.NANOSECONDS);
+        for (Stage stage : Stage.values()) {
+            long nanos = timings.nanos(stage);
+            if (nanos > 0) {
+                endpointTimers.stage(stage, cacheIndex).record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (totalNanos > slowRequestThresholdNanos) {
+            log.warn("Slow request: {} took {}ms (cache={}) [{}]",
+                    endpoint, TimeUnit.NANOSECONDS.toMillis(totalNanos), cache, breakdown(timings));
+        }
+    }
+
+    private static int cacheIndex(String cache) {
+        for (int i = 0; i < CACHE_OUTCOMES.length; i++) {
+            if (CACHE_OUTCOMES[i].equals(cache)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown cache outcome: " + cache);
+    }
+
+    private static String breakdown(StageTimings timings) {
+        StringBuilder builder = new StringBuilder();
+        for (Stage stage : Stage.values()) {
+            long nanos = timings.nanos(stage);
+            if (nanos > 0) {
+                if (!builder.isEmpty()) {
+                    builder.append(", ");
+                }
+                builder.append(stage.tagValue()).append('=')
+                        .append(Duration.ofNanos(nanos).toMillis()).append("ms");
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Timers of one endpoint, created on first use and indexed by stage and cache outcome.
+     * Registration is idempotent, so threads racing to fill a slot get the same timer.
+     */
+    private final class EndpointTimers {
+
+        private final String endpoint;
+        private final Timer[] requests = new Timer[CACHE_OUTCOMES.length];
+        private final Timer[] stages = new Timer[Stage.COUNT * CACHE_OUTCOMES.length];
+
+        EndpointTimers(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        Timer request(int cacheIndex) {
+            Timer timer = requests[cacheIndex];
+            if (timer == null) {
+                timer = Timer.builder(REQUEST_TIMER)
+                        .description("API request latency")
+                        .tag("endpoint", endpoint)
+                        .tag("cache", CACHE_OUTCOMES[cacheIndex])
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+                requests[cacheIndex] = timer;
+            }
+            return timer;
+        }
+
+        Timer stage(Stage stage, int cacheIndex) {
+            int index = stage.ordinal() * CACHE_OUTCOMES.length + cacheIndex;
+            Timer timer = stages[index];
+            if (timer == null) {
+                timer = Timer.builder(STAGE_TIMER)
+                        .description("Time spent in one stage of an API request")
+                        .tag("stage", stage.tagValue())
+                        .tag("endpoint", endpoint)
+                        .tag("cache", CACHE_OUTCOMES[cacheIndex])
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+                stages[index] = timer;
+            }
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package app.luqma.backend.metrics;
+
+/**
+ * Request processing stages timed by {@link StageTimings}.
+ */
+public enum Stage {
+
+    RATE_LIMIT("rate_limit"),
+    CACHE_LOOKUP("cache_lookup"),
+    UPSTREAM("upstream"),
+    JSON_DECODE("json_decode"),
+    VALIDATION("validation"),
+    NUTRITION("nutrition"),
+    MAPPING("mapping"),
+    SERIALIZATION("serialization");
+
+    /** Number of stages; size of arrays indexed by {@link #ordinal()}. */
+    public static final int COUNT = values().length;
+
+    private final String tagValue;
+
+    Stage(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+    /**
+     * Returns the value of the {@code stage} metric tag.
+     */
+    public String tagValue() {
+        return tagValue;
+    }
+}
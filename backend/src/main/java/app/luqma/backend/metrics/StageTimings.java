@@ -0,0 +1,168 @@
+package app.luqma.backend.metrics;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Time spent in each {@link Stage} while handling one request.
+ *
+ * <p>The request's timings are bound to the handling thread by the request metrics
+ * filter. Code on the request path times a stage with
+ * <pre>{@code
+ * long start = StageTimings.start();
+ * ...
+ * StageTimings.record(Stage.MAPPING, start);
+ * }</pre>
+ * which adds to the stage's total and does nothing when no request is bound, as in
+ * unit tests and benchmarks. Asynchronous request processing rebinds the timings on
+ * the thread that completes the request. A stage entered several times, or from several threads
+ * via {@link #propagate(Callable)}, accumulates, so parallel stages can sum to more
+ * than the request's wall time.
+ */
+public final class StageTimings {
+
+    /** No cache was consulted. */
+    public static final String CACHE_NONE = "none";
+    /** Every cache lookup hit. */
+    public static final String CACHE_HIT = "hit";
+    /** At least one cache lookup missed. */
+    public static final String CACHE_MISS = "miss";
+
+    private static final int NONE = 0;
+    private static final int HIT = 1;
+    private static final int MISS = 2;
+
+    private static final ThreadLocal<StageTimings> CURRENT = new ThreadLocal<>();
+
+    private final AtomicLongArray nanos = new AtomicLongArray(Stage.COUNT);
+    private final AtomicInteger cache = new AtomicInteger(NONE);
+
+    /**
+     * Binds new timings to the current thread.
+     *
+     * @return the bound timings
+     */
+    public static StageTimings begin() {
+        StageTimings timings = new StageTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * Binds existing timings to the current thread, for request work that continues
+     * on another thread, such as an asynchronously written response body. Pair with
+     * {@link #end()}.
+     *
+     * @param timings the request's timings
+     */
+    public static void bind(StageTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    /**
+     * Unbinds timings from the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns the timings bound to the current thread, or null if none.
+     */
+    public static StageTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Returns a start timestamp for {@link #record(Stage, long)}.
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Adds the time since {@code startNanos} to a stage of the current request.
+     *
+     * @param stage the stage
+     * @param startNanos value of {@link #start()} when the stage began
+     */
+    public static void record(Stage stage, long startNanos) {
+        StageTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(stage, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Marks a cache lookup of the current request as a hit or miss.
+     * A single miss makes the request a miss.
+     *
+     * @param hit whether the lookup hit
+     */
+    public static void recordCacheLookup(boolean hit) {
+        StageTimings timings = CURRENT.get();
+        if (timings != null) {
+            if (hit) {
+                timings.cache.compareAndSet(NONE, HIT);
+            } else {
+                timings.cache.set(MISS);
+            }
+        }
+    }
+
+    /**
+     * Wraps a task so that stages it records count toward the current request,
+     * for work handed to other threads.
+     *
+     * @param task the task
+     * @return the task bound to the current request's timings, or the task itself if none
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        StageTimings timings = CURRENT.get();
+        if (timings == null) {
+            return task;
+        }
+        return () -> {
+            StageTimings previous = CURRENT.get();
+            CURRENT.set(timings);
+            try {
+                return task.call();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    /**
+     * Adds time to a stage.
+     *
+     * @param stage the stage
+     * @param durationNanos time spent, in nanoseconds
+     */
+    public void add(Stage stage, long durationNanos) {
+        nanos.addAndGet(stage.ordinal(), durationNanos);
+    }
+
+    /**
+     * Returns the total time recorded for a stage, in nanoseconds.
+     */
+    public long nanos(Stage stage) {
+        return nanos.get(stage.ordinal());
+    }
+
+    /**
+     * Returns the cache outcome: {@link #CACHE_NONE}, {@link #CACHE_HIT} or {@link #CACHE_MISS}.
+     */
+    public String cacheOutcome() {
+        return switch (cache.get()) {
+            case HIT -> CACHE_HIT;
+            case MISS -> CACHE_MISS;
+            default -> CACHE_NONE;
+        };
+    }
+}
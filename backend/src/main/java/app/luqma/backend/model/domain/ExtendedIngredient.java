@@ -1,37 +1,42 @@
 package app.luqma.backend.model.domain;
 
+import app.luqma.backend.util.CollectionUtils;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
 
 /**
  * Internal domain model for ingredient data from Spoonacular API.
  * Excluded from API documentation via package-level configuration.
  */
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class ExtendedIngredient {
     
-    private Long id;
-    private String name;
-    private Double amount;
-    private String unit;
-    private IngredientNutrition nutrition;
+    Long id;
+    String name;
+    Double amount;
+    String unit;
+    IngredientNutrition nutrition;
     
     /**
      * Nutrition information for an ingredient.
      */
-    @Data
-    @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
+    @Value
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class IngredientNutrition {
-        private java.util.List<Nutrient> nutrients;
+        
+        List<Nutrient> nutrients;
+        
+        @Builder
+        @Jacksonized
+        public IngredientNutrition(List<Nutrient> nutrients) {
+            this.nutrients = CollectionUtils.immutableCopy(nutrients);
+        }
     }
 }
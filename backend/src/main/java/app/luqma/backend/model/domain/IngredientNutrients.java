@@ -0,0 +1,28 @@
+package app.luqma.backend.model.domain;
+
+import app.luqma.backend.util.CollectionUtils;
+import app.luqma.backend.util.DefaultValue;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Internal domain model for one entry of the per-ingredient nutrition breakdown
+ * ({@code nutrition.ingredients[]}) from Spoonacular API. Amounts are per serving,
+ * like the recipe totals.
+ * Excluded from API documentation via package-level configuration.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record IngredientNutrients(
+        Long id,
+        String name,
+        Double amount,
+        String unit,
+        List<Nutrient> nutrients
+) {
+    public IngredientNutrients {
+        amount = DefaultValue.orZeroDouble(amount);
+        unit = DefaultValue.orElse(unit, "");
+        nutrients = CollectionUtils.immutableCopy(nutrients);
+    }
+}
@@ -4,30 +4,38 @@ import app.luqma.backend.util.CollectionUtils;
 import app.luqma.backend.util.DefaultValue;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Internal domain model for nutrition data from Spoonacular API.
  * Excluded from API documentation via package-level configuration.
  */
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@Value
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class NutritionInfo {
     
-    @Builder.Default
-    private List<Nutrient> nutrients = new ArrayList<>();
+    List<Nutrient> nutrients;
     
-    @JsonProperty("caloricBreakdown")
-    private CaloricBreakdown caloricBreakdown;
+    CaloricBreakdown caloricBreakdown;
+    
+    /**
+     * Per-ingredient nutrient breakdown, in the order of the recipe's ingredient list.
+     * Empty when the upstream payload does not include it.
+     */
+    List<IngredientNutrients> ingredients;
+    
+    @Builder(toBuilder = true)
+    @Jacksonized
+    public NutritionInfo(List<Nutrient> nutrients, CaloricBreakdown caloricBreakdown,
+                         List<IngredientNutrients> ingredients) {
+        this.nutrients = CollectionUtils.immutableCopy(nutrients);
+        this.caloricBreakdown = caloricBreakdown;
+        this.ingredients = CollectionUtils.immutableCopy(ingredients);
+    }
     
     @JsonIgnoreProperties(ignoreUnknown = true)
     public record CaloricBreakdown(
@@ -46,8 +54,4 @@ public class NutritionInfo {
             percentCarbs = DefaultValue.orZeroDouble(percentCarbs);
         }
     }
-    
-    public List<Nutrient> getNutrients() {
-        return CollectionUtils.defensiveCopy(nutrients);
-    }
 }
@@ -2,51 +2,47 @@ package app.luqma.backend.model.domain;
 
 import app.luqma.backend.util.CollectionUtils;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Internal domain model for recipe data from Spoonacular API.
  * Excluded from API documentation via package-level configuration.
+ * 
+ * <p>Instances are deeply immutable: lists are copied once at construction, so
+ * cached recipes can be shared between requests and read without copying.
+ * Use {@link #toBuilder()} to derive a modified recipe.
  */
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@Value
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class RecipeDetail {
     
-    private Long id;
-    private String title;
-    private String image;
-    private Integer servings;
-    
-    @JsonProperty("readyInMinutes")
-    private Integer readyInMinutes;
-    
-    private String instructions;
-    
-    @JsonProperty("extendedIngredients")
-    @Builder.Default
-    private List<ExtendedIngredient> extendedIngredients = new ArrayList<>();
-    
-    private NutritionInfo nutrition;
-    
-    @JsonProperty("analyzedInstructions")
-    @Builder.Default
-    private List<AnalyzedInstruction> analyzedInstructions = new ArrayList<>();
-    
-    public List<ExtendedIngredient> getExtendedIngredients() {
-        return CollectionUtils.defensiveCopy(extendedIngredients);
-    }
-    
-    public List<AnalyzedInstruction> getAnalyzedInstructions() {
-        return CollectionUtils.defensiveCopy(analyzedInstructions);
+    Long id;
+    String title;
+    String image;
+    Integer servings;
+    Integer readyInMinutes;
+    String instructions;
+    List<ExtendedIngredient> extendedIngredients;
+    NutritionInfo nutrition;
+    List<AnalyzedInstruction> analyzedInstructions;
+    
+    @Builder(toBuilder = true)
+    @Jacksonized
+    public RecipeDetail(Long id, String title, String image, Integer servings, Integer readyInMinutes,
+                        String instructions, List<ExtendedIngredient> extendedIngredients,
+                        NutritionInfo nutrition, List<AnalyzedInstruction> analyzedInstructions) {
+        this.id = id;
+        this.title = title;
+        this.image = image;
+        this.servings = servings;
+        this.readyInMinutes = readyInMinutes;
+        this.instructions = instructions;
+        this.extendedIngredients = CollectionUtils.immutableCopy(extendedIngredients);
+        this.nutrition = nutrition;
+        this.analyzedInstructions = CollectionUtils.immutableCopy(analyzedInstructions);
     }
 }
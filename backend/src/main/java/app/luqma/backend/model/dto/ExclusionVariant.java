@@ -0,0 +1,20 @@
+package app.luqma.backend.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Nutrition change caused by one exclusion set.
+ *
+ * @param ingredientIds excluded ingredient IDs, sorted and de-duplicated
+ * @param delta nutrition after exclusion minus baseline nutrition
+ */
+@Schema(description = "Nutrition change for one exclusion set")
+public record ExclusionVariant(
+    @Schema(description = "Excluded ingredient IDs (sorted, de-duplicated)", example = "[5006, 1001]")
+    List<Long> ingredientIds,
+    
+    @Schema(description = "Nutrition after exclusion minus baseline; negative values are reductions")
+    NutritionDTO delta
+) {}
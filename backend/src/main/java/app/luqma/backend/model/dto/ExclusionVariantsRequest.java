@@ -0,0 +1,28 @@
+package app.luqma.backend.model.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO for evaluating several ingredient exclusion sets against one recipe.
+ */
+@Schema(description = "Request to evaluate nutrition for several ingredient exclusion sets")
+public record ExclusionVariantsRequest(
+        @ArraySchema(
+                arraySchema = @Schema(
+                        description = "Exclusion sets to evaluate; each set is a list of ingredient IDs",
+                        example = "[[20409], [5006, 1001], [1077]]",
+                        requiredMode = Schema.RequiredMode.REQUIRED
+                )
+        )
+        @NotNull(message = "Exclusion sets cannot be null")
+        @Size(min = 1, max = 50, message = "Between 1 and 50 exclusion sets must be provided")
+        List<@NotEmpty(message = "Each exclusion set must contain at least one ingredient ID")
+                List<@NotNull(message = "Ingredient IDs cannot be null") Long>> exclusionSets
+) {
+}
@@ -0,0 +1,24 @@
+package app.luqma.backend.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response DTO for batch exclusion evaluation.
+ *
+ * @param recipeId ID of the evaluated recipe
+ * @param baseline nutrition of the recipe with no exclusions
+ * @param variants one entry per requested exclusion set, in request order
+ */
+@Schema(description = "Baseline nutrition and per-set nutrition deltas")
+public record ExclusionVariantsResponse(
+    @Schema(description = "Recipe ID", example = "715497")
+    Long recipeId,
+    
+    @Schema(description = "Nutrition of the recipe with no exclusions")
+    NutritionDTO baseline,
+    
+    @Schema(description = "Nutrition deltas, one per requested exclusion set, in request order")
+    List<ExclusionVariant> variants
+) {}
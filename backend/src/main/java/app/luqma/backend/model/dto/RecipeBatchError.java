@@ -0,0 +1,22 @@
+package app.luqma.backend.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Failure to load one recipe of a batch.
+ *
+ * @param id the requested recipe ID
+ * @param status HTTP status the single-recipe endpoint would have returned
+ * @param message user-friendly error message
+ */
+@Schema(description = "Per-recipe error in a batch response")
+public record RecipeBatchError(
+    @Schema(description = "Requested recipe ID", example = "999999")
+    Long id,
+    
+    @Schema(description = "HTTP status the single-recipe endpoint would return", example = "404")
+    int status,
+    
+    @Schema(description = "Error message", example = "Recipe not found")
+    String message
+) {}
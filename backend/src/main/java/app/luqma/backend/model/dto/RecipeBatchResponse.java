@@ -0,0 +1,20 @@
+package app.luqma.backend.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response DTO for multi-recipe retrieval.
+ *
+ * @param recipes recipes that were loaded, in request order without duplicates
+ * @param errors one entry per requested ID that could not be loaded
+ */
+@Schema(description = "Recipes loaded in one batch, with per-ID errors")
+public record RecipeBatchResponse(
+    @Schema(description = "Loaded recipes, in request order without duplicates")
+    List<RecipeDetailResponse> recipes,
+    
+    @Schema(description = "Errors for IDs that could not be loaded; empty if all succeeded")
+    List<RecipeBatchError> errors
+) {}
@@ -11,6 +11,7 @@ import java.util.List;
  * @param page Current page number (1-indexed)
  * @param pageSize Number of items per page
  * @param totalResults Total number of results available
+ * @param nextCursor Opaque cursor for the next page, or null on the last page
  */
 @Schema(description = "Paginated recipe search results")
 public record RecipeSearchResponse(
@@ -24,5 +25,24 @@ public record RecipeSearchResponse(
     int pageSize,
     
     @Schema(description = "Total number of results available", example = "47")
-    int totalResults
-) {}
+    int totalResults,
+    
+    @Schema(description = "Opaque cursor for the next page; pass as 'cursor' with the same query. " +
+                          "Null on the last page.", example = "AQAAAAAAAG4AAAAACQAAAAlwYXN0YQ...")
+    String nextCursor
+) {
+    
+    /**
+     * Creates a response without a continuation cursor.
+     */
+    public RecipeSearchResponse(List<RecipeSummary> results, int page, int pageSize, int totalResults) {
+        this(results, page, pageSize, totalResults, null);
+    }
+    
+    /**
+     * Returns a copy of this response with the given continuation cursor.
+     */
+    public RecipeSearchResponse withNextCursor(String nextCursor) {
+        return new RecipeSearchResponse(results, page, pageSize, totalResults, nextCursor);
+    }
+}
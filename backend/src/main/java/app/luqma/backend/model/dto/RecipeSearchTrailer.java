@@ -0,0 +1,26 @@
+package app.luqma.backend.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Final line of a streamed search response, sent after the last result.
+ *
+ * @param page Current page number (1-indexed)
+ * @param pageSize Number of items per page
+ * @param totalResults Total number of results available
+ * @param returned Number of results streamed before this trailer
+ */
+@Schema(description = "Trailer of a streamed recipe search")
+public record RecipeSearchTrailer(
+    @Schema(description = "Current page number (1-indexed)", example = "1")
+    int page,
+    
+    @Schema(description = "Number of items per page", example = "9")
+    int pageSize,
+    
+    @Schema(description = "Total number of results available", example = "47")
+    int totalResults,
+    
+    @Schema(description = "Number of results streamed before this trailer", example = "9")
+    int returned
+) {}
@@ -0,0 +1,51 @@
+package app.luqma.backend.model.dto.spoonacular;
+
+import app.luqma.backend.model.domain.RecipeDetail;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a Spoonacular complexSearch response requested with
+ * {@code addRecipeInformation} and {@code addRecipeNutrition}.
+ *
+ * <p>Each result then carries the fields of GET /recipes/{id}/information and is
+ * decoded straight into a {@link RecipeDetail}. Results may still lack parts of
+ * it (e.g. the ingredient list), so callers check completeness before using one
+ * in place of a detail call.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SpoonacularEnrichedSearchResponse {
+    
+    /**
+     * Array of recipe search results with recipe information and nutrition.
+     */
+    @Builder.Default
+    private List<RecipeDetail> results = new ArrayList<>();
+    
+    /**
+     * Starting position in the result set (pagination offset).
+     */
+    private Integer offset;
+    
+    /**
+     * Number of results returned in this response.
+     */
+    private Integer number;
+    
+    /**
+     * Total number of recipes matching the search criteria.
+     */
+    @JsonProperty("totalResults")
+    private Integer totalResults;
+}
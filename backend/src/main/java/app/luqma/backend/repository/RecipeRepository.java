@@ -1,11 +1,16 @@
 package app.luqma.backend.repository;
 
 import app.luqma.backend.client.RecipeApiClient;
+import app.luqma.backend.constants.CacheNames;
 import app.luqma.backend.constants.ErrorMessages;
 import app.luqma.backend.exception.ResourceNotFoundException;
+import app.luqma.backend.jfr.CacheOperationEvent;
+import app.luqma.backend.metrics.Stage;
+import app.luqma.backend.metrics.StageTimings;
 import app.luqma.backend.model.domain.RecipeDetail;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Repository;
 
 import java.util.Objects;
@@ -19,7 +24,8 @@ import java.util.Optional;
  * 
  * <p><strong>Caching Strategy:</strong>
  * Recipe details are cached by ID to avoid repeated API calls for the same recipe.
- * Cache is managed by Spring's caching abstraction.
+ * The cache is accessed programmatically rather than through {@code @Cacheable} so
+ * that internal calls such as {@link #getById(Long)} are served from it too.
  * 
  * @see RecipeApiClient
  */
@@ -28,10 +34,13 @@ import java.util.Optional;
 public class RecipeRepository {
     
     private final RecipeApiClient recipeApiClient;
+    private final Cache recipeCache;
     
-    public RecipeRepository(RecipeApiClient recipeApiClient) {
+    public RecipeRepository(RecipeApiClient recipeApiClient, CacheManager cacheManager) {
         this.recipeApiClient = Objects.requireNonNull(recipeApiClient, 
                 "RecipeApiClient cannot be null");
+        this.recipeCache = Objects.requireNonNull(cacheManager.getCache(CacheNames.RECIPES),
+                "Recipe cache is not configured");
         log.info("RecipeRepository initialized with recipe API integration");
     }
     
@@ -45,7 +54,6 @@ public class RecipeRepository {
      * @return Optional containing the recipe if found, empty otherwise
      * @throws IllegalArgumentException if ID is null or invalid
      */
-    @Cacheable(value = "recipes", key = "#id", unless = "#result == null || #result.isEmpty()")
     public Optional<RecipeDetail> findById(Long id) {
         Objects.requireNonNull(id, ErrorMessages.RECIPE_ID_NULL);
         
@@ -54,11 +62,19 @@ public class RecipeRepository {
             throw new IllegalArgumentException(ErrorMessages.RECIPE_ID_POSITIVE);
         }
         
+        RecipeDetail cached = lookUp(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        
         log.debug("Fetching recipe from API: id={}", id);
         
         try {
+            CacheOperationEvent load = CacheOperationEvent.beginLoad(CacheNames.RECIPES);
             RecipeDetail recipe = recipeApiClient.getRecipeInformation(id);
             log.debug("Recipe fetched successfully: id={}, title='{}'", id, recipe.getTitle());
+            recipeCache.put(id, recipe);
+            load.commitLoad(id);
             return Optional.of(recipe);
         } catch (app.luqma.backend.exception.ExternalApiException e) {
             if (e.getStatusCode() == 404) {
@@ -70,6 +86,43 @@ public class RecipeRepository {
         }
     }
     
+    /**
+     * Returns a recipe only if it is already cached, without calling the API.
+     * 
+     * @param id the recipe ID
+     * @return Optional containing the cached recipe, empty on a cache miss
+     */
+    public Optional<RecipeDetail> findCachedById(Long id) {
+        Objects.requireNonNull(id, ErrorMessages.RECIPE_ID_NULL);
+        return Optional.ofNullable(lookUp(id));
+    }
+    
+    /**
+     * Caches a recipe obtained other than through {@link #findById(Long)}, e.g. as
+     * part of a search response. An already cached copy is kept.
+     * 
+     * @param recipe the complete recipe to cache
+     * @return true if the recipe was added, false if it was already cached
+     */
+    public boolean cacheIfAbsent(RecipeDetail recipe) {
+        Objects.requireNonNull(recipe.getId(), ErrorMessages.RECIPE_ID_NULL);
+        return recipeCache.putIfAbsent(recipe.getId(), recipe) == null;
+    }
+    
+    /**
+     * Reads a recipe from the cache, timing the lookup and recording hit or miss
+     * for the current request and the flight recorder.
+     */
+    private RecipeDetail lookUp(Long id) {
+        long start = StageTimings.start();
+        RecipeDetail cached = recipeCache.get(id, RecipeDetail.class);
+        StageTimings.record(Stage.CACHE_LOOKUP, start);
+        StageTimings.recordCacheLookup(cached != null);
+        CacheOperationEvent.emit(CacheNames.RECIPES,
+                cached != null ? CacheOperationEvent.HIT : CacheOperationEvent.MISS, id);
+        return cached;
+    }
+    
     /**
      * Gets a recipe by ID, throwing exception if not found.
      * 
@@ -0,0 +1,120 @@
+package app.luqma.backend.service;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Canonical measurement units recognised in recipe ingredient amounts.
+ *
+ * <p>Every spelling Spoonacular uses for a unit ("tbsp", "Tbsps", "tablespoons", ...)
+ * maps to one constant through an exact-match lookup table built once at class load.
+ * Unit strings are never matched by substring, so "tablespoons" or "cloves" cannot be
+ * mistaken for litres.
+ *
+ * <p>The {@link #factor()} of a unit depends on its {@link Kind}:
+ * <ul>
+ *   <li>{@link Kind#MASS} - grams per unit</li>
+ *   <li>{@link Kind#VOLUME} - US cups per unit, multiplied by an ingredient density</li>
+ *   <li>{@link Kind#COUNT} - multiple of one medium item, multiplied by an ingredient piece weight</li>
+ *   <li>{@link Kind#FIXED} - grams per unit, independent of the ingredient</li>
+ * </ul>
+ */
+public enum CanonicalUnit {
+
+    GRAM(Kind.MASS, 1.0, "g", "gram", "grams", "gr"),
+    MILLIGRAM(Kind.MASS, 0.001, "mg", "milligram", "milligrams"),
+    KILOGRAM(Kind.MASS, 1000.0, "kg", "kilogram", "kilograms", "kilo", "kilos"),
+    OUNCE(Kind.MASS, 28.3495, "oz", "ounce", "ounces"),
+    POUND(Kind.MASS, 453.592, "lb", "lbs", "pound", "pounds"),
+
+    MILLILITER(Kind.VOLUME, 1.0 / 236.588, "ml", "milliliter", "milliliters", "millilitre", "millilitres"),
+    LITER(Kind.VOLUME, 1000.0 / 236.588, "l", "liter", "liters", "litre", "litres"),
+    TEASPOON(Kind.VOLUME, 1.0 / 48.0, "tsp", "tsps", "teaspoon", "teaspoons"),
+    TABLESPOON(Kind.VOLUME, 1.0 / 16.0, "tbsp", "tbsps", "tbs", "tablespoon", "tablespoons"),
+    FLUID_OUNCE(Kind.VOLUME, 1.0 / 8.0, "fl oz", "fl. oz", "fluid ounce", "fluid ounces"),
+    CUP(Kind.VOLUME, 1.0, "c", "cup", "cups"),
+    PINT(Kind.VOLUME, 2.0, "pt", "pint", "pints"),
+    QUART(Kind.VOLUME, 4.0, "qt", "quart", "quarts"),
+    GALLON(Kind.VOLUME, 16.0, "gal", "gallon", "gallons"),
+
+    PIECE(Kind.COUNT, 1.0, "", "piece", "pieces", "whole", "each", "ea"),
+    CLOVE(Kind.COUNT, 1.0, "clove", "cloves"),
+    STALK(Kind.COUNT, 1.0, "stalk", "stalks", "rib", "ribs"),
+    SMALL(Kind.COUNT, 0.65, "small"),
+    MEDIUM(Kind.COUNT, 1.0, "medium"),
+    LARGE(Kind.COUNT, 1.35, "large", "big"),
+
+    SLICE(Kind.FIXED, 20.0, "slice", "slices"),
+    HANDFUL(Kind.FIXED, 30.0, "handful", "handfuls"),
+    PINCH(Kind.FIXED, 0.3, "pinch", "pinches"),
+    DASH(Kind.FIXED, 0.6, "dash", "dashes"),
+    CAN(Kind.FIXED, 400.0, "can", "cans"),
+    SERVING(Kind.FIXED, 100.0, "serving", "servings"),
+
+    UNKNOWN(Kind.FIXED, 100.0);
+
+    /**
+     * How a unit's factor is turned into grams.
+     */
+    public enum Kind {
+        MASS,
+        VOLUME,
+        COUNT,
+        FIXED
+    }
+
+    private static final Map<String, CanonicalUnit> BY_ALIAS = buildAliasTable();
+
+    private final Kind kind;
+    private final double factor;
+    private final String[] aliases;
+
+    CanonicalUnit(Kind kind, double factor, String... aliases) {
+        this.kind = kind;
+        this.factor = factor;
+        this.aliases = aliases;
+    }
+
+    public Kind kind() {
+        return kind;
+    }
+
+    public double factor() {
+        return factor;
+    }
+
+    /**
+     * Resolves a unit string to its canonical unit.
+     *
+     * <p>The raw string is looked up first; only on a miss is it trimmed, lower-cased
+     * and stripped of a trailing period. A null or blank unit is a plain count.
+     *
+     * @param unit unit as written in the recipe (can be null)
+     * @return the canonical unit, or {@link #UNKNOWN} if the spelling is not recognised
+     */
+    public static CanonicalUnit parse(String unit) {
+        if (unit == null) {
+            return PIECE;
+        }
+        CanonicalUnit match = BY_ALIAS.get(unit);
+        if (match != null) {
+            return match;
+        }
+        String normalized = unit.strip().toLowerCase(Locale.ROOT);
+        if (normalized.endsWith(".")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return BY_ALIAS.getOrDefault(normalized, UNKNOWN);
+    }
+
+    private static Map<String, CanonicalUnit> buildAliasTable() {
+        Map<String, CanonicalUnit> table = new HashMap<>();
+        for (CanonicalUnit unit : values()) {
+            for (String alias : unit.aliases) {
+                table.put(alias, unit);
+            }
+        }
+        return Map.copyOf(table);
+    }
+}
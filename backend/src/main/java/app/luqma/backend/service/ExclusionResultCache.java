@@ -0,0 +1,194 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.config.ExclusionCacheProperties;
+import app.luqma.backend.constants.CacheNames;
+import app.luqma.backend.jfr.CacheOperationEvent;
+import app.luqma.backend.metrics.Stage;
+import app.luqma.backend.metrics.StageTimings;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.RecipeDetailResponse;
+import app.luqma.backend.util.ETags;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of ingredient exclusion results.
+ *
+ * <p>Entries are keyed by recipe ID plus the canonical set of excluded ingredient
+ * positions, so the same combination requested in any order or with repeated IDs
+ * maps to one entry. Each entry also keeps the result's JSON bytes and entity tag
+ * once a GET has asked for them, so conditional requests are answered without
+ * serializing or hashing again.
+ *
+ * <p><strong>Invalidation:</strong>
+ * Each entry weakly remembers the recipe instance it was computed from. When the
+ * recipe cache refreshes a recipe, lookups carry the new instance, the stored entry
+ * no longer matches and is replaced atomically. The weak reference lets a replaced
+ * or evicted recipe, and the nutrient index derived from it, be collected while
+ * results computed from it wait for size or idle-time eviction. Recipes without an
+ * ID bypass the cache.
+ *
+ * <p>Hit rate, evictions and size are published to Micrometer under
+ * {@code cache.*} with tag {@code cache=exclusions}; loads and evictions are also
+ * emitted as flight recorder events.
+ */
+@Slf4j
+@Component
+public class ExclusionResultCache {
+
+    private final boolean enabled;
+    private final ObjectMapper objectMapper;
+    private final Cache<ExclusionKey, CachedResult> cache;
+
+    public ExclusionResultCache(ExclusionCacheProperties properties, ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterAccess(Duration.ofMillis(properties.getExpireAfterAccessMillis()))
+                .recordStats()
+                .<ExclusionKey, CachedResult>evictionListener((key, _, _) ->
+                        CacheOperationEvent.emit(CacheNames.EXCLUSIONS, CacheOperationEvent.EVICTION, key))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CacheNames.EXCLUSIONS);
+        log.info("Exclusion result cache {}: maximumSize={}, expireAfterAccess={}ms",
+                enabled ? "enabled" : "disabled",
+                properties.getMaximumSize(), properties.getExpireAfterAccessMillis());
+    }
+
+    /**
+     * Returns the cached result for a recipe and exclusion set, computing it on a miss.
+     *
+     * @param recipe the base recipe the result is derived from
+     * @param excludedPositions positions of excluded ingredients in the recipe
+     * @param loader computes the result on a miss; not cached if it throws
+     * @return the exclusion result
+     */
+    public RecipeDetailResponse get(RecipeDetail recipe, BitSet excludedPositions,
+                                    Supplier<RecipeDetailResponse> loader) {
+        Objects.requireNonNull(recipe, "Recipe cannot be null");
+        if (!enabled || recipe.getId() == null) {
+            return loader.get();
+        }
+        return lookUp(recipe, excludedPositions, loader).response();
+    }
+
+    /**
+     * Returns the cached result for a recipe and exclusion set rendered to JSON with
+     * its entity tag, computing and rendering it on a miss. The rendering is kept
+     * with the entry, so it happens once per cached result.
+     *
+     * @param recipe the base recipe the result is derived from
+     * @param excludedPositions positions of excluded ingredients in the recipe
+     * @param loader computes the result on a miss; not cached if it throws
+     * @return the rendered exclusion result, without a gzip copy
+     */
+    public RenderedRecipe getRendered(RecipeDetail recipe, BitSet excludedPositions,
+                                      Supplier<RecipeDetailResponse> loader) {
+        Objects.requireNonNull(recipe, "Recipe cannot be null");
+        if (!enabled || recipe.getId() == null) {
+            return render(loader.get());
+        }
+        CachedResult cached = lookUp(recipe, excludedPositions, loader);
+        RenderedRecipe rendered = cached.rendered;
+        if (rendered == null) {
+            // Racing renders produce identical bytes, so either may win
+            rendered = render(cached.response());
+            cached.rendered = rendered;
+        }
+        return rendered;
+    }
+
+    private CachedResult lookUp(RecipeDetail recipe, BitSet excludedPositions,
+                                Supplier<RecipeDetailResponse> loader) {
+        ExclusionKey key = new ExclusionKey(recipe.getId(), excludedPositions);
+        CachedResult cached = cache.get(key, _ -> load(key, recipe, loader));
+        if (cached.isFrom(recipe)) {
+            return cached;
+        }
+
+        // Computed from a previous instance of this recipe; replace it in one step so
+        // a concurrent lookup with the same instance cannot see it or load twice
+        return cache.asMap().compute(key, (_, current) ->
+                current != null && current.isFrom(recipe) ? current : load(key, recipe, loader));
+    }
+
+    private static CachedResult load(ExclusionKey key, RecipeDetail recipe,
+                                     Supplier<RecipeDetailResponse> loader) {
+        CacheOperationEvent load = CacheOperationEvent.beginLoad(CacheNames.EXCLUSIONS);
+        CachedResult result = new CachedResult(recipe, loader.get());
+        load.commitLoad(key);
+        return result;
+    }
+
+    private RenderedRecipe render(RecipeDetailResponse response) {
+        long serializationStart = StageTimings.start();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize exclusion result for recipe " + response.id(), e);
+        }
+        String etag = ETags.strong(json);
+        StageTimings.record(Stage.SERIALIZATION, serializationStart);
+        return new RenderedRecipe(response, json, etag, null, null);
+    }
+
+    /**
+     * Returns current hit/miss statistics.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Cache key: recipe ID and a private copy of the excluded position set.
+     */
+    record ExclusionKey(long recipeId, BitSet excludedPositions) {
+        ExclusionKey {
+            excludedPositions = (BitSet) excludedPositions.clone();
+        }
+    }
+
+    /**
+     * A cached result, a weak reference to the recipe instance it was computed from,
+     * and its rendering once requested.
+     */
+    private static final class CachedResult {
+
+        private final WeakReference<RecipeDetail> source;
+        private final RecipeDetailResponse response;
+        private volatile RenderedRecipe rendered;
+
+        CachedResult(RecipeDetail source, RecipeDetailResponse response) {
+            this.source = new WeakReference<>(source);
+            this.response = response;
+        }
+
+        /**
+         * Whether this result was computed from the given instance; a collected
+         * source never matches.
+         */
+        boolean isFrom(RecipeDetail recipe) {
+            return source.get() == recipe;
+        }
+
+        RecipeDetailResponse response() {
+            return response;
+        }
+    }
+}
@@ -1,52 +1,63 @@
 package app.luqma.backend.service;
 
+import app.luqma.backend.jfr.NutritionCalculationEvent;
 import app.luqma.backend.model.domain.ExtendedIngredient;
-import app.luqma.backend.model.domain.Nutrient;
 import app.luqma.backend.model.domain.NutritionInfo;
 import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.NutritionDTO;
 import app.luqma.backend.mapper.NutrientExtractor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Service for calculating nutrition information with ingredient exclusions.
  * 
- * <p>Uses proportional estimation based on ingredient weights/volumes when
- * ingredient-level nutrition data is not available from the API.
+ * <p>When the upstream payload carries a per-ingredient breakdown
+ * ({@code nutrition.ingredients[]}), excluded ingredients are subtracted exactly.
+ * Otherwise it uses proportional estimation based on ingredient weights/volumes,
+ * with amounts converted to grams by the {@link UnitConversionEngine}.
  * 
  * <p><strong>Estimation Method:</strong>
  * Calculates the proportion of excluded ingredients relative to total recipe
  * weight and applies that proportion to each nutrient. For example, if excluded
  * ingredients represent 25% of the recipe's total weight, approximately 25% of
  * each nutrient is subtracted.
+ * 
+ * <p><strong>Nutrient Index:</strong>
+ * The first recalculation for a recipe instance builds a {@link RecipeNutrientIndex}
+ * holding the recipe total and each ingredient's nutrients as primitive vectors.
+ * The index is kept for as long as the recipe instance is reachable (for example
+ * while it sits in the recipe cache), so later exclusions on the same recipe are
+ * plain vector arithmetic.
+ * 
+ * <p>Each recalculation is emitted as a {@link NutritionCalculationEvent} while a
+ * flight recording is running.
  */
 @Slf4j
 @Service
 public class NutritionCalculationService {
     
-    // Common volume to weight conversions (approximate, in grams)
-    private static final Map<String, Double> VOLUME_TO_GRAMS = Map.ofEntries(
-            Map.entry("cup", 240.0),
-            Map.entry("tablespoon", 15.0),
-            Map.entry("tbsp", 15.0),
-            Map.entry("teaspoon", 5.0),
-            Map.entry("tsp", 5.0),
-            Map.entry("fluid ounce", 30.0),
-            Map.entry("fl oz", 30.0),
-            Map.entry("pint", 473.0),
-            Map.entry("quart", 946.0),
-            Map.entry("liter", 1000.0),
-            Map.entry("l", 1000.0),
-            Map.entry("milliliter", 1.0),
-            Map.entry("ml", 1.0)
-    );
+    private static final String RECALCULATE = "recalculate";
+    private static final String SUMMARY = "summary";
+    
+    // Keyed by recipe identity; entries disappear once the recipe is garbage collected
+    private final Cache<RecipeDetail, RecipeNutrientIndex> indexCache = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+    
+    private final UnitConversionEngine unitConversionEngine;
+    
+    public NutritionCalculationService(UnitConversionEngine unitConversionEngine) {
+        this.unitConversionEngine = unitConversionEngine;
+    }
     
     /**
      * Recalculates recipe nutrition by excluding specified ingredients.
@@ -60,256 +71,176 @@ public class NutritionCalculationService {
      * @throws IllegalArgumentException if recipe or excludedIngredientIds is null
      */
     public RecipeDetail recalculateNutrition(RecipeDetail recipe, Set<Long> excludedIngredientIds) {
+        return recalculate(recipe, excludedIngredientIds).recipe();
+    }
+    
+    /**
+     * Recalculates recipe nutrition by excluding specified ingredients and derives
+     * the nutrition summary in the same pass.
+     * 
+     * <p>If any excluded ingredient carries its own nutrient data, those nutrients are
+     * subtracted from the recipe total (clamped at zero). Otherwise the total is reduced
+     * by the excluded share of recipe weight.
+     * 
+     * @param recipe the original recipe with full ingredient list
+     * @param excludedIngredientIds set of ingredient IDs to exclude
+     * @return updated recipe and its nutrition summary
+     * @throws NullPointerException if recipe or excludedIngredientIds is null
+     */
+    public NutritionRecalculation recalculate(RecipeDetail recipe, Set<Long> excludedIngredientIds) {
         Objects.requireNonNull(recipe, "Recipe cannot be null");
         Objects.requireNonNull(excludedIngredientIds, "Excluded ingredient IDs cannot be null");
         
         if (excludedIngredientIds.isEmpty()) {
             log.debug("No ingredients to exclude, returning original recipe");
-            return recipe;
+            return unchanged(recipe, recipe.getExtendedIngredients());
         }
         
         log.debug("Recalculating nutrition for recipe {} with {} excluded ingredients", 
                 recipe.getId(), excludedIngredientIds.size());
         
-        List<ExtendedIngredient> allIngredients = recipe.getExtendedIngredients();
-        List<ExtendedIngredient> remainingIngredients = allIngredients.stream()
-                .filter(ingredient -> !excludedIngredientIds.contains(ingredient.getId()))
-                .collect(Collectors.toList());
+        NutritionCalculationEvent event = new NutritionCalculationEvent();
+        event.begin();
         
-        // Try ingredient-level nutrition first (if available)
-        Map<String, Double> nutrientsToSubtract = calculateExcludedNutrients(
-                allIngredients, excludedIngredientIds);
+        RecipeNutrientIndex index = indexFor(recipe);
+        BitSet excluded = index.positionsOf(excludedIngredientIds);
+        List<ExtendedIngredient> remainingIngredients = remainingIngredients(recipe, excluded);
         
-        NutritionInfo updatedNutrition;
-        
-        if (nutrientsToSubtract.isEmpty()) {
-            // Fallback to proportional estimation
-            log.debug("No ingredient-level nutrition available, using proportional estimation");
-            double excludedProportion = calculateExcludedProportion(allIngredients, excludedIngredientIds);
-            updatedNutrition = applyProportionalReduction(recipe.getNutrition(), excludedProportion);
-        } else {
-            // Use actual nutrient data
-            updatedNutrition = recalculateNutritionInfo(recipe.getNutrition(), nutrientsToSubtract);
+        double[] values = recalculatedValues(index, excluded, event);
+        if (values == null) {
+            NutritionRecalculation result = unchanged(recipe, remainingIngredients);
+            commit(event, RECALCULATE, recipe, excluded);
+            return result;
         }
         
-        return RecipeDetail.builder()
-                .id(recipe.getId())
-                .title(recipe.getTitle())
-                .image(recipe.getImage())
-                .servings(recipe.getServings())
-                .readyInMinutes(recipe.getReadyInMinutes())
-                .instructions(recipe.getInstructions())
-                .extendedIngredients(remainingIngredients)
-                .nutrition(updatedNutrition)
-                .analyzedInstructions(recipe.getAnalyzedInstructions())
+        NutritionInfo.CaloricBreakdown breakdown = index.caloricBreakdown(values);
+        NutritionInfo updatedNutrition = NutritionInfo.builder()
+                .nutrients(index.toNutrients(values))
+                .caloricBreakdown(breakdown)
                 .build();
+        
+        NutritionRecalculation result = new NutritionRecalculation(
+                copyWith(recipe, remainingIngredients, updatedNutrition),
+                index.toNutritionDTO(values, breakdown));
+        commit(event, RECALCULATE, recipe, excluded);
+        return result;
     }
     
     /**
-     * Calculates the proportion of excluded ingredients relative to total recipe weight.
+     * Recalculates only the nutrition summary for an exclusion, without building
+     * an updated recipe. Used to evaluate many exclusion sets against one recipe.
      * 
-     * <p>Converts all ingredients to grams (approximate) and calculates what percentage
-     * of the total recipe is being excluded.
-     * 
-     * @param allIngredients all ingredients in the recipe
-     * @param excludedIds IDs of ingredients to exclude
-     * @return proportion of excluded ingredients (0.0 to 1.0)
+     * @param recipe the original recipe
+     * @param excludedPositions positions of excluded ingredients, as resolved by the recipe's index
+     * @return nutrition summary after exclusion
      */
-    private double calculateExcludedProportion(List<ExtendedIngredient> allIngredients, Set<Long> excludedIds) {
-        double totalWeight = 0.0;
-        double excludedWeight = 0.0;
-        
-        for (ExtendedIngredient ingredient : allIngredients) {
-            double weight = convertToGrams(ingredient.getAmount(), ingredient.getUnit());
-            totalWeight += weight;
-            
-            if (excludedIds.contains(ingredient.getId())) {
-                excludedWeight += weight;
-            }
-        }
-        
-        if (totalWeight == 0.0) {
-            log.warn("Total recipe weight is 0, cannot calculate proportion");
-            return 0.0;
-        }
-        
-        double proportion = excludedWeight / totalWeight;
-        log.debug("Excluded proportion: {:.2%} (excluded: {}g, total: {}g)", 
-                proportion * 100, excludedWeight, totalWeight);
-        
-        return proportion;
+    public NutritionDTO recalculateSummary(RecipeDetail recipe, BitSet excludedPositions) {
+        Objects.requireNonNull(recipe, "Recipe cannot be null");
+        Objects.requireNonNull(excludedPositions, "Excluded positions cannot be null");
+        
+        NutritionCalculationEvent event = new NutritionCalculationEvent();
+        event.begin();
+        event.method = NutritionCalculationEvent.UNCHANGED;
+        
+        RecipeNutrientIndex index = indexFor(recipe);
+        double[] values = excludedPositions.isEmpty() ? null : recalculatedValues(index, excludedPositions, event);
+        NutritionDTO summary = values == null
+                ? NutrientExtractor.extractNutritionDTO(recipe.getNutrition())
+                : index.toNutritionDTO(values, index.caloricBreakdown(values));
+        commit(event, SUMMARY, recipe, excludedPositions);
+        return summary;
     }
     
     /**
-     * Converts ingredient amount to grams for weight comparison.
+     * Computes the nutrient vector after excluding the given ingredient positions.
      * 
-     * <p>Uses standard conversions for common units. Weight units (g, oz, lb) are
-     * converted directly. Volume units (cup, tbsp, etc.) use approximate conversions.
+     * Records the method used on the event.
      * 
-     * @param amount ingredient amount
-     * @param unit ingredient unit (can be null)
-     * @return approximate weight in grams
+     * @return recalculated vector, or null if nutrition is unchanged
      */
-    private double convertToGrams(Double amount, String unit) {
-        if (amount == null || amount <= 0) {
-            return 0.0;
+    private double[] recalculatedValues(RecipeNutrientIndex index, BitSet excluded,
+                                        NutritionCalculationEvent event) {
+        event.method = NutritionCalculationEvent.UNCHANGED;
+        if (!index.hasNutrition()) {
+            log.warn("Original nutrition info is null or has no nutrients");
+            return null;
         }
         
-        if (unit == null || unit.isBlank() || unit.equalsIgnoreCase("serving") || 
-                unit.equalsIgnoreCase("servings")) {
-            // Assume 100g for unitless or "serving" items
-            return amount * 100.0;
+        if (index.hasIngredientNutrients(excluded)) {
+            log.debug("Using ingredient-level nutrition data for {} ingredients", excluded.cardinality());
+            event.method = NutritionCalculationEvent.INGREDIENT_BREAKDOWN;
+            return index.subtractIngredients(excluded);
         }
         
-        String normalizedUnit = unit.toLowerCase().trim();
-        
-        // Weight units
-        switch (normalizedUnit) {
-            case "g", "gram", "grams" -> {
-                return amount;
-            }
-            case "kg", "kilogram", "kilograms" -> {
-                return amount * 1000.0;
-            }
-            case "oz", "ounce", "ounces" -> {
-                return amount * 28.35;
-            }
-            case "lb", "pound", "pounds" -> {
-                return amount * 453.592;
-            }
+        log.debug("No ingredient-level nutrition available, using proportional estimation");
+        if (index.totalWeight() == 0.0) {
+            log.warn("Total recipe weight is 0, cannot calculate proportion");
         }
-
-        // Volume units (approximate conversions)
-        for (Map.Entry<String, Double> entry : VOLUME_TO_GRAMS.entrySet()) {
-            if (normalizedUnit.contains(entry.getKey())) {
-                return amount * entry.getValue();
-            }
+        double proportion = index.excludedProportion(excluded);
+        if (proportion <= 0.0) {
+            log.debug("Proportion is zero or negative, returning original nutrition");
+            return null;
         }
-        
-        // Count-based units - assume 50g per item
-        if (normalizedUnit.equals("clove") || normalizedUnit.equals("cloves") ||
-                normalizedUnit.equals("piece") || normalizedUnit.equals("pieces") ||
-                normalizedUnit.equals("whole")) {
-            return amount * 50.0;
+        if (proportion >= 1.0) {
+            log.warn("Proportion is >= 1.0 (excluding everything), returning zeroed nutrition");
         }
-        
-        // Default: treat as 100g per unit for unknown units
-        log.debug("Unknown unit '{}', using default weight estimation", unit);
-        return amount * 100.0;
+        log.debug("Applying {}% reduction to nutrition values", Math.round(proportion * 10000) / 100.0);
+        event.method = NutritionCalculationEvent.PROPORTIONAL;
+        return index.scaleTotals(1.0 - Math.min(proportion, 1.0));
     }
     
     /**
-     * Applies proportional reduction to nutrition info based on excluded proportion.
+     * Returns the nutrient index for a recipe, building it on first use.
      * 
-     * @param originalNutrition original nutrition info
-     * @param proportion proportion to subtract (0.0 to 1.0)
-     * @return updated nutrition info
+     * @param recipe the recipe to index
+     * @return the recipe's nutrient index
      */
-    private NutritionInfo applyProportionalReduction(NutritionInfo originalNutrition, double proportion) {
-        if (originalNutrition == null || originalNutrition.getNutrients() == null) {
-            log.warn("Original nutrition info is null or has no nutrients");
-            return originalNutrition;
-        }
-        
-        if (proportion <= 0.0) {
-            log.debug("Proportion is zero or negative, returning original nutrition");
-            return originalNutrition;
-        }
-        
-        // Cap proportion at 1.0 (excluding everything)
-        final double effectiveProportion = Math.min(proportion, 1.0);
-        
-        if (effectiveProportion >= 1.0) {
-            log.warn("Proportion is >= 1.0 (excluding everything), returning zeroed nutrition");
+    RecipeNutrientIndex indexFor(RecipeDetail recipe) {
+        return indexCache.get(recipe, r -> RecipeNutrientIndex.build(r, unitConversionEngine::toGrams));
+    }
+    
+    private List<ExtendedIngredient> remainingIngredients(RecipeDetail recipe, BitSet excluded) {
+        List<ExtendedIngredient> allIngredients = recipe.getExtendedIngredients();
+        List<ExtendedIngredient> remaining = new ArrayList<>(allIngredients.size() - excluded.cardinality());
+        for (int position = 0; position < allIngredients.size(); position++) {
+            if (!excluded.get(position)) {
+                remaining.add(allIngredients.get(position));
+            }
         }
-        
-        List<Nutrient> updatedNutrients = originalNutrition.getNutrients().stream()
-                .map(nutrient -> {
-                    Double originalAmount = nutrient.amount();
-                    Double newAmount = originalAmount * (1.0 - effectiveProportion);
-                    return new Nutrient(nutrient.name(), newAmount, nutrient.unit());
-                })
-                .collect(Collectors.toList());
-        
-        NutritionInfo.CaloricBreakdown updatedBreakdown = 
-                NutrientExtractor.recalculateCaloricBreakdown(updatedNutrients);
-        
-        log.debug("Applied {:.2%} reduction to nutrition values", effectiveProportion * 100);
-        
-        return NutritionInfo.builder()
-                .nutrients(updatedNutrients)
-                .caloricBreakdown(updatedBreakdown)
-                .build();
+        return remaining;
     }
     
     /**
-     * Calculates total nutrients from excluded ingredients (if nutrition data available).
-     * 
-     * <p>This method checks if ingredient-level nutrition data is available.
-     * If not, returns an empty map to trigger proportional estimation fallback.
-     * 
-     * @param allIngredients all ingredients in the recipe
-     * @param excludedIds IDs of ingredients to exclude
-     * @return map of nutrient names to amounts to subtract (empty if no data available)
+     * Result for an exclusion that leaves nutrition untouched. Returns the original
+     * recipe instance when no ingredient was removed either.
      */
-    private Map<String, Double> calculateExcludedNutrients(
-            List<ExtendedIngredient> allIngredients, Set<Long> excludedIds) {
-        
-        Map<String, Double> excludedNutrients = new HashMap<>();
-        
-        allIngredients.stream()
-                .filter(ingredient -> excludedIds.contains(ingredient.getId()))
-                .forEach(ingredient -> {
-                    if (ingredient.getNutrition() != null && 
-                            ingredient.getNutrition().getNutrients() != null) {
-                        
-                        for (Nutrient nutrient : ingredient.getNutrition().getNutrients()) {
-                            String nutrientName = nutrient.name();
-                            Double currentAmount = excludedNutrients.getOrDefault(nutrientName, 0.0);
-                            excludedNutrients.put(nutrientName, currentAmount + nutrient.amount());
-                        }
-                    }
-                });
-        
-        if (!excludedNutrients.isEmpty()) {
-            log.debug("Using ingredient-level nutrition data: {}", excludedNutrients);
-        }
-        
-        return excludedNutrients;
+    private NutritionRecalculation unchanged(RecipeDetail recipe, List<ExtendedIngredient> remainingIngredients) {
+        RecipeDetail result = remainingIngredients.size() == recipe.getExtendedIngredients().size()
+                ? recipe
+                : copyWith(recipe, remainingIngredients, recipe.getNutrition());
+        return new NutritionRecalculation(result, NutrientExtractor.extractNutritionDTO(recipe.getNutrition()));
     }
     
     /**
-     * Recalculates nutrition info by subtracting excluded nutrients.
-     * 
-     * @param originalNutrition original nutrition info
-     * @param nutrientsToSubtract map of nutrient amounts to subtract
-     * @return updated nutrition info
+     * Ends a calculation's flight recorder event and commits it if it is being recorded.
      */
-    private NutritionInfo recalculateNutritionInfo(
-            NutritionInfo originalNutrition, Map<String, Double> nutrientsToSubtract) {
-        
-        if (originalNutrition == null || originalNutrition.getNutrients() == null) {
-            log.warn("Original nutrition info is null or has no nutrients");
-            return originalNutrition;
+    private static void commit(NutritionCalculationEvent event, String operation,
+                               RecipeDetail recipe, BitSet excluded) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.recipeId = recipe.getId() != null ? recipe.getId() : 0;
+            event.operation = operation;
+            event.ingredientCount = recipe.getExtendedIngredients().size();
+            event.excludedCount = excluded.cardinality();
+            event.commit();
         }
-        
-        List<Nutrient> updatedNutrients = originalNutrition.getNutrients().stream()
-                .map(nutrient -> {
-                    String name = nutrient.name();
-                    Double originalAmount = nutrient.amount();
-                    Double amountToSubtract = nutrientsToSubtract.getOrDefault(name, 0.0);
-                    Double newAmount = Math.max(0.0, originalAmount - amountToSubtract);
-                    
-                    return new Nutrient(name, newAmount, nutrient.unit());
-                })
-                .collect(Collectors.toList());
-        
-        NutritionInfo.CaloricBreakdown updatedBreakdown = 
-                NutrientExtractor.recalculateCaloricBreakdown(updatedNutrients);
-        
-        return NutritionInfo.builder()
-                .nutrients(updatedNutrients)
-                .caloricBreakdown(updatedBreakdown)
+    }
+    
+    private RecipeDetail copyWith(RecipeDetail recipe, List<ExtendedIngredient> ingredients,
+                                  NutritionInfo nutrition) {
+        return recipe.toBuilder()
+                .extendedIngredients(ingredients)
+                .nutrition(nutrition)
                 .build();
     }
 }
@@ -0,0 +1,20 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.NutritionDTO;
+
+/**
+ * Result of recalculating a recipe's nutrition after ingredient exclusion.
+ * 
+ * <p>Carries the updated recipe together with its nutrition summary, which is
+ * derived directly from the recalculated nutrient vector so callers do not need
+ * to scan the nutrient list again.
+ * 
+ * @param recipe recipe with excluded ingredients removed and nutrition updated
+ * @param nutrition nutrition summary of the updated recipe
+ */
+public record NutritionRecalculation(
+        RecipeDetail recipe,
+        NutritionDTO nutrition
+) {
+}
@@ -0,0 +1,177 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.config.RecipeBatchProperties;
+import app.luqma.backend.exception.ExternalApiException;
+import app.luqma.backend.exception.ResourceNotFoundException;
+import app.luqma.backend.metrics.StageTimings;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.RecipeBatchError;
+import app.luqma.backend.model.dto.RecipeBatchResponse;
+import app.luqma.backend.model.dto.RecipeDetailResponse;
+import app.luqma.backend.repository.RecipeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Service for loading several recipes in one request.
+ *
+ * <p>IDs are de-duplicated and served from the recipe cache where possible. Cache
+ * misses are fetched concurrently on virtual threads; a semaphore shared by all
+ * batches bounds how many upstream calls run at once. Failures are reported per
+ * ID and never fail the whole batch.
+ */
+@Slf4j
+@Service
+public class RecipeBatchService {
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeResponseCache recipeResponseCache;
+    private final Semaphore upstreamPermits;
+    private final long timeoutNanos;
+
+    public RecipeBatchService(
+            RecipeRepository recipeRepository,
+            RecipeResponseCache recipeResponseCache,
+            RecipeBatchProperties properties) {
+        this.recipeRepository = recipeRepository;
+        this.recipeResponseCache = recipeResponseCache;
+        this.upstreamPermits = new Semaphore(properties.getMaxConcurrency());
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.getTimeoutMillis());
+    }
+
+    /**
+     * Loads recipes by ID.
+     *
+     * @param ids requested recipe IDs; duplicates are ignored
+     * @return loaded recipes in first-occurrence order, and an error per failed ID
+     */
+    public RecipeBatchResponse getRecipes(List<Long> ids) {
+        List<Long> uniqueIds = List.copyOf(new LinkedHashSet<>(ids));
+        int count = uniqueIds.size();
+        RecipeDetailResponse[] recipes = new RecipeDetailResponse[count];
+        RecipeBatchError[] errors = new RecipeBatchError[count];
+
+        List<Integer> misses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Long id = uniqueIds.get(i);
+            if (id <= 0) {
+                errors[i] = new RecipeBatchError(id, 400, "Recipe ID must be a positive integer");
+                continue;
+            }
+            Optional<RecipeDetail> cached = recipeRepository.findCachedById(id);
+            if (cached.isPresent()) {
+                recipes[i] = recipeResponseCache.get(cached.get()).body();
+            } else {
+                misses.add(i);
+            }
+        }
+
+        log.debug("Batch request: ids={}, unique={}, cacheHits={}, misses={}",
+                ids.size(), count, count - misses.size() - countNonNull(errors), misses.size());
+
+        if (!misses.isEmpty()) {
+            fetchMisses(uniqueIds, misses, recipes, errors);
+        }
+
+        List<RecipeDetailResponse> loaded = new ArrayList<>(count);
+        List<RecipeBatchError> failed = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (recipes[i] != null) {
+                loaded.add(recipes[i]);
+            } else if (errors[i] != null) {
+                failed.add(errors[i]);
+            }
+        }
+        return new RecipeBatchResponse(loaded, failed);
+    }
+
+    /**
+     * Fetches cache misses concurrently, filling in a recipe or an error for each.
+     */
+    private void fetchMisses(List<Long> uniqueIds, List<Integer> misses,
+                             RecipeDetailResponse[] recipes, RecipeBatchError[] errors) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<RecipeDetail>> futures = new ArrayList<>(misses.size());
+            for (int index : misses) {
+                Long id = uniqueIds.get(index);
+                // Stages timed on the fetching thread count toward this request
+                futures.add(executor.submit(StageTimings.propagate(() -> fetch(id))));
+            }
+
+            for (int k = 0; k < misses.size(); k++) {
+                int index = misses.get(k);
+                Long id = uniqueIds.get(index);
+                Future<RecipeDetail> future = futures.get(k);
+                try {
+                    RecipeDetail recipe = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    recipes[index] = recipeResponseCache.get(recipe).body();
+                } catch (TimeoutException e) {
+                    future.cancel(true);
+                    log.warn("Batch fetch timed out for recipe {}", id);
+                    errors[index] = new RecipeBatchError(id, 504, "Timed out loading recipe. Please try again later.");
+                } catch (ExecutionException e) {
+                    errors[index] = toError(id, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    errors[index] = new RecipeBatchError(id, 503, "Request interrupted. Please try again later.");
+                }
+            }
+        } finally {
+            // Abandon stragglers rather than waiting for them
+            executor.shutdownNow();
+        }
+    }
+
+    private RecipeDetail fetch(Long id) throws InterruptedException {
+        upstreamPermits.acquire();
+        try {
+            return recipeRepository.getById(id);
+        } finally {
+            upstreamPermits.release();
+        }
+    }
+
+    /**
+     * Maps a fetch failure to the status and message the single-recipe endpoint would return.
+     */
+    private static RecipeBatchError toError(Long id, Throwable cause) {
+        if (cause instanceof ResourceNotFoundException) {
+            return new RecipeBatchError(id, 404, "Recipe not found");
+        }
+        if (cause instanceof ExternalApiException ex) {
+            if (ex.isRateLimitError()) {
+                return new RecipeBatchError(id, 429, "Too many requests. Please try again later.");
+            }
+            if (ex.isNetworkError() || ex.isServerError()) {
+                return new RecipeBatchError(id, 503, "External service temporarily unavailable. Please try again later.");
+            }
+            return new RecipeBatchError(id, 502, "Error communicating with external service. Please try again later.");
+        }
+        log.error("Unexpected error loading recipe {} in batch", id, cause);
+        return new RecipeBatchError(id, 500, "An unexpected error occurred");
+    }
+
+    private static int countNonNull(Object[] values) {
+        int count = 0;
+        for (Object value : values) {
+            if (value != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
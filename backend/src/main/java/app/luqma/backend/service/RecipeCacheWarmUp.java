@@ -0,0 +1,86 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.config.CacheWarmUpProperties;
+import app.luqma.backend.repository.RecipeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads the configured {@code cache-warm-up.recipe-ids} into the recipe cache after
+ * startup, and reports its progress as the {@code recipeCacheWarmUp} health indicator.
+ *
+ * <p>The indicator is part of the readiness group. With
+ * {@code cache-warm-up.gate-readiness} it reports {@code OUT_OF_SERVICE} until every
+ * ID has been attempted, so a new replica only takes traffic with a warm cache;
+ * otherwise it is always {@code UP}. Failed loads are logged and counted but do not
+ * hold readiness back, so an upstream outage cannot keep replicas out of service.
+ * The indicator also counts towards the root {@code /actuator/health}, which
+ * returns 503 while a gated warm-up is running.
+ */
+@Slf4j
+@Component("recipeCacheWarmUp")
+public class RecipeCacheWarmUp implements HealthIndicator {
+    
+    private final RecipeRepository recipeRepository;
+    private final CacheWarmUpProperties properties;
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile boolean finished;
+    
+    public RecipeCacheWarmUp(RecipeRepository recipeRepository, CacheWarmUpProperties properties) {
+        this.recipeRepository = recipeRepository;
+        this.properties = properties;
+        this.finished = properties.getRecipeIds().isEmpty();
+    }
+    
+    /**
+     * Starts the warm-up on a virtual thread so startup is not delayed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!finished) {
+            Thread.ofVirtual().name("recipe-cache-warm-up").start(this::warmUp);
+        }
+    }
+    
+    void warmUp() {
+        List<Long> ids = properties.getRecipeIds();
+        long startTime = System.currentTimeMillis();
+        try {
+            for (Long id : ids) {
+                try {
+                    if (recipeRepository.findById(id).isPresent()) {
+                        loaded.incrementAndGet();
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                    log.warn("Cache warm-up failed for recipe: id={}, error={}", id, e.getMessage());
+                }
+            }
+        } finally {
+            finished = true;
+            log.info("Recipe cache warm-up finished: loaded={}, failed={}, took={}ms",
+                    loaded.get(), failed.get(), System.currentTimeMillis() - startTime);
+        }
+    }
+    
+    @Override
+    public Health health() {
+        Health.Builder builder = finished || !properties.isGateReadiness() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("finished", finished)
+                .withDetail("recipes", properties.getRecipeIds().size())
+                .withDetail("loaded", loaded.get())
+                .withDetail("failed", failed.get())
+                .build();
+    }
+}
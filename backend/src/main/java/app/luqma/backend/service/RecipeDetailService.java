@@ -1,13 +1,22 @@
 package app.luqma.backend.service;
 
+import app.luqma.backend.mapper.NutrientExtractor;
 import app.luqma.backend.mapper.RecipeMapper;
+import app.luqma.backend.metrics.Stage;
+import app.luqma.backend.metrics.StageTimings;
 import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.ExclusionVariant;
+import app.luqma.backend.model.dto.ExclusionVariantsResponse;
+import app.luqma.backend.model.dto.NutritionDTO;
 import app.luqma.backend.model.dto.RecipeDetailResponse;
 import app.luqma.backend.repository.RecipeRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.BitSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Service for managing recipe details and operations.
@@ -22,17 +31,26 @@ import java.util.Set;
 @Service
 public class RecipeDetailService {
     
+    // Below this many sets, sequential evaluation beats fork/join overhead
+    private static final int PARALLEL_VARIANT_THRESHOLD = 8;
+    
     private final RecipeRepository recipeRepository;
     private final NutritionCalculationService nutritionCalculationService;
     private final IngredientValidationService validationService;
+    private final ExclusionResultCache exclusionResultCache;
+    private final RecipeResponseCache recipeResponseCache;
     
     public RecipeDetailService(
             RecipeRepository recipeRepository,
             NutritionCalculationService nutritionCalculationService,
-            IngredientValidationService validationService) {
+            IngredientValidationService validationService,
+            ExclusionResultCache exclusionResultCache,
+            RecipeResponseCache recipeResponseCache) {
         this.recipeRepository = recipeRepository;
         this.nutritionCalculationService = nutritionCalculationService;
         this.validationService = validationService;
+        this.exclusionResultCache = exclusionResultCache;
+        this.recipeResponseCache = recipeResponseCache;
     }
     
     /**
@@ -47,12 +65,35 @@ public class RecipeDetailService {
         log.debug("Fetching recipe with ID: {}", id);
         
         RecipeDetail recipe = recipeRepository.getById(id);
-        return RecipeMapper.toRecipeDetailResponse(recipe);
+        long mappingStart = StageTimings.start();
+        RecipeDetailResponse response = RecipeMapper.toRecipeDetailResponse(recipe);
+        StageTimings.record(Stage.MAPPING, mappingStart);
+        return response;
+    }
+    
+    /**
+     * Retrieves a recipe by ID as a pre-rendered response.
+     * 
+     * <p>The mapped response and its serialized bytes are cached for as long as the
+     * recipe itself is cached, so repeat requests only look them up.
+     *
+     * @param id the recipe ID
+     * @return rendered recipe detail response
+     * @throws app.luqma.backend.exception.ResourceNotFoundException if recipe not found
+     * @throws IllegalArgumentException if ID is null or invalid
+     */
+    public RenderedRecipe getRenderedRecipeById(Long id) {
+        log.debug("Fetching rendered recipe with ID: {}", id);
+        
+        return recipeResponseCache.get(recipeRepository.getById(id));
     }
     
     /**
      * Excludes specified ingredients from a recipe and recalculates nutrition.
      * 
+     * <p>Results are memoised per recipe and canonical set of excluded ingredient
+     * positions, so repeated combinations skip validation, recalculation and mapping.
+     * 
      * @param recipeId the recipe ID
      * @param ingredientIds set of ingredient IDs to exclude
      * @return recipe detail response with updated ingredients and nutrition
@@ -65,19 +106,123 @@ public class RecipeDetailService {
             return getRecipeById(recipeId);
         }
         
-        log.info("Excluding {} ingredients from recipe {}", ingredientIds.size(), recipeId);
+        log.debug("Excluding {} ingredients from recipe {}", ingredientIds.size(), recipeId);
+        
+        RecipeDetail originalRecipe = recipeRepository.getById(recipeId);
+        BitSet positions = validatedPositions(originalRecipe, ingredientIds);
+        
+        return exclusionResultCache.get(originalRecipe, positions,
+                () -> recalculate(originalRecipe, ingredientIds));
+    }
+    
+    /**
+     * Excludes specified ingredients from a recipe and returns the result rendered
+     * to JSON with its entity tag.
+     * 
+     * <p>Shares the memoised results of {@link #excludeIngredients}; the rendering is
+     * kept with the cached result, so repeat and conditional requests only look it up.
+     * 
+     * @param recipeId the recipe ID
+     * @param ingredientIds set of ingredient IDs to exclude
+     * @return rendered recipe detail response with updated ingredients and nutrition
+     * @throws app.luqma.backend.exception.ResourceNotFoundException if recipe not found
+     * @throws IllegalArgumentException if any excluded ingredient ID is not in the recipe
+     */
+    public RenderedRecipe excludeIngredientsRendered(Long recipeId, Set<Long> ingredientIds) {
+        if (ingredientIds.isEmpty()) {
+            log.debug("No ingredients to exclude, returning original recipe");
+            return getRenderedRecipeById(recipeId);
+        }
+        
+        log.debug("Excluding {} ingredients from recipe {}", ingredientIds.size(), recipeId);
         
         RecipeDetail originalRecipe = recipeRepository.getById(recipeId);
+        BitSet positions = validatedPositions(originalRecipe, ingredientIds);
+        
+        return exclusionResultCache.getRendered(originalRecipe, positions,
+                () -> recalculate(originalRecipe, ingredientIds));
+    }
+    
+    /**
+     * Validates an exclusion set against a recipe and returns the positions of its
+     * ingredients, the canonical form used as cache key.
+     */
+    private BitSet validatedPositions(RecipeDetail recipe, Set<Long> ingredientIds) {
+        long indexStart = StageTimings.start();
+        RecipeNutrientIndex index = nutritionCalculationService.indexFor(recipe);
+        StageTimings.record(Stage.NUTRITION, indexStart);
         
-        validationService.validateIngredientsExistInRecipe(originalRecipe, ingredientIds);
+        // Only valid sets are cacheable; let validation report unknown IDs
+        long validationStart = StageTimings.start();
+        if (!index.containsAll(ingredientIds)) {
+            validationService.validateIngredientsExistInRecipe(recipe, ingredientIds);
+        }
+        StageTimings.record(Stage.VALIDATION, validationStart);
         
-        RecipeDetail updatedRecipe = nutritionCalculationService.recalculateNutrition(
-                originalRecipe, ingredientIds);
+        return index.positionsOf(ingredientIds);
+    }
+    
+    /**
+     * Recalculates nutrition without the excluded ingredients and maps the result.
+     */
+    private RecipeDetailResponse recalculate(RecipeDetail recipe, Set<Long> ingredientIds) {
+        long nutritionStart = StageTimings.start();
+        NutritionRecalculation result = nutritionCalculationService.recalculate(recipe, ingredientIds);
+        StageTimings.record(Stage.NUTRITION, nutritionStart);
         
-        log.debug("Successfully excluded ingredients from recipe {}", recipeId);
+        log.debug("Successfully excluded ingredients from recipe {}", recipe.getId());
         
-        return RecipeMapper.toRecipeDetailResponse(updatedRecipe);
+        long mappingStart = StageTimings.start();
+        RecipeDetailResponse response = RecipeMapper.toRecipeDetailResponse(result.recipe(), result.nutrition());
+        StageTimings.record(Stage.MAPPING, mappingStart);
+        return response;
     }
     
+    /**
+     * Evaluates several exclusion sets against one recipe and returns nutrition deltas.
+     * 
+     * <p>The recipe is fetched once and every set is validated before any is computed.
+     * Variants share the recipe's nutrient index and are computed in parallel once
+     * there are enough of them to outweigh the scheduling cost.
+     * 
+     * @param recipeId the recipe ID
+     * @param exclusionSets ingredient ID sets to evaluate, each non-empty
+     * @return baseline nutrition and one delta per set, in request order
+     * @throws app.luqma.backend.exception.ResourceNotFoundException if recipe not found
+     * @throws IllegalArgumentException if any set contains an ID not in the recipe
+     */
+    public ExclusionVariantsResponse evaluateExclusionVariants(Long recipeId, List<Set<Long>> exclusionSets) {
+        log.debug("Evaluating {} exclusion sets for recipe {}", exclusionSets.size(), recipeId);
+        
+        RecipeDetail recipe = recipeRepository.getById(recipeId);
+        long indexStart = StageTimings.start();
+        RecipeNutrientIndex index = nutritionCalculationService.indexFor(recipe);
+        StageTimings.record(Stage.NUTRITION, indexStart);
+        
+        long validationStart = StageTimings.start();
+        for (Set<Long> ingredientIds : exclusionSets) {
+            if (!index.containsAll(ingredientIds)) {
+                validationService.validateIngredientsExistInRecipe(recipe, ingredientIds);
+            }
+        }
+        StageTimings.record(Stage.VALIDATION, validationStart);
+        
+        long nutritionStart = StageTimings.start();
+        NutritionDTO baseline = NutrientExtractor.extractNutritionDTO(recipe.getNutrition());
+        
+        Stream<Set<Long>> sets = exclusionSets.stream();
+        if (exclusionSets.size() >= PARALLEL_VARIANT_THRESHOLD) {
+            sets = sets.parallel();
+        }
+        List<ExclusionVariant> variants = sets
+                .map(ingredientIds -> new ExclusionVariant(
+                        ingredientIds.stream().sorted().toList(),
+                        NutrientExtractor.nutritionDelta(baseline,
+                                nutritionCalculationService.recalculateSummary(
+                                        recipe, index.positionsOf(ingredientIds)))))
+                .toList();
+        StageTimings.record(Stage.NUTRITION, nutritionStart);
+        
+        return new ExclusionVariantsResponse(recipe.getId(), baseline, variants);
+    }
 }
-
@@ -0,0 +1,314 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.constants.KeyNutrient;
+import app.luqma.backend.mapper.NutrientExtractor;
+import app.luqma.backend.model.domain.ExtendedIngredient;
+import app.luqma.backend.model.domain.IngredientNutrients;
+import app.luqma.backend.model.domain.Nutrient;
+import app.luqma.backend.model.domain.NutritionInfo;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.NutritionDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Precomputed, primitive view of a recipe's nutrition used for exclusion recalculation.
+ *
+ * <p>Each entry of the recipe's nutrient list gets a fixed slot. The recipe total and
+ * every ingredient's nutrients are stored as {@code double[]} vectors over those slots,
+ * so excluding k ingredients is k vector subtractions with no boxing or name lookups.
+ * Slots of the {@link KeyNutrient key nutrients} are resolved once at build time,
+ * which lets the caloric breakdown and {@link NutritionDTO} be derived directly
+ * from a vector.
+ *
+ * <p>An ingredient's nutrients come from its own nutrition data when present, otherwise
+ * from the recipe's upstream breakdown ({@code nutrition.ingredients[]}). Breakdown
+ * entries are matched by ingredient ID; when an ID occurs more than once, the n-th
+ * ingredient with that ID takes the n-th breakdown entry with that ID.
+ *
+ * <p>Instances are immutable and safe to share between threads.
+ */
+public final class RecipeNutrientIndex {
+
+    private final boolean hasNutrition;
+    private final String[] names;
+    private final String[] units;
+    private final double[] totals;
+    private final double[][] ingredientVectors;
+    private final boolean[] hasIngredientData;
+    private final double[] weights;
+    private final double totalWeight;
+    private final Map<Long, int[]> positionsById;
+
+    /** Slot of each key nutrient indexed by {@link KeyNutrient#ordinal()}, or -1 if absent. */
+    private final int[] keySlots;
+
+    private RecipeNutrientIndex(RecipeDetail recipe, ToDoubleFunction<ExtendedIngredient> weigher) {
+        NutritionInfo nutrition = recipe.getNutrition();
+        List<Nutrient> nutrients = nutrition != null ? nutrition.getNutrients() : List.of();
+        this.hasNutrition = nutrition != null;
+
+        int slots = nutrients.size();
+        this.names = new String[slots];
+        this.units = new String[slots];
+        this.totals = new double[slots];
+        this.keySlots = new int[KeyNutrient.COUNT];
+        Arrays.fill(keySlots, -1);
+        Map<String, int[]> slotsByName = new HashMap<>();
+        for (int i = 0; i < slots; i++) {
+            Nutrient nutrient = nutrients.get(i);
+            names[i] = nutrient.name();
+            units[i] = nutrient.unit();
+            totals[i] = nutrient.amount();
+            slotsByName.merge(nutrient.name(), new int[] {i}, RecipeNutrientIndex::concat);
+
+            // First matching entry wins, as in NutrientExtractor
+            KeyNutrient key = KeyNutrient.resolve(nutrient.name());
+            if (key != null && keySlots[key.ordinal()] < 0) {
+                keySlots[key.ordinal()] = i;
+            }
+        }
+
+        List<ExtendedIngredient> ingredients = recipe.getExtendedIngredients();
+        int count = ingredients.size();
+        this.ingredientVectors = new double[count][];
+        this.hasIngredientData = new boolean[count];
+        this.weights = new double[count];
+        Map<Long, int[]> positions = new HashMap<>();
+        Map<Long, List<IngredientNutrients>> breakdownById = breakdownById(nutrition);
+        Map<Long, Integer> occurrences = new HashMap<>();
+        double weightSum = 0.0;
+
+        for (int position = 0; position < count; position++) {
+            ExtendedIngredient ingredient = ingredients.get(position);
+            int occurrence = 0;
+            if (ingredient.getId() != null) {
+                positions.merge(ingredient.getId(), new int[] {position}, RecipeNutrientIndex::concat);
+                occurrence = occurrences.merge(ingredient.getId(), 1, Integer::sum) - 1;
+            }
+
+            weights[position] = weigher.applyAsDouble(ingredient);
+            weightSum += weights[position];
+
+            List<Nutrient> ingredientNutrients = ingredient.getNutrition() != null
+                    ? ingredient.getNutrition().getNutrients()
+                    : null;
+            if (ingredientNutrients == null || ingredientNutrients.isEmpty()) {
+                ingredientNutrients = breakdownFor(breakdownById, ingredient.getId(), occurrence);
+            }
+            if (ingredientNutrients != null && !ingredientNutrients.isEmpty()) {
+                hasIngredientData[position] = true;
+                double[] vector = new double[slots];
+                for (Nutrient nutrient : ingredientNutrients) {
+                    int[] matching = slotsByName.get(nutrient.name());
+                    if (matching != null) {
+                        for (int slot : matching) {
+                            vector[slot] += nutrient.amount();
+                        }
+                    }
+                }
+                ingredientVectors[position] = vector;
+            }
+        }
+
+        this.totalWeight = weightSum;
+        this.positionsById = Map.copyOf(positions);
+    }
+
+    /**
+     * Builds the index for a recipe.
+     *
+     * @param recipe the recipe to index
+     * @param weigher estimates an ingredient's weight in grams, used for proportional estimation
+     * @return the recipe's nutrient index
+     */
+    public static RecipeNutrientIndex build(RecipeDetail recipe, ToDoubleFunction<ExtendedIngredient> weigher) {
+        return new RecipeNutrientIndex(recipe, weigher);
+    }
+
+    /**
+     * Returns whether the recipe carries nutrition information at all.
+     */
+    public boolean hasNutrition() {
+        return hasNutrition;
+    }
+
+    /**
+     * Returns the number of ingredients in the indexed recipe.
+     */
+    public int ingredientCount() {
+        return weights.length;
+    }
+
+    /**
+     * Resolves ingredient IDs to positions in the ingredient list.
+     * Repeated IDs mark every occurrence; unknown IDs are ignored.
+     *
+     * @param ingredientIds ingredient IDs to resolve
+     * @return bit set of matching ingredient positions
+     */
+    public BitSet positionsOf(Set<Long> ingredientIds) {
+        BitSet positions = new BitSet(weights.length);
+        for (Long id : ingredientIds) {
+            int[] matching = id != null ? positionsById.get(id) : null;
+            if (matching != null) {
+                for (int position : matching) {
+                    positions.set(position);
+                }
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Returns whether every ID refers to an ingredient of the recipe.
+     */
+    public boolean containsAll(Set<Long> ingredientIds) {
+        for (Long id : ingredientIds) {
+            if (id == null || !positionsById.containsKey(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether any of the given ingredients has its own nutrient data.
+     */
+    public boolean hasIngredientNutrients(BitSet positions) {
+        for (int p = positions.nextSetBit(0); p >= 0; p = positions.nextSetBit(p + 1)) {
+            if (hasIngredientData[p]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Subtracts the nutrient vectors of the given ingredients from the recipe total.
+     * Results are clamped at zero.
+     */
+    public double[] subtractIngredients(BitSet positions) {
+        double[] result = totals.clone();
+        for (int p = positions.nextSetBit(0); p >= 0; p = positions.nextSetBit(p + 1)) {
+            double[] vector = ingredientVectors[p];
+            if (vector != null) {
+                for (int slot = 0; slot < result.length; slot++) {
+                    result[slot] -= vector[slot];
+                }
+            }
+        }
+        for (int slot = 0; slot < result.length; slot++) {
+            result[slot] = Math.max(0.0, result[slot]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the share of total recipe weight taken by the given ingredients.
+     *
+     * @return proportion between 0.0 and 1.0, or 0.0 if the recipe weight is unknown
+     */
+    public double excludedProportion(BitSet positions) {
+        if (totalWeight == 0.0) {
+            return 0.0;
+        }
+        double excludedWeight = 0.0;
+        for (int p = positions.nextSetBit(0); p >= 0; p = positions.nextSetBit(p + 1)) {
+            excludedWeight += weights[p];
+        }
+        return excludedWeight / totalWeight;
+    }
+
+    /**
+     * Returns the total weight of all ingredients in grams.
+     */
+    public double totalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Scales the recipe total by a factor.
+     */
+    public double[] scaleTotals(double factor) {
+        double[] result = new double[totals.length];
+        for (int slot = 0; slot < result.length; slot++) {
+            result[slot] = totals[slot] * factor;
+        }
+        return result;
+    }
+
+    /**
+     * Converts a nutrient vector back to the domain representation, in the
+     * recipe's original nutrient order.
+     */
+    public List<Nutrient> toNutrients(double[] values) {
+        List<Nutrient> nutrients = new ArrayList<>(values.length);
+        for (int slot = 0; slot < values.length; slot++) {
+            nutrients.add(new Nutrient(names[slot], values[slot], units[slot]));
+        }
+        return nutrients;
+    }
+
+    /**
+     * Derives the caloric breakdown of a nutrient vector using the 4-4-9 rule.
+     */
+    public NutritionInfo.CaloricBreakdown caloricBreakdown(double[] values) {
+        return NutrientExtractor.caloricBreakdown(
+                valueOf(values, KeyNutrient.PROTEIN),
+                valueOf(values, KeyNutrient.FAT),
+                valueOf(values, KeyNutrient.CARBOHYDRATES));
+    }
+
+    /**
+     * Builds the nutrition summary for a nutrient vector in a single pass over the key slots.
+     */
+    public NutritionDTO toNutritionDTO(double[] values, NutritionInfo.CaloricBreakdown breakdown) {
+        return new NutritionDTO(
+                valueOf(values, KeyNutrient.CALORIES),
+                valueOf(values, KeyNutrient.PROTEIN),
+                valueOf(values, KeyNutrient.FAT),
+                valueOf(values, KeyNutrient.CARBOHYDRATES),
+                valueOf(values, KeyNutrient.FIBER),
+                breakdown.percentProtein(),
+                breakdown.percentFat(),
+                breakdown.percentCarbs());
+    }
+
+    private static Map<Long, List<IngredientNutrients>> breakdownById(NutritionInfo nutrition) {
+        if (nutrition == null) {
+            return Map.of();
+        }
+        Map<Long, List<IngredientNutrients>> byId = new HashMap<>();
+        for (IngredientNutrients entry : nutrition.getIngredients()) {
+            if (entry.id() != null) {
+                byId.computeIfAbsent(entry.id(), _ -> new ArrayList<>(1)).add(entry);
+            }
+        }
+        return byId;
+    }
+
+    private static List<Nutrient> breakdownFor(Map<Long, List<IngredientNutrients>> breakdownById,
+                                               Long ingredientId, int occurrence) {
+        List<IngredientNutrients> entries = ingredientId != null ? breakdownById.get(ingredientId) : null;
+        return entries != null && occurrence < entries.size() ? entries.get(occurrence).nutrients() : null;
+    }
+
+    private double valueOf(double[] values, KeyNutrient nutrient) {
+        int slot = keySlots[nutrient.ordinal()];
+        return slot >= 0 ? values[slot] : 0.0;
+    }
+
+    private static int[] concat(int[] existing, int[] added) {
+        int[] merged = Arrays.copyOf(existing, existing.length + added.length);
+        System.arraycopy(added, 0, merged, existing.length, added.length);
+        return merged;
+    }
+}
@@ -0,0 +1,131 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.config.ResponseCacheProperties;
+import app.luqma.backend.constants.CacheNames;
+import app.luqma.backend.jfr.CacheOperationEvent;
+import app.luqma.backend.mapper.RecipeMapper;
+import app.luqma.backend.metrics.Stage;
+import app.luqma.backend.metrics.StageTimings;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.RecipeDetailResponse;
+import app.luqma.backend.util.ETags;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of fully rendered recipe detail responses.
+ *
+ * <p>For each recipe instance it keeps the mapped {@link RecipeDetailResponse}, its
+ * UTF-8 JSON bytes, optionally a gzip copy, and the entity tag of each. Repeat
+ * detail requests skip mapping, serialization and hashing, and write the bytes
+ * as-is or answer a matching conditional request with 304.
+ *
+ * <p><strong>Invalidation:</strong>
+ * Entries are keyed by recipe instance (weak keys, identity comparison). When the
+ * recipe cache evicts or refreshes a recipe, the old instance is no longer used
+ * and its rendered response is dropped with it; a refreshed recipe is rendered anew.
+ *
+ * <p>Hit rate, evictions and size are published to Micrometer under
+ * {@code cache.*} with tag {@code cache=recipe-responses}; loads and evictions are
+ * also emitted as flight recorder events.
+ */
+@Slf4j
+@Component
+public class RecipeResponseCache {
+
+    private final boolean enabled;
+    private final boolean gzipEnabled;
+    private final int gzipMinBytes;
+    private final ObjectMapper objectMapper;
+    private final Cache<RecipeDetail, RenderedRecipe> cache;
+
+    public RecipeResponseCache(ResponseCacheProperties properties, ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.gzipEnabled = properties.isGzipEnabled();
+        this.gzipMinBytes = properties.getGzipMinBytes();
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumSize(properties.getMaximumSize())
+                .recordStats()
+                .<RecipeDetail, RenderedRecipe>evictionListener((recipe, _, _) ->
+                        CacheOperationEvent.emit(CacheNames.RECIPE_RESPONSES, CacheOperationEvent.EVICTION,
+                                recipe != null ? recipe.getId() : null))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CacheNames.RECIPE_RESPONSES);
+        log.info("Recipe response cache {}: maximumSize={}, gzip={}",
+                enabled ? "enabled" : "disabled", properties.getMaximumSize(), gzipEnabled);
+    }
+
+    /**
+     * Returns the rendered response for a recipe, rendering it on a miss.
+     *
+     * @param recipe the recipe to render
+     * @return the rendered response
+     */
+    public RenderedRecipe get(RecipeDetail recipe) {
+        Objects.requireNonNull(recipe, "Recipe cannot be null");
+        if (!enabled) {
+            return render(recipe);
+        }
+        return cache.get(recipe, this::load);
+    }
+
+    /**
+     * Returns current hit/miss statistics.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private RenderedRecipe load(RecipeDetail recipe) {
+        CacheOperationEvent load = CacheOperationEvent.beginLoad(CacheNames.RECIPE_RESPONSES);
+        RenderedRecipe rendered = render(recipe);
+        load.commitLoad(recipe.getId());
+        return rendered;
+    }
+
+    private RenderedRecipe render(RecipeDetail recipe) {
+        long mappingStart = StageTimings.start();
+        RecipeDetailResponse body = RecipeMapper.toRecipeDetailResponse(recipe);
+        StageTimings.record(Stage.MAPPING, mappingStart);
+        long serializationStart = StageTimings.start();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize recipe " + recipe.getId(), e);
+        }
+        String etag = ETags.strong(json);
+        byte[] gzip = gzipEnabled && json.length >= gzipMinBytes ? gzip(json) : null;
+        String gzipEtag = gzip != null ? ETags.forCoding(etag, "gzip") : null;
+        StageTimings.record(Stage.SERIALIZATION, serializationStart);
+        log.debug("Rendered recipe {}: {} bytes JSON, {} bytes gzip, etag={}",
+                recipe.getId(), json.length, gzip != null ? gzip.length : "-", etag);
+        return new RenderedRecipe(body, json, etag, gzip, gzipEtag);
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to gzip response", e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -2,18 +2,39 @@ package app.luqma.backend.service;
 
 import app.luqma.backend.client.RecipeApiClient;
 import app.luqma.backend.config.RecipeSearchProperties;
+import app.luqma.backend.exception.InvalidPaginationException;
 import app.luqma.backend.mapper.RecipeMapper;
+import app.luqma.backend.metrics.Stage;
+import app.luqma.backend.metrics.StageTimings;
+import app.luqma.backend.model.domain.RecipeDetail;
 import app.luqma.backend.model.dto.RecipeSearchResponse;
+import app.luqma.backend.model.dto.RecipeSearchTrailer;
+import app.luqma.backend.model.dto.RecipeSummary;
+import app.luqma.backend.model.dto.spoonacular.SpoonacularEnrichedSearchResponse;
 import app.luqma.backend.model.dto.spoonacular.SpoonacularSearchResponse;
+import app.luqma.backend.repository.RecipeRepository;
 import app.luqma.backend.util.StringSanitizer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
  * Service for recipe search operations using recipe API.
  * 
- * <p>Handles recipe search with pagination and query sanitization.
+ * <p>Handles recipe search with pagination and query sanitization. Every page
+ * that has a successor carries a signed continuation cursor (see {@link SearchCursorCodec}).
  * Delegates to {@link RecipeApiClient} for external API calls.
+ * 
+ * <p>With {@code recipe-search.enriched}, paged searches request recipe details
+ * along with the results and put complete ones into the recipes cache through
+ * {@link RecipeRepository}, so opening a result usually needs no upstream call.
+ * Streamed searches stay lean, as they exist for time to first result.
+ * 
+ * <p>Paged searches are served rendered through {@link SearchResponseCache}, keyed
+ * by the canonical page, so the same page reached by page number or by cursor
+ * shares one entry.
  */
 @Slf4j
 @Service
@@ -21,67 +42,232 @@ public class RecipeSearchService {
     
     private final RecipeApiClient recipeApiClient;
     private final RecipeSearchProperties recipeSearchProperties;
+    private final SearchCursorCodec searchCursorCodec;
+    private final RecipeRepository recipeRepository;
+    private final SearchResponseCache searchResponseCache;
     
     public RecipeSearchService(
             RecipeApiClient recipeApiClient,
-            RecipeSearchProperties recipeSearchProperties) {
+            RecipeSearchProperties recipeSearchProperties,
+            SearchCursorCodec searchCursorCodec,
+            RecipeRepository recipeRepository,
+            SearchResponseCache searchResponseCache) {
         this.recipeApiClient = recipeApiClient;
         this.recipeSearchProperties = recipeSearchProperties;
+        this.searchCursorCodec = searchCursorCodec;
+        this.recipeRepository = recipeRepository;
+        this.searchResponseCache = searchResponseCache;
     }
     
     /**
-     * Searches for recipes based on query and returns paginated results.
+     * Searches for recipes and returns the page rendered to JSON with its entity tag.
      * 
-     * <p>Sanitizes query, enforces max page size, and delegates to Spoonacular API.
+     * <p>Sanitizes query, enforces max page size, and delegates to the recipe API.
+     * Pages are served from {@link SearchResponseCache}: a repeated or revalidating
+     * search for a cached page needs no upstream call, mapping, serialization or hashing.
      * Note: Validation is performed at the controller layer.
      * 
      * @param query the search query (case-insensitive token-based match on title)
      * @param page the page number (1-indexed)
      * @param pageSize the number of results per page
-     * @return paginated search results
+     * @return the rendered page
      */
-    public RecipeSearchResponse searchRecipes(String query, int page, int pageSize) {
-        long startTime = System.currentTimeMillis();
+    public RenderedSearch searchRecipesRendered(String query, int page, int pageSize) {
+        SearchPage request = searchPage(query, page, pageSize);
         
-        int maxPageSize = recipeSearchProperties.getMaxPageSize();
-        int effectivePageSize = Math.min(pageSize, maxPageSize);
-        if (effectivePageSize < pageSize) {
-            log.warn("Page size {} exceeds maximum {}, capping at {}", 
-                    pageSize, maxPageSize, maxPageSize);
+        if (request.isEmpty()) {
+            return searchResponseCache.render(new RecipeSearchResponse(List.of(), page, request.pageSize(), 0));
         }
         
+        return renderedPage(request.query(), request.offset(), request.pageSize());
+    }
+    
+    /**
+     * Continues a search from a cursor returned with a previous page and returns
+     * the page rendered to JSON with its entity tag, served from
+     * {@link SearchResponseCache} like {@link #searchRecipesRendered}.
+     * 
+     * <p>The cursor carries the upstream offset and page size, so deep pages are
+     * not limited by the maximum page number. It must have been issued for the
+     * same query.
+     * 
+     * @param query the search query, as sent with the first page
+     * @param cursor the {@code nextCursor} of the previous page
+     * @return the rendered next page
+     * @throws InvalidPaginationException if the cursor is invalid, expired or
+     *         belongs to a different query
+     */
+    public RenderedSearch searchRecipesAfterRendered(String query, String cursor) {
+        SearchCursor position = decodeCursor(query, cursor);
+        
+        return renderedPage(position.query(), position.offset(), capPageSize(position.pageSize()));
+    }
+    
+    /**
+     * Searches for recipes and hands each result to a consumer as soon as it is
+     * decoded from the upstream response.
+     * 
+     * <p>Applies the same sanitization and page size cap as {@link #searchRecipesRendered},
+     * but never holds the page in memory, so time to first result and memory use
+     * do not grow with the page size.
+     * 
+     * @param query the search query (case-insensitive token-based match on title)
+     * @param page the page number (1-indexed)
+     * @param pageSize the number of results per page
+     * @param resultConsumer receives each result in order
+     * @return trailer with pagination info and the total result count
+     */
+    public RecipeSearchTrailer streamSearchRecipes(String query, int page, int pageSize,
+                                                   Consumer<RecipeSummary> resultConsumer) {
+        SearchPage request = searchPage(query, page, pageSize);
+        
+        if (request.isEmpty()) {
+            return new RecipeSearchTrailer(page, request.pageSize(), 0, 0);
+        }
+        
+        int[] returned = new int[1];
+        
+        int totalResults = recipeApiClient.streamSearchRecipes(
+                request.query(), request.pageSize(), request.offset(), result -> {
+                    resultConsumer.accept(RecipeMapper.toRecipeSummary(result));
+                    returned[0]++;
+                });
+        
+        log.debug("Streamed search completed: query='{}', total={}, returned={}, page={}", 
+                request.query(), totalResults, returned[0], page);
+        
+        return new RecipeSearchTrailer(page, request.pageSize(), totalResults, returned[0]);
+    }
+    
+    /**
+     * Sanitizes the query and caps the page size of a page requested by number.
+     * Logs a warning when nothing searchable is left of the query.
+     */
+    private SearchPage searchPage(String query, int page, int pageSize) {
+        int effectivePageSize = capPageSize(pageSize);
+        
         String sanitizedQuery = StringSanitizer.sanitizeForQuery(query);
         
         if (sanitizedQuery.isBlank()) {
             log.warn("Empty or null query provided after sanitization");
-            return new RecipeSearchResponse(
-                    java.util.List.of(), 
-                    page, 
-                    effectivePageSize, 
-                    0
-            );
         }
         
-        int offset = (page - 1) * effectivePageSize;
+        return new SearchPage(sanitizedQuery, page, effectivePageSize);
+    }
+    
+    /**
+     * Verifies a cursor and checks that it was issued for the query.
+     */
+    private SearchCursor decodeCursor(String query, String cursor) {
+        SearchCursor position = searchCursorCodec.decode(cursor);
+        String sanitizedQuery = StringSanitizer.sanitizeForQuery(query);
+        if (!position.query().equals(sanitizedQuery)) {
+            throw new InvalidPaginationException("Cursor does not belong to this query. Please restart the search.");
+        }
+        return position;
+    }
+    
+    /**
+     * Returns one rendered page, from the cache or by fetching it.
+     */
+    private RenderedSearch renderedPage(String sanitizedQuery, int offset, int pageSize) {
+        SearchResponseCache.SearchKey key = new SearchResponseCache.SearchKey(
+                sanitizedQuery, offset, pageSize, searchCursorCodec.currentSnapshot());
+        return searchResponseCache.get(key, () -> fetchPage(sanitizedQuery, offset, pageSize));
+    }
+    
+    /**
+     * Fetches one page from the upstream API and attaches the cursor for the next one.
+     */
+    private RecipeSearchResponse fetchPage(String sanitizedQuery, int offset, int pageSize) {
+        int page = offset / pageSize + 1;
         
         log.debug("Search query: '{}', Page: {}, PageSize: {}, Offset: {}", 
-                sanitizedQuery, page, effectivePageSize, offset);
+                sanitizedQuery, page, pageSize, offset);
         
-        SpoonacularSearchResponse spoonacularResponse = recipeApiClient.searchRecipes(
-                sanitizedQuery, effectivePageSize, offset);
-        
-        RecipeSearchResponse response = RecipeMapper.toRecipeSearchResponse(
-                spoonacularResponse, page, effectivePageSize);
+        RecipeSearchResponse response;
+        if (recipeSearchProperties.isEnriched()) {
+            SpoonacularEnrichedSearchResponse spoonacularResponse = recipeApiClient.searchRecipesEnriched(
+                    sanitizedQuery, pageSize, offset);
+            prefetch(spoonacularResponse.getResults());
+            
+            long mappingStart = StageTimings.start();
+            response = RecipeMapper.toRecipeSearchResponse(spoonacularResponse, page, pageSize);
+            StageTimings.record(Stage.MAPPING, mappingStart);
+        } else {
+            SpoonacularSearchResponse spoonacularResponse = recipeApiClient.searchRecipes(
+                    sanitizedQuery, pageSize, offset);
+            
+            long mappingStart = StageTimings.start();
+            response = RecipeMapper.toRecipeSearchResponse(spoonacularResponse, page, pageSize);
+            StageTimings.record(Stage.MAPPING, mappingStart);
+        }
         
-        long duration = System.currentTimeMillis() - startTime;
-        if (duration > 100) {
-            log.warn("Slow query detected: '{}' took {}ms", sanitizedQuery, duration);
+        int nextOffset = offset + response.results().size();
+        if (!response.results().isEmpty() && nextOffset < response.totalResults()) {
+            response = response.withNextCursor(searchCursorCodec.encode(new SearchCursor(
+                    sanitizedQuery, nextOffset, pageSize, searchCursorCodec.currentSnapshot())));
         }
         
-        log.info("Search completed: query='{}', total={}, returned={}, page={}, duration={}ms", 
-                sanitizedQuery, response.totalResults(), response.results().size(), 
-                page, duration);
+        log.debug("Search completed: query='{}', total={}, returned={}, page={}", 
+                sanitizedQuery, response.totalResults(), response.results().size(), page);
         
         return response;
     }
+    
+    /**
+     * Puts enriched search results into the recipes cache, skipping any that lack
+     * what a detail view needs; those are fetched on demand as before.
+     */
+    private void prefetch(List<RecipeDetail> recipes) {
+        int cached = 0;
+        for (RecipeDetail recipe : recipes) {
+            if (isComplete(recipe) && recipeRepository.cacheIfAbsent(recipe)) {
+                cached++;
+            }
+        }
+        log.debug("Prefetched {} of {} search results into the recipe cache", cached, recipes.size());
+    }
+    
+    /**
+     * Returns whether a search result can stand in for the information endpoint:
+     * it has an ID, nutrition, an ingredient list and both instruction forms. Results
+     * missing any of them are left to the information endpoint, so a cached detail
+     * view never lacks steps that a direct load would show.
+     */
+    static boolean isComplete(RecipeDetail recipe) {
+        return recipe.getId() != null
+                && recipe.getNutrition() != null
+                && !recipe.getExtendedIngredients().isEmpty()
+                && recipe.getInstructions() != null && !recipe.getInstructions().isBlank()
+                && !recipe.getAnalyzedInstructions().isEmpty();
+    }
+    
+    /**
+     * Caps a requested page size at the configured maximum.
+     */
+    private int capPageSize(int pageSize) {
+        int maxPageSize = recipeSearchProperties.getMaxPageSize();
+        int effectivePageSize = Math.min(pageSize, maxPageSize);
+        if (effectivePageSize < pageSize) {
+            log.warn("Page size {} exceeds maximum {}, capping at {}", 
+                    pageSize, maxPageSize, maxPageSize);
+        }
+        return effectivePageSize;
+    }
+    
+    /**
+     * A page requested by number, with its query sanitized and its size capped.
+     * An empty query matches nothing and needs no upstream call.
+     */
+    private record SearchPage(String query, int page, int pageSize) {
+        
+        boolean isEmpty() {
+            return query.isBlank();
+        }
+        
+        int offset() {
+            return (page - 1) * pageSize;
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.model.dto.RecipeDetailResponse;
+
+/**
+ * A recipe detail response together with its serialized forms and their entity tags.
+ *
+ * <p>The byte arrays are shared between requests and must not be modified.
+ *
+ * @param body the mapped response
+ * @param json UTF-8 JSON encoding of {@code body}
+ * @param etag strong entity tag of {@code json}
+ * @param gzip gzip-compressed {@code json}, or null if not kept
+ * @param gzipEtag strong entity tag of {@code gzip}, or null if not kept
+ */
+public record RenderedRecipe(RecipeDetailResponse body, byte[] json, String etag, byte[] gzip, String gzipEtag) {
+    
+    /**
+     * Returns whether a gzip-compressed copy is available.
+     */
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+}
@@ -0,0 +1,15 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.model.dto.RecipeSearchResponse;
+
+/**
+ * A search result page together with its serialized form and entity tag.
+ *
+ * <p>The byte array is shared between requests and must not be modified.
+ *
+ * @param body the mapped response
+ * @param json UTF-8 JSON encoding of {@code body}
+ * @param etag strong entity tag of {@code json}
+ */
+public record RenderedSearch(RecipeSearchResponse body, byte[] json, String etag) {
+}
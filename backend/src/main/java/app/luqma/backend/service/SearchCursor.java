@@ -0,0 +1,12 @@
+package app.luqma.backend.service;
+
+/**
+ * Decoded position of a search continuation cursor.
+ *
+ * @param query the sanitized query the cursor belongs to
+ * @param offset upstream offset of the first result of the next page
+ * @param pageSize page size the traversal started with
+ * @param snapshot snapshot window the cursor was issued in (epoch seconds / cursor TTL)
+ */
+public record SearchCursor(String query, int offset, int pageSize, long snapshot) {
+}
@@ -0,0 +1,155 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.config.RecipeSearchProperties;
+import app.luqma.backend.exception.InvalidPaginationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Encodes and verifies opaque search continuation cursors.
+ *
+ * <p>A cursor is the Base64url encoding of a small binary record (format version,
+ * snapshot window, offset, page size, query) followed by a truncated HMAC-SHA256
+ * over it. Clients cannot forge or alter a position; any change fails verification.
+ *
+ * <p>The snapshot is the issue time divided into windows of
+ * {@code recipe-search.cursor-ttl-seconds}. Cursors for the same page issued in the
+ * same window are identical, so responses carrying them keep a stable ETag.
+ *
+ * <p>Every instance behind a load balancer must share {@code recipe-search.cursor-secret}.
+ * Without one, a random per-process secret is used, which only suits a single local
+ * instance; with {@code recipe-search.cursor-secret-required} (prod) startup fails instead.
+ */
+@Slf4j
+@Component
+public class SearchCursorCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte VERSION = 1;
+    private static final int MAC_BYTES = 16;
+    private static final int HEADER_BYTES = Byte.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final Clock clock;
+
+    public SearchCursorCodec(RecipeSearchProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    SearchCursorCodec(RecipeSearchProperties properties, Clock clock) {
+        this.key = new SecretKeySpec(
+                secretBytes(properties.getCursorSecret(), properties.isCursorSecretRequired()), ALGORITHM);
+        this.ttlSeconds = properties.getCursorTtlSeconds();
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the current snapshot window.
+     */
+    public long currentSnapshot() {
+        return clock.instant().getEpochSecond() / ttlSeconds;
+    }
+
+    /**
+     * Encodes a cursor.
+     *
+     * @param cursor the position to encode
+     * @return URL-safe opaque cursor
+     */
+    public String encode(SearchCursor cursor) {
+        byte[] query = cursor.query().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + query.length + MAC_BYTES);
+        buffer.put(VERSION)
+                .putLong(cursor.snapshot())
+                .putInt(cursor.offset())
+                .putInt(cursor.pageSize())
+                .put(query);
+        byte[] token = buffer.array();
+        System.arraycopy(sign(token, token.length - MAC_BYTES), 0, token, token.length - MAC_BYTES, MAC_BYTES);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    /**
+     * Verifies and decodes a cursor.
+     *
+     * @param cursor the opaque cursor from a previous response
+     * @return the decoded position
+     * @throws InvalidPaginationException if the cursor is malformed, forged or expired
+     */
+    public SearchCursor decode(String cursor) {
+        byte[] token;
+        try {
+            token = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+        if (token.length < HEADER_BYTES + MAC_BYTES) {
+            throw invalid();
+        }
+        int payloadLength = token.length - MAC_BYTES;
+        byte[] expected = sign(token, payloadLength);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(token, payloadLength, token.length))) {
+            throw invalid();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(token, 0, payloadLength);
+        byte version = buffer.get();
+        long snapshot = buffer.getLong();
+        int offset = buffer.getInt();
+        int pageSize = buffer.getInt();
+        String query = new String(token, HEADER_BYTES, payloadLength - HEADER_BYTES, StandardCharsets.UTF_8);
+
+        long age = currentSnapshot() - snapshot;
+        if (version != VERSION || offset < 0 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw invalid();
+        }
+        if (age < 0 || age > 1) {
+            throw new InvalidPaginationException("Cursor has expired. Please restart the search.");
+        }
+        return new SearchCursor(query, offset, pageSize, snapshot);
+    }
+
+    private byte[] sign(byte[] data, int length) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(data, 0, length);
+            return Arrays.copyOf(mac.doFinal(), MAC_BYTES);
+        } catch (GeneralSecurityException e) {
+            // Every Java platform is required to support HmacSHA256
+            throw new IllegalStateException("Failed to sign search cursor", e);
+        }
+    }
+
+    private static InvalidPaginationException invalid() {
+        return new InvalidPaginationException("Invalid cursor. Please restart the search.");
+    }
+
+    private static byte[] secretBytes(String secret, boolean required) {
+        if (secret != null && !secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        if (required) {
+            throw new IllegalStateException("recipe-search.cursor-secret must not be blank. "
+                    + "Set RECIPE_SEARCH_CURSOR_SECRET to the same value on every instance.");
+        }
+        log.warn("recipe-search.cursor-secret is not set; using a random secret. "
+                + "Search cursors will not survive restarts or work across instances.");
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+}
@@ -0,0 +1,133 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.config.SearchCacheProperties;
+import app.luqma.backend.constants.CacheNames;
+import app.luqma.backend.jfr.CacheOperationEvent;
+import app.luqma.backend.metrics.Stage;
+import app.luqma.backend.metrics.StageTimings;
+import app.luqma.backend.model.dto.RecipeSearchResponse;
+import app.luqma.backend.util.ETags;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Cache of rendered search result pages.
+ *
+ * <p>Entries are keyed by the canonical page (sanitized query, upstream offset, page
+ * size) and the cursor snapshot window, and hold the page's JSON bytes and entity tag.
+ * A repeated or revalidating search is answered from the entry without calling the
+ * upstream API, mapping, serializing or hashing.
+ *
+ * <p><strong>Invalidation:</strong>
+ * Search results are not tied to cached recipes, so entries simply expire after
+ * {@code search-cache.expire-after-write-seconds}. The snapshot window in the key
+ * keeps the continuation cursor inside a cached page valid.
+ *
+ * <p>Hit rate, evictions and size are published to Micrometer under
+ * {@code cache.*} with tag {@code cache=search-responses}; loads and evictions are
+ * also emitted as flight recorder events.
+ */
+@Slf4j
+@Component
+public class SearchResponseCache {
+
+    private final boolean enabled;
+    private final ObjectMapper objectMapper;
+    private final Cache<SearchKey, RenderedSearch> cache;
+
+    public SearchResponseCache(SearchCacheProperties properties, ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.getExpireAfterWriteSeconds()))
+                .recordStats()
+                .<SearchKey, RenderedSearch>evictionListener((key, _, _) ->
+                        CacheOperationEvent.emit(CacheNames.SEARCH_RESPONSES, CacheOperationEvent.EVICTION, key))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CacheNames.SEARCH_RESPONSES);
+        log.info("Search response cache {}: maximumSize={}, expireAfterWrite={}s",
+                enabled ? "enabled" : "disabled",
+                properties.getMaximumSize(), properties.getExpireAfterWriteSeconds());
+    }
+
+    /**
+     * Returns the rendered page for a key, searching and rendering it on a miss.
+     *
+     * <p>The search runs outside the cache's locks, as it calls the upstream API;
+     * concurrent misses for the same page may each search, and the last one is kept.
+     *
+     * @param key the canonical page
+     * @param search performs the search on a miss; nothing is cached if it throws
+     * @return the rendered page
+     */
+    public RenderedSearch get(SearchKey key, Supplier<RecipeSearchResponse> search) {
+        Objects.requireNonNull(key, "Search key cannot be null");
+        if (!enabled) {
+            return render(search.get());
+        }
+
+        long lookupStart = StageTimings.start();
+        RenderedSearch cached = cache.getIfPresent(key);
+        StageTimings.record(Stage.CACHE_LOOKUP, lookupStart);
+        StageTimings.recordCacheLookup(cached != null);
+        if (cached != null) {
+            return cached;
+        }
+
+        CacheOperationEvent load = CacheOperationEvent.beginLoad(CacheNames.SEARCH_RESPONSES);
+        RenderedSearch rendered = render(search.get());
+        cache.put(key, rendered);
+        load.commitLoad(key);
+        return rendered;
+    }
+
+    /**
+     * Renders a page without caching it.
+     *
+     * @param response the page to render
+     * @return the rendered page
+     */
+    public RenderedSearch render(RecipeSearchResponse response) {
+        long serializationStart = StageTimings.start();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize search response", e);
+        }
+        String etag = ETags.strong(json);
+        StageTimings.record(Stage.SERIALIZATION, serializationStart);
+        return new RenderedSearch(response, json, etag);
+    }
+
+    /**
+     * Returns current hit/miss statistics.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Cache key: one page of one query, as issued in one cursor snapshot window.
+     *
+     * @param query the sanitized query
+     * @param offset upstream offset of the page's first result
+     * @param pageSize the effective page size
+     * @param snapshot the cursor snapshot window the page's continuation cursor belongs to
+     */
+    public record SearchKey(String query, int offset, int pageSize, long snapshot) {
+    }
+}
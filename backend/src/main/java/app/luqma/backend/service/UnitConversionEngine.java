@@ -0,0 +1,179 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.exception.ResourceLoadException;
+import app.luqma.backend.model.domain.ExtendedIngredient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Converts ingredient amounts to grams for proportional nutrition estimation.
+ *
+ * <p>Unit strings are resolved to a {@link CanonicalUnit} by exact lookup. Volume and
+ * count units are then weighed with the ingredient's own density from an embedded
+ * table ({@code nutrition/ingredient-densities.csv}), so a cup of parmesan and a cup
+ * of cream no longer weigh the same. Ingredients missing from the table fall back to
+ * water density and a generic piece weight.
+ *
+ * <p>Grams per unit are cached per ingredient ID and unit spelling, so repeated
+ * conversions for the same ingredient are a single cache lookup and a multiplication.
+ */
+@Slf4j
+@Component
+public class UnitConversionEngine {
+
+    static final String DENSITY_TABLE = "nutrition/ingredient-densities.csv";
+
+    /** Weight of one US cup of water. */
+    static final double WATER_GRAMS_PER_CUP = 236.588;
+
+    /** Weight assumed for one item of an ingredient without a piece weight. */
+    static final double DEFAULT_GRAMS_PER_PIECE = 50.0;
+
+    private static final long NO_INGREDIENT_ID = -1L;
+    private static final long MAX_CACHED_CONVERSIONS = 10_000;
+
+    private final Map<Long, Density> densities;
+    private final Cache<ConversionKey, Double> gramsPerUnitCache = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_CONVERSIONS)
+            .build();
+
+    public UnitConversionEngine() {
+        this(loadDensityTable(DENSITY_TABLE));
+    }
+
+    UnitConversionEngine(Map<Long, Density> densities) {
+        this.densities = Map.copyOf(densities);
+        log.debug("Unit conversion engine initialized with {} ingredient densities", this.densities.size());
+    }
+
+    /**
+     * Converts an ingredient's amount to grams.
+     *
+     * @param ingredient the ingredient to weigh
+     * @return approximate weight in grams, or 0.0 if the amount is missing or not positive
+     */
+    public double toGrams(ExtendedIngredient ingredient) {
+        return toGrams(ingredient.getId(), ingredient.getAmount(), ingredient.getUnit());
+    }
+
+    /**
+     * Converts an amount of an ingredient to grams.
+     *
+     * @param ingredientId ingredient ID used to look up its density (can be null)
+     * @param amount ingredient amount (can be null)
+     * @param unit ingredient unit (can be null)
+     * @return approximate weight in grams, or 0.0 if the amount is missing or not positive
+     */
+    public double toGrams(Long ingredientId, Double amount, String unit) {
+        if (amount == null || amount <= 0) {
+            return 0.0;
+        }
+        return amount * gramsPerUnit(ingredientId, unit);
+    }
+
+    /**
+     * Returns the weight in grams of one unit of an ingredient.
+     */
+    double gramsPerUnit(Long ingredientId, String unit) {
+        ConversionKey key = new ConversionKey(
+                ingredientId != null ? ingredientId : NO_INGREDIENT_ID,
+                unit != null ? unit : "");
+        return gramsPerUnitCache.get(key, k -> computeGramsPerUnit(k.ingredientId(), parseUnit(k.unit())));
+    }
+
+    /**
+     * Resolves a unit string to its canonical unit.
+     *
+     * @param unit unit as written in the recipe (can be null)
+     * @return the canonical unit
+     */
+    public static CanonicalUnit parseUnit(String unit) {
+        return CanonicalUnit.parse(unit);
+    }
+
+    private double computeGramsPerUnit(long ingredientId, CanonicalUnit unit) {
+        Density density = densities.get(ingredientId);
+        return switch (unit.kind()) {
+            case MASS, FIXED -> {
+                if (unit == CanonicalUnit.UNKNOWN) {
+                    log.debug("Unknown unit for ingredient {}, using default weight estimation", ingredientId);
+                }
+                yield unit.factor();
+            }
+            case VOLUME -> unit.factor() * (density != null && density.gramsPerCup() > 0
+                    ? density.gramsPerCup()
+                    : WATER_GRAMS_PER_CUP);
+            case COUNT -> unit.factor() * (density != null && density.gramsPerPiece() > 0
+                    ? density.gramsPerPiece()
+                    : DEFAULT_GRAMS_PER_PIECE);
+        };
+    }
+
+    /**
+     * Loads the density table from the classpath.
+     *
+     * <p>Format: {@code ingredientId,gramsPerCup,gramsPerPiece[,name]}. Lines starting
+     * with {@code #} and the header line are skipped; empty columns mean "not known".
+     *
+     * @throws ResourceLoadException if the table is missing or malformed
+     */
+    static Map<Long, Density> loadDensityTable(String resourcePath) {
+        ClassPathResource resource = new ClassPathResource(resourcePath);
+        Map<Long, Density> table = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#") || line.startsWith("ingredientId")) {
+                    continue;
+                }
+                String[] columns = line.split(",", -1);
+                if (columns.length < 3) {
+                    throw new ResourceLoadException(
+                            "Malformed density entry at " + resourcePath + ":" + lineNumber);
+                }
+                try {
+                    table.put(Long.parseLong(columns[0].strip()),
+                            new Density(parseOptional(columns[1]), parseOptional(columns[2])));
+                } catch (NumberFormatException e) {
+                    throw new ResourceLoadException(
+                            "Malformed density entry at " + resourcePath + ":" + lineNumber, e);
+                }
+            }
+        } catch (IOException e) {
+            String errorMsg = "Failed to load ingredient densities from: " + resourcePath;
+            log.error(errorMsg, e);
+            throw new ResourceLoadException(errorMsg, e);
+        }
+        return table;
+    }
+
+    private static double parseOptional(String column) {
+        String value = column.strip();
+        return value.isEmpty() ? 0.0 : Double.parseDouble(value);
+    }
+
+    /**
+     * Per-ingredient weights; 0.0 means the measure is not known.
+     *
+     * @param gramsPerCup weight of one US cup
+     * @param gramsPerPiece weight of one medium item
+     */
+    record Density(double gramsPerCup, double gramsPerPiece) {
+    }
+
+    private record ConversionKey(long ingredientId, String unit) {
+    }
+}
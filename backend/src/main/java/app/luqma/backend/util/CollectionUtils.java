@@ -1,8 +1,7 @@
 package app.luqma.backend.util;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Utility class for common collection operations.
@@ -14,27 +13,24 @@ public final class CollectionUtils {
     }
     
     /**
-     * Creates a defensive copy of a list.
-     * Returns an empty list if the input is null.
+     * Returns an immutable copy of a list for storing in value objects.
+     * Returns an empty list if the input is null and drops null elements.
+     * Lists that are already immutable copies are returned as-is, so passing a
+     * list from one value object to another does not copy it again.
      *
      * @param list the list to copy
      * @param <T> the type of elements in the list
-     * @return a new ArrayList containing the same elements, or empty list if input is null
+     * @return an immutable list containing the non-null elements of the input
      */
-    public static <T> List<T> defensiveCopy(List<T> list) {
-        return list != null ? new ArrayList<>(list) : new ArrayList<>();
-    }
-    
-    /**
-     * Returns an unmodifiable defensive copy of a list.
-     * Returns an empty unmodifiable list if the input is null.
-     *
-     * @param list the list to copy
-     * @param <T> the type of elements in the list
-     * @return an unmodifiable list containing the same elements, or empty list if input is null
-     */
-    public static <T> List<T> unmodifiableDefensiveCopy(List<T> list) {
-        return list != null ? Collections.unmodifiableList(new ArrayList<>(list)) : Collections.emptyList();
+    public static <T> List<T> immutableCopy(List<T> list) {
+        if (list == null) {
+            return List.of();
+        }
+        for (T element : list) {
+            if (element == null) {
+                return list.stream().filter(Objects::nonNull).toList();
+            }
+        }
+        return List.copyOf(list);
     }
 }
-
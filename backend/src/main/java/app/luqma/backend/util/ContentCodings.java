@@ -0,0 +1,55 @@
+package app.luqma.backend.util;
+
+/**
+ * Utility class for HTTP content coding negotiation.
+ */
+public final class ContentCodings {
+    
+    private ContentCodings() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+    
+    /**
+     * Returns whether an Accept-Encoding header allows gzip, honouring {@code q=0}.
+     * An explicit {@code gzip} entry takes precedence over {@code *} wherever it
+     * appears; {@code *} only decides when gzip is not listed.
+     *
+     * @param acceptEncoding the request header value (can be null)
+     * @return true if a gzip-encoded response may be sent
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcardAccepted = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].strip();
+            if (name.equalsIgnoreCase("gzip")) {
+                return !hasZeroQuality(parts);
+            }
+            if (name.equals("*")) {
+                wildcardAccepted = !hasZeroQuality(parts);
+            }
+        }
+        return wildcardAccepted;
+    }
+    
+    private static boolean hasZeroQuality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].strip();
+            if (param.regionMatches(true, 0, "q=", 0, 2) && isZero(param.substring(2))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isZero(String qValue) {
+        try {
+            return Double.parseDouble(qValue.strip()) == 0.0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
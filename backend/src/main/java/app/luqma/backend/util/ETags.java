@@ -0,0 +1,93 @@
+package app.luqma.backend.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Utility class for building HTTP entity tags.
+ *
+ * <p>Tags are strong validators: a SHA-256 hash of the exact response bytes,
+ * truncated to 128 bits and Base64url-encoded, in the quoted form used by the
+ * {@code ETag} header.
+ */
+public final class ETags {
+    
+    private static final int HASH_BYTES = 16;
+    
+    private ETags() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+    
+    /**
+     * Computes a strong entity tag for a response body.
+     *
+     * @param content the exact bytes sent to the client
+     * @return quoted entity tag, e.g. {@code "3q2-7wAAAAAAAAAAAAAAAA"}
+     */
+    public static String strong(byte[] content) {
+        byte[] hash = Arrays.copyOf(sha256().digest(content), HASH_BYTES);
+        return quote(Base64.getUrlEncoder().withoutPadding().encodeToString(hash));
+    }
+    
+    /**
+     * Derives the entity tag of another encoding of the same content, such as its
+     * gzip-compressed form. Strong tags must differ between encodings.
+     *
+     * @param etag quoted entity tag of the identity encoding
+     * @param coding content coding name, e.g. {@code gzip}
+     * @return quoted entity tag for the encoded representation
+     */
+    public static String forCoding(String etag, String coding) {
+        return quote(etag.substring(1, etag.length() - 1) + "-" + coding);
+    }
+    
+    /**
+     * Evaluates an {@code If-None-Match} header against the current entity tag.
+     *
+     * <p>Uses weak comparison as required for {@code If-None-Match}: a {@code W/}
+     * prefix on a listed tag is ignored. Scans the header in place without
+     * splitting or allocating.
+     *
+     * @param ifNoneMatch the request header value (can be null)
+     * @param etag quoted entity tag of the current representation
+     * @return true if the client's copy is current and 304 may be sent
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        if (ifNoneMatch.strip().equals("*")) {
+            return true;
+        }
+        int from = 0;
+        while (true) {
+            int start = ifNoneMatch.indexOf('"', from);
+            if (start < 0) {
+                return false;
+            }
+            int end = ifNoneMatch.indexOf('"', start + 1);
+            if (end < 0) {
+                return false;
+            }
+            if (end + 1 - start == etag.length() && ifNoneMatch.regionMatches(start, etag, 0, etag.length())) {
+                return true;
+            }
+            from = end + 1;
+        }
+    }
+    
+    private static String quote(String opaqueTag) {
+        return "\"" + opaqueTag + "\"";
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package app.luqma.backend.util;
+
+/**
+ * Utility class for validating textual IP addresses.
+ *
+ * <p>Checks IPv4 dotted-quad and IPv6 text forms (RFC 4291 section 2.2, including
+ * {@code ::} compression and an embedded IPv4 tail) by scanning characters in place,
+ * without regular expressions, splitting or allocation. Ranges of a larger string,
+ * such as one entry of {@code X-Forwarded-For}, can be checked without a substring.
+ * Zone identifiers ({@code %eth0}) are not accepted.
+ */
+public final class IpAddresses {
+
+    private static final int IPV6_GROUPS = 8;
+
+    private IpAddresses() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Checks whether a string is a valid IPv4 or IPv6 address.
+     *
+     * @param ip the address text (can be null)
+     * @return true if valid
+     */
+    public static boolean isValid(String ip) {
+        return ip != null && isValid(ip, 0, ip.length());
+    }
+
+    /**
+     * Checks whether {@code text[start, end)} is a valid IPv4 or IPv6 address.
+     *
+     * @param text the text containing the address
+     * @param start index of the first character
+     * @param end index after the last character
+     * @return true if valid
+     */
+    public static boolean isValid(CharSequence text, int start, int end) {
+        if (start >= end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == ':') {
+                return isValidIpv6(text, start, end);
+            }
+        }
+        return isValidIpv4(text, start, end);
+    }
+
+    /**
+     * Checks whether {@code text[start, end)} is a dotted-quad IPv4 address.
+     * Octets are 0-255 with at most three digits; leading zeros are accepted.
+     *
+     * @param text the text containing the address
+     * @param start index of the first character
+     * @param end index after the last character
+     * @return true if valid
+     */
+    public static boolean isValidIpv4(CharSequence text, int start, int end) {
+        int octets = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (++digits > 3 || value > 255) {
+                    return false;
+                }
+            } else if (c == '.') {
+                if (digits == 0 || ++octets > 3) {
+                    return false;
+                }
+                value = 0;
+                digits = 0;
+            } else {
+                return false;
+            }
+        }
+        return digits > 0 && octets == 3;
+    }
+
+    /**
+     * Checks whether {@code text[start, end)} is an IPv6 address in any standard
+     * text form.
+     *
+     * @param text the text containing the address
+     * @param start index of the first character
+     * @param end index after the last character
+     * @return true if valid
+     */
+    public static boolean isValidIpv6(CharSequence text, int start, int end) {
+        if (end - start < 2) {
+            return false;
+        }
+        int groups = 0;
+        boolean compressed = false;
+        int i = start;
+        if (text.charAt(i) == ':') {
+            // A leading colon is only valid as the start of "::"
+            if (text.charAt(i + 1) != ':') {
+                return false;
+            }
+            compressed = true;
+            i += 2;
+        }
+        while (i < end) {
+            int groupStart = i;
+            int digits = 0;
+            while (i < end && digits <= 4 && isHexDigit(text.charAt(i))) {
+                i++;
+                digits++;
+            }
+            if (digits == 0 || digits > 4) {
+                return false;
+            }
+            if (i == end) {
+                groups++;
+                break;
+            }
+            char c = text.charAt(i);
+            if (c == '.') {
+                // Embedded IPv4 takes the place of the last two groups
+                if (!isValidIpv4(text, groupStart, end)) {
+                    return false;
+                }
+                groups += 2;
+                break;
+            }
+            if (c != ':') {
+                return false;
+            }
+            groups++;
+            i++;
+            if (i < end && text.charAt(i) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                i++;
+            } else if (i == end) {
+                // A trailing single colon
+                return false;
+            }
+        }
+        return compressed ? groups < IPV6_GROUPS : groups == IPV6_GROUPS;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+}
@@ -0,0 +1,206 @@
+package app.luqma.backend.openapi;
+
+import app.luqma.backend.LuqmaBackendApplication;
+import org.springdoc.core.models.GroupedOpenApi;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Generates the OpenAPI documents served by {@code StaticOpenApiFilter}.
+ *
+ * <p>Starts the backend in-process on a random port, fetches springdoc's output for
+ * the ungrouped {@code /v3/api-docs} and every {@link GroupedOpenApi} group, and
+ * writes each as {@code openapi/<name>.json} with a gzip copy under {@code --output}.
+ * Keys are sorted and the gzip header carries no timestamp, so unchanged annotations
+ * produce byte-identical files.
+ *
+ * <p>The documents are committed under {@code src/main/resources/openapi}, so every run
+ * of the app serves them. With {@code --verify} nothing is written: the rendered
+ * documents are compared with the committed files under {@code --output}, and the run
+ * fails if any document differs, is missing or belongs to a group that no longer exists.
+ *
+ * <p>Run via Gradle: {@code ./gradlew generateOpenApi} or {@code ./gradlew verifyOpenApi}.
+ */
+public final class OpenApiGeneratorMain {
+    
+    private static final String API_DOCS_PATH = "/v3/api-docs";
+    private static final String DEFAULT_DOCUMENT = "default";
+    
+    private OpenApiGeneratorMain() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Path output = null;
+        String profile = "mock";
+        boolean verify = false;
+        for (String arg : args) {
+            if (arg.startsWith("--output=")) {
+                output = Path.of(arg.substring("--output=".length()));
+            } else if (arg.startsWith("--profile=")) {
+                profile = arg.substring("--profile=".length());
+            } else if (arg.equals("--verify")) {
+                verify = true;
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (output == null) {
+            throw new IllegalArgumentException("--output is required");
+        }
+        
+        Map<String, byte[]> documents;
+        try (ConfigurableApplicationContext context = startApp(profile)) {
+            documents = fetchDocuments(context);
+        }
+        
+        Path directory = output.resolve("openapi");
+        if (verify) {
+            verify(directory, documents);
+        } else {
+            write(directory, documents);
+        }
+    }
+    
+    private static ConfigurableApplicationContext startApp(String profile) {
+        // Passed as command line arguments so they take precedence over the profile's YAML
+        String[] properties = {
+                "--server.port=0",
+                "--springdoc.api-docs.enabled=true",
+                // Render from the annotations, not the committed documents on the classpath
+                "--openapi.static-documents.enabled=false",
+                "--springdoc.api-docs.path=" + API_DOCS_PATH,
+                "--springdoc.writer-with-order-by-keys=true",
+                "--springdoc.writer-with-default-pretty-printer=true",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.app.luqma=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.boot=WARN"
+        };
+        
+        return new SpringApplicationBuilder(LuqmaBackendApplication.class)
+                .profiles(profile)
+                .run(properties);
+    }
+    
+    private static Map<String, byte[]> fetchDocuments(ConfigurableApplicationContext context) throws Exception {
+        URI baseUri = URI.create("http://localhost:"
+                + ((WebServerApplicationContext) context).getWebServer().getPort() + API_DOCS_PATH);
+        
+        Map<String, URI> locations = new LinkedHashMap<>();
+        locations.put(DEFAULT_DOCUMENT, baseUri);
+        context.getBeansOfType(GroupedOpenApi.class).values().stream()
+                .map(GroupedOpenApi::getGroup)
+                .sorted()
+                .forEach(group -> locations.put(group, URI.create(baseUri + "/" + group)));
+        
+        Map<String, byte[]> documents = new LinkedHashMap<>();
+        try (HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build()) {
+            for (Map.Entry<String, URI> location : locations.entrySet()) {
+                HttpResponse<byte[]> response = client.send(
+                        HttpRequest.newBuilder(location.getValue()).timeout(Duration.ofSeconds(30)).build(),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("GET " + location.getValue() + " returned " + response.statusCode());
+                }
+                documents.put(location.getKey(), response.body());
+            }
+        }
+        return documents;
+    }
+    
+    private static void write(Path directory, Map<String, byte[]> documents) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, byte[]> document : documents.entrySet()) {
+            Files.write(directory.resolve(document.getKey() + ".json"), document.getValue());
+            Files.write(directory.resolve(document.getKey() + ".json.gz"), gzip(document.getValue()));
+            System.out.printf("Wrote %s (%d bytes)%n", directory.resolve(document.getKey() + ".json"),
+                    document.getValue().length);
+        }
+    }
+    
+    private static void verify(Path directory, Map<String, byte[]> documents) throws IOException {
+        List<String> problems = new ArrayList<>();
+        for (Map.Entry<String, byte[]> document : documents.entrySet()) {
+            Path file = directory.resolve(document.getKey() + ".json");
+            Path compressed = directory.resolve(document.getKey() + ".json.gz");
+            if (!Files.exists(file) || !Files.exists(compressed)) {
+                problems.add(file + " or its .gz copy is missing");
+                continue;
+            }
+            String difference = firstDifference(Files.readAllBytes(file), document.getValue());
+            if (difference != null) {
+                problems.add(file + " differs at " + difference);
+            } else if (!Arrays.equals(Files.readAllBytes(compressed), gzip(document.getValue()))) {
+                problems.add(compressed + " does not match " + file);
+            }
+        }
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                files.map(file -> file.getFileName().toString())
+                        .filter(name -> name.endsWith(".json"))
+                        .filter(name -> !documents.containsKey(name.substring(0, name.length() - ".json".length())))
+                        .forEach(name -> problems.add(directory.resolve(name) + " belongs to no API group"));
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Committed OpenAPI documents do not match the annotations; "
+                    + "run ./gradlew generateOpenApi and commit the result:\n  " + String.join("\n  ", problems));
+        }
+        System.out.printf("%d OpenAPI documents match the annotations%n", documents.size());
+    }
+    
+    /**
+     * Describes the first differing line of two documents, or returns null if they are equal.
+     */
+    private static String firstDifference(byte[] committed, byte[] rendered) {
+        List<String> committedLines = new String(committed, StandardCharsets.UTF_8).lines().toList();
+        List<String> renderedLines = new String(rendered, StandardCharsets.UTF_8).lines().toList();
+        int lines = Math.max(committedLines.size(), renderedLines.size());
+        for (int i = 0; i < lines; i++) {
+            String expected = i < committedLines.size() ? committedLines.get(i) : "<end of file>";
+            String actual = i < renderedLines.size() ? renderedLines.get(i) : "<end of file>";
+            if (!expected.equals(actual)) {
+                return "line " + (i + 1) + ": committed `" + expected.strip() + "`, rendered `" + actual.strip() + "`";
+            }
+        }
+        return Arrays.equals(committed, rendered) ? null : "line endings";
+    }
+    
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 4);
+        // Written once at build time, so the slowest level costs nothing at runtime
+        try (OutputStream out = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(content);
+        }
+        return buffer.toByteArray();
+    }
+}
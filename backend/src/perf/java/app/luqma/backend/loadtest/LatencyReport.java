@@ -0,0 +1,118 @@
+package app.luqma.backend.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes load test results to disk.
+ *
+ * <p>Percentile distributions use the standard HdrHistogram {@code .hgrm} format
+ * (values in milliseconds), which can be plotted with the HdrHistogram plotter.
+ * Rate sweeps additionally produce a CSV of achieved throughput against latency
+ * percentiles.
+ */
+final class LatencyReport {
+    
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String SWEEP_HEADER =
+            "target_rps,achieved_rps,completed,failed,non_2xx,p50_ms,p90_ms,p99_ms,p99_9_ms,max_ms,service_p99_ms";
+    
+    private LatencyReport() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+    
+    /**
+     * Writes the corrected, uncorrected and per-operation histograms of a phase.
+     */
+    static void writeRun(Path outputDir, RunResult result) throws IOException {
+        Files.createDirectories(outputDir);
+        writeHistogram(outputDir.resolve(result.label() + "-latency.hgrm"), result.latency());
+        writeHistogram(outputDir.resolve(result.label() + "-service-time.hgrm"), result.serviceTime());
+        for (Map.Entry<RequestMix.Operation, Histogram> entry : result.latencyByOperation().entrySet()) {
+            if (entry.getValue().getTotalCount() > 0) {
+                String name = result.label() + "-" + entry.getKey().name().toLowerCase() + "-latency.hgrm";
+                writeHistogram(outputDir.resolve(name), entry.getValue());
+            }
+        }
+    }
+    
+    /**
+     * Writes one CSV row per sweep step.
+     */
+    static void writeSweep(Path file, List<RunResult> results) throws IOException {
+        Files.createDirectories(file.getParent());
+        StringBuilder csv = new StringBuilder(SWEEP_HEADER).append('\n');
+        for (RunResult result : results) {
+            Histogram latency = result.latency();
+            csv.append(String.format(Locale.ROOT, "%.1f,%.1f,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                    result.targetRate(),
+                    result.achievedRate(),
+                    result.completed(),
+                    result.failed(),
+                    result.non2xxResponses(),
+                    millis(latency.getValueAtPercentile(50)),
+                    millis(latency.getValueAtPercentile(90)),
+                    millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()),
+                    millis(result.serviceTime().getValueAtPercentile(99))));
+        }
+        Files.writeString(file, csv);
+    }
+    
+    /**
+     * Formats a one-paragraph console summary of a phase.
+     */
+    static String summary(RunResult result) {
+        Histogram latency = result.latency();
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT,
+                "%s: target=%s achieved=%.1f req/s completed=%d failed=%d statuses=%s%n",
+                result.label(),
+                result.targetRate() > 0 ? String.format(Locale.ROOT, "%.1f req/s", result.targetRate()) : "unpaced",
+                result.achievedRate(),
+                result.completed(),
+                result.failed(),
+                result.statusCounts()));
+        sb.append(String.format(Locale.ROOT,
+                "  latency ms     p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                millis(latency.getValueAtPercentile(50)),
+                millis(latency.getValueAtPercentile(90)),
+                millis(latency.getValueAtPercentile(99)),
+                millis(latency.getValueAtPercentile(99.9)),
+                millis(latency.getMaxValue())));
+        sb.append(String.format(Locale.ROOT,
+                "  service ms     p50=%.2f p99=%.2f max=%.2f (uncorrected)%n",
+                millis(result.serviceTime().getValueAtPercentile(50)),
+                millis(result.serviceTime().getValueAtPercentile(99)),
+                millis(result.serviceTime().getMaxValue())));
+        for (Map.Entry<RequestMix.Operation, Histogram> entry : result.latencyByOperation().entrySet()) {
+            Histogram histogram = entry.getValue();
+            if (histogram.getTotalCount() > 0) {
+                sb.append(String.format(Locale.ROOT, "  %-14s n=%d p50=%.2f p99=%.2f%n",
+                        entry.getKey().name().toLowerCase(),
+                        histogram.getTotalCount(),
+                        millis(histogram.getValueAtPercentile(50)),
+                        millis(histogram.getValueAtPercentile(99))));
+            }
+        }
+        return sb.toString();
+    }
+    
+    private static void writeHistogram(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+    
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,229 @@
+package app.luqma.backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives HTTP traffic in open-loop or closed-loop mode and records latency.
+ *
+ * <p><strong>Open loop</strong> issues requests on a fixed schedule regardless of
+ * how many are outstanding, which models independent users arriving at a given
+ * rate. <strong>Closed loop</strong> runs a fixed number of workers that wait for
+ * each response before sending the next; when paced, each worker follows its own
+ * schedule.
+ *
+ * <p>Whenever a schedule exists, latency is measured from the intended start
+ * time rather than the actual send time. A stalled server therefore shows up as
+ * high latency for every request that should have been sent during the stall,
+ * instead of a single slow sample (coordinated omission).
+ */
+final class LoadGenerator {
+    
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+    
+    private final HttpClient client;
+    private final RequestFactory requestFactory;
+    private final RequestMix mix;
+    private final long seed;
+    
+    LoadGenerator(HttpClient client, RequestFactory requestFactory, RequestMix mix, long seed) {
+        this.client = client;
+        this.requestFactory = requestFactory;
+        this.mix = mix;
+        this.seed = seed;
+    }
+    
+    /**
+     * Sends requests at a fixed arrival rate for the given duration.
+     */
+    RunResult runOpenLoop(String label, double rate, Duration duration) throws InterruptedException {
+        Recording recording = new Recording();
+        SplittableRandom random = new SplittableRandom(seed);
+        AtomicLong outstanding = new AtomicLong();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+            waitUntil(intendedStart);
+            
+            RequestMix.Operation operation = mix.pick(random);
+            HttpRequest request = requestFactory.create(operation, random);
+            long sentAt = System.nanoTime();
+            outstanding.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        int status = response != null ? response.statusCode() : -1;
+                        recording.record(operation, intendedStart, sentAt, System.nanoTime(), status);
+                        outstanding.decrementAndGet();
+                    });
+        }
+        
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(5);
+        }
+        if (outstanding.get() > 0) {
+            System.out.printf("  %d requests still outstanding after drain timeout%n", outstanding.get());
+        }
+        
+        return recording.toResult(label, rate, start);
+    }
+    
+    /**
+     * Runs {@code concurrency} workers that each wait for a response before sending
+     * the next request. A positive {@code rate} paces the workers so the aggregate
+     * schedule matches it; zero runs them back to back.
+     */
+    RunResult runClosedLoop(String label, int concurrency, double rate, Duration duration)
+            throws InterruptedException {
+        Recording recording = new Recording();
+        boolean paced = rate > 0;
+        long workerIntervalNanos = paced ? (long) (TimeUnit.SECONDS.toNanos(1) * concurrency / rate) : 0;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        
+        List<Future<?>> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                SplittableRandom random = new SplittableRandom(seed + w);
+                // Stagger paced workers so their schedules interleave evenly
+                long firstStart = start + (paced ? workerIntervalNanos * w / concurrency : 0);
+                workers.add(executor.submit(() ->
+                        runWorker(recording, random, paced, firstStart, workerIntervalNanos, end)));
+            }
+        }
+        for (Future<?> worker : workers) {
+            if (worker.state() == Future.State.FAILED) {
+                throw new IllegalStateException("Load worker failed", worker.exceptionNow());
+            }
+        }
+        
+        return recording.toResult(label, rate, start);
+    }
+    
+    private void runWorker(Recording recording, SplittableRandom random, boolean paced,
+                           long firstStart, long intervalNanos, long end) {
+        long nextStart = firstStart;
+        while (!Thread.currentThread().isInterrupted()) {
+            long intendedStart = paced ? nextStart : System.nanoTime();
+            if (intendedStart >= end) {
+                return;
+            }
+            if (paced) {
+                waitUntil(intendedStart);
+            }
+            
+            RequestMix.Operation operation = mix.pick(random);
+            HttpRequest request = requestFactory.create(operation, random);
+            long sentAt = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            recording.record(operation, intendedStart, sentAt, System.nanoTime(), status);
+            nextStart += intervalNanos;
+        }
+    }
+    
+    private static void waitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS / 2);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+    
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+    
+    /**
+     * Thread-safe accumulator for one phase.
+     */
+    private static final class Recording {
+        private final Histogram latency = newHistogram();
+        private final Histogram serviceTime = newHistogram();
+        private final Map<RequestMix.Operation, Histogram> latencyByOperation =
+                new EnumMap<>(RequestMix.Operation.class);
+        private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final AtomicLong lastCompletion = new AtomicLong();
+        
+        Recording() {
+            for (RequestMix.Operation operation : RequestMix.Operation.values()) {
+                latencyByOperation.put(operation, newHistogram());
+            }
+        }
+        
+        void record(RequestMix.Operation operation, long intendedStart, long sentAt, long completedAt, int status) {
+            lastCompletion.accumulateAndGet(completedAt, Math::max);
+            if (status < 0) {
+                failed.increment();
+                return;
+            }
+            long latencyMicros = clamp(TimeUnit.NANOSECONDS.toMicros(completedAt - intendedStart));
+            latency.recordValue(latencyMicros);
+            latencyByOperation.get(operation).recordValue(latencyMicros);
+            serviceTime.recordValue(clamp(TimeUnit.NANOSECONDS.toMicros(completedAt - sentAt)));
+            statusCounts.computeIfAbsent(status, _ -> new LongAdder()).increment();
+            completed.increment();
+        }
+        
+        RunResult toResult(String label, double rate, long start) {
+            long finishedAt = Math.max(lastCompletion.get(), start);
+            Map<Integer, Long> statuses = new TreeMap<>();
+            statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+            return new RunResult(
+                    label,
+                    rate,
+                    Duration.ofNanos(finishedAt - start),
+                    completed.sum(),
+                    failed.sum(),
+                    statuses,
+                    latency,
+                    serviceTime,
+                    latencyByOperation);
+        }
+        
+        private static long clamp(long micros) {
+            return Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE_MICROS);
+        }
+    }
+}
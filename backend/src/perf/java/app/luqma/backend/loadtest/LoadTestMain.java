@@ -0,0 +1,147 @@
+package app.luqma.backend.loadtest;
+
+import app.luqma.backend.LuqmaBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Entry point for the HTTP load generator.
+ *
+ * <p>Without {@code --target} the backend is started in-process in the mock
+ * profile on a random port, so runs need no external services. The embedded app
+ * lifts the per-client rate limit (all traffic comes from one address) and
+ * disables simulated upstream latency unless {@code --mock-latency=true}.
+ *
+ * <p>With {@code --sessions} no load phase runs; {@link SessionWorkload} instead
+ * compares upstream calls per browsing session with plain and enriched search.
+ *
+ * <p>Run via Gradle: {@code ./gradlew loadTest -PloadTestArgs="--mode=open --rate=200"}.
+ * See {@link LoadTestOptions} for all options.
+ */
+public final class LoadTestMain {
+    
+    private LoadTestMain() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        
+        ConfigurableApplicationContext context = options.target() == null ? startEmbeddedApp(options) : null;
+        try {
+            URI baseUri = context != null
+                    ? URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort())
+                    : options.target();
+            if (options.sessions() > 0) {
+                runSessions(options, baseUri, context);
+            } else {
+                run(options, baseUri);
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+    
+    private static void run(LoadTestOptions options, URI baseUri) throws Exception {
+        System.out.printf("Load test against %s: mode=%s mix=%s duration=%ss warmup=%ss%n",
+                baseUri, options.mode().name().toLowerCase(), options.mix(),
+                options.duration().toSeconds(), options.warmup().toSeconds());
+        
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            
+            LoadGenerator generator = new LoadGenerator(
+                    client,
+                    new RequestFactory(baseUri, options.requestTimeout()),
+                    options.mix(),
+                    options.seed());
+            
+            if (!options.warmup().isZero()) {
+                double warmupRate = options.sweepRates().isEmpty() ? options.rate() : options.sweepRates().getFirst();
+                RunResult warmup = runPhase(generator, options, "warmup", warmupRate, options.warmup());
+                System.out.println("Warmup complete: " + warmup.completed() + " requests");
+            }
+            
+            if (options.sweepRates().isEmpty()) {
+                RunResult result = runPhase(generator, options, options.mode().name().toLowerCase(),
+                        options.rate(), options.duration());
+                LatencyReport.writeRun(options.outputDir(), result);
+                System.out.print(LatencyReport.summary(result));
+            } else {
+                List<RunResult> sweep = new ArrayList<>();
+                for (double rate : options.sweepRates()) {
+                    RunResult result = generator.runOpenLoop(
+                            String.format("sweep-%.0f", rate), rate, options.duration());
+                    LatencyReport.writeRun(options.outputDir(), result);
+                    System.out.print(LatencyReport.summary(result));
+                    sweep.add(result);
+                }
+                LatencyReport.writeSweep(options.outputDir().resolve("throughput-latency.csv"), sweep);
+            }
+        }
+        
+        System.out.println("Reports written to " + options.outputDir().toAbsolutePath());
+    }
+    
+    private static void runSessions(LoadTestOptions options, URI baseUri, ConfigurableApplicationContext context)
+            throws Exception {
+        System.out.printf("Session workload against %s: %d sessions per variant, %d detail views each%n",
+                baseUri, options.sessions(), options.sessionDetails());
+        
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build()) {
+            
+            SessionWorkload workload = new SessionWorkload(
+                    client, new RequestFactory(baseUri, options.requestTimeout()), context);
+            SessionWorkload.Result plain = workload.run(
+                    false, options.sessions(), options.sessionDetails(), options.seed());
+            SessionWorkload.Result enriched = workload.run(
+                    true, options.sessions(), options.sessionDetails(), options.seed());
+            
+            SessionWorkload.write(options.outputDir().resolve("sessions.csv"), List.of(plain, enriched));
+            System.out.print(SessionWorkload.summary(plain, enriched));
+        }
+        
+        System.out.println("Reports written to " + options.outputDir().toAbsolutePath());
+    }
+    
+    private static RunResult runPhase(LoadGenerator generator, LoadTestOptions options,
+                                      String label, double rate, Duration duration) throws InterruptedException {
+        return switch (options.mode()) {
+            case OPEN -> generator.runOpenLoop(label, rate, duration);
+            case CLOSED -> generator.runClosedLoop(label, options.concurrency(), rate, duration);
+        };
+    }
+    
+    private static ConfigurableApplicationContext startEmbeddedApp(LoadTestOptions options) {
+        Map<String, Object> properties = Map.of(
+                "server.port", 0,
+                "rate-limit.max-requests-per-minute", Integer.MAX_VALUE,
+                "mock.latency.enabled", options.mockLatency(),
+                "spring.main.banner-mode", "off",
+                "logging.level.root", "WARN",
+                "logging.level.app.luqma", "WARN",
+                "logging.level.org.springframework.web", "WARN");
+        
+        return new SpringApplicationBuilder(LuqmaBackendApplication.class)
+                .profiles("mock")
+                .properties(properties)
+                .run();
+    }
+}
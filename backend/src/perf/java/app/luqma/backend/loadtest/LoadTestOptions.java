@@ -0,0 +1,145 @@
+package app.luqma.backend.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line options for the load generator.
+ *
+ * <p>Options use {@code --name=value} syntax; later occurrences override earlier ones.
+ * <ul>
+ *   <li>{@code --target=http://host:port} - drive an already running instance instead of starting one</li>
+ *   <li>{@code --mode=open|closed} - open-loop fixed arrival rate, or closed-loop workers (default open)</li>
+ *   <li>{@code --rate=200} - target requests per second; in closed mode 0 means unpaced</li>
+ *   <li>{@code --sweep=100,200,400} - open-loop rates to run back to back for a throughput/latency curve</li>
+ *   <li>{@code --concurrency=16} - closed-loop worker count</li>
+ *   <li>{@code --duration=30s}, {@code --warmup=10s} - measured and discarded phase lengths</li>
+ *   <li>{@code --mix=search:60,detail:30,exclude:10} - relative operation weights</li>
+ *   <li>{@code --seed=42} - seed for request selection, for reproducible runs</li>
+ *   <li>{@code --timeout=10s} - per-request timeout</li>
+ *   <li>{@code --mock-latency=true} - keep the mock client's simulated upstream latency</li>
+ *   <li>{@code --sessions=200} - instead of a load phase, run this many browsing sessions with
+ *       plain and enriched search and compare upstream calls per session (embedded app only)</li>
+ *   <li>{@code --session-details=3} - results opened per session</li>
+ *   <li>{@code --output=build/reports/loadtest} - report directory</li>
+ * </ul>
+ */
+record LoadTestOptions(
+        URI target,
+        Mode mode,
+        double rate,
+        List<Double> sweepRates,
+        int concurrency,
+        Duration duration,
+        Duration warmup,
+        RequestMix mix,
+        long seed,
+        Duration requestTimeout,
+        boolean mockLatency,
+        int sessions,
+        int sessionDetails,
+        Path outputDir
+) {
+    
+    enum Mode { OPEN, CLOSED }
+    
+    static LoadTestOptions parse(String[] args) {
+        URI target = null;
+        Mode mode = Mode.OPEN;
+        double rate = 100;
+        List<Double> sweepRates = List.of();
+        int concurrency = 16;
+        Duration duration = Duration.ofSeconds(30);
+        Duration warmup = Duration.ofSeconds(10);
+        RequestMix mix = RequestMix.parse("search:60,detail:30,exclude:10");
+        long seed = 42;
+        Duration requestTimeout = Duration.ofSeconds(10);
+        boolean mockLatency = false;
+        int sessions = 0;
+        int sessionDetails = 3;
+        Path outputDir = Path.of("build", "reports", "loadtest");
+        
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "target" -> target = value.isBlank() ? null : URI.create(stripTrailingSlash(value));
+                case "mode" -> mode = Mode.valueOf(value.toUpperCase());
+                case "rate" -> rate = Double.parseDouble(value);
+                case "sweep" -> sweepRates = parseRates(value);
+                case "concurrency" -> concurrency = Integer.parseInt(value);
+                case "duration" -> duration = parseDuration(value);
+                case "warmup" -> warmup = parseDuration(value);
+                case "mix" -> mix = RequestMix.parse(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "timeout" -> requestTimeout = parseDuration(value);
+                case "mock-latency" -> mockLatency = Boolean.parseBoolean(value);
+                case "sessions" -> sessions = Integer.parseInt(value);
+                case "session-details" -> sessionDetails = Integer.parseInt(value);
+                case "output" -> outputDir = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        
+        if (rate < 0) {
+            throw new IllegalArgumentException("Rate must not be negative");
+        }
+        if (mode == Mode.OPEN && rate == 0 && sweepRates.isEmpty()) {
+            throw new IllegalArgumentException("Open-loop mode requires a positive --rate or --sweep");
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1");
+        }
+        if (sessions < 0 || sessionDetails < 0) {
+            throw new IllegalArgumentException("Sessions and session details must not be negative");
+        }
+        if (sessions > 0 && target != null) {
+            throw new IllegalArgumentException(
+                    "--sessions reads upstream call counts from the embedded app and cannot be used with --target");
+        }
+        
+        return new LoadTestOptions(target, mode, rate, sweepRates, concurrency, duration, warmup,
+                mix, seed, requestTimeout, mockLatency, sessions, sessionDetails, outputDir);
+    }
+    
+    /**
+     * Parses durations such as {@code 500ms}, {@code 30s} or {@code 2m}.
+     */
+    static Duration parseDuration(String value) {
+        String trimmed = value.trim().toLowerCase();
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        if (trimmed.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        if (trimmed.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(trimmed));
+    }
+    
+    private static List<Double> parseRates(String value) {
+        List<Double> rates = new ArrayList<>();
+        for (String part : value.split(",")) {
+            if (!part.isBlank()) {
+                double parsed = Double.parseDouble(part.trim());
+                if (parsed <= 0) {
+                    throw new IllegalArgumentException("Sweep rates must be positive");
+                }
+                rates.add(parsed);
+            }
+        }
+        return List.copyOf(rates);
+    }
+    
+    private static String stripTrailingSlash(String value) {
+        return value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+    }
+}
@@ -0,0 +1,95 @@
+package app.luqma.backend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Builds HTTP requests for each operation against the recipes API.
+ *
+ * <p>Queries, recipe ids and ingredient ids come from the bundled mock data so
+ * every request resolves to a real result in the mock profile.
+ */
+final class RequestFactory {
+    
+    private static final String[] SEARCH_QUERIES = {
+        "pasta", "chicken", "salmon", "pizza", "vegan", "burger", "tacos", "bean", "chocolate", "stir"
+    };
+    
+    private static final long[] RECIPE_IDS = {642539L, 654812L, 715497L, 782601L};
+    
+    private static final long[][] INGREDIENT_IDS = {
+        {16058L, 12698L, 1016168L, 11215L, 10511297L, 10011282L},
+        {1002030L, 10211215L, 10211297L, 10411529L, 2047L, 15270L},
+        {20409L, 5006L, 1001L, 1077L, 1033L, 11215L},
+        {20041L, 11124L, 11143L, 2007L, 16032L, 1002023L}
+    };
+    
+    private static final int[] PAGE_SIZES = {9, 12, 24};
+    
+    private final URI baseUri;
+    private final Duration timeout;
+    
+    RequestFactory(URI baseUri, Duration timeout) {
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+    }
+    
+    HttpRequest create(RequestMix.Operation operation, RandomGenerator random) {
+        return switch (operation) {
+            case SEARCH -> search(random);
+            case DETAIL -> detail(random);
+            case EXCLUDE -> exclude(random);
+        };
+    }
+    
+    private HttpRequest search(RandomGenerator random) {
+        String query = SEARCH_QUERIES[random.nextInt(SEARCH_QUERIES.length)];
+        return search(query, PAGE_SIZES[random.nextInt(PAGE_SIZES.length)]);
+    }
+    
+    private HttpRequest detail(RandomGenerator random) {
+        return detail(RECIPE_IDS[random.nextInt(RECIPE_IDS.length)]);
+    }
+    
+    HttpRequest search(String query, int pageSize) {
+        return get("/api/v1/recipes/search?query=" + query + "&page=1&pageSize=" + pageSize);
+    }
+    
+    HttpRequest detail(long recipeId) {
+        return get("/api/v1/recipes/" + recipeId);
+    }
+    
+    private HttpRequest exclude(RandomGenerator random) {
+        int recipeIndex = random.nextInt(RECIPE_IDS.length);
+        long[] candidates = INGREDIENT_IDS[recipeIndex];
+        int count = 1 + random.nextInt(3);
+        int start = random.nextInt(candidates.length);
+        
+        StringBuilder body = new StringBuilder("{\"ingredientIds\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(candidates[(start + i) % candidates.length]);
+        }
+        body.append("]}");
+        
+        return HttpRequest.newBuilder(baseUri.resolve(
+                        "/api/v1/recipes/" + RECIPE_IDS[recipeIndex] + "/exclude-ingredients"))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+    
+    private HttpRequest get(String pathAndQuery) {
+        return HttpRequest.newBuilder(baseUri.resolve(pathAndQuery))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+}
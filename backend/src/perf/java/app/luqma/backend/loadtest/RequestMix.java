@@ -0,0 +1,81 @@
+package app.luqma.backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted mix of API operations, e.g. {@code search:60,detail:30,exclude:10}.
+ */
+final class RequestMix {
+    
+    enum Operation { SEARCH, DETAIL, EXCLUDE }
+    
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+    private final Map<Operation, Integer> weights;
+    
+    private RequestMix(Map<Operation, Integer> weights) {
+        List<Operation> ops = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int running = 0;
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            if (entry.getValue() > 0) {
+                running += entry.getValue();
+                ops.add(entry.getKey());
+                cumulative.add(running);
+            }
+        }
+        if (running == 0) {
+            throw new IllegalArgumentException("Request mix must have at least one positive weight");
+        }
+        this.operations = ops.toArray(Operation[]::new);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+        this.totalWeight = running;
+        this.weights = Map.copyOf(weights);
+    }
+    
+    static RequestMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + part + "', expected name:weight");
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights must not be negative");
+            }
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), weight);
+        }
+        return new RequestMix(weights);
+    }
+    
+    Operation pick(RandomGenerator random) {
+        int roll = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Operation op : Operation.values()) {
+            Integer weight = weights.get(op);
+            if (weight != null && weight > 0) {
+                if (!sb.isEmpty()) {
+                    sb.append(',');
+                }
+                sb.append(op.name().toLowerCase()).append(':').append(weight);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package app.luqma.backend.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Outcome of a single load phase.
+ *
+ * <p>{@code latency} is measured from each request's intended start time and
+ * therefore includes any queueing caused by the server falling behind the
+ * schedule. {@code serviceTime} is measured from the moment the request was
+ * actually sent; comparing the two shows how much coordinated omission would
+ * have hidden. Values are recorded in microseconds.
+ *
+ * @param label phase name, used for report file names
+ * @param targetRate requested rate in requests per second, 0 for unpaced closed-loop runs
+ * @param elapsed wall time from the first scheduled request to the last completion
+ * @param completed requests that received an HTTP response
+ * @param failed requests that failed without a response (timeouts, connection errors)
+ * @param statusCounts responses grouped by HTTP status code
+ * @param latency corrected latency histogram
+ * @param serviceTime uncorrected service time histogram
+ * @param latencyByOperation corrected latency per operation type
+ */
+record RunResult(
+        String label,
+        double targetRate,
+        Duration elapsed,
+        long completed,
+        long failed,
+        Map<Integer, Long> statusCounts,
+        Histogram latency,
+        Histogram serviceTime,
+        Map<RequestMix.Operation, Histogram> latencyByOperation
+) {
+    
+    double achievedRate() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds > 0 ? completed / seconds : 0;
+    }
+    
+    long non2xxResponses() {
+        return statusCounts.entrySet().stream()
+                .filter(entry -> entry.getKey() < 200 || entry.getKey() >= 300)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+}
@@ -0,0 +1,151 @@
+package app.luqma.backend.loadtest;
+
+import app.luqma.backend.client.UpstreamCallInterceptor;
+import app.luqma.backend.config.RecipeSearchProperties;
+import app.luqma.backend.constants.CacheNames;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.HdrHistogram.Histogram;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts Spoonacular calls per browsing session with plain and enriched search.
+ *
+ * <p>A session searches for one of a few queries and opens the first results, like a
+ * user going through a results page. Sessions run one at a time against the embedded
+ * app, each starting with an empty recipes cache, so every call it causes can be
+ * attributed to it. Calls are read from the {@value UpstreamCallInterceptor#UPSTREAM_TIMER}
+ * timer, which the mock client records like the real one. Both variants replay the same
+ * seeded sequence of queries, toggling {@code recipe-search.enriched} in between.
+ */
+final class SessionWorkload {
+    
+    private static final String[] QUERIES = {"pasta", "burger", "bean", "chicken"};
+    private static final int PAGE_SIZE = 9;
+    private static final String HEADER =
+            "variant,sessions,detail_views,failed_views,search_calls,information_calls,calls_per_session,p50_ms,p99_ms";
+    
+    private final HttpClient client;
+    private final RequestFactory requestFactory;
+    private final ConfigurableApplicationContext context;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    SessionWorkload(HttpClient client, RequestFactory requestFactory, ConfigurableApplicationContext context) {
+        this.client = client;
+        this.requestFactory = requestFactory;
+        this.context = context;
+    }
+    
+    /**
+     * Outcome of one variant.
+     *
+     * @param variant {@code plain} or {@code enriched}
+     * @param sessions sessions run
+     * @param detailViews detail requests sent
+     * @param failedViews detail requests not answered with 200, e.g. mock results without recipe data
+     * @param searchCalls upstream complexSearch calls
+     * @param informationCalls upstream information calls
+     * @param duration session durations in microseconds
+     */
+    record Result(String variant, int sessions, long detailViews, long failedViews,
+                  long searchCalls, long informationCalls, Histogram duration) {
+        
+        double callsPerSession() {
+            return (double) (searchCalls + informationCalls) / sessions;
+        }
+    }
+    
+    Result run(boolean enriched, int sessions, int detailsPerSession, long seed)
+            throws IOException, InterruptedException {
+        context.getBean(RecipeSearchProperties.class).setEnriched(enriched);
+        Cache recipes = context.getBean(CacheManager.class).getCache(CacheNames.RECIPES);
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+        SplittableRandom random = new SplittableRandom(seed);
+        
+        Histogram duration = new Histogram(3);
+        long searchBefore = upstreamCalls(registry, "search");
+        long informationBefore = upstreamCalls(registry, "information");
+        long detailViews = 0;
+        long failedViews = 0;
+        for (int i = 0; i < sessions; i++) {
+            recipes.clear();
+            long start = System.nanoTime();
+            
+            HttpResponse<byte[]> search = client.send(
+                    requestFactory.search(QUERIES[random.nextInt(QUERIES.length)], PAGE_SIZE),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (search.statusCode() != 200) {
+                throw new IllegalStateException("Search returned HTTP " + search.statusCode());
+            }
+            JsonNode results = objectMapper.readTree(search.body()).path("results");
+            for (int r = 0; r < Math.min(detailsPerSession, results.size()); r++) {
+                HttpResponse<Void> detail = client.send(
+                        requestFactory.detail(results.get(r).path("id").asLong()),
+                        HttpResponse.BodyHandlers.discarding());
+                detailViews++;
+                if (detail.statusCode() != 200) {
+                    failedViews++;
+                }
+            }
+            
+            duration.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        }
+        
+        return new Result(enriched ? "enriched" : "plain", sessions, detailViews, failedViews,
+                upstreamCalls(registry, "search") - searchBefore,
+                upstreamCalls(registry, "information") - informationBefore,
+                duration);
+    }
+    
+    private static long upstreamCalls(MeterRegistry registry, String endpoint) {
+        return registry.find(UpstreamCallInterceptor.UPSTREAM_TIMER)
+                .tag("endpoint", endpoint)
+                .timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+    
+    static void write(Path file, List<Result> results) throws IOException {
+        Files.createDirectories(file.getParent());
+        StringBuilder csv = new StringBuilder(HEADER).append('\n');
+        for (Result result : results) {
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%.3f,%.3f,%.3f%n",
+                    result.variant(), result.sessions(), result.detailViews(), result.failedViews(),
+                    result.searchCalls(), result.informationCalls(), result.callsPerSession(),
+                    result.duration().getValueAtPercentile(50) / 1000.0,
+                    result.duration().getValueAtPercentile(99) / 1000.0));
+        }
+        Files.writeString(file, csv);
+    }
+    
+    static String summary(Result plain, Result enriched) {
+        StringBuilder sb = new StringBuilder();
+        for (Result result : List.of(plain, enriched)) {
+            sb.append(String.format(Locale.ROOT,
+                    "%-9s upstream calls/session=%.2f (search=%d information=%d) views=%d failed=%d p50=%.2fms p99=%.2fms%n",
+                    result.variant(), result.callsPerSession(), result.searchCalls(), result.informationCalls(),
+                    result.detailViews(), result.failedViews(),
+                    result.duration().getValueAtPercentile(50) / 1000.0,
+                    result.duration().getValueAtPercentile(99) / 1000.0));
+        }
+        if (plain.callsPerSession() > 0) {
+            sb.append(String.format(Locale.ROOT, "Enriched search saves %.1f%% of upstream calls per session%n",
+                    100.0 * (1 - enriched.callsPerSession() / plain.callsPerSession())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,377 @@
+package app.luqma.backend.startup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Compares startup variants of the backend: time-to-ready, resident memory and,
+ * optionally, steady-state throughput.
+ *
+ * <p>Each run launches a fresh process and polls {@code /actuator/health/readiness}
+ * until it answers 200; the time from process start to that response is the
+ * startup sample, and the process RSS is read from {@code /proc} (Linux only).
+ * Variants are interleaved run by run so machine noise affects them equally.
+ * <ul>
+ *   <li>{@code jit} - plain JVM startup of the extracted jar, AOT initializers ignored</li>
+ *   <li>{@code aot} - Spring AOT initializers ({@code -Dspring.aot.enabled=true})</li>
+ *   <li>{@code aot-cds} - AOT plus the CDS archive recorded by {@code cdsArchive}</li>
+ *   <li>{@code native} - the GraalVM native executable built by {@code nativeCompile}</li>
+ * </ul>
+ *
+ * <p>With {@code --throughput=20s} each ready process is driven by closed-loop
+ * workers over the mock profile's recipes for {@code --warmup} and then the
+ * measured duration, reporting completed requests per second and RSS under load.
+ * This needs the app built for the mock profile ({@code -PaotProfile=mock}).
+ *
+ * <p>Options use {@code --name=value} syntax: {@code --app-dir}, {@code --jar},
+ * {@code --archive}, {@code --java}, {@code --native}, {@code --profile} and
+ * {@code --variants} are supplied by the Gradle task; {@code --runs=5},
+ * {@code --timeout=60s}, {@code --throughput}, {@code --warmup=10s},
+ * {@code --concurrency=16} and {@code --output} can be overridden with
+ * {@code -PstartupArgs="--runs=10"}.
+ */
+public final class StartupBenchmarkMain {
+    
+    private static final String READINESS_PATH = "/actuator/health/readiness";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final String MOCK_PROFILE = "mock";
+    private static final long[] MOCK_RECIPE_IDS = {642539L, 654812L, 715497L, 782601L};
+    private static final String[] MOCK_QUERIES = {"pasta", "chicken", "salmon", "pizza"};
+    
+    enum Variant {
+        JIT("jit"),
+        AOT("aot"),
+        AOT_CDS("aot-cds"),
+        NATIVE("native");
+        
+        private final String label;
+        
+        Variant(String label) {
+            this.label = label;
+        }
+        
+        List<String> command(Options options) {
+            return switch (this) {
+                case JIT -> List.of(options.java(), "-Dspring.aot.enabled=false", "-jar", options.jar());
+                case AOT -> List.of(options.java(), "-Dspring.aot.enabled=true", "-jar", options.jar());
+                case AOT_CDS -> List.of(options.java(), "-Dspring.aot.enabled=true",
+                        "-XX:SharedArchiveFile=" + options.archive().toAbsolutePath(), "-jar", options.jar());
+                case NATIVE -> List.of(options.nativeExecutable().toAbsolutePath().toString());
+            };
+        }
+        
+        static Variant of(String label) {
+            for (Variant variant : values()) {
+                if (variant.label.equals(label)) {
+                    return variant;
+                }
+            }
+            throw new IllegalArgumentException("Unknown variant: " + label);
+        }
+    }
+    
+    /**
+     * Measurements of one run; throughput and loaded RSS are 0 without a throughput phase.
+     */
+    record Sample(long readyMillis, long readyRssKb, double throughput, long loadedRssKb) {
+    }
+    
+    private StartupBenchmarkMain() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        Files.createDirectories(options.outputDir());
+        
+        System.out.printf("Startup benchmark: %s (profile %s), variants %s, %d runs each%n",
+                options.appDir().resolve(options.jar()), options.profile(),
+                options.variants().stream().map(v -> v.label).toList(), options.runs());
+        
+        Map<Variant, List<Sample>> samples = new EnumMap<>(Variant.class);
+        StringBuilder csv = new StringBuilder("variant,run,ready_ms,ready_rss_mb,throughput_rps,loaded_rss_mb\n");
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            for (int run = 1; run <= options.runs(); run++) {
+                for (Variant variant : options.variants()) {
+                    Sample sample = measure(client, options, variant, run);
+                    samples.computeIfAbsent(variant, _ -> new ArrayList<>()).add(sample);
+                    csv.append(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.1f,%.1f%n", variant.label, run,
+                            sample.readyMillis(), megabytes(sample.readyRssKb()),
+                            sample.throughput(), megabytes(sample.loadedRssKb())));
+                    System.out.printf(Locale.ROOT, "  %-8s run %d: ready %d ms, rss %.0f MB%s%n",
+                            variant.label, run, sample.readyMillis(), megabytes(sample.readyRssKb()),
+                            sample.throughput() > 0 ? String.format(Locale.ROOT, ", %.0f req/s", sample.throughput()) : "");
+                }
+            }
+        }
+        
+        Files.writeString(options.outputDir().resolve("startup.csv"), csv);
+        String summary = summary(samples);
+        Files.writeString(options.outputDir().resolve("startup-summary.txt"), summary);
+        System.out.print(summary);
+        System.out.println("Reports written to " + options.outputDir().toAbsolutePath());
+    }
+    
+    private static Sample measure(HttpClient client, Options options, Variant variant, int run)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>(variant.command(options));
+        command.add("--server.port=" + port);
+        command.add("--spring.profiles.active=" + options.profile());
+        if (MOCK_PROFILE.equals(options.profile())) {
+            // Measure the app, not the mock client's simulated latency or the per-client limit
+            command.add("--mock.latency.enabled=false");
+            command.add("--rate-limit.max-requests-per-minute=" + Integer.MAX_VALUE);
+        }
+        
+        String logName = variant.label + "-" + run + ".log";
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(options.appDir().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(options.outputDir().resolve(logName).toFile());
+        builder.environment().putIfAbsent("SPOONACULAR_API_KEY", "startup-benchmark");
+        builder.environment().putIfAbsent("RECIPE_SEARCH_CURSOR_SECRET", "startup-benchmark");
+        
+        URI baseUri = URI.create("http://localhost:" + port);
+        HttpRequest readiness = HttpRequest.newBuilder(baseUri.resolve(READINESS_PATH))
+                .timeout(Duration.ofSeconds(1))
+                .build();
+        
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try {
+            long readyMillis = awaitReady(client, readiness, process, start, options.timeout(), logName);
+            long readyRss = rssKb(process);
+            if (options.throughput().isZero()) {
+                return new Sample(readyMillis, readyRss, 0, 0);
+            }
+            drive(client, baseUri, options.concurrency(), options.warmup());
+            double throughput = drive(client, baseUri, options.concurrency(), options.throughput());
+            return new Sample(readyMillis, readyRss, throughput, rssKb(process));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+    
+    private static long awaitReady(HttpClient client, HttpRequest readiness, Process process, long start,
+                                   Duration timeout, String logName) throws InterruptedException {
+        long deadline = start + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Process exited with code " + process.exitValue()
+                        + ", see " + logName);
+            }
+            if (isOk(client, readiness)) {
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            }
+            Thread.sleep(POLL_INTERVAL);
+        }
+        throw new IllegalStateException("Not ready within " + timeout.toSeconds() + "s, see " + logName);
+    }
+    
+    /**
+     * Runs closed-loop workers alternating recipe detail and search requests.
+     *
+     * @return successful requests per second
+     */
+    private static double drive(HttpClient client, URI baseUri, int concurrency, Duration duration)
+            throws InterruptedException {
+        if (duration.isZero()) {
+            return 0;
+        }
+        LongAdder completed = new LongAdder();
+        long end = System.nanoTime() + duration.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                int offset = worker;
+                workers.submit(() -> {
+                    for (int i = offset; System.nanoTime() < end; i++) {
+                        String path = i % 2 == 0
+                                ? "/api/v1/recipes/" + MOCK_RECIPE_IDS[i % MOCK_RECIPE_IDS.length]
+                                : "/api/v1/recipes/search?query=" + MOCK_QUERIES[i % MOCK_QUERIES.length];
+                        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                                .timeout(Duration.ofSeconds(10))
+                                .header("Accept", "application/json")
+                                .build();
+                        if (isOk(client, request)) {
+                            completed.increment();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        return completed.sum() / (duration.toNanos() / 1e9);
+    }
+    
+    private static boolean isOk(HttpClient client, HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Reads the resident set size of a process from {@code /proc/<pid>/status}.
+     *
+     * @return RSS in kilobytes, or 0 where {@code /proc} is not available
+     */
+    private static long rssKb(Process process) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(process.pid()), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not on Linux; report no value
+        }
+        return 0;
+    }
+    
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+    
+    private static String summary(Map<Variant, List<Sample>> samples) {
+        StringBuilder summary = new StringBuilder(String.format(Locale.ROOT,
+                "%-8s %10s %10s %10s %10s %14s %14s%n", "variant", "min_ms", "median_ms", "max_ms",
+                "rss_mb", "throughput_rps", "loaded_rss_mb"));
+        for (Map.Entry<Variant, List<Sample>> entry : samples.entrySet()) {
+            List<Sample> runs = entry.getValue();
+            summary.append(String.format(Locale.ROOT, "%-8s %10d %10.0f %10d %10.1f %14.1f %14.1f%n",
+                    entry.getKey().label,
+                    runs.stream().mapToLong(Sample::readyMillis).min().orElseThrow(),
+                    median(runs, Sample::readyMillis),
+                    runs.stream().mapToLong(Sample::readyMillis).max().orElseThrow(),
+                    megabytes(median(runs, Sample::readyRssKb)),
+                    median(runs, Sample::throughput),
+                    megabytes(median(runs, Sample::loadedRssKb))));
+        }
+        summary.append("(rss, throughput and loaded rss are medians)\n");
+        return summary.toString();
+    }
+    
+    private static double median(List<Sample> samples, ToDoubleFunction<Sample> metric) {
+        double[] sorted = samples.stream().mapToDouble(metric).sorted().toArray();
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+    }
+    
+    private static double megabytes(double kilobytes) {
+        return kilobytes / 1024.0;
+    }
+    
+    /**
+     * Command line options of the startup benchmark.
+     */
+    record Options(Path appDir, String jar, Path archive, String java, Path nativeExecutable, String profile,
+                   List<Variant> variants, int runs, Duration timeout, Duration throughput, Duration warmup,
+                   int concurrency, Path outputDir) {
+        
+        static Options parse(String[] args) {
+            Path appDir = null;
+            String jar = null;
+            Path archive = null;
+            String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+            Path nativeExecutable = null;
+            String profile = "prod";
+            List<Variant> variants = List.of(Variant.JIT, Variant.AOT, Variant.AOT_CDS);
+            int runs = 5;
+            Duration timeout = Duration.ofSeconds(60);
+            Duration throughput = Duration.ZERO;
+            Duration warmup = Duration.ofSeconds(10);
+            int concurrency = 16;
+            Path outputDir = Path.of("build", "reports", "startup");
+            
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+                }
+                String name = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                switch (name) {
+                    case "app-dir" -> appDir = Path.of(value);
+                    case "jar" -> jar = value;
+                    case "archive" -> archive = Path.of(value);
+                    case "java" -> java = value;
+                    case "native" -> nativeExecutable = Path.of(value);
+                    case "profile" -> profile = value;
+                    case "variants" -> variants = Arrays.stream(value.split(","))
+                            .filter(part -> !part.isBlank())
+                            .map(part -> Variant.of(part.trim()))
+                            .toList();
+                    case "runs" -> runs = Integer.parseInt(value);
+                    case "timeout" -> timeout = parseDuration(value);
+                    case "throughput" -> throughput = parseDuration(value);
+                    case "warmup" -> warmup = parseDuration(value);
+                    case "concurrency" -> concurrency = Integer.parseInt(value);
+                    case "output" -> outputDir = Path.of(value);
+                    default -> throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            }
+            
+            if (appDir == null || jar == null || archive == null) {
+                throw new IllegalArgumentException("--app-dir, --jar and --archive are required, got "
+                        + Arrays.toString(args));
+            }
+            if (variants.contains(Variant.NATIVE) && nativeExecutable == null) {
+                throw new IllegalArgumentException("The native variant requires --native");
+            }
+            if (!throughput.isZero() && !MOCK_PROFILE.equals(profile)) {
+                throw new IllegalArgumentException("--throughput drives mock data and needs the app built "
+                        + "for the mock profile (-PaotProfile=mock), got: " + profile);
+            }
+            if (runs < 1 || concurrency < 1) {
+                throw new IllegalArgumentException("Runs and concurrency must be at least 1");
+            }
+            return new Options(appDir, jar, archive, java, nativeExecutable, profile, variants, runs,
+                    timeout, throughput, warmup, concurrency, outputDir);
+        }
+        
+        /**
+         * Parses durations such as {@code 500ms}, {@code 30s} or {@code 2m}.
+         */
+        private static Duration parseDuration(String value) {
+            String trimmed = value.trim().toLowerCase(Locale.ROOT);
+            if (trimmed.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+            }
+            if (trimmed.endsWith("s")) {
+                return Duration.ofSeconds(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+            }
+            if (trimmed.endsWith("m")) {
+                return Duration.ofMinutes(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+            }
+            return Duration.ofSeconds(Long.parseLong(trimmed));
+        }
+    }
+}
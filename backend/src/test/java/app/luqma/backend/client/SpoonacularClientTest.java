@@ -2,7 +2,11 @@ package app.luqma.backend.client;
 
 import app.luqma.backend.exception.ExternalApiException;
 import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.spoonacular.SpoonacularEnrichedSearchResponse;
 import app.luqma.backend.model.dto.spoonacular.SpoonacularSearchResponse;
+import app.luqma.backend.util.MockDataLoader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,7 +17,11 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
+import org.springframework.test.context.aot.DisabledInAotMode;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,8 +34,11 @@ import static org.mockito.Mockito.*;
  */
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings({"unchecked", "rawtypes", "null"})
+@DisabledInAotMode
 class SpoonacularClientTest {
     
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    
     @Mock
     private RestClient restClient;
     
@@ -44,13 +55,13 @@ class SpoonacularClientTest {
     
     @BeforeEach
     void setUp() {
-        client = new SpoonacularClient(restClient);
+        client = new SpoonacularClient(restClient, OBJECT_MAPPER);
     }
     
     
     @Test
     void constructor_WithNullRestClient_ThrowsNullPointerException() {
-        assertThrows(NullPointerException.class, () -> new SpoonacularClient(null));
+        assertThrows(NullPointerException.class, () -> new SpoonacularClient(null, OBJECT_MAPPER));
     }
     
     
@@ -76,7 +87,7 @@ class SpoonacularClientTest {
                 .thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.body(SpoonacularSearchResponse.class)).thenReturn(mockResponse);
+        when(responseSpec.body(byte[].class)).thenReturn(json(mockResponse));
         
         SpoonacularSearchResponse result = client.searchRecipes(query, number, offset);
         
@@ -117,7 +128,7 @@ class SpoonacularClientTest {
                 .thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.body(SpoonacularSearchResponse.class)).thenReturn(null);
+        when(responseSpec.body(byte[].class)).thenReturn(null);
         
         ExternalApiException exception = assertThrows(ExternalApiException.class, 
                 () -> client.searchRecipes("pasta", 10, 0));
@@ -136,7 +147,7 @@ class SpoonacularClientTest {
                 .thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.body(SpoonacularSearchResponse.class)).thenReturn(mockResponse);
+        when(responseSpec.body(byte[].class)).thenReturn(json(mockResponse));
         
         SpoonacularSearchResponse result = client.searchRecipes("nonexistent", 10, 0);
         
@@ -152,7 +163,7 @@ class SpoonacularClientTest {
                 .thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.body(SpoonacularSearchResponse.class))
+        when(responseSpec.body(byte[].class))
                 .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
         
         ExternalApiException exception = assertThrows(ExternalApiException.class, 
@@ -168,7 +179,7 @@ class SpoonacularClientTest {
                 .thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.body(SpoonacularSearchResponse.class))
+        when(responseSpec.body(byte[].class))
                 .thenThrow(new ResourceAccessException("Connection timeout"));
         
         ExternalApiException exception = assertThrows(ExternalApiException.class, 
@@ -184,7 +195,7 @@ class SpoonacularClientTest {
                 .thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.body(SpoonacularSearchResponse.class))
+        when(responseSpec.body(byte[].class))
                 .thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
         
         ExternalApiException exception = assertThrows(ExternalApiException.class, 
@@ -194,6 +205,32 @@ class SpoonacularClientTest {
     }
     
     
+    @Test
+    void searchRecipesEnriched_WithRecipeInformation_DecodesRecipeDetails() throws Exception {
+        byte[] recipe;
+        try (var in = getClass().getClassLoader().getResourceAsStream("mocks/recipe-642539.json")) {
+            recipe = in.readAllBytes();
+        }
+        byte[] body = ("{\"results\":[" + new String(recipe, StandardCharsets.UTF_8) + "],\"totalResults\":1}")
+                .getBytes(StandardCharsets.UTF_8);
+        
+        when(restClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(java.util.function.Function.class)))
+                .thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
+        when(responseSpec.body(byte[].class)).thenReturn(body);
+        
+        SpoonacularEnrichedSearchResponse result = client.searchRecipesEnriched("falafel", 10, 0);
+        
+        assertEquals(1, result.getTotalResults());
+        RecipeDetail detail = result.getResults().get(0);
+        assertEquals(642539L, detail.getId());
+        assertEquals("Falafel Burger", detail.getTitle());
+        assertNotNull(detail.getNutrition());
+        assertFalse(detail.getExtendedIngredients().isEmpty());
+    }
+    
     @Test
     void getRecipeInformation_WithValidId_ReturnsRecipeDetail() {
         Long recipeId = 123L;
@@ -209,7 +246,7 @@ class SpoonacularClientTest {
                 .thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.body(RecipeDetail.class)).thenReturn(mockRecipe);
+        when(responseSpec.body(byte[].class)).thenReturn(json(mockRecipe));
         
         RecipeDetail result = client.getRecipeInformation(recipeId);
         
@@ -243,7 +280,7 @@ class SpoonacularClientTest {
                 .thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.body(RecipeDetail.class))
+        when(responseSpec.body(byte[].class))
                 .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
         
         ExternalApiException exception = assertThrows(ExternalApiException.class, 
@@ -258,7 +295,7 @@ class SpoonacularClientTest {
                 .thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.body(RecipeDetail.class)).thenReturn(null);
+        when(responseSpec.body(byte[].class)).thenReturn(null);
         
         ExternalApiException exception = assertThrows(ExternalApiException.class, 
                 () -> client.getRecipeInformation(123L));
@@ -277,11 +314,65 @@ class SpoonacularClientTest {
                 .thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
-        when(responseSpec.body(RecipeDetail.class)).thenReturn(mockRecipe);
+        when(responseSpec.body(byte[].class)).thenReturn(json(mockRecipe));
         
         ExternalApiException exception = assertThrows(ExternalApiException.class, 
                 () -> client.getRecipeInformation(123L));
         assertTrue(exception.getMessage().contains("missing ID"));
     }
+    
+    @Test
+    void readSearchResults_WithMockSearchResponse_EmitsEachResultInOrder() throws Exception {
+        List<SpoonacularSearchResponse.SpoonacularRecipeSummary> emitted = new ArrayList<>();
+        byte[] body = MockDataLoader.class.getClassLoader()
+                .getResourceAsStream("mocks/recipe-search-results.json").readAllBytes();
+        SpoonacularSearchResponse buffered = OBJECT_MAPPER.readValue(body, SpoonacularSearchResponse.class);
+        
+        int totalResults = SpoonacularClient.readSearchResults(
+                new ByteArrayInputStream(body), OBJECT_MAPPER, emitted::add);
+        
+        assertEquals(buffered.getResults(), emitted);
+        assertEquals(buffered.getTotalResults(), totalResults);
+    }
+    
+    @Test
+    void readSearchResults_WithTotalBeforeResultsAndUnknownFields_ReadsBoth() throws Exception {
+        String body = """
+                {"totalResults": 42, "extra": {"nested": [1, 2]}, "offset": 0,
+                 "results": [{"id": 1, "title": "Soup", "unknown": true}, null, {"id": 2, "title": "Stew"}]}
+                """;
+        List<SpoonacularSearchResponse.SpoonacularRecipeSummary> emitted = new ArrayList<>();
+        
+        int totalResults = SpoonacularClient.readSearchResults(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), OBJECT_MAPPER, emitted::add);
+        
+        assertEquals(42, totalResults);
+        assertEquals(2, emitted.size());
+        assertEquals("Stew", emitted.get(1).getTitle());
+    }
+    
+    @Test
+    void readSearchResults_WithTruncatedBody_Throws() {
+        byte[] body = "{\"results\": [{\"id\": 1}, ".getBytes(StandardCharsets.UTF_8);
+        
+        assertThrows(Exception.class, () -> SpoonacularClient.readSearchResults(
+                new ByteArrayInputStream(body), OBJECT_MAPPER, _ -> { }));
+    }
+    
+    @Test
+    void streamSearchRecipes_WithNullQuery_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, 
+                () -> client.streamSearchRecipes(null, 10, 0, _ -> { }));
+    }
+    
+    /**
+     * Serializes a response the way the API would send it.
+     */
+    private static byte[] json(Object value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
-
@@ -0,0 +1,109 @@
+package app.luqma.backend.client;
+
+import app.luqma.backend.config.UpstreamHealthProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SpoonacularHealthIndicator.
+ * Tests the status derived from recorded call outcomes and latencies.
+ */
+class SpoonacularHealthIndicatorTest {
+    
+    private UpstreamCallStats stats;
+    private SpoonacularHealthIndicator indicator;
+    
+    @BeforeEach
+    void setUp() {
+        UpstreamHealthProperties properties = new UpstreamHealthProperties();
+        stats = new UpstreamCallStats(properties);
+        indicator = new SpoonacularHealthIndicator(stats, properties);
+    }
+    
+    @Test
+    void health_tooFewCalls_unknown() {
+        record("success", 4, 50);
+        
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UNKNOWN);
+    }
+    
+    @Test
+    void health_healthyCalls_up() {
+        record("success", 20, 50);
+        
+        Health health = indicator.health();
+        
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("breaker", "closed").containsEntry("calls", 20);
+    }
+    
+    @Test
+    void health_someFailures_degraded() {
+        record("success", 8, 50);
+        record("server_error", 1, 50);
+        record("success", 1, 50);
+        
+        assertThat(indicator.health().getStatus()).isEqualTo(SpoonacularHealthIndicator.DEGRADED);
+    }
+    
+    @Test
+    void health_slowCalls_degraded() {
+        record("success", 20, 3000);
+        
+        assertThat(indicator.health().getStatus()).isEqualTo(SpoonacularHealthIndicator.DEGRADED);
+    }
+    
+    @Test
+    void health_someFailures_degradedWithoutOutage() {
+        record("success", 8, 50);
+        record("server_error", 1, 50);
+        record("success", 1, 50);
+        
+        assertThat(indicator.health().getDetails()).containsEntry("outage", false);
+    }
+    
+    @Test
+    void health_highErrorRate_degradedOutage() {
+        for (int i = 0; i < 10; i++) {
+            record("success", 1, 50);
+            record("network_error", 1, 50);
+        }
+        
+        Health health = indicator.health();
+        
+        assertThat(health.getStatus()).isEqualTo(SpoonacularHealthIndicator.DEGRADED);
+        assertThat(health.getDetails()).containsEntry("outage", true);
+    }
+    
+    @Test
+    void health_consecutiveFailures_breakerOpenAndDegradedOutage() {
+        record("rate_limited", 5, 50);
+        
+        Health health = indicator.health();
+        
+        assertThat(health.getStatus()).isEqualTo(SpoonacularHealthIndicator.DEGRADED);
+        assertThat(health.getDetails())
+                .containsEntry("breaker", "open")
+                .containsEntry("outage", true)
+                .containsEntry("lastFailure", "rate_limited");
+    }
+    
+    @Test
+    void health_outage_neverReportsDown() {
+        record("server_error", 20, 50);
+        
+        assertThat(indicator.health().getStatus()).isNotEqualTo(Status.DOWN);
+    }
+    
+    private void record(String outcome, int calls, long latencyMillis) {
+        for (int i = 0; i < calls; i++) {
+            stats.record(outcome, TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package app.luqma.backend.client;
+
+import app.luqma.backend.config.UpstreamHealthProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for UpstreamCallStats.
+ * Tests error counting, latency percentiles, the window bounds and failure streaks.
+ */
+class UpstreamCallStatsTest {
+    
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private UpstreamCallStats stats;
+    
+    @BeforeEach
+    void setUp() {
+        UpstreamHealthProperties properties = new UpstreamHealthProperties();
+        properties.setWindowSize(10);
+        properties.setWindowSeconds(60);
+        stats = new UpstreamCallStats(properties, clock::get);
+    }
+    
+    @Test
+    void snapshot_noCalls_isEmpty() {
+        UpstreamCallStats.Snapshot snapshot = stats.snapshot();
+        
+        assertThat(snapshot.calls()).isZero();
+        assertThat(snapshot.errorRate()).isZero();
+        assertThat(snapshot.p99Millis()).isZero();
+        assertThat(snapshot.lastFailure()).isNull();
+    }
+    
+    @Test
+    void snapshot_mixedOutcomes_countsFailuresButNotNotFound() {
+        stats.record("success", millis(10));
+        stats.record("not_found", millis(10));
+        stats.record("server_error", millis(10));
+        stats.record("rate_limited", millis(10));
+        
+        UpstreamCallStats.Snapshot snapshot = stats.snapshot();
+        
+        assertThat(snapshot.calls()).isEqualTo(4);
+        assertThat(snapshot.errors()).isEqualTo(2);
+        assertThat(snapshot.errorRate()).isEqualTo(0.5);
+        assertThat(snapshot.consecutiveFailures()).isEqualTo(2);
+        assertThat(snapshot.lastFailure()).isEqualTo("rate_limited");
+    }
+    
+    @Test
+    void snapshot_latencies_reportsPercentiles() {
+        for (int i = 1; i <= 10; i++) {
+            stats.record("success", millis(i * 100));
+        }
+        
+        UpstreamCallStats.Snapshot snapshot = stats.snapshot();
+        
+        assertThat(snapshot.p50Millis()).isEqualTo(500);
+        assertThat(snapshot.p95Millis()).isEqualTo(1000);
+        assertThat(snapshot.p99Millis()).isEqualTo(1000);
+    }
+    
+    @Test
+    void record_beyondWindowSize_keepsMostRecentCalls() {
+        for (int i = 0; i < 10; i++) {
+            stats.record("server_error", millis(10));
+        }
+        for (int i = 0; i < 10; i++) {
+            stats.record("success", millis(10));
+        }
+        
+        UpstreamCallStats.Snapshot snapshot = stats.snapshot();
+        
+        assertThat(snapshot.calls()).isEqualTo(10);
+        assertThat(snapshot.errors()).isZero();
+        assertThat(snapshot.consecutiveFailures()).isZero();
+    }
+    
+    @Test
+    void snapshot_callsOlderThanWindow_areIgnored() {
+        stats.record("network_error", millis(10));
+        stats.record("network_error", millis(10));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        
+        UpstreamCallStats.Snapshot snapshot = stats.snapshot();
+        
+        assertThat(snapshot.calls()).isZero();
+        assertThat(snapshot.consecutiveFailures()).isZero();
+    }
+    
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
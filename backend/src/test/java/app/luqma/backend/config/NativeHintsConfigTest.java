@@ -0,0 +1,69 @@
+package app.luqma.backend.config;
+
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.spoonacular.SpoonacularEnrichedSearchResponse;
+import app.luqma.backend.model.dto.spoonacular.SpoonacularSearchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.annotation.ReflectiveRuntimeHintsRegistrar;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for NativeHintsConfig.
+ * Tests that classpath resources loaded at runtime and types bound through the
+ * ObjectMapper are registered for the native image.
+ */
+class NativeHintsConfigTest {
+    
+    private RuntimeHints hints;
+    
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeHintsConfig.ResourceHints().registerHints(hints, getClass().getClassLoader());
+    }
+    
+    @Test
+    void registerHints_mockData_registered() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("mocks/recipe-search-results.json"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("mocks/recipe-642539.json"))
+                .accepts(hints);
+    }
+    
+    @Test
+    void registerHints_nutritionTable_registered() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("nutrition/ingredient-densities.csv"))
+                .accepts(hints);
+    }
+    
+    @Test
+    void registerHints_generatedOpenApiDocuments_registered() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("openapi/recipe-api.json"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("openapi/recipe-api.json.gz"))
+                .accepts(hints);
+    }
+    
+    @Test
+    void bindingHints_upstreamResponsesDecodedThroughObjectMapper_registered() {
+        RuntimeHints bindingHints = new RuntimeHints();
+        new ReflectiveRuntimeHintsRegistrar().registerRuntimeHints(bindingHints, NativeHintsConfig.class);
+        
+        assertThat(RuntimeHintsPredicates.reflection().onType(SpoonacularSearchResponse.class))
+                .accepts(bindingHints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(SpoonacularEnrichedSearchResponse.class))
+                .accepts(bindingHints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(RecipeDetail.class))
+                .accepts(bindingHints);
+    }
+    
+    @Test
+    void registerHints_unrelatedResource_notRegistered() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("application-prod.yaml"))
+                .rejects(hints);
+    }
+}
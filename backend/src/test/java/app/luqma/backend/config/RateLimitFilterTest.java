@@ -10,13 +10,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.context.aot.DisabledInAotMode;
 
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -27,6 +31,7 @@ import static org.mockito.Mockito.when;
  * Unit tests for RateLimitFilter.
  */
 @ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
 class RateLimitFilterTest {
     
     @Mock
@@ -84,6 +89,55 @@ class RateLimitFilterTest {
         assertThat(writer.toString()).contains("Rate limit exceeded");
     }
     
+    @Test
+    void doFilter_withValidRequest_sendsRateLimitHeaders() throws ServletException, IOException {
+        filter.doFilter(request, response, filterChain);
+        
+        verify(response).setIntHeader("RateLimit-Limit", 5);
+        verify(response).setIntHeader("RateLimit-Remaining", 4);
+        verify(response).setIntHeader("RateLimit-Reset", 12);
+        verify(response, never()).setIntHeader(eq(HttpHeaders.RETRY_AFTER), anyInt());
+    }
+    
+    @Test
+    void doFilter_exceedingRateLimit_sendsRetryAfterAndOmitsPath() throws ServletException, IOException {
+        StringWriter writer = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(writer));
+        
+        for (int i = 0; i < 6; i++) {
+            filter.doFilter(request, response, filterChain);
+        }
+        
+        // One emission interval (60s / 5) until the next request is allowed
+        verify(response).setIntHeader(HttpHeaders.RETRY_AFTER, 12);
+        verify(response, times(2)).setIntHeader("RateLimit-Remaining", 0);
+        assertThat(writer.toString())
+                .isEqualTo("{\"status\":429,\"error\":\"Too Many Requests\"," +
+                        "\"message\":\"Rate limit exceeded. Maximum 5 requests per minute allowed.\"}");
+    }
+    
+    @Test
+    void doFilter_withIpv6RemoteAddr_limitsPerAddress() throws ServletException, IOException {
+        StringWriter writer = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(writer));
+        when(request.getRemoteAddr()).thenReturn("2001:db8::1");
+        
+        for (int i = 0; i < 5; i++) {
+            filter.doFilter(request, response, filterChain);
+        }
+        
+        // A different IPv6 client has its own allowance
+        when(request.getRemoteAddr()).thenReturn("2001:db8::2");
+        filter.doFilter(request, response, filterChain);
+        
+        verify(filterChain, times(6)).doFilter(request, response);
+        
+        when(request.getRemoteAddr()).thenReturn("2001:db8::1");
+        filter.doFilter(request, response, filterChain);
+        
+        verify(response).setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+    
     @Test
     void doFilter_withXForwardedForHeader_usesCorrectIp() throws ServletException, IOException {
         when(request.getHeader("X-Forwarded-For")).thenReturn("10.0.0.1, 10.0.0.2");
@@ -80,5 +80,20 @@ class RateLimitPropertiesTest {
         assertThat(violations).isNotEmpty();
         assertThat(violations).anyMatch(v -> v.getMessage().contains("Cleanup interval must be at least 10000ms"));
     }
+    
+    @Test
+    void syncIntervalMillis_lessThan100_hasViolation() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setSyncIntervalMillis(99);
+        
+        Set<ConstraintViolation<RateLimitProperties>> violations = validator.validate(properties);
+        
+        assertThat(violations).isNotEmpty();
+        assertThat(violations).anyMatch(v -> v.getMessage().contains("Sync interval must be at least 100ms"));
+    }
+    
+    @Test
+    void store_defaultsToLocal() {
+        assertThat(new RateLimitProperties().getStore()).isEqualTo(RateLimitProperties.Store.LOCAL);
+    }
 }
-
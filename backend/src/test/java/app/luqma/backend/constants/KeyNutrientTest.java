@@ -0,0 +1,52 @@
+package app.luqma.backend.constants;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for KeyNutrient.
+ * Tests name resolution by case, near-miss names and names that are not key nutrients.
+ */
+class KeyNutrientTest {
+    
+    @Test
+    void resolve_withDisplayNames_returnsEachConstant() {
+        for (KeyNutrient nutrient : KeyNutrient.values()) {
+            assertThat(KeyNutrient.resolve(nutrient.displayName())).isSameAs(nutrient);
+        }
+    }
+    
+    @Test
+    void resolve_ignoresCase() {
+        assertThat(KeyNutrient.resolve("calories")).isSameAs(KeyNutrient.CALORIES);
+        assertThat(KeyNutrient.resolve("PROTEIN")).isSameAs(KeyNutrient.PROTEIN);
+        assertThat(KeyNutrient.resolve("fAt")).isSameAs(KeyNutrient.FAT);
+        assertThat(KeyNutrient.resolve("CarboHydrates")).isSameAs(KeyNutrient.CARBOHYDRATES);
+        assertThat(KeyNutrient.resolve("fiber")).isSameAs(KeyNutrient.FIBER);
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"Carbs", "Net Carbohydrates", "Energy", "Kcal", "Fibre", "Dietary Fiber"})
+    void resolve_withAliases_returnsNull(String alias) {
+        assertThat(KeyNutrient.resolve(alias)).isNull();
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"Saturated Fat", "Sugar", "Sodium", "Vitamin C", "Iron", "Cat", "Fiberr", " Fat", ""})
+    void resolve_withUnknownNames_returnsNull(String name) {
+        assertThat(KeyNutrient.resolve(name)).isNull();
+    }
+    
+    @Test
+    void resolve_withNull_returnsNull() {
+        assertThat(KeyNutrient.resolve(null)).isNull();
+    }
+    
+    @Test
+    void count_matchesNumberOfConstants() {
+        assertThat(KeyNutrient.COUNT).isEqualTo(KeyNutrient.values().length);
+    }
+}
@@ -2,30 +2,56 @@ package app.luqma.backend.controller;
 
 import app.luqma.backend.exception.InvalidPaginationException;
 import app.luqma.backend.exception.ResourceNotFoundException;
+import app.luqma.backend.model.dto.ExclusionVariant;
+import app.luqma.backend.model.dto.ExclusionVariantsResponse;
+import app.luqma.backend.model.dto.NutritionDTO;
+import app.luqma.backend.model.dto.RecipeBatchError;
+import app.luqma.backend.model.dto.RecipeBatchResponse;
 import app.luqma.backend.model.dto.RecipeDetailResponse;
 import app.luqma.backend.model.dto.RecipeSearchResponse;
+import app.luqma.backend.model.dto.RecipeSearchTrailer;
 import app.luqma.backend.model.dto.RecipeSummary;
+import app.luqma.backend.service.RecipeBatchService;
 import app.luqma.backend.service.RecipeDetailService;
 import app.luqma.backend.service.RecipeSearchService;
+import app.luqma.backend.service.RenderedRecipe;
+import app.luqma.backend.service.RenderedSearch;
+import app.luqma.backend.util.ETags;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayOutputStream;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -34,10 +60,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(RecipeController.class)
 @org.springframework.context.annotation.Import({
     app.luqma.backend.config.SecurityConfig.class,
-    app.luqma.backend.config.CorsProperties.class
+    app.luqma.backend.config.CorsProperties.class,
+    app.luqma.backend.config.HttpCacheProperties.class
 })
+@DisabledInAotMode
 class RecipeControllerTest {
     
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    
     @Autowired
     private MockMvc mockMvc;
     
@@ -47,6 +77,9 @@ class RecipeControllerTest {
     @MockitoBean
     private RecipeDetailService recipeDetailService;
     
+    @MockitoBean
+    private RecipeBatchService recipeBatchService;
+    
     @Test
     void searchRecipes_withValidParameters_returnsOk() throws Exception {
         RecipeSearchResponse mockResponse = new RecipeSearchResponse(
@@ -60,8 +93,8 @@ class RecipeControllerTest {
                 1
         );
         
-        when(recipeSearchService.searchRecipes(anyString(), anyInt(), anyInt()))
-                .thenReturn(mockResponse);
+        when(recipeSearchService.searchRecipesRendered(anyString(), anyInt(), anyInt()))
+                .thenReturn(renderSearch(mockResponse));
         
         // When / Then
         mockMvc.perform(get("/api/v1/recipes/search")
@@ -72,7 +105,102 @@ class RecipeControllerTest {
                 .andExpect(jsonPath("$.pageSize", is(9)))
                 .andExpect(jsonPath("$.totalResults", is(1)));
         
-        verify(recipeSearchService).searchRecipes("pasta", 1, 9);
+        verify(recipeSearchService).searchRecipesRendered("pasta", 1, 9);
+    }
+    
+    @Test
+    void searchRecipes_withMatchingIfNoneMatch_returnsNotModified() throws Exception {
+        RecipeSearchResponse mockResponse = new RecipeSearchResponse(
+                List.of(new RecipeSummary(1L, "Pasta Carbonara", "http://example.com/image.jpg")),
+                1,
+                9,
+                1
+        );
+        when(recipeSearchService.searchRecipesRendered(anyString(), anyInt(), anyInt()))
+                .thenReturn(renderSearch(mockResponse));
+        
+        MvcResult first = mockMvc.perform(get("/api/v1/recipes/search")
+                        .param("query", "pasta"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        
+        // When / Then: Revalidating with the returned tag
+        mockMvc.perform(get("/api/v1/recipes/search")
+                        .param("query", "pasta")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public"))
+                .andExpect(content().bytes(new byte[0]));
+    }
+    
+    @Test
+    void searchRecipes_withCursor_continuesFromCursor() throws Exception {
+        RecipeSearchResponse mockResponse = new RecipeSearchResponse(
+                List.of(new RecipeSummary(2L, "Pasta Primavera", "b.jpg")), 1200, 9, 20000, "next");
+        when(recipeSearchService.searchRecipesAfterRendered("pasta", "abc")).thenReturn(renderSearch(mockResponse));
+        
+        // When / Then
+        mockMvc.perform(get("/api/v1/recipes/search")
+                        .param("query", "pasta")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page", is(1200)))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+        
+        verify(recipeSearchService, never()).searchRecipesRendered(anyString(), anyInt(), anyInt());
+    }
+    
+    @Test
+    void searchRecipes_withInvalidCursor_returnsBadRequest() throws Exception {
+        when(recipeSearchService.searchRecipesAfterRendered("pasta", "forged"))
+                .thenThrow(new InvalidPaginationException("Invalid cursor. Please restart the search."));
+        
+        // When / Then
+        mockMvc.perform(get("/api/v1/recipes/search")
+                        .param("query", "pasta")
+                        .param("cursor", "forged"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("cursor")));
+    }
+    
+    @Test
+    void streamSearchRecipes_withValidParameters_streamsResultsThenTrailer() throws Exception {
+        when(recipeSearchService.streamSearchRecipes(eq("pasta"), eq(1), eq(2), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<RecipeSummary> consumer = invocation.getArgument(3);
+                    consumer.accept(new RecipeSummary(1L, "Pasta Carbonara", "a.jpg"));
+                    consumer.accept(new RecipeSummary(2L, "Pasta Primavera", "b.jpg"));
+                    return new RecipeSearchTrailer(1, 2, 40, 2);
+                });
+        
+        MvcResult result = mockMvc.perform(get("/api/v1/recipes/search/stream")
+                        .param("query", " pasta ")
+                        .param("pageSize", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // When / Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("""
+                        {"id":1,"title":"Pasta Carbonara","image":"a.jpg"}
+                        {"id":2,"title":"Pasta Primavera","image":"b.jpg"}
+                        {"page":1,"pageSize":2,"totalResults":40,"returned":2}
+                        """));
+    }
+    
+    @Test
+    void streamSearchRecipes_withMissingQuery_returnsBadRequest() throws Exception {
+        // When / Then
+        mockMvc.perform(get("/api/v1/recipes/search/stream"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("query")));
+        
+        verify(recipeSearchService, never()).streamSearchRecipes(anyString(), anyInt(), anyInt(), any());
     }
     
     @Test
@@ -86,7 +214,7 @@ class RecipeControllerTest {
                 .andExpect(jsonPath("$.error", is("Bad Request")))
                 .andExpect(jsonPath("$.message", containsString("query")));
         
-        verify(recipeSearchService, never()).searchRecipes(anyString(), anyInt(), anyInt());
+        verify(recipeSearchService, never()).searchRecipesRendered(anyString(), anyInt(), anyInt());
     }
     
     @Test
@@ -100,7 +228,7 @@ class RecipeControllerTest {
                 .andExpect(jsonPath("$.status", is(400)))
                 .andExpect(jsonPath("$.message", containsString("query")));
         
-        verify(recipeSearchService, never()).searchRecipes(anyString(), anyInt(), anyInt());
+        verify(recipeSearchService, never()).searchRecipesRendered(anyString(), anyInt(), anyInt());
     }
     
     @Test
@@ -113,7 +241,7 @@ class RecipeControllerTest {
                 .andExpect(jsonPath("$.status", is(400)))
                 .andExpect(jsonPath("$.message", containsString("Page number must be 1 or greater")));
         
-        verify(recipeSearchService, never()).searchRecipes(anyString(), anyInt(), anyInt());
+        verify(recipeSearchService, never()).searchRecipesRendered(anyString(), anyInt(), anyInt());
     }
     
     @Test
@@ -125,7 +253,7 @@ class RecipeControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.status", is(400)));
         
-        verify(recipeSearchService, never()).searchRecipes(anyString(), anyInt(), anyInt());
+        verify(recipeSearchService, never()).searchRecipesRendered(anyString(), anyInt(), anyInt());
     }
     
     @Test
@@ -137,20 +265,20 @@ class RecipeControllerTest {
                 0
         );
         
-        when(recipeSearchService.searchRecipes(anyString(), eq(1), eq(9)))
-                .thenReturn(mockResponse);
+        when(recipeSearchService.searchRecipesRendered(anyString(), eq(1), eq(9)))
+                .thenReturn(renderSearch(mockResponse));
         
         // When / Then
         mockMvc.perform(get("/api/v1/recipes/search")
                         .param("query", "pasta"))
                 .andExpect(status().isOk());
         
-        verify(recipeSearchService).searchRecipes("pasta", 1, 9);
+        verify(recipeSearchService).searchRecipesRendered("pasta", 1, 9);
     }
     
     @Test
     void searchRecipes_whenServiceThrowsInvalidPaginationException_returnsBadRequest() throws Exception {
-        when(recipeSearchService.searchRecipes(anyString(), anyInt(), anyInt()))
+        when(recipeSearchService.searchRecipesRendered(anyString(), anyInt(), anyInt()))
                 .thenThrow(new InvalidPaginationException("Invalid pagination"));
         
         // When / Then
@@ -162,7 +290,7 @@ class RecipeControllerTest {
     
     @Test
     void searchRecipes_whenServiceThrowsException_returnsInternalServerError() throws Exception {
-        when(recipeSearchService.searchRecipes(anyString(), anyInt(), anyInt()))
+        when(recipeSearchService.searchRecipesRendered(anyString(), anyInt(), anyInt()))
                 .thenThrow(new RuntimeException("Unexpected error"));
         
         // When / Then
@@ -181,15 +309,15 @@ class RecipeControllerTest {
                 0
         );
         
-        when(recipeSearchService.searchRecipes(eq("pasta"), anyInt(), anyInt()))
-                .thenReturn(mockResponse);
+        when(recipeSearchService.searchRecipesRendered(eq("pasta"), anyInt(), anyInt()))
+                .thenReturn(renderSearch(mockResponse));
         
         // When / Then
         mockMvc.perform(get("/api/v1/recipes/search")
                         .param("query", "  pasta  "))
                 .andExpect(status().isOk());
         
-        verify(recipeSearchService).searchRecipes("pasta", 1, 9);
+        verify(recipeSearchService).searchRecipesRendered("pasta", 1, 9);
     }
     
     // Recipe Detail Endpoint Tests
@@ -209,16 +337,94 @@ class RecipeControllerTest {
                 List.of()
         );
         
-        when(recipeDetailService.getRecipeById(recipeId))
-                .thenReturn(mockRecipe);
+        when(recipeDetailService.getRenderedRecipeById(recipeId))
+                .thenReturn(render(mockRecipe, false));
         
         // When / Then
         mockMvc.perform(get("/api/v1/recipes/{id}", recipeId))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
                 .andExpect(jsonPath("$.id", is(recipeId.intValue())))
                 .andExpect(jsonPath("$.title", is("Chicken Pasta Alfredo")));
         
-        verify(recipeDetailService).getRecipeById(recipeId);
+        verify(recipeDetailService).getRenderedRecipeById(recipeId);
+    }
+    
+    @Test
+    void getRecipeById_withGzipAccepted_returnsPrecompressedBody() throws Exception {
+        Long recipeId = 715497L;
+        RecipeDetailResponse mockRecipe = new RecipeDetailResponse(
+                recipeId, "Chicken Pasta Alfredo", "https://example.com/image.jpg",
+                35, 4, List.of(), null, List.of());
+        RenderedRecipe rendered = render(mockRecipe, true);
+        
+        when(recipeDetailService.getRenderedRecipeById(recipeId)).thenReturn(rendered);
+        
+        // When / Then
+        mockMvc.perform(get("/api/v1/recipes/{id}", recipeId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(content().bytes(rendered.gzip()));
+        
+        // q=0 refuses gzip
+        mockMvc.perform(get("/api/v1/recipes/{id}", recipeId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(rendered.json()));
+    }
+    
+    @Test
+    void getRecipeById_withValidId_sendsEtagAndCacheControl() throws Exception {
+        Long recipeId = 715497L;
+        RenderedRecipe rendered = render(createDetailResponse(recipeId), false);
+        when(recipeDetailService.getRenderedRecipeById(recipeId)).thenReturn(rendered);
+        
+        // When / Then
+        mockMvc.perform(get("/api/v1/recipes/{id}", recipeId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, rendered.etag()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, public"));
+    }
+    
+    @Test
+    void getRecipeById_withMatchingIfNoneMatch_returnsNotModified() throws Exception {
+        Long recipeId = 715497L;
+        RenderedRecipe rendered = render(createDetailResponse(recipeId), true);
+        when(recipeDetailService.getRenderedRecipeById(recipeId)).thenReturn(rendered);
+        
+        // When / Then: Tag listed among others, weak prefix ignored
+        mockMvc.perform(get("/api/v1/recipes/{id}", recipeId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + rendered.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, rendered.etag()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, public"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(new byte[0]));
+        
+        // The gzip representation has its own tag
+        mockMvc.perform(get("/api/v1/recipes/{id}", recipeId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, rendered.gzipEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, rendered.gzipEtag()));
+    }
+    
+    @Test
+    void getRecipeById_withStaleIfNoneMatch_returnsOk() throws Exception {
+        Long recipeId = 715497L;
+        RenderedRecipe rendered = render(createDetailResponse(recipeId), false);
+        when(recipeDetailService.getRenderedRecipeById(recipeId)).thenReturn(rendered);
+        
+        // When / Then
+        mockMvc.perform(get("/api/v1/recipes/{id}", recipeId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, rendered.etag()))
+                .andExpect(content().bytes(rendered.json()));
     }
     
     @Test
@@ -226,7 +432,7 @@ class RecipeControllerTest {
         // Given: An invalid recipe ID
         Long invalidId = 999999L;
         
-        when(recipeDetailService.getRecipeById(invalidId))
+        when(recipeDetailService.getRenderedRecipeById(invalidId))
                 .thenThrow(ResourceNotFoundException.forRecipe(invalidId));
         
         // When / Then
@@ -235,7 +441,7 @@ class RecipeControllerTest {
                 .andExpect(jsonPath("$.status", is(404)))
                 .andExpect(jsonPath("$.message", containsString("not found")));
         
-        verify(recipeDetailService).getRecipeById(invalidId);
+        verify(recipeDetailService).getRenderedRecipeById(invalidId);
     }
     
     @Test
@@ -248,5 +454,169 @@ class RecipeControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.status", is(400)));
     }
+    
+    // Batch Endpoint Tests
+    
+    @Test
+    void getRecipes_withIds_returnsRecipesAndErrors() throws Exception {
+        // Given: One recipe loads and one is missing
+        when(recipeBatchService.getRecipes(List.of(715497L, 999999L)))
+                .thenReturn(new RecipeBatchResponse(
+                        List.of(createDetailResponse(715497L)),
+                        List.of(new RecipeBatchError(999999L, 404, "Recipe not found"))));
+        
+        // When / Then: Partial results are still 200
+        mockMvc.perform(get("/api/v1/recipes").param("ids", "715497,999999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipes", hasSize(1)))
+                .andExpect(jsonPath("$.recipes[0].id", is(715497)))
+                .andExpect(jsonPath("$.errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0].id", is(999999)))
+                .andExpect(jsonPath("$.errors[0].status", is(404)));
+    }
+    
+    @Test
+    void getRecipes_withTooManyIds_returnsBadRequest() throws Exception {
+        String ids = String.join(",", java.util.Collections.nCopies(51, "1"));
+        
+        mockMvc.perform(get("/api/v1/recipes").param("ids", ids))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)));
+        
+        verify(recipeBatchService, never()).getRecipes(any());
+    }
+    
+    @Test
+    void getRecipes_withNonNumericId_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/recipes").param("ids", "1,abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)));
+    }
+    
+    // Exclusion Variants Endpoint Tests
+    
+    @Test
+    void getRecipeWithExclusions_withCanonicalIds_returnsOkWithEtag() throws Exception {
+        Long recipeId = 715497L;
+        RenderedRecipe rendered = render(createDetailResponse(recipeId), false);
+        when(recipeDetailService.excludeIngredientsRendered(recipeId, Set.of(5006L, 20409L)))
+                .thenReturn(rendered);
+        
+        // When / Then
+        MvcResult first = mockMvc.perform(get("/api/v1/recipes/{id}/nutrition", recipeId)
+                        .param("exclude", "5006,20409"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(recipeId.intValue())))
+                .andExpect(header().string(HttpHeaders.ETAG, rendered.etag()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, public"))
+                .andReturn();
+        
+        mockMvc.perform(get("/api/v1/recipes/{id}/nutrition", recipeId)
+                        .param("exclude", "5006,20409")
+                        .header(HttpHeaders.IF_NONE_MATCH, first.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+    
+    @Test
+    void getRecipeWithExclusions_withUnsortedOrDuplicateIds_redirectsToCanonicalUrl() throws Exception {
+        // When / Then
+        mockMvc.perform(get("/api/v1/recipes/{id}/nutrition", 715497L)
+                        .param("exclude", "20409,5006,20409"))
+                .andExpect(status().isPermanentRedirect())
+                .andExpect(header().string(HttpHeaders.LOCATION,
+                        "http://localhost/api/v1/recipes/715497/nutrition?exclude=5006,20409"));
+        
+        verify(recipeDetailService, never()).excludeIngredientsRendered(anyLong(), any());
+    }
+    
+    @Test
+    void getRecipeWithExclusions_withRepeatedParameter_redirectsToCommaSeparatedForm() throws Exception {
+        // When / Then
+        mockMvc.perform(get("/api/v1/recipes/{id}/nutrition", 715497L)
+                        .param("exclude", "5006")
+                        .param("exclude", "20409"))
+                .andExpect(status().isPermanentRedirect())
+                .andExpect(header().string(HttpHeaders.LOCATION, containsString("exclude=5006,20409")));
+    }
+    
+    @Test
+    void getRecipeWithExclusions_withBlankOrMalformedIds_returnsBadRequest() throws Exception {
+        // When / Then
+        mockMvc.perform(get("/api/v1/recipes/{id}/nutrition", 715497L)
+                        .param("exclude", "5006,,20409"))
+                .andExpect(status().isBadRequest());
+        
+        mockMvc.perform(get("/api/v1/recipes/{id}/nutrition", 715497L)
+                        .param("exclude", "5006,abc"))
+                .andExpect(status().isBadRequest());
+        
+        mockMvc.perform(get("/api/v1/recipes/{id}/nutrition", 715497L))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("exclude")));
+        
+        verify(recipeDetailService, never()).excludeIngredientsRendered(anyLong(), any());
+    }
+    
+    @Test
+    void evaluateExclusionVariants_withValidSets_returnsOk() throws Exception {
+        Long recipeId = 715497L;
+        NutritionDTO baseline = new NutritionDTO(600.0, 30.0, 20.0, 70.0, 5.0, 20.0, 30.0, 50.0);
+        NutritionDTO delta = new NutritionDTO(-100.0, -5.0, -2.0, -10.0, 0.0, 0.5, 0.5, -1.0);
+        ExclusionVariantsResponse mockResponse = new ExclusionVariantsResponse(
+                recipeId,
+                baseline,
+                List.of(new ExclusionVariant(List.of(1001L, 5006L), delta))
+        );
+        
+        when(recipeDetailService.evaluateExclusionVariants(eq(recipeId), any()))
+                .thenReturn(mockResponse);
+        
+        // When / Then
+        mockMvc.perform(post("/api/v1/recipes/{id}/exclusion-variants", recipeId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"exclusionSets\": [[5006, 1001, 5006]]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipeId", is(recipeId.intValue())))
+                .andExpect(jsonPath("$.baseline.calories", is(600.0)))
+                .andExpect(jsonPath("$.variants", hasSize(1)))
+                .andExpect(jsonPath("$.variants[0].delta.calories", is(-100.0)));
+        
+        verify(recipeDetailService).evaluateExclusionVariants(recipeId, List.of(Set.of(5006L, 1001L)));
+    }
+    
+    @Test
+    void evaluateExclusionVariants_withEmptySet_returnsBadRequest() throws Exception {
+        // When / Then
+        mockMvc.perform(post("/api/v1/recipes/{id}/exclusion-variants", 715497L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"exclusionSets\": [[5006], []]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)));
+        
+        verify(recipeDetailService, never()).evaluateExclusionVariants(anyLong(), any());
+    }
+    
+    private static RecipeDetailResponse createDetailResponse(Long recipeId) {
+        return new RecipeDetailResponse(
+                recipeId, "Chicken Pasta Alfredo", "https://example.com/image.jpg",
+                35, 4, List.of(), null, List.of());
+    }
+    
+    private static RenderedSearch renderSearch(RecipeSearchResponse response) throws Exception {
+        byte[] json = OBJECT_MAPPER.writeValueAsBytes(response);
+        return new RenderedSearch(response, json, ETags.strong(json));
+    }
+    
+    private static RenderedRecipe render(RecipeDetailResponse response, boolean withGzip) throws Exception {
+        byte[] json = OBJECT_MAPPER.writeValueAsBytes(response);
+        String etag = ETags.strong(json);
+        if (!withGzip) {
+            return new RenderedRecipe(response, json, etag, null, null);
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        }
+        return new RenderedRecipe(response, json, etag, buffer.toByteArray(), ETags.forCoding(etag, "gzip"));
+    }
 }
-
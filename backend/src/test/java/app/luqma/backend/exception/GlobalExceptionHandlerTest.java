@@ -1,11 +1,13 @@
 package app.luqma.backend.exception;
 
 import app.luqma.backend.controller.RecipeController;
+import app.luqma.backend.service.RecipeBatchService;
 import app.luqma.backend.service.RecipeDetailService;
 import app.luqma.backend.service.RecipeSearchService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -24,8 +26,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(RecipeController.class)
 @org.springframework.context.annotation.Import({
     app.luqma.backend.config.SecurityConfig.class,
-    app.luqma.backend.config.CorsProperties.class
+    app.luqma.backend.config.CorsProperties.class,
+    app.luqma.backend.config.HttpCacheProperties.class
 })
+@DisabledInAotMode
 class GlobalExceptionHandlerTest {
     
     @Autowired
@@ -37,9 +41,12 @@ class GlobalExceptionHandlerTest {
     @MockitoBean
     private RecipeDetailService recipeDetailService;
     
+    @MockitoBean
+    private RecipeBatchService recipeBatchService;
+    
     @Test
     void handleInvalidPaginationException_returns400() throws Exception {
-        when(recipeSearchService.searchRecipes(anyString(), anyInt(), anyInt()))
+        when(recipeSearchService.searchRecipesRendered(anyString(), anyInt(), anyInt()))
                 .thenThrow(new InvalidPaginationException("Invalid page"));
         
         // When / Then
@@ -51,7 +58,7 @@ class GlobalExceptionHandlerTest {
     
     @Test
     void handleResourceLoadException_returns500() throws Exception {
-        when(recipeSearchService.searchRecipes(anyString(), anyInt(), anyInt()))
+        when(recipeSearchService.searchRecipesRendered(anyString(), anyInt(), anyInt()))
                 .thenThrow(new ResourceLoadException("Failed to load data"));
         
         // When / Then
@@ -63,7 +70,7 @@ class GlobalExceptionHandlerTest {
     
     @Test
     void handleGenericException_returns500() throws Exception {
-        when(recipeSearchService.searchRecipes(anyString(), anyInt(), anyInt()))
+        when(recipeSearchService.searchRecipesRendered(anyString(), anyInt(), anyInt()))
                 .thenThrow(new RuntimeException("Error"));
         
         // When / Then
@@ -0,0 +1,140 @@
+package app.luqma.backend.filter;
+
+import app.luqma.backend.metrics.Stage;
+import app.luqma.backend.metrics.StageTimings;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.KeyValuePair;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for AccessLogFilter.
+ * Captures the access logger's events and checks their key-value pairs.
+ */
+class AccessLogFilterTest {
+
+    private static final String PATTERN = "/api/v1/recipes/{id}";
+
+    private final AccessLogFilter filter = new AccessLogFilter();
+
+    private Logger accessLogger;
+    private Level previousLevel;
+    private ListAppender<ILoggingEvent> appender;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        accessLogger = (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER_NAME);
+        previousLevel = accessLogger.getLevel();
+        accessLogger.setLevel(Level.INFO);
+        appender = new ListAppender<>();
+        appender.start();
+        accessLogger.addAppender(appender);
+        request = new MockHttpServletRequest("GET", "/api/v1/recipes/715497");
+        response = new MockHttpServletResponse();
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+        accessLogger.setLevel(previousLevel);
+        StageTimings.end();
+    }
+
+    @Test
+    void doFilter_withBoundTimings_logsOneLineWithRequestAndStageFields() throws Exception {
+        StageTimings timings = StageTimings.begin();
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, PATTERN);
+            StageTimings.recordCacheLookup(false);
+            timings.add(Stage.UPSTREAM, 42_000_000);
+            response.setStatus(404);
+        };
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(appender.list).hasSize(1);
+        Map<String, Object> fields = fields(appender.list.getFirst());
+        assertThat(fields).containsEntry("method", "GET")
+                .containsEntry("endpoint", PATTERN)
+                .containsEntry("status", 404)
+                .containsEntry("cache", StageTimings.CACHE_MISS)
+                .containsEntry("upstream_ms", 42L)
+                .containsKey("duration_ms");
+        assertThat((Long) fields.get("duration_ms")).isNotNegative();
+    }
+
+    @Test
+    void doFilter_withoutBoundTimings_omitsStageFields() throws Exception {
+        filter.doFilter(request, response, (_, _) -> { });
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(fields(appender.list.getFirst()))
+                .containsEntry("endpoint", RequestMetricsFilter.UNKNOWN_ENDPOINT)
+                .containsEntry("status", 200)
+                .doesNotContainKeys("cache", "upstream_ms");
+    }
+
+    @Test
+    void doFilter_withAsyncRequest_logsOnceWhenProcessingCompletes() throws Exception {
+        request.setAsyncSupported(true);
+        StageTimings timings = StageTimings.begin();
+
+        filter.doFilter(request, response, (req, _) -> req.startAsync());
+        assertThat(appender.list).isEmpty();
+
+        timings.add(Stage.UPSTREAM, 7_000_000);
+        request.getAsyncContext().complete();
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(fields(appender.list.getFirst()))
+                .containsEntry("status", 200)
+                .containsEntry("upstream_ms", 7L);
+    }
+
+    @Test
+    void doFilter_withFailedAsyncTask_logsServerError() throws Exception {
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, response, (req, _) -> req.startAsync());
+        request.setAttribute(AsyncRequestInterceptor.ASYNC_FAILURE_ATTRIBUTE, Boolean.TRUE);
+        request.getAsyncContext().complete();
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(fields(appender.list.getFirst())).containsEntry("status", 500);
+    }
+
+    @Test
+    void doFilter_withLoggerAboveInfo_logsNothing() throws Exception {
+        accessLogger.setLevel(Level.WARN);
+
+        filter.doFilter(request, response, (_, _) -> { });
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    // Helper methods
+
+    private static Map<String, Object> fields(ILoggingEvent event) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (KeyValuePair pair : event.getKeyValuePairs()) {
+            fields.put(pair.key, pair.value);
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,76 @@
+package app.luqma.backend.filter;
+
+import app.luqma.backend.metrics.Stage;
+import app.luqma.backend.metrics.StageTimings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for AsyncRequestInterceptor.
+ * Runs the interceptor callbacks on an executor thread as async request processing does.
+ */
+class AsyncRequestInterceptorTest {
+
+    private final AsyncRequestInterceptor interceptor = new AsyncRequestInterceptor();
+    private final Callable<Object> task = () -> null;
+
+    private MockHttpServletRequest servletRequest;
+    private ServletWebRequest request;
+
+    @BeforeEach
+    void setUp() {
+        servletRequest = new MockHttpServletRequest("GET", "/api/v1/recipes/search/stream");
+        request = new ServletWebRequest(servletRequest, new MockHttpServletResponse());
+    }
+
+    @AfterEach
+    void tearDown() {
+        StageTimings.end();
+    }
+
+    @Test
+    void preProcess_afterConcurrentHandlingStarted_bindsRequestTimingsOnTaskThread() throws Exception {
+        StageTimings timings = StageTimings.begin();
+        interceptor.beforeConcurrentHandling(request, task);
+
+        boolean unboundAfterTask = onTaskThread(() -> {
+            interceptor.preProcess(request, task);
+            StageTimings.record(Stage.UPSTREAM, System.nanoTime() - 5_000);
+            interceptor.postProcess(request, task, null);
+            return StageTimings.current() == null;
+        });
+
+        assertThat(timings.nanos(Stage.UPSTREAM)).isGreaterThanOrEqualTo(5_000);
+        assertThat(unboundAfterTask).isTrue();
+        assertThat(servletRequest.getAttribute(AsyncRequestInterceptor.ASYNC_FAILURE_ATTRIBUTE)).isNull();
+    }
+
+    @Test
+    void postProcess_withThrowableResult_marksRequestFailed() throws Exception {
+        interceptor.beforeConcurrentHandling(request, task);
+
+        onTaskThread(() -> {
+            interceptor.preProcess(request, task);
+            interceptor.postProcess(request, task, new IllegalStateException("boom"));
+            return null;
+        });
+
+        assertThat(servletRequest.getAttribute(AsyncRequestInterceptor.ASYNC_FAILURE_ATTRIBUTE)).isEqualTo(true);
+    }
+
+    private static <T> T onTaskThread(Callable<T> work) throws Exception {
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            return executor.submit(work).get();
+        }
+    }
+}
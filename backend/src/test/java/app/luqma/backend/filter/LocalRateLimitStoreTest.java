@@ -0,0 +1,123 @@
+package app.luqma.backend.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for LocalRateLimitStore.
+ * Uses a manual clock to check burst, refill and header values of the GCRA bucket.
+ */
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private AtomicLong clock;
+    private LocalRateLimitStore limiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000 * SECOND);
+        limiter = new LocalRateLimitStore(10, Duration.ofSeconds(60), 100, clock::get);
+    }
+
+    @Test
+    void tryAcquire_withinLimit_allowsBurstAndCountsDown() {
+        for (int expectedRemaining = 9; expectedRemaining >= 0; expectedRemaining--) {
+            RateLimitDecision decision = limiter.tryAcquire("client");
+            assertThat(decision.allowed()).isTrue();
+            assertThat(decision.remaining()).isEqualTo(expectedRemaining);
+        }
+
+        RateLimitDecision rejected = limiter.tryAcquire("client");
+
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterSeconds()).isEqualTo(6);
+        assertThat(rejected.resetSeconds()).isEqualTo(60);
+    }
+
+    @Test
+    void tryAcquire_afterOneInterval_allowsOneMoreRequest() {
+        exhaust("client");
+
+        clock.addAndGet(6 * SECOND);
+
+        assertThat(limiter.tryAcquire("client").allowed()).isTrue();
+        assertThat(limiter.tryAcquire("client").allowed()).isFalse();
+    }
+
+    @Test
+    void tryAcquire_acrossWindowEdge_doesNotAllowDoubleBurst() {
+        // Given: A fixed window would reset at the boundary and allow 20 in quick succession
+        clock.addAndGet(59 * SECOND);
+        exhaust("client");
+        clock.addAndGet(2 * SECOND);
+
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (limiter.tryAcquire("client").allowed()) {
+                allowed++;
+            }
+        }
+
+        // Then: Only the 2 seconds of refill are available (less than one interval)
+        assertThat(allowed).isZero();
+    }
+
+    @Test
+    void tryAcquire_afterIdleWindow_restoresFullAllowance() {
+        exhaust("client");
+
+        clock.addAndGet(60 * SECOND);
+
+        RateLimitDecision decision = limiter.tryAcquire("client");
+        assertThat(decision.allowed()).isTrue();
+        assertThat(decision.remaining()).isEqualTo(9);
+    }
+
+    @Test
+    void tryAcquire_withDifferentClients_keepsSeparateAllowances() {
+        exhaust("a");
+
+        assertThat(limiter.tryAcquire("a").allowed()).isFalse();
+        assertThat(limiter.tryAcquire("b").allowed()).isTrue();
+    }
+
+    @Test
+    void tryAcquire_fromManyThreads_allowsExactlyLimit() throws InterruptedException {
+        LocalRateLimitStore shared = new LocalRateLimitStore(500, Duration.ofSeconds(60), 100, clock::get);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int t = 0; t < 16; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 100; i++) {
+                        if (shared.tryAcquire("client").allowed()) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertThat(allowed.get()).isEqualTo(500);
+    }
+
+    private void exhaust(String client) {
+        while (limiter.tryAcquire(client).allowed()) {
+            // Drain the burst allowance
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package app.luqma.backend.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SharedRateLimitStore.
+ * Two stores over one in-process backend stand in for two replicas.
+ */
+class SharedRateLimitStoreTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final Duration WINDOW = Duration.ofSeconds(60);
+
+    private AtomicLong clock;
+    private InMemoryRateLimitBackend backend;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000 * SECOND);
+        backend = new InMemoryRateLimitBackend(WINDOW);
+    }
+
+    @Test
+    void sync_withTrafficOnOtherInstance_chargesLocalBucket() {
+        SharedRateLimitStore first = store(backend);
+        SharedRateLimitStore second = store(backend);
+        first.tryAcquire("client");
+        second.tryAcquire("client");
+        first.sync();
+        second.sync();
+
+        // When: The first instance admits 8 more and both sync
+        acquire(first, "client", 8);
+        first.sync();
+        second.sync();
+
+        // Then: The second instance has only what is left of the shared limit of 10
+        assertThat(first.tryAcquire("client").allowed()).isFalse();
+        assertThat(second.tryAcquire("client").allowed()).isTrue();
+        assertThat(second.tryAcquire("client").allowed()).isFalse();
+    }
+
+    @Test
+    void sync_withOtherClients_leavesClientUnaffected() {
+        SharedRateLimitStore first = store(backend);
+        SharedRateLimitStore second = store(backend);
+        first.tryAcquire("a");
+        second.tryAcquire("b");
+        first.sync();
+        second.sync();
+
+        acquire(first, "a", 9);
+        first.sync();
+        second.sync();
+
+        assertThat(acquire(second, "b", 10)).isEqualTo(9);
+    }
+
+    @Test
+    void sync_withLargeRemoteCharge_blocksForOneIntervalOnly() {
+        SharedRateLimitStore first = store(backend);
+        SharedRateLimitStore second = store(backend);
+        first.tryAcquire("client");
+        first.sync();
+        second.tryAcquire("client");
+        second.sync();
+
+        backend.addAndGet(Map.of("client", 1_000L));
+        first.sync();
+
+        assertThat(first.tryAcquire("client").allowed()).isFalse();
+        clock.addAndGet(6 * SECOND);
+        assertThat(first.tryAcquire("client").allowed()).isTrue();
+    }
+
+    @Test
+    void sync_withBackendDown_keepsLocalLimitAndRetriesCounts() {
+        AtomicBoolean down = new AtomicBoolean(true);
+        AtomicReference<Map<String, Long>> sent = new AtomicReference<>();
+        SharedRateLimitStore store = store(increments -> {
+            if (down.get()) {
+                throw new IllegalStateException("backend unavailable");
+            }
+            sent.set(Map.copyOf(increments));
+            return backend.addAndGet(increments);
+        });
+
+        // When: The backend fails, the instance keeps enforcing the limit itself
+        assertThat(acquire(store, "client", 12)).isEqualTo(10);
+        store.sync();
+        assertThat(store.isDegraded()).isTrue();
+
+        // Then: Counts are delivered once the backend is back
+        down.set(false);
+        store.sync();
+        assertThat(store.isDegraded()).isFalse();
+        assertThat(sent.get()).containsEntry("client", 10L);
+    }
+
+    @Test
+    void sync_afterBackendCounterReset_chargesFromNewBaseline() {
+        AtomicReference<RateLimitBackend> current = new AtomicReference<>(backend);
+        SharedRateLimitStore store = store(increments -> current.get().addAndGet(increments));
+        acquire(store, "client", 5);
+        store.sync();
+
+        // When: The backend loses its counters, then sees 3 requests from elsewhere
+        InMemoryRateLimitBackend restarted = new InMemoryRateLimitBackend(WINDOW);
+        current.set(restarted);
+        store.sync();
+        restarted.addAndGet(Map.of("client", 3L));
+        store.sync();
+
+        // Then: Only the 3 requests since the reset are charged
+        assertThat(acquire(store, "client", 10)).isEqualTo(2);
+    }
+
+    private SharedRateLimitStore store(RateLimitBackend rateLimitBackend) {
+        return new SharedRateLimitStore(10, WINDOW, 100, rateLimitBackend, clock::get);
+    }
+
+    private static int acquire(RateLimitStore store, String client, int attempts) {
+        int allowed = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (store.tryAcquire(client).allowed()) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+}
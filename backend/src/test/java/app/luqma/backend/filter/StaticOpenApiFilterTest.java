@@ -0,0 +1,94 @@
+package app.luqma.backend.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for StaticOpenApiFilter.
+ * Serves the fixture documents in src/test/resources/openapi-fixture.
+ */
+class StaticOpenApiFilterTest {
+
+    private static final String DOCUMENT = "{\n  \"openapi\" : \"3.1.0\"\n}";
+
+    private StaticOpenApiFilter filter;
+    private MockFilterChain chain;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        filter = new StaticOpenApiFilter("/v3/api-docs", "openapi-fixture");
+        chain = new MockFilterChain();
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void doFilter_generatedGroup_servesJsonWithoutCallingSpringdoc() throws Exception {
+        filter.doFilter(get("/v3/api-docs/recipe-api"), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(DOCUMENT);
+        assertThat(response.getHeader("ETag")).isNotBlank();
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+    }
+
+    @Test
+    void doFilter_acceptsGzip_servesPrecompressedCopy() throws Exception {
+        MockHttpServletRequest request = get("/v3/api-docs/recipe-api");
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        assertThat(response.getHeader("ETag")).endsWith("-gzip\"");
+        assertThat(response.getContentAsByteArray()).startsWith(0x1f, 0x8b);
+    }
+
+    @Test
+    void doFilter_matchingEtag_returnsNotModified() throws Exception {
+        filter.doFilter(get("/v3/api-docs/recipe-api"), response, chain);
+        MockHttpServletRequest revalidation = get("/v3/api-docs/recipe-api");
+        revalidation.addHeader("If-None-Match", response.getHeader("ETag"));
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+
+        filter.doFilter(revalidation, notModified, new MockFilterChain());
+
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void doFilter_documentNotGenerated_passesThrough() throws Exception {
+        filter.doFilter(get("/v3/api-docs/swagger-config"), response, chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void doFilter_ungroupedWithoutDefaultDocument_passesThrough() throws Exception {
+        filter.doFilter(get("/v3/api-docs"), response, chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void doFilter_pathTraversal_passesThrough() throws Exception {
+        filter.doFilter(get("/v3/api-docs/../recipe-api"), response, chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
@@ -0,0 +1,87 @@
+package app.luqma.backend.jfr;
+
+import app.luqma.backend.config.FlightRecorderProperties;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for FlightRecorderEndpoint.
+ * Runs a real recording and reads back the dumped application events.
+ */
+class FlightRecorderEndpointTest {
+    
+    private FlightRecorderEndpoint endpoint;
+    
+    @BeforeEach
+    void setUp() {
+        FlightRecorderProperties properties = new FlightRecorderProperties();
+        properties.setMaxAgeSeconds(60);
+        properties.setMaxSizeMegabytes(8);
+        endpoint = new FlightRecorderEndpoint(properties);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        endpoint.close();
+    }
+    
+    @Test
+    void start_thenStop_reportsRecordingState() {
+        assertThat(endpoint.status().running()).isFalse();
+        
+        assertThat(endpoint.start().running()).isTrue();
+        assertThat(endpoint.status().startTime()).isNotNull();
+        
+        assertThat(endpoint.stop().running()).isFalse();
+    }
+    
+    @Test
+    void dump_withoutRecording_returnsNotFound() {
+        assertThat(endpoint.dump("dump").getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+    
+    @Test
+    void dump_withUnknownAction_returnsNotFound() {
+        endpoint.start();
+        
+        assertThat(endpoint.dump("other").getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+    
+    @Test
+    void dump_withRunningRecording_containsApplicationEvents() throws Exception {
+        endpoint.start();
+        CacheOperationEvent.emit("recipes", CacheOperationEvent.HIT, 42L);
+        
+        WebEndpointResponse<Resource> response = endpoint.dump("dump");
+        
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        Path copy = Files.createTempFile("recording-", ".jfr");
+        try (InputStream in = response.getBody().getInputStream()) {
+            Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(copy);
+            assertThat(events)
+                    .filteredOn(event -> event.getEventType().getName().equals("luqma.CacheOperation"))
+                    .anySatisfy(event -> {
+                        assertThat(event.getString("cache")).isEqualTo("recipes");
+                        assertThat(event.getString("operation")).isEqualTo("hit");
+                        assertThat(event.getString("key")).isEqualTo("42");
+                    });
+        } finally {
+            Files.deleteIfExists(copy);
+        }
+        assertThat(response.getBody().exists()).isFalse();
+    }
+}
@@ -0,0 +1,97 @@
+package app.luqma.backend.mapper;
+
+import app.luqma.backend.constants.KeyNutrient;
+import app.luqma.backend.model.domain.Nutrient;
+import app.luqma.backend.model.domain.NutritionInfo;
+import app.luqma.backend.model.dto.NutritionDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for NutrientExtractor.
+ * Tests key nutrient lookup: case, duplicate entries and missing nutrients.
+ */
+class NutrientExtractorTest {
+    
+    @Test
+    void keyNutrientAmounts_withAllKeyNutrients_indexesByOrdinal() {
+        double[] amounts = NutrientExtractor.keyNutrientAmounts(List.of(
+                new Nutrient("Fiber", 5.0, "g"),
+                new Nutrient("Calories", 500.0, "kcal"),
+                new Nutrient("Sugar", 12.0, "g"),
+                new Nutrient("Carbohydrates", 60.0, "g"),
+                new Nutrient("Protein", 25.0, "g"),
+                new Nutrient("Fat", 15.0, "g")));
+        
+        assertThat(amounts).containsExactly(500.0, 25.0, 15.0, 60.0, 5.0);
+    }
+    
+    @Test
+    void keyNutrientAmounts_withDifferentCase_matches() {
+        double[] amounts = NutrientExtractor.keyNutrientAmounts(List.of(
+                new Nutrient("CALORIES", 500.0, "kcal"),
+                new Nutrient("protein", 25.0, "g")));
+        
+        assertThat(amounts[KeyNutrient.CALORIES.ordinal()]).isEqualTo(500.0);
+        assertThat(amounts[KeyNutrient.PROTEIN.ordinal()]).isEqualTo(25.0);
+    }
+    
+    @Test
+    void keyNutrientAmounts_withDuplicateEntries_firstMatchWins() {
+        List<Nutrient> nutrients = List.of(
+                new Nutrient("Fat", 15.0, "g"),
+                new Nutrient("Calories", 500.0, "kcal"),
+                new Nutrient("fat", 99.0, "g"),
+                new Nutrient("Calories", 1.0, "kcal"));
+        
+        double[] amounts = NutrientExtractor.keyNutrientAmounts(nutrients);
+        
+        assertThat(amounts[KeyNutrient.FAT.ordinal()]).isEqualTo(15.0);
+        assertThat(amounts[KeyNutrient.CALORIES.ordinal()]).isEqualTo(500.0);
+        assertThat(amounts[KeyNutrient.FAT.ordinal()])
+                .isEqualTo(NutrientExtractor.findNutrientAmount(nutrients, "Fat"));
+    }
+    
+    @Test
+    void keyNutrientAmounts_withMissingNutrients_defaultsToZero() {
+        double[] amounts = NutrientExtractor.keyNutrientAmounts(List.of(
+                new Nutrient("Calories", 500.0, "kcal"),
+                new Nutrient("Sodium", 800.0, "mg")));
+        
+        assertThat(amounts).containsExactly(500.0, 0.0, 0.0, 0.0, 0.0);
+    }
+    
+    @Test
+    void keyNutrientAmounts_withNullList_returnsZeros() {
+        assertThat(NutrientExtractor.keyNutrientAmounts(null)).containsOnly(0.0).hasSize(KeyNutrient.COUNT);
+    }
+    
+    @Test
+    void findNutrientAmount_withUnknownName_returnsZero() {
+        List<Nutrient> nutrients = List.of(new Nutrient("Calories", 500.0, "kcal"));
+        
+        assertThat(NutrientExtractor.findNutrientAmount(nutrients, "Energy")).isEqualTo(0.0);
+        assertThat(NutrientExtractor.findNutrientAmount(nutrients, null)).isEqualTo(0.0);
+        assertThat(NutrientExtractor.findNutrientAmount(null, "Calories")).isEqualTo(0.0);
+    }
+    
+    @Test
+    void extractNutritionDTO_withMissingKeyNutrientsAndBreakdown_defaultsToZero() {
+        NutritionInfo nutrition = NutritionInfo.builder()
+                .nutrients(List.of(new Nutrient("Protein", 25.0, "g")))
+                .build();
+        
+        NutritionDTO dto = NutrientExtractor.extractNutritionDTO(nutrition);
+        
+        assertThat(dto).isEqualTo(new NutritionDTO(0.0, 25.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0));
+    }
+    
+    @Test
+    void extractNutritionDTO_withNullNutrition_returnsEmptyDTO() {
+        assertThat(NutrientExtractor.extractNutritionDTO(null))
+                .isEqualTo(NutrientExtractor.createEmptyNutritionDTO());
+    }
+}
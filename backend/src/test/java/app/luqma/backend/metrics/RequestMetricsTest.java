@@ -0,0 +1,66 @@
+package app.luqma.backend.metrics;
+
+import app.luqma.backend.config.RequestMetricsProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RequestMetrics.
+ * Tests the timers published for a finished request.
+ */
+class RequestMetricsTest {
+    
+    private static final String ENDPOINT = "/api/v1/recipes/{id}";
+    
+    private SimpleMeterRegistry registry;
+    private RequestMetrics requestMetrics;
+    
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        requestMetrics = new RequestMetrics(registry, new RequestMetricsProperties());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        StageTimings.end();
+    }
+    
+    @Test
+    void record_withStages_publishesTimerPerEnteredStage() {
+        StageTimings timings = StageTimings.begin();
+        timings.add(Stage.CACHE_LOOKUP, TimeUnit.MICROSECONDS.toNanos(20));
+        timings.add(Stage.UPSTREAM, TimeUnit.MILLISECONDS.toNanos(80));
+        StageTimings.recordCacheLookup(false);
+        
+        requestMetrics.record(ENDPOINT, timings, TimeUnit.MILLISECONDS.toNanos(95));
+        
+        Timer upstream = registry.find(RequestMetrics.STAGE_TIMER)
+                .tags("stage", "upstream", "endpoint", ENDPOINT, "cache", "miss")
+                .timer();
+        assertThat(upstream).isNotNull();
+        assertThat(upstream.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(80);
+        assertThat(registry.find(RequestMetrics.STAGE_TIMER).tag("stage", "mapping").timer()).isNull();
+        assertThat(registry.find(RequestMetrics.REQUEST_TIMER)
+                .tags("endpoint", ENDPOINT, "cache", "miss").timer().count()).isEqualTo(1);
+    }
+    
+    @Test
+    void record_withRepeatedRequests_reusesTimers() {
+        StageTimings timings = StageTimings.begin();
+        timings.add(Stage.MAPPING, 1_000);
+        
+        requestMetrics.record(ENDPOINT, timings, 2_000);
+        requestMetrics.record(ENDPOINT, timings, 2_000);
+        
+        assertThat(registry.find(RequestMetrics.STAGE_TIMER).timers()).hasSize(1);
+        assertThat(registry.find(RequestMetrics.STAGE_TIMER).tag("cache", "none").timer().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,69 @@
+package app.luqma.backend.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for StageTimings.
+ * Tests accumulation, cache outcome and propagation to other threads.
+ */
+class StageTimingsTest {
+    
+    @AfterEach
+    void tearDown() {
+        StageTimings.end();
+    }
+    
+    @Test
+    void record_withoutBoundRequest_doesNothing() {
+        StageTimings.record(Stage.MAPPING, StageTimings.start());
+        StageTimings.recordCacheLookup(true);
+        
+        assertThat(StageTimings.current()).isNull();
+    }
+    
+    @Test
+    void record_withBoundRequest_accumulatesPerStage() {
+        StageTimings timings = StageTimings.begin();
+        
+        StageTimings.record(Stage.MAPPING, System.nanoTime() - 1_000);
+        StageTimings.record(Stage.MAPPING, System.nanoTime() - 2_000);
+        
+        assertThat(timings.nanos(Stage.MAPPING)).isGreaterThanOrEqualTo(3_000);
+        assertThat(timings.nanos(Stage.UPSTREAM)).isZero();
+    }
+    
+    @Test
+    void cacheOutcome_withHitThenMiss_isMiss() {
+        StageTimings timings = StageTimings.begin();
+        assertThat(timings.cacheOutcome()).isEqualTo(StageTimings.CACHE_NONE);
+        
+        StageTimings.recordCacheLookup(true);
+        assertThat(timings.cacheOutcome()).isEqualTo(StageTimings.CACHE_HIT);
+        
+        StageTimings.recordCacheLookup(false);
+        StageTimings.recordCacheLookup(true);
+        assertThat(timings.cacheOutcome()).isEqualTo(StageTimings.CACHE_MISS);
+    }
+    
+    @Test
+    void propagate_withBoundRequest_recordsFromOtherThread() throws Exception {
+        StageTimings timings = StageTimings.begin();
+        Callable<Boolean> task = StageTimings.propagate(() -> {
+            StageTimings.current().add(Stage.UPSTREAM, 5_000);
+            return true;
+        });
+        
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(task).get();
+        }
+        
+        assertThat(timings.nanos(Stage.UPSTREAM)).isEqualTo(5_000);
+    }
+}
@@ -0,0 +1,113 @@
+package app.luqma.backend.model.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for NutritionInfo and the nutrient lists it contains.
+ * Tests that lists are unmodifiable, drop null elements and are copied from their source.
+ */
+class NutritionInfoTest {
+    
+    private static final Nutrient CALORIES = new Nutrient("Calories", 500.0, "kcal");
+    private static final Nutrient FAT = new Nutrient("Fat", 15.0, "g");
+    
+    @Test
+    void build_lists_areUnmodifiable() {
+        NutritionInfo nutrition = NutritionInfo.builder()
+                .nutrients(new ArrayList<>(List.of(CALORIES)))
+                .ingredients(new ArrayList<>(List.of(breakdown(List.of(FAT)))))
+                .build();
+        
+        assertThatThrownBy(() -> nutrition.getNutrients().add(FAT))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> nutrition.getIngredients().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> nutrition.getIngredients().getFirst().nutrients().add(CALORIES))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+    
+    @Test
+    void build_withNullElements_dropsThem() {
+        NutritionInfo nutrition = NutritionInfo.builder()
+                .nutrients(Arrays.asList(CALORIES, null, FAT))
+                .ingredients(Arrays.asList(null, breakdown(Arrays.asList(null, FAT))))
+                .build();
+        
+        assertThat(nutrition.getNutrients()).containsExactly(CALORIES, FAT);
+        assertThat(nutrition.getIngredients()).hasSize(1);
+        assertThat(nutrition.getIngredients().getFirst().nutrients()).containsExactly(FAT);
+    }
+    
+    @Test
+    void build_withNullLists_usesEmptyLists() {
+        NutritionInfo nutrition = NutritionInfo.builder().build();
+        
+        assertThat(nutrition.getNutrients()).isEmpty();
+        assertThat(nutrition.getIngredients()).isEmpty();
+    }
+    
+    @Test
+    void build_whenSourceListMutatedAfterBuild_instanceIsUnaffected() {
+        List<Nutrient> nutrients = new ArrayList<>(List.of(CALORIES));
+        List<Nutrient> ingredientNutrients = new ArrayList<>(List.of(FAT));
+        NutritionInfo nutrition = NutritionInfo.builder()
+                .nutrients(nutrients)
+                .ingredients(List.of(breakdown(ingredientNutrients)))
+                .build();
+        ExtendedIngredient.IngredientNutrition ingredientNutrition =
+                new ExtendedIngredient.IngredientNutrition(ingredientNutrients);
+        
+        nutrients.add(FAT);
+        ingredientNutrients.clear();
+        
+        assertThat(nutrition.getNutrients()).containsExactly(CALORIES);
+        assertThat(nutrition.getIngredients().getFirst().nutrients()).containsExactly(FAT);
+        assertThat(ingredientNutrition.getNutrients()).containsExactly(FAT);
+    }
+    
+    @Test
+    void build_whenBuilderReusedAfterBuild_instanceIsUnaffected() {
+        NutritionInfo.NutritionInfoBuilder builder = NutritionInfo.builder().nutrients(List.of(CALORIES));
+        NutritionInfo nutrition = builder.build();
+        
+        builder.nutrients(List.of(FAT)).build();
+        
+        assertThat(nutrition.getNutrients()).containsExactly(CALORIES);
+    }
+    
+    @Test
+    void toBuilder_derivesNewInstanceWithoutChangingOriginal() {
+        NutritionInfo original = NutritionInfo.builder().nutrients(List.of(CALORIES)).build();
+        List<Nutrient> nutrients = new ArrayList<>(List.of(CALORIES, FAT));
+        
+        NutritionInfo derived = original.toBuilder().nutrients(nutrients).build();
+        nutrients.clear();
+        
+        assertThat(derived).isNotSameAs(original);
+        assertThat(derived.getNutrients()).containsExactly(CALORIES, FAT);
+        assertThat(original.getNutrients()).containsExactly(CALORIES);
+    }
+    
+    @Test
+    void ingredientNutrition_withNullElements_dropsThemAndIsUnmodifiable() {
+        ExtendedIngredient.IngredientNutrition nutrition =
+                new ExtendedIngredient.IngredientNutrition(Arrays.asList(null, CALORIES));
+        
+        assertThat(nutrition.getNutrients()).containsExactly(CALORIES);
+        assertThatThrownBy(() -> nutrition.getNutrients().add(FAT))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+    
+    // Helper methods
+    
+    private static IngredientNutrients breakdown(List<Nutrient> nutrients) {
+        return new IngredientNutrients(20081L, "flour", 100.0, "g", nutrients);
+    }
+}
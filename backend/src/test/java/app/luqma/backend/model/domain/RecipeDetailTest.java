@@ -0,0 +1,124 @@
+package app.luqma.backend.model.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for RecipeDetail.
+ * Tests that built instances are immutable and independent of their builder and source lists.
+ */
+class RecipeDetailTest {
+    
+    private static final ExtendedIngredient FLOUR = ingredient(20081L, "flour");
+    private static final ExtendedIngredient SUGAR = ingredient(19335L, "sugar");
+    
+    @Test
+    void build_lists_areUnmodifiable() {
+        RecipeDetail recipe = RecipeDetail.builder()
+                .extendedIngredients(new ArrayList<>(List.of(FLOUR)))
+                .analyzedInstructions(new ArrayList<>(List.of(AnalyzedInstruction.builder().build())))
+                .build();
+        
+        assertThatThrownBy(() -> recipe.getExtendedIngredients().add(SUGAR))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> recipe.getExtendedIngredients().remove(0))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> recipe.getAnalyzedInstructions().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+    
+    @Test
+    void build_withNullLists_usesEmptyLists() {
+        RecipeDetail recipe = RecipeDetail.builder().id(1L).build();
+        
+        assertThat(recipe.getExtendedIngredients()).isEmpty();
+        assertThat(recipe.getAnalyzedInstructions()).isEmpty();
+    }
+    
+    @Test
+    void build_withNullElements_dropsThem() {
+        RecipeDetail recipe = RecipeDetail.builder()
+                .extendedIngredients(Arrays.asList(null, FLOUR, null, SUGAR))
+                .analyzedInstructions(Arrays.asList((AnalyzedInstruction) null))
+                .build();
+        
+        assertThat(recipe.getExtendedIngredients()).containsExactly(FLOUR, SUGAR);
+        assertThat(recipe.getAnalyzedInstructions()).isEmpty();
+    }
+    
+    @Test
+    void build_whenSourceListMutatedAfterBuild_instanceIsUnaffected() {
+        List<ExtendedIngredient> ingredients = new ArrayList<>(List.of(FLOUR));
+        RecipeDetail recipe = RecipeDetail.builder().extendedIngredients(ingredients).build();
+        
+        ingredients.add(SUGAR);
+        ingredients.set(0, SUGAR);
+        
+        assertThat(recipe.getExtendedIngredients()).containsExactly(FLOUR);
+    }
+    
+    @Test
+    void build_whenBuilderReusedAfterBuild_instanceIsUnaffected() {
+        RecipeDetail.RecipeDetailBuilder builder = RecipeDetail.builder()
+                .title("Pancakes")
+                .extendedIngredients(List.of(FLOUR));
+        RecipeDetail recipe = builder.build();
+        
+        RecipeDetail other = builder.title("Cookies").extendedIngredients(List.of(SUGAR)).build();
+        
+        assertThat(recipe.getTitle()).isEqualTo("Pancakes");
+        assertThat(recipe.getExtendedIngredients()).containsExactly(FLOUR);
+        assertThat(other.getExtendedIngredients()).containsExactly(SUGAR);
+    }
+    
+    @Test
+    void toBuilder_derivesNewInstanceWithoutChangingOriginal() {
+        List<ExtendedIngredient> ingredients = new ArrayList<>(List.of(FLOUR, SUGAR));
+        RecipeDetail original = RecipeDetail.builder().id(1L).extendedIngredients(List.of(FLOUR)).build();
+        
+        RecipeDetail derived = original.toBuilder().extendedIngredients(ingredients).build();
+        ingredients.clear();
+        
+        assertThat(derived).isNotSameAs(original);
+        assertThat(derived.getId()).isEqualTo(1L);
+        assertThat(derived.getExtendedIngredients()).containsExactly(FLOUR, SUGAR);
+        assertThat(original.getExtendedIngredients()).containsExactly(FLOUR);
+    }
+    
+    @Test
+    void toBuilder_withoutChanges_buildsEqualUnmodifiableCopy() {
+        RecipeDetail original = RecipeDetail.builder().id(1L).extendedIngredients(List.of(FLOUR)).build();
+        
+        RecipeDetail copy = original.toBuilder().build();
+        
+        assertThat(copy).isNotSameAs(original).isEqualTo(original);
+        assertThatThrownBy(() -> copy.getExtendedIngredients().add(SUGAR))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+    
+    @Test
+    void ingredientToBuilder_derivesNewInstanceWithoutChangingOriginal() {
+        ExtendedIngredient renamed = FLOUR.toBuilder().name("whole wheat flour").build();
+        
+        assertThat(renamed).isNotSameAs(FLOUR);
+        assertThat(renamed.getId()).isEqualTo(FLOUR.getId());
+        assertThat(FLOUR.getName()).isEqualTo("flour");
+    }
+    
+    // Helper methods
+    
+    private static ExtendedIngredient ingredient(Long id, String name) {
+        return ExtendedIngredient.builder()
+                .id(id)
+                .name(name)
+                .amount(100.0)
+                .unit("g")
+                .build();
+    }
+}
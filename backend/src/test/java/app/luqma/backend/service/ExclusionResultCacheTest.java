@@ -0,0 +1,175 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.config.ExclusionCacheProperties;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.RecipeDetailResponse;
+import app.luqma.backend.util.ETags;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ExclusionResultCache.
+ * Tests memoisation, invalidation on recipe refresh and hit statistics.
+ */
+class ExclusionResultCacheTest {
+    
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    
+    private ExclusionCacheProperties properties;
+    private ExclusionResultCache cache;
+    private AtomicInteger loads;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new ExclusionCacheProperties();
+        cache = new ExclusionResultCache(properties, OBJECT_MAPPER, new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+    
+    @Test
+    void get_withSameRecipeAndPositions_returnsCachedResult() {
+        RecipeDetail recipe = createRecipe();
+        
+        RecipeDetailResponse first = cache.get(recipe, positions(0, 2), this::load);
+        RecipeDetailResponse second = cache.get(recipe, positions(0, 2), this::load);
+        
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void get_withDifferentPositions_computesSeparately() {
+        RecipeDetail recipe = createRecipe();
+        
+        cache.get(recipe, positions(0), this::load);
+        cache.get(recipe, positions(1), this::load);
+        
+        assertThat(loads).hasValue(2);
+    }
+    
+    @Test
+    void get_withRefreshedRecipeInstance_recomputes() {
+        cache.get(createRecipe(), positions(0), this::load);
+        cache.get(createRecipe(), positions(0), this::load);
+        
+        assertThat(loads).hasValue(2);
+    }
+    
+    @Test
+    void get_afterRecipeRefresh_keepsReplacedResultForNewInstance() {
+        RecipeDetail refreshed = createRecipe();
+        cache.get(createRecipe(), positions(0), this::load);
+        
+        RecipeDetailResponse first = cache.get(refreshed, positions(0), this::load);
+        RecipeDetailResponse second = cache.get(refreshed, positions(0), this::load);
+        
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(2);
+    }
+    
+    @Test
+    void get_withRecipeWithoutId_bypassesCache() {
+        RecipeDetail recipe = RecipeDetail.builder().title("Unsaved Recipe").build();
+        
+        cache.get(recipe, positions(0), this::load);
+        cache.getRendered(recipe, positions(0), this::load);
+        
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats().requestCount()).isZero();
+    }
+    
+    @Test
+    void get_whenCallerMutatesPositionsAfterLookup_keyIsUnaffected() {
+        RecipeDetail recipe = createRecipe();
+        BitSet excluded = positions(0);
+        
+        cache.get(recipe, excluded, this::load);
+        excluded.set(1);
+        cache.get(recipe, positions(0), this::load);
+        
+        assertThat(loads).hasValue(1);
+    }
+    
+    @Test
+    void get_whenLoaderThrows_doesNotCacheFailure() {
+        RecipeDetail recipe = createRecipe();
+        
+        assertThatThrownBy(() -> cache.get(recipe, positions(0), () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        cache.get(recipe, positions(0), this::load);
+        
+        assertThat(loads).hasValue(1);
+    }
+    
+    @Test
+    void getRendered_withCachedResult_rendersOnceAndSharesTheResult() throws Exception {
+        RecipeDetail recipe = createRecipe();
+        
+        RecipeDetailResponse response = cache.get(recipe, positions(0), this::load);
+        RenderedRecipe first = cache.getRendered(recipe, positions(0), this::load);
+        RenderedRecipe second = cache.getRendered(recipe, positions(0), this::load);
+        
+        assertThat(second).isSameAs(first);
+        assertThat(first.body()).isSameAs(response);
+        assertThat(first.json()).isEqualTo(OBJECT_MAPPER.writeValueAsBytes(response));
+        assertThat(first.etag()).isEqualTo(ETags.strong(first.json()));
+        assertThat(first.hasGzip()).isFalse();
+        assertThat(loads).hasValue(1);
+    }
+    
+    @Test
+    void getRendered_withRefreshedRecipeInstance_rendersNewResult() {
+        RenderedRecipe first = cache.getRendered(createRecipe(), positions(0), this::load);
+        RenderedRecipe second = cache.getRendered(createRecipe(), positions(0), this::load);
+        
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.etag()).isEqualTo(first.etag());
+        assertThat(loads).hasValue(2);
+    }
+    
+    @Test
+    void get_whenDisabled_alwaysInvokesLoader() {
+        properties.setEnabled(false);
+        cache = new ExclusionResultCache(properties, OBJECT_MAPPER, new SimpleMeterRegistry());
+        RecipeDetail recipe = createRecipe();
+        
+        cache.get(recipe, positions(0), this::load);
+        cache.get(recipe, positions(0), this::load);
+        
+        assertThat(loads).hasValue(2);
+    }
+    
+    // Helper methods
+    
+    private RecipeDetailResponse load() {
+        loads.incrementAndGet();
+        return new RecipeDetailResponse(1L, "Test Recipe", null, 30, 4, List.of(), null, List.of());
+    }
+    
+    private RecipeDetail createRecipe() {
+        return RecipeDetail.builder()
+                .id(1L)
+                .title("Test Recipe")
+                .build();
+    }
+    
+    private BitSet positions(int... indexes) {
+        BitSet bits = new BitSet();
+        for (int index : indexes) {
+            bits.set(index);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,136 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.model.domain.ExtendedIngredient;
+import app.luqma.backend.model.domain.IngredientNutrients;
+import app.luqma.backend.model.domain.Nutrient;
+import app.luqma.backend.model.domain.NutritionInfo;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.NutritionDTO;
+import app.luqma.backend.util.MockDataLoader;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for exact exclusion using the upstream per-ingredient nutrition breakdown.
+ * Expected values are the mock recipe totals minus the excluded ingredients'
+ * entries in {@code nutrition.ingredients}.
+ */
+class NutritionCalculationServiceBreakdownTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private NutritionCalculationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new NutritionCalculationService(new UnitConversionEngine());
+    }
+
+    @Test
+    void decode_withMockRecipe782601_readsIngredientBreakdown() {
+        NutritionInfo nutrition = loadRecipe(782601L).getNutrition();
+
+        assertThat(nutrition.getIngredients()).hasSize(20);
+        IngredientNutrients brownRice = nutrition.getIngredients().get(0);
+        assertThat(brownRice.id()).isEqualTo(20041L);
+        assertThat(brownRice.nutrients()).isNotEmpty();
+    }
+
+    @Test
+    void recalculate_withMockRecipe782601_subtractsBreakdownExactly() {
+        RecipeDetail recipe = loadRecipe(782601L);
+
+        // When: Excluding brown rice
+        NutritionDTO result = service.recalculate(recipe, Set.of(20041L)).nutrition();
+
+        // Then: Totals drop by exactly the brown rice entry
+        assertThat(result.calories()).isCloseTo(320.0, within(0.01));
+        assertThat(result.protein()).isCloseTo(16.62, within(0.01));
+        assertThat(result.fat()).isCloseTo(5.91, within(0.01));
+        assertThat(result.carbohydrates()).isCloseTo(54.08, within(0.01));
+        assertThat(result.fiber()).isCloseTo(15.08, within(0.01));
+    }
+
+    @Test
+    void recalculate_withMockRecipe642539_subtractsBreakdownExactly() {
+        RecipeDetail recipe = loadRecipe(642539L);
+
+        // When: Excluding chickpeas
+        NutritionDTO result = service.recalculate(recipe, Set.of(16058L)).nutrition();
+
+        assertThat(result.calories()).isCloseTo(317.71, within(0.01));
+        assertThat(result.protein()).isCloseTo(6.5, within(0.01));
+        assertThat(result.fiber()).isCloseTo(1.89, within(0.01));
+    }
+
+    @Test
+    void recalculate_withAllMockIngredientsExcluded_leavesNearZeroCalories() {
+        RecipeDetail recipe = loadRecipe(782601L);
+        Set<Long> allIds = Set.copyOf(recipe.getExtendedIngredients().stream()
+                .map(ExtendedIngredient::getId)
+                .toList());
+
+        NutritionDTO result = service.recalculate(recipe, allIds).nutrition();
+
+        // Breakdown entries sum to the recipe totals up to upstream rounding
+        assertThat(result.calories()).isCloseTo(0.0, within(0.1));
+    }
+
+    @Test
+    void recalculate_withoutBreakdown_fallsBackToProportionalEstimate() {
+        RecipeDetail recipe = loadRecipe(715497L);
+        assertThat(recipe.getNutrition().getIngredients()).isEmpty();
+
+        // When: Excluding butter (56.75 g of ~1453 g)
+        NutritionDTO result = service.recalculate(recipe, Set.of(1001L)).nutrition();
+
+        double original = recipe.getNutrition().getNutrients().stream()
+                .filter(n -> n.name().equals("Calories"))
+                .mapToDouble(Nutrient::amount)
+                .findFirst()
+                .orElseThrow();
+        assertThat(result.calories()).isCloseTo(original * (1 - 56.75 / 1453.23), within(0.5));
+    }
+
+    @Test
+    void recalculate_withRepeatedIngredientId_matchesBreakdownByOccurrence() {
+        // Given: The same ingredient listed twice with separate breakdown entries
+        RecipeDetail recipe = RecipeDetail.builder()
+                .id(1L)
+                .extendedIngredients(List.of(
+                        ExtendedIngredient.builder().id(10L).name("oil").amount(1.0).unit("tbsp").build(),
+                        ExtendedIngredient.builder().id(20L).name("flour").amount(1.0).unit("cup").build(),
+                        ExtendedIngredient.builder().id(10L).name("oil").amount(2.0).unit("tbsp").build()))
+                .nutrition(NutritionInfo.builder()
+                        .nutrients(List.of(new Nutrient("Calories", 850.0, "kcal")))
+                        .ingredients(List.of(
+                                breakdown(10L, 120.0),
+                                breakdown(20L, 490.0),
+                                breakdown(10L, 240.0)))
+                        .build())
+                .build();
+
+        // When: Excluding oil removes both occurrences
+        NutritionDTO result = service.recalculate(recipe, Set.of(10L)).nutrition();
+
+        assertThat(result.calories()).isCloseTo(490.0, within(0.01));
+    }
+
+    private static IngredientNutrients breakdown(long id, double calories) {
+        return new IngredientNutrients(id, "ingredient-" + id, 1.0, "",
+                List.of(new Nutrient("Calories", calories, "kcal")));
+    }
+
+    private static RecipeDetail loadRecipe(long recipeId) {
+        return MockDataLoader.loadMockData("recipe-" + recipeId + ".json", OBJECT_MAPPER, RecipeDetail.class);
+    }
+}
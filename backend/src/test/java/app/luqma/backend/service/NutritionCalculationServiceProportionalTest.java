@@ -24,7 +24,7 @@ class NutritionCalculationServiceProportionalTest {
     
     @BeforeEach
     void setUp() {
-        service = new NutritionCalculationService();
+        service = new NutritionCalculationService(new UnitConversionEngine());
     }
     
     @Test
@@ -1,9 +1,11 @@
 package app.luqma.backend.service;
 
+import app.luqma.backend.mapper.NutrientExtractor;
 import app.luqma.backend.model.domain.ExtendedIngredient;
 import app.luqma.backend.model.domain.Nutrient;
 import app.luqma.backend.model.domain.NutritionInfo;
 import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.NutritionDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -25,7 +27,7 @@ class NutritionCalculationServiceTest {
     
     @BeforeEach
     void setUp() {
-        nutritionCalculationService = new NutritionCalculationService();
+        nutritionCalculationService = new NutritionCalculationService(new UnitConversionEngine());
     }
     
     @Test
@@ -142,6 +144,42 @@ class NutritionCalculationServiceTest {
         assertThat(result.getInstructions()).isEqualTo(recipe.getInstructions());
     }
     
+    @Test
+    void recalculate_nutritionSummaryMatchesExtractedNutrition() {
+        RecipeDetail recipe = createTestRecipeWithThreeIngredients();
+        
+        NutritionRecalculation result = nutritionCalculationService.recalculate(recipe, Set.of(2L));
+        
+        NutritionDTO expected = NutrientExtractor.extractNutritionDTO(result.recipe().getNutrition());
+        assertThat(result.nutrition()).isEqualTo(expected);
+        assertThat(result.nutrition().calories()).isCloseTo(350.0, within(0.1));  // 650 - 300
+    }
+    
+    @Test
+    void recalculate_withRepeatedIngredientId_excludesEveryOccurrence() {
+        RecipeDetail recipe = createTestRecipe();
+        List<ExtendedIngredient> ingredients = new ArrayList<>(recipe.getExtendedIngredients());
+        ingredients.add(createIngredient(1L, "Ingredient 1 again", 100.0, 5.0, 2.0, 10.0));
+        recipe = recipe.toBuilder().extendedIngredients(ingredients).build();
+        
+        RecipeDetail result = nutritionCalculationService.recalculateNutrition(recipe, Set.of(1L));
+        
+        assertThat(result.getExtendedIngredients()).extracting(ExtendedIngredient::getId).containsExactly(2L);
+        Double calories = findNutrientAmount(result.getNutrition().getNutrients(), "Calories");
+        assertThat(calories).isCloseTo(200.0, within(0.1));  // 500 - 200 - 100
+    }
+    
+    @Test
+    void indexFor_sameRecipeInstance_reusesIndex() {
+        RecipeDetail recipe = createTestRecipe();
+        
+        RecipeNutrientIndex first = nutritionCalculationService.indexFor(recipe);
+        RecipeNutrientIndex second = nutritionCalculationService.indexFor(recipe);
+        
+        assertThat(second).isSameAs(first);
+        assertThat(first.ingredientCount()).isEqualTo(2);
+    }
+    
     // Helper methods
     
     private RecipeDetail createTestRecipe() {
@@ -0,0 +1,176 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.config.RecipeBatchProperties;
+import app.luqma.backend.config.ResponseCacheProperties;
+import app.luqma.backend.exception.ExternalApiException;
+import app.luqma.backend.exception.ResourceNotFoundException;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.RecipeBatchError;
+import app.luqma.backend.model.dto.RecipeBatchResponse;
+import app.luqma.backend.model.dto.RecipeDetailResponse;
+import app.luqma.backend.repository.RecipeRepository;
+import app.luqma.backend.util.MockDataLoader;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RecipeBatchService.
+ * Tests cache hits, parallel fetching of misses, per-ID errors and the concurrency bound.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class RecipeBatchServiceTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    private RecipeBatchProperties properties;
+    private RecipeResponseCache recipeResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RecipeBatchProperties();
+        recipeResponseCache = new RecipeResponseCache(
+                new ResponseCacheProperties(), OBJECT_MAPPER, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getRecipes_withCachedRecipe_skipsFetch() {
+        RecipeDetail recipe = loadRecipe(715497L);
+        when(recipeRepository.findCachedById(715497L)).thenReturn(Optional.of(recipe));
+
+        RecipeBatchResponse response = service().getRecipes(List.of(715497L));
+
+        assertThat(ids(response.recipes())).containsExactly(715497L);
+        assertThat(response.errors()).isEmpty();
+        verify(recipeRepository, never()).getById(anyLong());
+    }
+
+    @Test
+    void getRecipes_withMissesAndHits_returnsRecipesInRequestOrder() {
+        when(recipeRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
+        when(recipeRepository.findCachedById(642539L)).thenReturn(Optional.of(loadRecipe(642539L)));
+        when(recipeRepository.getById(715497L)).thenReturn(loadRecipe(715497L));
+        when(recipeRepository.getById(782601L)).thenReturn(loadRecipe(782601L));
+
+        RecipeBatchResponse response = service().getRecipes(List.of(782601L, 642539L, 715497L));
+
+        assertThat(ids(response.recipes())).containsExactly(782601L, 642539L, 715497L);
+        assertThat(response.errors()).isEmpty();
+    }
+
+    @Test
+    void getRecipes_withDuplicateIds_fetchesEachOnce() {
+        when(recipeRepository.findCachedById(715497L)).thenReturn(Optional.empty());
+        when(recipeRepository.getById(715497L)).thenReturn(loadRecipe(715497L));
+
+        RecipeBatchResponse response = service().getRecipes(List.of(715497L, 715497L, 715497L));
+
+        assertThat(ids(response.recipes())).containsExactly(715497L);
+        verify(recipeRepository, times(1)).getById(715497L);
+    }
+
+    @Test
+    void getRecipes_withNonPositiveId_reportsBadRequestWithoutFetching() {
+        RecipeBatchResponse response = service().getRecipes(List.of(0L));
+
+        assertThat(response.recipes()).isEmpty();
+        assertThat(response.errors()).extracting(RecipeBatchError::status).containsExactly(400);
+        verify(recipeRepository, never()).findCachedById(anyLong());
+    }
+
+    @Test
+    void getRecipes_withMissingRecipe_reportsNotFoundAndKeepsOthers() {
+        when(recipeRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
+        when(recipeRepository.getById(715497L)).thenReturn(loadRecipe(715497L));
+        when(recipeRepository.getById(999999L)).thenThrow(ResourceNotFoundException.forRecipe(999999L));
+
+        RecipeBatchResponse response = service().getRecipes(List.of(715497L, 999999L));
+
+        assertThat(ids(response.recipes())).containsExactly(715497L);
+        assertThat(response.errors()).containsExactly(new RecipeBatchError(999999L, 404, "Recipe not found"));
+    }
+
+    @Test
+    void getRecipes_withUpstreamErrors_mapsToSingleEndpointStatuses() {
+        when(recipeRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
+        when(recipeRepository.getById(1L)).thenThrow(new ExternalApiException("limited", 429, "Spoonacular"));
+        when(recipeRepository.getById(2L)).thenThrow(new ExternalApiException("down", 503, "Spoonacular"));
+        when(recipeRepository.getById(3L)).thenThrow(new ExternalApiException("bad", 400, "Spoonacular"));
+        when(recipeRepository.getById(4L)).thenThrow(new IllegalStateException("boom"));
+
+        RecipeBatchResponse response = service().getRecipes(List.of(1L, 2L, 3L, 4L));
+
+        assertThat(response.recipes()).isEmpty();
+        assertThat(response.errors()).extracting(RecipeBatchError::status).containsExactly(429, 503, 502, 500);
+    }
+
+    @Test
+    void getRecipes_withManyMisses_boundsConcurrentFetches() {
+        properties.setMaxConcurrency(2);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        RecipeDetail recipe = loadRecipe(715497L);
+        when(recipeRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
+        when(recipeRepository.getById(anyLong())).thenAnswer(_ -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            active.decrementAndGet();
+            return recipe;
+        });
+
+        RecipeBatchResponse response = service().getRecipes(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L));
+
+        assertThat(response.recipes()).hasSize(8);
+        assertThat(maxActive.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void getRecipes_withSlowFetch_reportsGatewayTimeout() {
+        properties.setTimeoutMillis(50);
+        when(recipeRepository.findCachedById(anyLong())).thenReturn(Optional.empty());
+        when(recipeRepository.getById(715497L)).thenReturn(loadRecipe(715497L));
+        when(recipeRepository.getById(1L)).thenAnswer(_ -> {
+            Thread.sleep(5000);
+            return null;
+        });
+
+        RecipeBatchResponse response = service().getRecipes(List.of(715497L, 1L));
+
+        assertThat(ids(response.recipes())).containsExactly(715497L);
+        assertThat(response.errors()).extracting(RecipeBatchError::status).containsExactly(504);
+    }
+
+    private RecipeBatchService service() {
+        return new RecipeBatchService(recipeRepository, recipeResponseCache, properties);
+    }
+
+    private static List<Long> ids(List<RecipeDetailResponse> recipes) {
+        return recipes.stream().map(RecipeDetailResponse::id).toList();
+    }
+
+    private static RecipeDetail loadRecipe(long recipeId) {
+        return MockDataLoader.loadMockData("recipe-" + recipeId + ".json", OBJECT_MAPPER, RecipeDetail.class);
+    }
+}
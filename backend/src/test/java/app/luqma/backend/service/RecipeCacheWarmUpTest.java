@@ -0,0 +1,86 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.config.CacheWarmUpProperties;
+import app.luqma.backend.exception.ExternalApiException;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RecipeCacheWarmUp.
+ * Tests loading the configured recipes and the readiness gate.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class RecipeCacheWarmUpTest {
+    
+    @Mock
+    private RecipeRepository recipeRepository;
+    
+    private CacheWarmUpProperties properties;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new CacheWarmUpProperties();
+    }
+    
+    @Test
+    void health_noRecipesConfigured_up() {
+        properties.setGateReadiness(true);
+        
+        RecipeCacheWarmUp warmUp = new RecipeCacheWarmUp(recipeRepository, properties);
+        
+        assertThat(warmUp.health().getStatus()).isEqualTo(Status.UP);
+    }
+    
+    @Test
+    void health_gatedBeforeWarmUp_outOfService() {
+        properties.setRecipeIds(List.of(1L));
+        properties.setGateReadiness(true);
+        
+        RecipeCacheWarmUp warmUp = new RecipeCacheWarmUp(recipeRepository, properties);
+        
+        assertThat(warmUp.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+    }
+    
+    @Test
+    void health_notGatedBeforeWarmUp_up() {
+        properties.setRecipeIds(List.of(1L));
+        
+        RecipeCacheWarmUp warmUp = new RecipeCacheWarmUp(recipeRepository, properties);
+        
+        assertThat(warmUp.health().getStatus()).isEqualTo(Status.UP);
+    }
+    
+    @Test
+    void warmUp_someLoadsFail_countsAndBecomesReady() {
+        properties.setRecipeIds(List.of(1L, 2L, 3L));
+        properties.setGateReadiness(true);
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(RecipeDetail.builder().id(1L).build()));
+        when(recipeRepository.findById(2L)).thenReturn(Optional.empty());
+        when(recipeRepository.findById(3L)).thenThrow(new ExternalApiException("Upstream unavailable", 503, "Spoonacular"));
+        RecipeCacheWarmUp warmUp = new RecipeCacheWarmUp(recipeRepository, properties);
+        
+        warmUp.warmUp();
+        
+        verify(recipeRepository).findById(3L);
+        assertThat(warmUp.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(warmUp.health().getDetails())
+                .containsEntry("loaded", 1)
+                .containsEntry("failed", 2)
+                .containsEntry("finished", true);
+    }
+}
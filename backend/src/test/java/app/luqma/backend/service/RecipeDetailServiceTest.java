@@ -1,7 +1,11 @@
 package app.luqma.backend.service;
 
 import app.luqma.backend.exception.ResourceNotFoundException;
+import app.luqma.backend.model.domain.ExtendedIngredient;
+import app.luqma.backend.model.domain.Nutrient;
+import app.luqma.backend.model.domain.NutritionInfo;
 import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.ExclusionVariantsResponse;
 import app.luqma.backend.model.dto.RecipeDetailResponse;
 import app.luqma.backend.repository.RecipeRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,9 +13,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
 /**
@@ -19,6 +29,7 @@ import static org.mockito.Mockito.when;
  * Tests recipe retrieval and ingredient exclusion functionality.
  */
 @ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
 class RecipeDetailServiceTest {
     
     @Mock
@@ -30,6 +41,12 @@ class RecipeDetailServiceTest {
     @Mock
     private IngredientValidationService validationService;
     
+    @Mock
+    private ExclusionResultCache exclusionResultCache;
+    
+    @Mock
+    private RecipeResponseCache recipeResponseCache;
+    
     private RecipeDetailService recipeDetailService;
     
     @BeforeEach
@@ -37,7 +54,9 @@ class RecipeDetailServiceTest {
         recipeDetailService = new RecipeDetailService(
                 recipeRepository,
                 nutritionCalculationService,
-                validationService
+                validationService,
+                exclusionResultCache,
+                recipeResponseCache
         );
     }
     
@@ -122,4 +141,74 @@ class RecipeDetailServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.id()).isEqualTo(recipeId);
     }
+    
+    /**
+     * Test that exclusion variants return one delta per set in request order.
+     */
+    @Test
+    void evaluateExclusionVariants_WithValidSets_ReturnsDeltaPerSetInOrder() {
+        RecipeDetail recipe = createRecipeWithIngredientNutrition();
+        when(recipeRepository.getById(1L)).thenReturn(recipe);
+        var service = new RecipeDetailService(recipeRepository,
+                new NutritionCalculationService(new UnitConversionEngine()), validationService, exclusionResultCache,
+                recipeResponseCache);
+        
+        ExclusionVariantsResponse result = service.evaluateExclusionVariants(
+                1L, List.of(Set.of(2L), Set.of(1L), Set.of(2L, 1L)));
+        
+        assertThat(result.baseline().calories()).isCloseTo(500.0, within(0.1));
+        assertThat(result.variants()).hasSize(3);
+        assertThat(result.variants().get(0).ingredientIds()).containsExactly(2L);
+        assertThat(result.variants().get(0).delta().calories()).isCloseTo(-300.0, within(0.1));
+        assertThat(result.variants().get(1).delta().calories()).isCloseTo(-200.0, within(0.1));
+        assertThat(result.variants().get(2).ingredientIds()).containsExactly(1L, 2L);
+        assertThat(result.variants().get(2).delta().calories()).isCloseTo(-500.0, within(0.1));
+    }
+    
+    /**
+     * Test that an unknown ingredient in any set fails the whole batch.
+     */
+    @Test
+    void evaluateExclusionVariants_WithUnknownIngredient_ThrowsIllegalArgumentException() {
+        RecipeDetail recipe = createRecipeWithIngredientNutrition();
+        when(recipeRepository.getById(1L)).thenReturn(recipe);
+        doThrow(new IllegalArgumentException("The following ingredient IDs are not in this recipe: [99]"))
+                .when(validationService).validateIngredientsExistInRecipe(recipe, Set.of(99L));
+        var service = new RecipeDetailService(recipeRepository,
+                new NutritionCalculationService(new UnitConversionEngine()), validationService, exclusionResultCache,
+                recipeResponseCache);
+        
+        assertThatThrownBy(() -> service.evaluateExclusionVariants(1L, List.of(Set.of(1L), Set.of(99L))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("99");
+    }
+    
+    private RecipeDetail createRecipeWithIngredientNutrition() {
+        return RecipeDetail.builder()
+                .id(1L)
+                .title("Test Recipe")
+                .extendedIngredients(List.of(
+                        createIngredient(1L, 200.0, 10.0),
+                        createIngredient(2L, 300.0, 15.0)))
+                .nutrition(NutritionInfo.builder()
+                        .nutrients(List.of(
+                                new Nutrient("Calories", 500.0, "kcal"),
+                                new Nutrient("Protein", 25.0, "g")))
+                        .build())
+                .build();
+    }
+    
+    private ExtendedIngredient createIngredient(Long id, Double calories, Double protein) {
+        return ExtendedIngredient.builder()
+                .id(id)
+                .name("Ingredient " + id)
+                .amount(1.0)
+                .unit("cup")
+                .nutrition(ExtendedIngredient.IngredientNutrition.builder()
+                        .nutrients(List.of(
+                                new Nutrient("Calories", calories, "kcal"),
+                                new Nutrient("Protein", protein, "g")))
+                        .build())
+                .build();
+    }
 }
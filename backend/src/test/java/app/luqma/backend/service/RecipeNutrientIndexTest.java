@@ -0,0 +1,110 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.model.domain.ExtendedIngredient;
+import app.luqma.backend.model.domain.Nutrient;
+import app.luqma.backend.model.domain.NutritionInfo;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.NutritionDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RecipeNutrientIndex.
+ * Tests key nutrient slot resolution: case, duplicate entries and missing nutrients.
+ */
+class RecipeNutrientIndexTest {
+    
+    @Test
+    void toNutritionDTO_withMissingKeyNutrients_defaultsToZero() {
+        RecipeNutrientIndex index = index(List.of(
+                new Nutrient("Calories", 500.0, "kcal"),
+                new Nutrient("Sodium", 800.0, "mg")));
+        double[] totals = index.scaleTotals(1.0);
+        
+        NutritionDTO dto = index.toNutritionDTO(totals, index.caloricBreakdown(totals));
+        
+        assertThat(dto).isEqualTo(new NutritionDTO(500.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0));
+    }
+    
+    @Test
+    void toNutritionDTO_withDifferentCase_resolvesKeyNutrients() {
+        RecipeNutrientIndex index = index(List.of(
+                new Nutrient("CALORIES", 500.0, "kcal"),
+                new Nutrient("fiber", 6.0, "g")));
+        double[] totals = index.scaleTotals(1.0);
+        
+        NutritionDTO dto = index.toNutritionDTO(totals, index.caloricBreakdown(totals));
+        
+        assertThat(dto.calories()).isEqualTo(500.0);
+        assertThat(dto.fiber()).isEqualTo(6.0);
+    }
+    
+    @Test
+    void toNutritionDTO_withDuplicateEntries_firstMatchWins() {
+        RecipeNutrientIndex index = index(List.of(
+                new Nutrient("Protein", 25.0, "g"),
+                new Nutrient("Calories", 500.0, "kcal"),
+                new Nutrient("protein", 99.0, "g")));
+        double[] totals = index.scaleTotals(1.0);
+        
+        NutritionDTO dto = index.toNutritionDTO(totals, index.caloricBreakdown(totals));
+        
+        assertThat(dto.protein()).isEqualTo(25.0);
+        assertThat(dto.percentProtein()).isEqualTo(100.0);
+    }
+    
+    @Test
+    void toNutritionDTO_afterSubtraction_readsKeyNutrientsFromVector() {
+        ExtendedIngredient butter = ExtendedIngredient.builder()
+                .id(1001L)
+                .name("butter")
+                .nutrition(new ExtendedIngredient.IngredientNutrition(List.of(
+                        new Nutrient("Fat", 10.0, "g"),
+                        new Nutrient("Calories", 90.0, "kcal"))))
+                .build();
+        RecipeDetail recipe = RecipeDetail.builder()
+                .id(1L)
+                .extendedIngredients(List.of(butter))
+                .nutrition(NutritionInfo.builder()
+                        .nutrients(List.of(
+                                new Nutrient("Calories", 500.0, "kcal"),
+                                new Nutrient("Fat", 15.0, "g")))
+                        .build())
+                .build();
+        RecipeNutrientIndex index = RecipeNutrientIndex.build(recipe, _ -> 0.0);
+        BitSet positions = index.positionsOf(Set.of(1001L));
+        double[] remaining = index.subtractIngredients(positions);
+        
+        NutritionDTO dto = index.toNutritionDTO(remaining, index.caloricBreakdown(remaining));
+        
+        assertThat(dto.calories()).isEqualTo(410.0);
+        assertThat(dto.fat()).isEqualTo(5.0);
+        assertThat(dto.protein()).isEqualTo(0.0);
+    }
+    
+    @Test
+    void toNutritionDTO_withoutNutrition_returnsZeros() {
+        RecipeNutrientIndex index = RecipeNutrientIndex.build(RecipeDetail.builder().id(1L).build(), _ -> 0.0);
+        double[] totals = index.scaleTotals(1.0);
+        
+        assertThat(index.hasNutrition()).isFalse();
+        assertThat(index.toNutritionDTO(totals, index.caloricBreakdown(totals)))
+                .isEqualTo(new NutritionDTO(0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0));
+    }
+    
+    // Helper methods
+    
+    private RecipeNutrientIndex index(List<Nutrient> nutrients) {
+        RecipeDetail recipe = RecipeDetail.builder()
+                .id(1L)
+                .title("Test Recipe")
+                .nutrition(NutritionInfo.builder().nutrients(nutrients).build())
+                .build();
+        return RecipeNutrientIndex.build(recipe, _ -> 0.0);
+    }
+}
@@ -0,0 +1,133 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.config.ResponseCacheProperties;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.model.dto.RecipeDetailResponse;
+import app.luqma.backend.util.ETags;
+import app.luqma.backend.util.MockDataLoader;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RecipeResponseCache.
+ * Tests rendering, reuse per recipe instance and the gzip size threshold.
+ */
+class RecipeResponseCacheTest {
+    
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    
+    private ResponseCacheProperties properties;
+    private RecipeResponseCache cache;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        cache = new RecipeResponseCache(properties, OBJECT_MAPPER, new SimpleMeterRegistry());
+    }
+    
+    @Test
+    void get_withRecipe_rendersJsonOfMappedResponse() throws IOException {
+        RecipeDetail recipe = loadRecipe(715497L);
+        
+        RenderedRecipe rendered = cache.get(recipe);
+        
+        RecipeDetailResponse decoded = OBJECT_MAPPER.readValue(rendered.json(), RecipeDetailResponse.class);
+        assertThat(decoded).isEqualTo(rendered.body());
+        assertThat(rendered.body().id()).isEqualTo(715497L);
+    }
+    
+    @Test
+    void get_withSameRecipeInstance_returnsCachedRendering() {
+        RecipeDetail recipe = loadRecipe(715497L);
+        
+        RenderedRecipe first = cache.get(recipe);
+        RenderedRecipe second = cache.get(recipe);
+        
+        assertThat(second).isSameAs(first);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void get_withRefreshedRecipeInstance_rendersAgain() {
+        RenderedRecipe first = cache.get(loadRecipe(715497L));
+        RenderedRecipe second = cache.get(loadRecipe(715497L));
+        
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.json()).isEqualTo(first.json());
+    }
+    
+    @Test
+    void get_withLargeBody_keepsGzipCopy() throws IOException {
+        RenderedRecipe rendered = cache.get(loadRecipe(715497L));
+        
+        assertThat(rendered.json().length).isGreaterThanOrEqualTo(properties.getGzipMinBytes());
+        assertThat(rendered.hasGzip()).isTrue();
+        assertThat(gunzip(rendered.gzip())).isEqualTo(rendered.json());
+        assertThat(rendered.gzipEtag()).isNotEqualTo(rendered.etag());
+    }
+    
+    @Test
+    void get_withRecipe_tagsJsonBytes() {
+        RenderedRecipe rendered = cache.get(loadRecipe(715497L));
+        
+        assertThat(rendered.etag()).isEqualTo(ETags.strong(rendered.json()));
+    }
+    
+    @Test
+    void get_withBodyBelowGzipThreshold_skipsGzip() {
+        RecipeDetail recipe = RecipeDetail.builder()
+                .id(1L)
+                .title("Test Recipe")
+                .build();
+        
+        RenderedRecipe rendered = cache.get(recipe);
+        
+        assertThat(rendered.json().length).isLessThan(properties.getGzipMinBytes());
+        assertThat(rendered.hasGzip()).isFalse();
+        assertThat(rendered.gzipEtag()).isNull();
+    }
+    
+    @Test
+    void get_whenGzipDisabled_skipsGzip() {
+        properties.setGzipEnabled(false);
+        cache = new RecipeResponseCache(properties, OBJECT_MAPPER, new SimpleMeterRegistry());
+        
+        assertThat(cache.get(loadRecipe(715497L)).hasGzip()).isFalse();
+    }
+    
+    @Test
+    void get_whenDisabled_rendersEveryCall() {
+        properties.setEnabled(false);
+        cache = new RecipeResponseCache(properties, OBJECT_MAPPER, new SimpleMeterRegistry());
+        RecipeDetail recipe = loadRecipe(715497L);
+        
+        RenderedRecipe first = cache.get(recipe);
+        RenderedRecipe second = cache.get(recipe);
+        
+        assertThat(second).isNotSameAs(first);
+        assertThat(cache.stats().requestCount()).isZero();
+    }
+    
+    // Helper methods
+    
+    private static RecipeDetail loadRecipe(long recipeId) {
+        return MockDataLoader.loadMockData("recipe-" + recipeId + ".json", OBJECT_MAPPER, RecipeDetail.class);
+    }
+    
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -2,18 +2,40 @@ package app.luqma.backend.service;
 
 import app.luqma.backend.client.SpoonacularClient;
 import app.luqma.backend.config.RecipeSearchProperties;
+import app.luqma.backend.config.SearchCacheProperties;
+import app.luqma.backend.exception.InvalidPaginationException;
+import app.luqma.backend.model.domain.AnalyzedInstruction;
+import app.luqma.backend.model.domain.ExtendedIngredient;
+import app.luqma.backend.model.domain.InstructionStep;
+import app.luqma.backend.model.domain.NutritionInfo;
+import app.luqma.backend.model.domain.RecipeDetail;
 import app.luqma.backend.model.dto.RecipeSearchResponse;
+import app.luqma.backend.model.dto.RecipeSearchTrailer;
+import app.luqma.backend.model.dto.RecipeSummary;
+import app.luqma.backend.model.dto.spoonacular.SpoonacularEnrichedSearchResponse;
 import app.luqma.backend.model.dto.spoonacular.SpoonacularSearchResponse;
+import app.luqma.backend.repository.RecipeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.aot.DisabledInAotMode;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -21,13 +43,18 @@ import static org.mockito.Mockito.when;
  * Tests search functionality, pagination, validation, and edge cases.
  */
 @ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
 class RecipeSearchServiceTest {
     
     @Mock
     private SpoonacularClient spoonacularClient;
     
+    @Mock
+    private RecipeRepository recipeRepository;
+    
     private RecipeSearchService recipeSearchService;
     private RecipeSearchProperties properties;
+    private SearchResponseCache searchResponseCache;
     
     @BeforeEach
     void setUp() {
@@ -35,11 +62,14 @@ class RecipeSearchServiceTest {
         properties.setMaxPageSize(100);
         properties.setDefaultPageSize(9);
         properties.setMaxPageNumber(1000);
-        recipeSearchService = new RecipeSearchService(spoonacularClient, properties);
+        searchResponseCache = new SearchResponseCache(
+                new SearchCacheProperties(), new ObjectMapper(), new SimpleMeterRegistry());
+        recipeSearchService = new RecipeSearchService(spoonacularClient, properties, new SearchCursorCodec(properties),
+                recipeRepository, searchResponseCache);
     }
     
     @Test
-    void searchRecipes_withValidQuery_returnsMatchingResults() {
+    void searchRecipesRendered_withValidQuery_returnsMatchingResults() {
         String query = "pasta";
         int page = 1;
         int pageSize = 9;
@@ -56,7 +86,7 @@ class RecipeSearchServiceTest {
         when(spoonacularClient.searchRecipes(eq(query), eq(pageSize), eq(0)))
                 .thenReturn(mockResponse);
         
-        RecipeSearchResponse response = recipeSearchService.searchRecipes(query, page, pageSize);
+        RecipeSearchResponse response = recipeSearchService.searchRecipesRendered(query, page, pageSize).body();
         
         assertThat(response).isNotNull();
         assertThat(response.results()).isNotEmpty();
@@ -67,7 +97,7 @@ class RecipeSearchServiceTest {
     }
     
     @Test
-    void searchRecipes_withNoMatches_returnsEmptyResults() {
+    void searchRecipesRendered_withNoMatches_returnsEmptyResults() {
         String query = "nonexistentrecipexyz";
         
         var mockResponse = new SpoonacularSearchResponse();
@@ -77,7 +107,7 @@ class RecipeSearchServiceTest {
         when(spoonacularClient.searchRecipes(eq(query), anyInt(), anyInt()))
                 .thenReturn(mockResponse);
         
-        RecipeSearchResponse response = recipeSearchService.searchRecipes(query, 1, 9);
+        RecipeSearchResponse response = recipeSearchService.searchRecipesRendered(query, 1, 9).body();
         
         assertThat(response).isNotNull();
         assertThat(response.results()).isEmpty();
@@ -85,7 +115,7 @@ class RecipeSearchServiceTest {
     }
     
     @Test
-    void searchRecipes_withPageSizeExceedingMax_capsPageSize() {
+    void searchRecipesRendered_withPageSizeExceedingMax_capsPageSize() {
         int requestedPageSize = 150;
         int maxPageSize = properties.getMaxPageSize();
         
@@ -96,22 +126,24 @@ class RecipeSearchServiceTest {
         when(spoonacularClient.searchRecipes(anyString(), eq(maxPageSize), anyInt()))
                 .thenReturn(mockResponse);
         
-        RecipeSearchResponse response = recipeSearchService.searchRecipes("pasta", 1, requestedPageSize);
+        RecipeSearchResponse response = recipeSearchService.searchRecipesRendered("pasta", 1, requestedPageSize)
+                .body();
         
         assertThat(response.pageSize()).isEqualTo(maxPageSize);
     }
     
     @Test
-    void searchRecipes_withBlankQuery_returnsEmptyResults() {
-        RecipeSearchResponse response = recipeSearchService.searchRecipes("   ", 1, 9);
+    void searchRecipesRendered_withBlankQuery_returnsEmptyResults() {
+        RecipeSearchResponse response = recipeSearchService.searchRecipesRendered("   ", 1, 9).body();
         
         assertThat(response).isNotNull();
         assertThat(response.results()).isEmpty();
         assertThat(response.totalResults()).isEqualTo(0);
+        verifyNoInteractions(spoonacularClient);
     }
     
     @Test
-    void searchRecipes_withSecondPage_calculatesCorrectOffset() {
+    void searchRecipesRendered_withSecondPage_calculatesCorrectOffset() {
         int page = 2;
         int pageSize = 9;
         int expectedOffset = (page - 1) * pageSize;
@@ -123,8 +155,176 @@ class RecipeSearchServiceTest {
         when(spoonacularClient.searchRecipes(anyString(), eq(pageSize), eq(expectedOffset)))
                 .thenReturn(mockResponse);
         
-        RecipeSearchResponse response = recipeSearchService.searchRecipes("pasta", page, pageSize);
+        RecipeSearchResponse response = recipeSearchService.searchRecipesRendered("pasta", page, pageSize).body();
         
         assertThat(response.page()).isEqualTo(page);
     }
+    
+    @Test
+    void searchRecipesRendered_withMoreResultsAvailable_returnsCursorThatResumesAtNextOffset() {
+        when(spoonacularClient.searchRecipes(eq("pasta"), eq(2), eq(0)))
+                .thenReturn(searchResponse(5, 1L, 2L));
+        when(spoonacularClient.searchRecipes(eq("pasta"), eq(2), eq(2)))
+                .thenReturn(searchResponse(5, 3L, 4L));
+        when(spoonacularClient.searchRecipes(eq("pasta"), eq(2), eq(4)))
+                .thenReturn(searchResponse(5, 5L));
+        
+        RecipeSearchResponse first = recipeSearchService.searchRecipesRendered("pasta", 1, 2).body();
+        RecipeSearchResponse second = recipeSearchService.searchRecipesAfterRendered("pasta", first.nextCursor()).body();
+        RecipeSearchResponse last = recipeSearchService.searchRecipesAfterRendered("pasta", second.nextCursor()).body();
+        
+        assertThat(first.nextCursor()).isNotBlank();
+        assertThat(second.page()).isEqualTo(2);
+        assertThat(second.results().get(0).id()).isEqualTo(3L);
+        assertThat(last.page()).isEqualTo(3);
+        assertThat(last.nextCursor()).isNull();
+    }
+    
+    @Test
+    void searchRecipesAfterRendered_withCursorForOtherQuery_throwsInvalidPaginationException() {
+        when(spoonacularClient.searchRecipes(eq("pasta"), eq(2), eq(0)))
+                .thenReturn(searchResponse(5, 1L, 2L));
+        String cursor = recipeSearchService.searchRecipesRendered("pasta", 1, 2).body().nextCursor();
+        
+        assertThatThrownBy(() -> recipeSearchService.searchRecipesAfterRendered("soup", cursor))
+                .isInstanceOf(InvalidPaginationException.class);
+    }
+    
+    @Test
+    void searchRecipesRendered_withRepeatedPage_servesCachedRenderingWithoutUpstreamCall() {
+        when(spoonacularClient.searchRecipes("pasta", 9, 0)).thenReturn(searchResponse(1, 1L));
+        
+        RenderedSearch first = recipeSearchService.searchRecipesRendered("pasta", 1, 9);
+        RenderedSearch second = recipeSearchService.searchRecipesRendered("pasta", 1, 9);
+        
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first.json(), StandardCharsets.UTF_8)).contains("\"title\":\"Pasta 1\"");
+        assertThat(first.etag()).isNotBlank();
+        verify(spoonacularClient, times(1)).searchRecipes("pasta", 9, 0);
+    }
+    
+    @Test
+    void searchRecipesAfterRendered_withCursorToCachedPage_sharesEntryWithPageNumber() {
+        when(spoonacularClient.searchRecipes(eq("pasta"), eq(2), eq(0)))
+                .thenReturn(searchResponse(5, 1L, 2L));
+        when(spoonacularClient.searchRecipes(eq("pasta"), eq(2), eq(2)))
+                .thenReturn(searchResponse(5, 3L, 4L));
+        
+        RenderedSearch first = recipeSearchService.searchRecipesRendered("pasta", 1, 2);
+        RenderedSearch byNumber = recipeSearchService.searchRecipesRendered("pasta", 2, 2);
+        RenderedSearch byCursor = recipeSearchService.searchRecipesAfterRendered("pasta", first.body().nextCursor());
+        
+        assertThat(byCursor).isSameAs(byNumber);
+        verify(spoonacularClient, times(1)).searchRecipes("pasta", 2, 2);
+        assertThat(searchResponseCache.stats().hitCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void streamSearchRecipes_withValidQuery_emitsMappedResultsAndTrailer() {
+        var mockRecipe = new SpoonacularSearchResponse.SpoonacularRecipeSummary();
+        mockRecipe.setId(123L);
+        mockRecipe.setTitle("Pasta Carbonara");
+        mockRecipe.setImage("image.jpg");
+        
+        when(spoonacularClient.streamSearchRecipes(eq("pasta"), eq(100), eq(100), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<SpoonacularSearchResponse.SpoonacularRecipeSummary> consumer = invocation.getArgument(3);
+                    consumer.accept(mockRecipe);
+                    consumer.accept(mockRecipe);
+                    return 250;
+                });
+        List<RecipeSummary> emitted = new ArrayList<>();
+        
+        // When: Requesting page 2 with an oversized page
+        RecipeSearchTrailer trailer = recipeSearchService.streamSearchRecipes("pasta", 2, 500, emitted::add);
+        
+        assertThat(emitted).hasSize(2);
+        assertThat(emitted.get(0).title()).isEqualTo("Pasta Carbonara");
+        assertThat(trailer).isEqualTo(new RecipeSearchTrailer(2, 100, 250, 2));
+    }
+    
+    @Test
+    void streamSearchRecipes_withBlankQueryAfterSanitization_emitsNothing() {
+        List<RecipeSummary> emitted = new ArrayList<>();
+        
+        RecipeSearchTrailer trailer = recipeSearchService.streamSearchRecipes("   ", 1, 9, emitted::add);
+        
+        assertThat(emitted).isEmpty();
+        assertThat(trailer.totalResults()).isZero();
+        verifyNoInteractions(spoonacularClient);
+    }
+    
+    @Test
+    void searchRecipesRendered_enriched_cachesCompleteResultsAndReturnsSummaries() {
+        properties.setEnriched(true);
+        RecipeDetail complete = enrichedResult(1L, "Pasta 1")
+                .image("1.jpg")
+                .build();
+        RecipeDetail withoutIngredients = enrichedResult(2L, "Pasta 2")
+                .extendedIngredients(List.of())
+                .build();
+        when(spoonacularClient.searchRecipesEnriched("pasta", 9, 0))
+                .thenReturn(SpoonacularEnrichedSearchResponse.builder()
+                        .results(List.of(complete, withoutIngredients))
+                        .totalResults(2)
+                        .build());
+        when(recipeRepository.cacheIfAbsent(complete)).thenReturn(true);
+        
+        RecipeSearchResponse response = recipeSearchService.searchRecipesRendered("pasta", 1, 9).body();
+        
+        assertThat(response.results()).containsExactly(
+                new RecipeSummary(1L, "Pasta 1", "1.jpg"),
+                new RecipeSummary(2L, "Pasta 2", null));
+        assertThat(response.totalResults()).isEqualTo(2);
+        verify(recipeRepository).cacheIfAbsent(complete);
+        verify(recipeRepository, never()).cacheIfAbsent(withoutIngredients);
+        verify(spoonacularClient, never()).searchRecipes(anyString(), anyInt(), anyInt());
+    }
+    
+    @Test
+    void isComplete_withoutInstructionFields_returnsFalse() {
+        assertThat(RecipeSearchService.isComplete(enrichedResult(1L, "Pasta").build())).isTrue();
+        assertThat(RecipeSearchService.isComplete(enrichedResult(1L, "Pasta").instructions(null).build()))
+                .isFalse();
+        assertThat(RecipeSearchService.isComplete(enrichedResult(1L, "Pasta").instructions(" ").build()))
+                .isFalse();
+        assertThat(RecipeSearchService.isComplete(enrichedResult(1L, "Pasta").analyzedInstructions(List.of()).build()))
+                .isFalse();
+    }
+    
+    @Test
+    void searchRecipesRendered_notEnriched_leavesRecipeCacheAlone() {
+        when(spoonacularClient.searchRecipes("pasta", 9, 0)).thenReturn(searchResponse(1, 1L));
+        
+        recipeSearchService.searchRecipesRendered("pasta", 1, 9);
+        
+        verify(spoonacularClient, never()).searchRecipesEnriched(anyString(), anyInt(), anyInt());
+        verifyNoInteractions(recipeRepository);
+    }
+    
+    private static RecipeDetail.RecipeDetailBuilder enrichedResult(long id, String title) {
+        return RecipeDetail.builder()
+                .id(id)
+                .title(title)
+                .instructions("Boil the pasta.")
+                .analyzedInstructions(List.of(AnalyzedInstruction.builder()
+                        .steps(List.of(new InstructionStep(1, "Boil the pasta.")))
+                        .build()))
+                .nutrition(NutritionInfo.builder().build())
+                .extendedIngredients(List.of(ExtendedIngredient.builder().id(11L).name("flour").build()));
+    }
+    
+    private static SpoonacularSearchResponse searchResponse(int totalResults, Long... ids) {
+        var response = new SpoonacularSearchResponse();
+        List<SpoonacularSearchResponse.SpoonacularRecipeSummary> results = new ArrayList<>();
+        for (Long id : ids) {
+            var recipe = new SpoonacularSearchResponse.SpoonacularRecipeSummary();
+            recipe.setId(id);
+            recipe.setTitle("Pasta " + id);
+            results.add(recipe);
+        }
+        response.setResults(results);
+        response.setTotalResults(totalResults);
+        return response;
+    }
 }
@@ -0,0 +1,115 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.config.RecipeSearchProperties;
+import app.luqma.backend.exception.InvalidPaginationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SearchCursorCodec.
+ * Tests round trips, tamper detection and snapshot expiry.
+ */
+class SearchCursorCodecTest {
+    
+    private static final Instant NOW = Instant.parse("2026-01-01T00:30:00Z");
+    
+    private RecipeSearchProperties properties;
+    private SearchCursorCodec codec;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new RecipeSearchProperties();
+        properties.setCursorSecret("test-secret");
+        codec = codecAt(NOW);
+    }
+    
+    @Test
+    void decode_withEncodedCursor_returnsSamePosition() {
+        SearchCursor cursor = new SearchCursor("pâté", 9000, 25, codec.currentSnapshot());
+        
+        SearchCursor decoded = codec.decode(codec.encode(cursor));
+        
+        assertThat(decoded).isEqualTo(cursor);
+    }
+    
+    @Test
+    void encode_withSamePositionInSameWindow_isDeterministic() {
+        SearchCursor cursor = new SearchCursor("pasta", 9, 9, codec.currentSnapshot());
+        
+        assertThat(codecAt(NOW.plusSeconds(60)).encode(cursor)).isEqualTo(codec.encode(cursor));
+    }
+    
+    @Test
+    void decode_withAlteredCursor_throwsInvalidPaginationException() {
+        byte[] token = Base64.getUrlDecoder().decode(
+                codec.encode(new SearchCursor("pasta", 9, 9, codec.currentSnapshot())));
+        token[12] ^= 1; // Change the offset
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+        
+        assertThatThrownBy(() -> codec.decode(tampered))
+                .isInstanceOf(InvalidPaginationException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+    
+    @Test
+    void decode_withCursorSignedByOtherSecret_throwsInvalidPaginationException() {
+        String cursor = codec.encode(new SearchCursor("pasta", 9, 9, codec.currentSnapshot()));
+        properties.setCursorSecret("other-secret");
+        
+        assertThatThrownBy(() -> codecAt(NOW).decode(cursor))
+                .isInstanceOf(InvalidPaginationException.class);
+    }
+    
+    @Test
+    void decode_withGarbage_throwsInvalidPaginationException() {
+        assertThatThrownBy(() -> codec.decode("not a cursor!"))
+                .isInstanceOf(InvalidPaginationException.class);
+        assertThatThrownBy(() -> codec.decode("AAAA"))
+                .isInstanceOf(InvalidPaginationException.class);
+    }
+    
+    @Test
+    void decode_inFollowingWindow_acceptsThenExpires() {
+        String cursor = codec.encode(new SearchCursor("pasta", 9, 9, codec.currentSnapshot()));
+        Duration window = Duration.ofSeconds(properties.getCursorTtlSeconds());
+        
+        assertThat(codecAt(NOW.plus(window)).decode(cursor).offset()).isEqualTo(9);
+        assertThatThrownBy(() -> codecAt(NOW.plus(window.multipliedBy(2))).decode(cursor))
+                .isInstanceOf(InvalidPaginationException.class)
+                .hasMessageContaining("expired");
+    }
+    
+    @Test
+    void constructor_withBlankSecretWhenRequired_failsAtStartup() {
+        properties.setCursorSecret(" ");
+        properties.setCursorSecretRequired(true);
+        
+        assertThatThrownBy(() -> codecAt(NOW))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("RECIPE_SEARCH_CURSOR_SECRET");
+    }
+    
+    @Test
+    void constructor_withBlankSecretWhenNotRequired_usesRandomSecret() {
+        properties.setCursorSecret("");
+        SearchCursorCodec first = codecAt(NOW);
+        String cursor = first.encode(new SearchCursor("pasta", 9, 9, first.currentSnapshot()));
+        
+        assertThat(first.decode(cursor).offset()).isEqualTo(9);
+        assertThatThrownBy(() -> codecAt(NOW).decode(cursor))
+                .isInstanceOf(InvalidPaginationException.class);
+    }
+    
+    private SearchCursorCodec codecAt(Instant instant) {
+        return new SearchCursorCodec(properties, Clock.fixed(instant, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,92 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.config.SearchCacheProperties;
+import app.luqma.backend.model.dto.RecipeSearchResponse;
+import app.luqma.backend.model.dto.RecipeSummary;
+import app.luqma.backend.util.ETags;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SearchResponseCache.
+ * Tests rendering, reuse per canonical page and snapshot window, and failed searches.
+ */
+class SearchResponseCacheTest {
+    
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final SearchResponseCache.SearchKey KEY = new SearchResponseCache.SearchKey("pasta", 0, 9, 1L);
+    
+    private SearchCacheProperties properties;
+    private SearchResponseCache cache;
+    private AtomicInteger searches;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new SearchCacheProperties();
+        cache = new SearchResponseCache(properties, OBJECT_MAPPER, new SimpleMeterRegistry());
+        searches = new AtomicInteger();
+    }
+    
+    @Test
+    void get_withPage_rendersJsonAndEtagOfResponse() throws Exception {
+        RenderedSearch rendered = cache.get(KEY, this::search);
+        
+        assertThat(rendered.json()).isEqualTo(OBJECT_MAPPER.writeValueAsBytes(rendered.body()));
+        assertThat(rendered.etag()).isEqualTo(ETags.strong(rendered.json()));
+    }
+    
+    @Test
+    void get_withSamePage_returnsCachedRenderingWithoutSearching() {
+        RenderedSearch first = cache.get(KEY, this::search);
+        RenderedSearch second = cache.get(new SearchResponseCache.SearchKey("pasta", 0, 9, 1L), this::search);
+        
+        assertThat(second).isSameAs(first);
+        assertThat(searches).hasValue(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void get_withNextSnapshotWindow_searchesAgain() {
+        cache.get(KEY, this::search);
+        cache.get(new SearchResponseCache.SearchKey("pasta", 0, 9, 2L), this::search);
+        
+        assertThat(searches).hasValue(2);
+    }
+    
+    @Test
+    void get_whenSearchFails_cachesNothing() {
+        Supplier<RecipeSearchResponse> failing = () -> {
+            throw new IllegalStateException("upstream down");
+        };
+        
+        assertThatThrownBy(() -> cache.get(KEY, failing)).isInstanceOf(IllegalStateException.class);
+        cache.get(KEY, this::search);
+        
+        assertThat(searches).hasValue(1);
+    }
+    
+    @Test
+    void get_whenDisabled_searchesEveryTime() {
+        properties.setEnabled(false);
+        cache = new SearchResponseCache(properties, OBJECT_MAPPER, new SimpleMeterRegistry());
+        
+        cache.get(KEY, this::search);
+        cache.get(KEY, this::search);
+        
+        assertThat(searches).hasValue(2);
+    }
+    
+    private RecipeSearchResponse search() {
+        searches.incrementAndGet();
+        return new RecipeSearchResponse(List.of(new RecipeSummary(1L, "Pasta Carbonara", "a.jpg")), 1, 9, 1);
+    }
+}
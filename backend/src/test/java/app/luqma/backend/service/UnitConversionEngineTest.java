@@ -0,0 +1,152 @@
+package app.luqma.backend.service;
+
+import app.luqma.backend.model.domain.ExtendedIngredient;
+import app.luqma.backend.model.domain.RecipeDetail;
+import app.luqma.backend.util.MockDataLoader;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for UnitConversionEngine.
+ * Tests unit parsing, density lookups and conversion accuracy against the mock recipes.
+ */
+class UnitConversionEngineTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private UnitConversionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new UnitConversionEngine();
+    }
+
+    @Test
+    void parseUnit_withSpoonacularSpellings_resolvesExactUnit() {
+        assertThat(UnitConversionEngine.parseUnit("tablespoons")).isEqualTo(CanonicalUnit.TABLESPOON);
+        assertThat(UnitConversionEngine.parseUnit("Tbsp")).isEqualTo(CanonicalUnit.TABLESPOON);
+        assertThat(UnitConversionEngine.parseUnit("cloves")).isEqualTo(CanonicalUnit.CLOVE);
+        assertThat(UnitConversionEngine.parseUnit("slices")).isEqualTo(CanonicalUnit.SLICE);
+        assertThat(UnitConversionEngine.parseUnit("small")).isEqualTo(CanonicalUnit.SMALL);
+        assertThat(UnitConversionEngine.parseUnit(" oz. ")).isEqualTo(CanonicalUnit.OUNCE);
+        assertThat(UnitConversionEngine.parseUnit("l")).isEqualTo(CanonicalUnit.LITER);
+    }
+
+    @Test
+    void parseUnit_withMissingUnit_returnsPiece() {
+        assertThat(UnitConversionEngine.parseUnit(null)).isEqualTo(CanonicalUnit.PIECE);
+        assertThat(UnitConversionEngine.parseUnit("")).isEqualTo(CanonicalUnit.PIECE);
+    }
+
+    @Test
+    void parseUnit_withUnrecognisedUnit_returnsUnknown() {
+        assertThat(UnitConversionEngine.parseUnit("sprigs")).isEqualTo(CanonicalUnit.UNKNOWN);
+    }
+
+    @Test
+    void toGrams_withVolumeUnit_usesIngredientDensity() {
+        // Parmesan (1033) is far lighter than cream (1077) per cup
+        assertThat(engine.toGrams(1033L, 1.0, "cup")).isCloseTo(100.0, within(0.01));
+        assertThat(engine.toGrams(1077L, 1.5, "cups")).isCloseTo(360.0, within(0.01));
+        assertThat(engine.toGrams(1001L, 4.0, "tbsp")).isCloseTo(56.75, within(0.01));
+    }
+
+    @Test
+    void toGrams_withUnlistedIngredient_fallsBackToWaterDensity() {
+        assertThat(engine.toGrams(1L, 1.0, "cup"))
+                .isCloseTo(UnitConversionEngine.WATER_GRAMS_PER_CUP, within(0.001));
+        assertThat(engine.toGrams(1L, 16.0, "tbsp"))
+                .isCloseTo(UnitConversionEngine.WATER_GRAMS_PER_CUP, within(0.001));
+        assertThat(engine.toGrams(null, 1000.0, "ml")).isCloseTo(1000.0, within(0.001));
+    }
+
+    @Test
+    void toGrams_withCountUnits_usesPieceWeight() {
+        assertThat(engine.toGrams(11215L, 3.0, "cloves")).isCloseTo(9.0, within(0.01));
+        assertThat(engine.toGrams(11282L, 1.0, "small")).isCloseTo(71.5, within(0.01));
+        assertThat(engine.toGrams(1L, 2.0, "pieces"))
+                .isCloseTo(2 * UnitConversionEngine.DEFAULT_GRAMS_PER_PIECE, within(0.001));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"tablespoons", "slices", "large", "small", "cloves"})
+    void toGrams_withUnitContainingLetterL_isNotTreatedAsLiters(String unit) {
+        assertThat(engine.toGrams(1L, 1.0, unit)).isLessThan(100.0);
+    }
+
+    @Test
+    void toGrams_withMissingOrNonPositiveAmount_returnsZero() {
+        assertThat(engine.toGrams(1001L, null, "cup")).isZero();
+        assertThat(engine.toGrams(1001L, 0.0, "cup")).isZero();
+        assertThat(engine.toGrams(1001L, -1.0, "cup")).isZero();
+    }
+
+    @Test
+    void toGrams_withMockRecipe715497_matchesReferenceWeights() {
+        RecipeDetail recipe = loadRecipe(715497L);
+        Map<Long, Double> expected = Map.of(
+                20409L, 453.59,   // 16 oz fettuccine
+                5006L, 453.59,    // 1 lb chicken breast
+                1001L, 56.75,     // 4 tbsp butter
+                1077L, 360.0,     // 1.5 cups cream
+                1033L, 100.0,     // 1 cup parmesan
+                11215L, 12.0,     // 4 garlic cloves
+                2028L, 2.29,      // 1 tsp paprika
+                1102L, 15.0);     // 0.25 cup parsley
+
+        double total = 0.0;
+        for (ExtendedIngredient ingredient : recipe.getExtendedIngredients()) {
+            double grams = engine.toGrams(ingredient);
+            assertThat(grams).as(ingredient.getName()).isCloseTo(expected.get(ingredient.getId()), within(0.01));
+            total += grams;
+        }
+        assertThat(total).isCloseTo(1453.23, within(0.05));
+    }
+
+    @Test
+    void toGrams_withMockRecipes_weighsEveryIngredientPlausibly() {
+        for (long recipeId : new long[] {642539L, 654812L, 715497L, 782601L}) {
+            for (ExtendedIngredient ingredient : loadRecipe(recipeId).getExtendedIngredients()) {
+                assertThat(engine.toGrams(ingredient))
+                        .as("%s in recipe %d", ingredient.getName(), recipeId)
+                        .isPositive()
+                        .isLessThan(1000.0);
+            }
+        }
+    }
+
+    @Test
+    void loadDensityTable_withBundledTable_coversMockVolumeAndCountIngredients() {
+        Map<Long, UnitConversionEngine.Density> densities =
+                UnitConversionEngine.loadDensityTable(UnitConversionEngine.DENSITY_TABLE);
+
+        for (long recipeId : new long[] {642539L, 654812L, 715497L, 782601L}) {
+            for (ExtendedIngredient ingredient : loadRecipe(recipeId).getExtendedIngredients()) {
+                CanonicalUnit.Kind kind = UnitConversionEngine.parseUnit(ingredient.getUnit()).kind();
+                if (kind == CanonicalUnit.Kind.VOLUME) {
+                    assertThat(densities.get(ingredient.getId()).gramsPerCup())
+                            .as("grams per cup of %s", ingredient.getName())
+                            .isPositive();
+                } else if (kind == CanonicalUnit.Kind.COUNT) {
+                    assertThat(densities.get(ingredient.getId()).gramsPerPiece())
+                            .as("grams per piece of %s", ingredient.getName())
+                            .isPositive();
+                }
+            }
+        }
+    }
+
+    private RecipeDetail loadRecipe(long recipeId) {
+        return MockDataLoader.loadMockData("recipe-" + recipeId + ".json", OBJECT_MAPPER, RecipeDetail.class);
+    }
+}
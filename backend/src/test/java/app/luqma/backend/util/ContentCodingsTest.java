@@ -0,0 +1,56 @@
+package app.luqma.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ContentCodings utility class.
+ */
+class ContentCodingsTest {
+    
+    @Test
+    void acceptsGzip_withNullHeader_returnsFalse() {
+        assertThat(ContentCodings.acceptsGzip(null)).isFalse();
+    }
+    
+    @Test
+    void acceptsGzip_withGzipListed_returnsTrue() {
+        assertThat(ContentCodings.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(ContentCodings.acceptsGzip("br;q=1.0, GZIP;q=0.8")).isTrue();
+    }
+    
+    @Test
+    void acceptsGzip_withGzipAtZeroQuality_returnsFalse() {
+        assertThat(ContentCodings.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ContentCodings.acceptsGzip("deflate, gzip; Q=0.000")).isFalse();
+    }
+    
+    @Test
+    void acceptsGzip_withOnlyOtherCodings_returnsFalse() {
+        assertThat(ContentCodings.acceptsGzip("deflate, br")).isFalse();
+        assertThat(ContentCodings.acceptsGzip("identity")).isFalse();
+    }
+    
+    @Test
+    void acceptsGzip_withWildcardOnly_followsWildcardQuality() {
+        assertThat(ContentCodings.acceptsGzip("*")).isTrue();
+        assertThat(ContentCodings.acceptsGzip("br, *;q=0")).isFalse();
+    }
+    
+    @Test
+    void acceptsGzip_withWildcardBeforeRefusedGzip_returnsFalse() {
+        assertThat(ContentCodings.acceptsGzip("*;q=0.5, gzip;q=0")).isFalse();
+    }
+    
+    @Test
+    void acceptsGzip_withRefusedWildcardBeforeGzip_returnsTrue() {
+        assertThat(ContentCodings.acceptsGzip("*;q=0, gzip")).isTrue();
+    }
+    
+    @Test
+    void acceptsGzip_withGzipBeforeWildcard_usesGzipEntry() {
+        assertThat(ContentCodings.acceptsGzip("gzip;q=0, *")).isFalse();
+        assertThat(ContentCodings.acceptsGzip("gzip, *;q=0")).isTrue();
+    }
+}
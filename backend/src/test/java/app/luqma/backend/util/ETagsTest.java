@@ -0,0 +1,68 @@
+package app.luqma.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ETags utility class.
+ */
+class ETagsTest {
+    
+    private static final byte[] CONTENT = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+    
+    @Test
+    void strong_withSameContent_returnsSameQuotedTag() {
+        String etag = ETags.strong(CONTENT);
+        
+        assertThat(etag).isEqualTo(ETags.strong(CONTENT.clone()));
+        assertThat(etag).startsWith("\"").endsWith("\"").hasSize(24);
+    }
+    
+    @Test
+    void strong_withDifferentContent_returnsDifferentTag() {
+        byte[] other = "{\"id\":2}".getBytes(StandardCharsets.UTF_8);
+        
+        assertThat(ETags.strong(other)).isNotEqualTo(ETags.strong(CONTENT));
+    }
+    
+    @Test
+    void forCoding_appendsCodingInsideQuotes() {
+        assertThat(ETags.forCoding("\"abc\"", "gzip")).isEqualTo("\"abc-gzip\"");
+    }
+    
+    @Test
+    void matches_withExactTag_returnsTrue() {
+        assertThat(ETags.matches("\"abc\"", "\"abc\"")).isTrue();
+    }
+    
+    @Test
+    void matches_withTagInList_returnsTrue() {
+        assertThat(ETags.matches("\"x\", \"abc\" ,\"y\"", "\"abc\"")).isTrue();
+    }
+    
+    @Test
+    void matches_withWeakTag_usesWeakComparison() {
+        assertThat(ETags.matches("W/\"abc\"", "\"abc\"")).isTrue();
+    }
+    
+    @Test
+    void matches_withWildcard_returnsTrue() {
+        assertThat(ETags.matches(" * ", "\"abc\"")).isTrue();
+    }
+    
+    @Test
+    void matches_withOtherOrPrefixTag_returnsFalse() {
+        assertThat(ETags.matches("\"abcd\", \"ab\"", "\"abc\"")).isFalse();
+        assertThat(ETags.matches("\"abc-gzip\"", "\"abc\"")).isFalse();
+    }
+    
+    @Test
+    void matches_withMissingOrMalformedHeader_returnsFalse() {
+        assertThat(ETags.matches(null, "\"abc\"")).isFalse();
+        assertThat(ETags.matches("", "\"abc\"")).isFalse();
+        assertThat(ETags.matches("\"abc", "\"abc\"")).isFalse();
+    }
+}
@@ -0,0 +1,55 @@
+package app.luqma.backend.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for IpAddresses.
+ */
+class IpAddressesTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0.0.0.0", "127.0.0.1", "192.168.1.1", "255.255.255.255", "10.0.0.01"})
+    void isValid_withIpv4Address_returnsTrue(String ip) {
+        assertThat(IpAddresses.isValid(ip)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"256.1.1.1", "1.2.3", "1.2.3.4.5", "1..2.3", "1.2.3.", ".1.2.3", "1.2.3.1234",
+            "a.b.c.d", "1.2.3.4 ", "invalid-ip"})
+    void isValid_withMalformedIpv4_returnsFalse(String ip) {
+        assertThat(IpAddresses.isValid(ip)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"::", "::1", "1::", "2001:db8::1", "2001:0db8:85a3:0000:0000:8a2e:0370:7334",
+            "0:0:0:0:0:0:0:1", "fe80::1:2:3:4", "::ffff:192.0.2.128", "64:ff9b::192.0.2.33", "ABCD:ef01::"})
+    void isValid_withIpv6Address_returnsTrue(String ip) {
+        assertThat(IpAddresses.isValid(ip)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {":", ":1", "1:", "1:::2", "1::2::3", "12345::1", "1:2:3:4:5:6:7:8:9",
+            "1:2:3:4:5:6:7", "1::2:3:4:5:6:7:8", "g::1", "::ffff:999.0.2.128", "fe80::1%eth0", "[::1]"})
+    void isValid_withMalformedIpv6_returnsFalse(String ip) {
+        assertThat(IpAddresses.isValid(ip)).isFalse();
+    }
+
+    @Test
+    void isValid_withNullOrEmpty_returnsFalse() {
+        assertThat(IpAddresses.isValid(null)).isFalse();
+        assertThat(IpAddresses.isValid("")).isFalse();
+    }
+
+    @Test
+    void isValid_withRange_checksOnlyThatRange() {
+        String header = "10.0.0.1, 2001:db8::1";
+
+        assertThat(IpAddresses.isValid(header, 0, 8)).isTrue();
+        assertThat(IpAddresses.isValid(header, 10, header.length())).isTrue();
+        assertThat(IpAddresses.isValid(header, 0, header.length())).isFalse();
+    }
+}